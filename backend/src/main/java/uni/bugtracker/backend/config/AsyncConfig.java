@@ -1,7 +1,9 @@
 package uni.bugtracker.backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
@@ -21,4 +23,47 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    // queries of the report detail endpoint that run next to the request thread; the limit
+    // keeps parallel lookups from taking more pooled connections than the pool can spare
+    @Bean(name = "detailExecutor")
+    public Executor detailExecutor(@Value("${app.report-detail.max-concurrency:16}") int maxConcurrency) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("report-detail-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(maxConcurrency);
+        return executor;
+    }
+
+    // writes of the live report feed; a slow client blocks only its own virtual thread
+    @Bean(name = "feedExecutor")
+    public Executor feedExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("report-feed-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    // runs the purge jobs, PurgeEngine starts at most one run at a time
+    @Bean(name = "purgeExecutor")
+    public Executor purgeExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("purge-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    // computes report signatures for the similar-report index after the report commits
+    @Bean(name = "similarityExecutor")
+    public Executor similarityExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("similar-reports-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(4);
+        return executor;
+    }
+
+    // indexes the documents the search index has not seen yet, once on startup
+    @Bean(name = "searchExecutor")
+    public Executor searchExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("search-backfill-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
 }
@@ -0,0 +1,54 @@
+package uni.bugtracker.backend.config;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+    // sessions, events and widget reports of one project
+    @NotNull
+    private Limit project = new Limit(200, 1000);
+
+    // events and widget reports of one session
+    @NotNull
+    private Limit session = new Limit(20, 100);
+
+    // project id -> its own limit instead of the default one
+    @NotNull
+    private Map<String, Limit> projects = new HashMap<>();
+
+    // buckets kept in memory; an evicted bucket starts full again
+    private long maxKeys = 100_000;
+
+    // buckets unused this long are dropped, must be above burst / rate of every limit
+    @NotNull
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    @Getter
+    @Setter
+    public static class Limit {
+        // tokens added per second
+        private double rate;
+
+        // bucket size, the requests allowed at once after an idle period
+        private int burst;
+
+        public Limit() {
+        }
+
+        public Limit(double rate, int burst) {
+            this.rate = rate;
+            this.burst = burst;
+        }
+    }
+}
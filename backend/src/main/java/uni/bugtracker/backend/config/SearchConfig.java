@@ -0,0 +1,23 @@
+package uni.bugtracker.backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import uni.bugtracker.backend.repository.DatabaseDialect;
+import uni.bugtracker.backend.repository.EventRepository;
+import uni.bugtracker.backend.service.search.InMemorySearchIndex;
+import uni.bugtracker.backend.service.search.PostgresSearchIndex;
+import uni.bugtracker.backend.service.search.SearchIndex;
+
+@Configuration
+public class SearchConfig {
+
+    // PostgreSQL full-text search in production, an in-process index on H2
+    @Bean
+    public SearchIndex searchIndex(JdbcTemplate jdbcTemplate, DatabaseDialect dialect,
+                                   EventRepository eventRepository) {
+        return dialect.isPostgres()
+                ? new PostgresSearchIndex(jdbcTemplate, eventRepository)
+                : new InMemorySearchIndex();
+    }
+}
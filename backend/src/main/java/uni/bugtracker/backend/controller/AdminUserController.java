@@ -8,6 +8,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import uni.bugtracker.backend.dto.CursorPage;
 import uni.bugtracker.backend.security.dto.UserDTO;
 import uni.bugtracker.backend.security.model.Role;
 import uni.bugtracker.backend.security.service.UserService;
@@ -36,6 +37,18 @@ public class AdminUserController {
         return new ResponseEntity<>(list, responseStatus);
     }
 
+    @GetMapping("/users/cursor")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPage<UserDTO>> getAllCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "30") int size,
+            @RequestParam(defaultValue = "false") boolean approximateCount
+    ) {
+        CursorPage<UserDTO> slice = userService.getUsersAfter(cursor, size, approximateCount);
+        HttpStatus responseStatus = slice.getContent().isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK;
+        return new ResponseEntity<>(slice, responseStatus);
+    }
+
     @PatchMapping("/users/{userId}/role")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<UserDTO> changeRole(
@@ -2,29 +2,60 @@ package uni.bugtracker.backend.controller;
 
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import uni.bugtracker.backend.dto.CursorPage;
+import uni.bugtracker.backend.dto.event.EventBatchRequest;
 import uni.bugtracker.backend.dto.event.EventDetailsResponse;
 import uni.bugtracker.backend.dto.event.EventRequest;
+import uni.bugtracker.backend.dto.event.EventTimelineItem;
+import uni.bugtracker.backend.model.EventType;
+import uni.bugtracker.backend.repository.projection.EventVersion;
+import uni.bugtracker.backend.repository.projection.SessionVersion;
 import uni.bugtracker.backend.service.EventService;
+import uni.bugtracker.backend.service.SessionService;
+import uni.bugtracker.backend.service.ingestion.IngestionScheduler;
+import uni.bugtracker.backend.service.ratelimit.IngestionRateLimiter;
+import uni.bugtracker.backend.utility.HttpCaching;
 
-import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/events")
 public class EventController {
     private final EventService eventService;
-    public EventController(EventService eventService) {
+    private final SessionService sessionService;
+    private final IngestionRateLimiter rateLimiter;
+    private final IngestionScheduler ingestionScheduler;
+
+    public EventController(EventService eventService, SessionService sessionService,
+                           IngestionRateLimiter rateLimiter, IngestionScheduler ingestionScheduler) {
         this.eventService = eventService;
+        this.sessionService = sessionService;
+        this.rateLimiter = rateLimiter;
+        this.ingestionScheduler = ingestionScheduler;
     }
 
     @PostMapping
     public ResponseEntity<Map<String, Object>> createEvent(
             @Valid @RequestBody EventRequest request
     ) {
-        Long id = eventService.createEvent(request);
+        // before the service opens a transaction and takes a pooled connection
+        rateLimiter.checkSession(request.getSessionId());
+        String projectId = sessionService.getProjectIdBySessionId(request.getSessionId());
+        rateLimiter.checkProject(projectId);
+        Long id = ingestionScheduler.run(projectId, request.getType() == EventType.ERROR, bodySize(request),
+                () -> eventService.createEvent(request));
+        if (id == null) {
+            // the widget applies the same policy, only clients that ignore it get here
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(Map.of("message", "Event dropped by the project's sampling policy"));
+        }
 
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(Map.of(
@@ -35,25 +66,97 @@ public class EventController {
 
     @GetMapping("/{id}")
 //    @PreAuthorize("isAuthenticated()")
-    @PreAuthorize("@projectSecurity.hasAccessToProject(@eventService.getProjectIdByEventId(#id), authentication)")
+    @PreAuthorize("@projectSecurity.hasAccessToProject(@requestEntityLoader.eventVersion(#id).projectId(), authentication)")
     public ResponseEntity<EventDetailsResponse> getEvent(
-            @PathVariable Long id
+            @PathVariable Long id,
+            WebRequest webRequest
     ) {
-        return new ResponseEntity<>(eventService.getEvent(id), HttpStatus.OK);
+        EventVersion version = eventService.getEventVersion(id);
+        if (webRequest.checkNotModified(HttpCaching.etag(version))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(HttpCaching.cacheControl(!Boolean.TRUE.equals(version.sessionActive())))
+                .body(eventService.getEvent(id));
+    }
+
+    // one authorization query for the whole set instead of one request per id
+    @PostMapping("/by-ids")
+    @PreAuthorize("@projectSecurity.hasAccessToProjects(@eventService.getProjectIdsByEventIds(#request.ids), authentication)")
+    public ResponseEntity<StreamingResponseBody> getEventsByIds(
+            @Valid @RequestBody EventBatchRequest request
+    ) {
+        Set<String> fields = eventService.resolveFields(request.getFields());
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> eventService.writeEventsByIds(request.getIds(), fields, out));
+    }
+
+    // the log and stack trace of large events are streamed from the database instead of buffered
+    @GetMapping("/{id}/body")
+    @PreAuthorize("@projectSecurity.hasAccessToProject(@requestEntityLoader.eventVersion(#id).projectId(), authentication)")
+    public ResponseEntity<StreamingResponseBody> getEventBody(
+            @PathVariable Long id,
+            WebRequest webRequest
+    ) {
+        EventVersion version = eventService.getEventVersion(id);
+        if (webRequest.checkNotModified(HttpCaching.etag(version))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(HttpCaching.cacheControl(!Boolean.TRUE.equals(version.sessionActive())))
+                .body(out -> eventService.writeEventBody(id, out));
     }
 
     @GetMapping("/session/{sessionId}")
 //    @PreAuthorize("isAuthenticated()")
-    @PreAuthorize("@projectSecurity.hasAccessToProject(@sessionService.getProjectIdBySessionId(#sessionId), authentication)")
-    public ResponseEntity<List<EventDetailsResponse>> getEventsBySession(
-            @PathVariable Long sessionId
+    @PreAuthorize("@projectSecurity.hasAccessToProject(@requestEntityLoader.sessionVersion(#sessionId).projectId(), authentication)")
+    public ResponseEntity<StreamingResponseBody> getEventsBySession(
+            @PathVariable Long sessionId,
+            WebRequest webRequest
+    ) {
+        // the events of an open session keep changing, only a closed one gets a tag
+        SessionVersion session = sessionService.getSessionVersion(sessionId);
+        boolean closed = HttpCaching.isClosed(session);
+        if (closed && webRequest.checkNotModified(HttpCaching.eventsEtag(session))) {
+            return null;
+        }
+        if (!eventService.sessionHasEvents(sessionId)) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(HttpCaching.cacheControl(closed))
+                .body(out -> eventService.writeEventsBySession(sessionId, out));
+    }
+
+    // summary without log and stack trace, oldest first
+    @GetMapping("/session/{sessionId}/timeline")
+    @PreAuthorize("@projectSecurity.hasAccessToProject(@requestEntityLoader.sessionVersion(#sessionId).projectId(), authentication)")
+    public ResponseEntity<CursorPage<EventTimelineItem>> getTimeline(
+            @PathVariable Long sessionId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            WebRequest webRequest
     ) {
-        HttpStatus responseStatus = HttpStatus.OK;
-        List<EventDetailsResponse> listOfEvents = eventService.getEventsBySession(sessionId);
-        if (listOfEvents.isEmpty()) {
-            responseStatus = HttpStatus.NO_CONTENT;
+        SessionVersion session = sessionService.getSessionVersion(sessionId);
+        boolean closed = HttpCaching.isClosed(session);
+        if (closed && webRequest.checkNotModified(
+                HttpCaching.eventsEtag(session, cursor == null ? "" : cursor, String.valueOf(size)))) {
+            return null;
         }
-        return new ResponseEntity<>(listOfEvents, responseStatus);
+        CursorPage<EventTimelineItem> page = eventService.getTimeline(sessionId, cursor, size);
+        if (page.getContent().isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return ResponseEntity.ok()
+                .cacheControl(HttpCaching.cacheControl(closed))
+                .body(page);
     }
 
+    private static long bodySize(EventRequest request) {
+        return (request.getLog() != null ? request.getLog().length() : 0)
+                + (request.getStackTrace() != null ? request.getStackTrace().length() : 0);
+    }
 }
@@ -0,0 +1,30 @@
+package uni.bugtracker.backend.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import uni.bugtracker.backend.dto.issue.IssueResponse;
+import uni.bugtracker.backend.service.issue.IssueService;
+
+import java.util.List;
+
+// automatic reports grouped by error, with their occurrence counts
+@RestController
+@RequestMapping("/api/issues")
+@RequiredArgsConstructor
+public class IssueController {
+
+    private final IssueService issueService;
+
+    @PreAuthorize("@projectSecurity.hasAccessToProject(#projectId, authentication)")
+    @GetMapping("/byProject/{projectId}")
+    public ResponseEntity<List<IssueResponse>> getIssues(
+            @PathVariable String projectId,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        List<IssueResponse> issues = issueService.getIssues(projectId, limit).stream().map(IssueResponse::of).toList();
+        return new ResponseEntity<>(issues, issues.isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK);
+    }
+}
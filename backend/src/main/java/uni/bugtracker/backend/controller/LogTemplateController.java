@@ -0,0 +1,32 @@
+package uni.bugtracker.backend.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import uni.bugtracker.backend.dto.logtemplate.LogTemplateResponse;
+import uni.bugtracker.backend.service.logtemplate.LogTemplateStore;
+
+import java.util.List;
+
+// the templates mined from a project's event logs, most frequent first
+@RestController
+@RequestMapping("/api/log-templates")
+@RequiredArgsConstructor
+public class LogTemplateController {
+
+    private final LogTemplateStore logTemplateStore;
+
+    @PreAuthorize("@projectSecurity.hasAccessToProject(#projectId, authentication)")
+    @GetMapping("/byProject/{projectId}")
+    public ResponseEntity<List<LogTemplateResponse>> getTemplates(
+            @PathVariable String projectId,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        List<LogTemplateResponse> templates = logTemplateStore.getTemplates(projectId, limit).stream()
+                .map(LogTemplateResponse::of)
+                .toList();
+        return new ResponseEntity<>(templates, templates.isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK);
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import uni.bugtracker.backend.dto.project.ProjectRequestBody;
+import uni.bugtracker.backend.dto.purge.PurgeJobResponse;
 import uni.bugtracker.backend.dto.session.ProjectCreationUpdatingResponse;
 import uni.bugtracker.backend.model.Project;
 import uni.bugtracker.backend.security.dto.UserDTO;
@@ -100,9 +101,11 @@ public class ProjectController {
 
     @DeleteMapping("/projects/{projectId}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Project> deleteProject(
+    public ResponseEntity<PurgeJobResponse> deleteProject(
             @PathVariable @NotNull @NotBlank String projectId
     ) {
-        return ResponseEntity.ok(projectService.deleteProject(projectId));
+        // progress at /api/admin/purge-jobs/{id}
+        PurgeJobResponse job = PurgeJobResponse.of(projectService.deleteProject(projectId));
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
     }
 }
@@ -0,0 +1,35 @@
+package uni.bugtracker.backend.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import uni.bugtracker.backend.dto.purge.PurgeJobResponse;
+import uni.bugtracker.backend.service.purge.PurgeService;
+
+import java.util.List;
+
+// progress of project deletions and retention purges
+@RestController
+@RequestMapping("/api/admin/purge-jobs")
+@RequiredArgsConstructor
+public class PurgeJobController {
+
+    private final PurgeService purgeService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<PurgeJobResponse>> getRecentJobs(
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        List<PurgeJobResponse> jobs = purgeService.getRecentJobs(limit).stream().map(PurgeJobResponse::of).toList();
+        return new ResponseEntity<>(jobs, jobs.isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK);
+    }
+
+    @GetMapping("/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PurgeJobResponse> getJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(PurgeJobResponse.of(purgeService.getJob(jobId)));
+    }
+}
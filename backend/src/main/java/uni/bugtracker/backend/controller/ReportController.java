@@ -11,32 +11,57 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.util.ContentCachingRequestWrapper;
 import org.springframework.web.util.WebUtils;
+import uni.bugtracker.backend.dto.CursorPage;
 import uni.bugtracker.backend.dto.report.ReportCardDTO;
 import uni.bugtracker.backend.dto.report.ReportDashboardDTO;
+import uni.bugtracker.backend.dto.report.ReportDetailResponse;
+import uni.bugtracker.backend.dto.report.ReportFilter;
 import uni.bugtracker.backend.dto.report.ReportUpdateRequestDashboard;
 import uni.bugtracker.backend.dto.report.ReportCreationRequestWidget;
+import uni.bugtracker.backend.dto.report.SimilarReportResponse;
 import uni.bugtracker.backend.model.Tag;
+import uni.bugtracker.backend.repository.projection.ReportVersion;
+import uni.bugtracker.backend.security.CustomUserDetails;
 import uni.bugtracker.backend.security.ProjectSecurity;
+import uni.bugtracker.backend.service.ReportDetailService;
 import uni.bugtracker.backend.service.ReportService;
+import uni.bugtracker.backend.service.feed.ReportFeed;
+import uni.bugtracker.backend.service.ratelimit.IngestionRateLimiter;
+import uni.bugtracker.backend.service.similar.SimilarReportIndex;
+import uni.bugtracker.backend.utility.HttpCaching;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/reports")
 public class ReportController {
     private final ReportService reportService;
+    private final ReportDetailService reportDetailService;
+    private final ReportFeed reportFeed;
+    private final SimilarReportIndex similarReportIndex;
+    private final IngestionRateLimiter rateLimiter;
 
-    public ReportController(ReportService reportService) {
+    public ReportController(ReportService reportService, ReportDetailService reportDetailService,
+                            ReportFeed reportFeed, SimilarReportIndex similarReportIndex,
+                            IngestionRateLimiter rateLimiter) {
         this.reportService = reportService;
+        this.reportDetailService = reportDetailService;
+        this.reportFeed = reportFeed;
+        this.similarReportIndex = similarReportIndex;
+        this.rateLimiter = rateLimiter;
     }
 
     // only for widget
@@ -44,6 +69,8 @@ public class ReportController {
     public ResponseEntity<?> create(
             @Valid @RequestPart ReportCreationRequestWidget request,
             @RequestPart(required=false) MultipartFile screen) throws IOException {
+        rateLimiter.checkProject(request.getProjectId());
+        rateLimiter.checkSession(request.getSessionId());
         byte[] screenBytes = (screen != null && !screen.isEmpty()) ? screen.getBytes() : null;
         return new ResponseEntity<>(Map.of(
                 "message", "Report created",
@@ -52,7 +79,7 @@ public class ReportController {
     }
 
 //    @PreAuthorize("isAuthenticated()")
-    @PreAuthorize("@projectSecurity.hasAccessToProject(@reportService.getProjectIdByReportId(#id), authentication)")
+    @PreAuthorize("@projectSecurity.hasAccessToProject(@requestEntityLoader.reportProjectId(#id), authentication)")
     @PatchMapping("/{id}/dashboard")
     public ResponseEntity<ReportCardDTO> updateDev(
             @PathVariable Long id,
@@ -71,6 +98,7 @@ public class ReportController {
     @GetMapping("/byProject/{projectId}")
     public ResponseEntity<Page<ReportDashboardDTO>> getAllByProject(
             @PathVariable String projectId,
+            @ModelAttribute ReportFilter filter,
             @PageableDefault(
                     page = 0,
                     size = 30,
@@ -79,7 +107,7 @@ public class ReportController {
             ) Pageable pageable
     ) {
         HttpStatus responseStatus = HttpStatus.OK;
-        Page<ReportDashboardDTO> listOfAllOnProject = reportService.getAllReportsOfProject(projectId, pageable);
+        Page<ReportDashboardDTO> listOfAllOnProject = reportService.getAllReportsOfProject(projectId, filter, pageable);
         if (listOfAllOnProject.isEmpty()) {
             responseStatus = HttpStatus.NO_CONTENT;
         }
@@ -87,17 +115,87 @@ public class ReportController {
     }
 
 
-    @PreAuthorize("@projectSecurity.hasAccessToProject(@reportService.getProjectIdByReportId(#reportId), authentication)")
+    // live changes of the list: report-created, criticality-updated, status-changed and resync events
+    @PreAuthorize("@projectSecurity.hasAccessToProject(#projectId, authentication)")
+    @GetMapping(value = "/byProject/{projectId}/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> liveFeed(
+            @PathVariable String projectId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            Authentication authentication
+    ) {
+        CustomUserDetails user = (CustomUserDetails) authentication.getPrincipal();
+        return reportFeed.subscribe(projectId, user.getId(), lastEventId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "10")
+                        .build());
+    }
+
+    // keyset variant of /byProject/{projectId}: newest first, no count unless asked for
+    @PreAuthorize("@projectSecurity.hasAccessToProject(#projectId, authentication)")
+    @GetMapping("/byProject/{projectId}/cursor")
+    public ResponseEntity<CursorPage<ReportDashboardDTO>> getAllByProjectCursor(
+            @PathVariable String projectId,
+            @ModelAttribute ReportFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "30") int size,
+            @RequestParam(defaultValue = "false") boolean approximateCount
+    ) {
+        CursorPage<ReportDashboardDTO> slice =
+                reportService.getReportsOfProjectAfter(projectId, filter, cursor, size, approximateCount);
+        HttpStatus responseStatus = slice.getContent().isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK;
+        return new ResponseEntity<>(slice, responseStatus);
+    }
+
+    // authorized from the version row, so a 304 never loads the report and its screenshot
+    @PreAuthorize("@projectSecurity.hasAccessToProject(@requestEntityLoader.reportVersion(#reportId).projectId(), authentication)")
     @GetMapping("/{reportId}")
-    public ResponseEntity<ReportCardDTO> getReportCard(
-        @PathVariable Long reportId
+    public ResponseEntity<byte[]> getReportCard(
+        @PathVariable Long reportId,
+        WebRequest webRequest
+    ) {
+        ReportVersion version = reportService.getReportVersion(reportId);
+        if (webRequest.checkNotModified(HttpCaching.etag(version), HttpCaching.lastModified(version))) {
+            return null;
+        }
+        // ReportCardDTO, already serialized by the report card cache
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(HttpCaching.REVALIDATE)
+                .body(reportService.getReportCardJson(version));
+    }
+
+    // card, session and first timeline page in one round trip, e.g. ?include=report,events&fields=report.title,events.name
+    @PreAuthorize("@projectSecurity.hasAccessToProject(@requestEntityLoader.reportProjectId(#reportId), authentication)")
+    @GetMapping("/{reportId}/detail")
+    public ResponseEntity<ReportDetailResponse> getReportDetail(
+            @PathVariable Long reportId,
+            @RequestParam(required = false) Set<String> include,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "100") int eventsSize
+    ) {
+        return new ResponseEntity<>(
+                reportDetailService.getDetail(reportId, include, fields, eventsSize),
+                HttpStatus.OK);
+    }
+
+    // reports of the same project with near-identical stack traces and logs, most similar first
+    @PreAuthorize("@projectSecurity.hasAccessToProject(@requestEntityLoader.reportProjectId(#reportId), authentication)")
+    @GetMapping("/{reportId}/similar")
+    public ResponseEntity<List<SimilarReportResponse>> getSimilarReports(
+            @PathVariable Long reportId,
+            @RequestParam(defaultValue = "10") int limit
     ) {
-        return new ResponseEntity<>(reportService.getReportCard(reportId), HttpStatus.OK);
+        return new ResponseEntity<>(similarReportIndex.findSimilar(reportId, limit), HttpStatus.OK);
     }
 
-    @PreAuthorize("@projectSecurity.hasAccessToProject(@reportService.getProjectIdByReportId(#reportId), authentication)")
+    @PreAuthorize("@projectSecurity.hasAccessToProject(@requestEntityLoader.reportVersion(#reportId).projectId(), authentication)")
     @GetMapping("/{reportId}/screenshot")
-    public ResponseEntity<byte[]> getScreenshot(@PathVariable Long reportId) {
+    public ResponseEntity<byte[]> getScreenshot(@PathVariable Long reportId, WebRequest webRequest) {
+        ReportVersion version = reportService.getReportVersion(reportId);
+        if (webRequest.checkNotModified(HttpCaching.etag(version), HttpCaching.lastModified(version))) {
+            return null;
+        }
         byte[] screen = reportService.getScreen(reportId);
         if (screen == null) {
             return ResponseEntity.notFound().build();
@@ -105,6 +203,7 @@ public class ReportController {
         // define image MIME type
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.IMAGE_PNG);
+        headers.setCacheControl(HttpCaching.REVALIDATE);
         return ResponseEntity.ok().headers(headers).body(screen);
     }
 
@@ -129,7 +228,21 @@ public class ReportController {
     }
 
 
-    @PreAuthorize("@projectSecurity.hasAccessToProject(@reportService.getProjectIdByReportId(#id), authentication)")
+    @PreAuthorize("@projectSecurity.hasAccessToProject(#projectId, authentication)")
+    @GetMapping("/byProject/{projectId}/solved/cursor")
+    public ResponseEntity<CursorPage<ReportDashboardDTO>> getAllReportsSolvedCursor(
+            @PathVariable String projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "30") int size,
+            @RequestParam(defaultValue = "false") boolean approximateCount
+    ) {
+        CursorPage<ReportDashboardDTO> slice =
+                reportService.getReportsSolvedOnProjectAfter(projectId, cursor, size, approximateCount);
+        HttpStatus responseStatus = slice.getContent().isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK;
+        return new ResponseEntity<>(slice, responseStatus);
+    }
+
+    @PreAuthorize("@projectSecurity.hasAccessToProject(@requestEntityLoader.reportProjectId(#id), authentication)")
     @DeleteMapping("/{id}")
     public ResponseEntity<ReportCardDTO> delete(@PathVariable Long id) {
         ReportCardDTO deletedReport = reportService.deleteReport(id);
@@ -0,0 +1,44 @@
+package uni.bugtracker.backend.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import uni.bugtracker.backend.dto.sampling.SamplingPolicyRequest;
+import uni.bugtracker.backend.dto.sampling.SamplingPolicyResponse;
+import uni.bugtracker.backend.service.sampling.SamplingPolicyService;
+import uni.bugtracker.backend.utility.HttpCaching;
+
+// the widget reads its project's policy at session start, without a login
+@RestController
+@RequestMapping("/api/sampling")
+@RequiredArgsConstructor
+public class SamplingPolicyController {
+
+    private final SamplingPolicyService samplingPolicyService;
+
+    @GetMapping("/{projectId}")
+    public ResponseEntity<SamplingPolicyResponse> getPolicy(
+            @PathVariable String projectId,
+            WebRequest webRequest
+    ) {
+        SamplingPolicyResponse policy = samplingPolicyService.getPolicy(projectId);
+        if (webRequest.checkNotModified(HttpCaching.etag(policy))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(HttpCaching.SAMPLING_POLICY)
+                .body(policy);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'PM') and @projectSecurity.hasAccessToProject(#projectId, authentication)")
+    @PutMapping("/{projectId}")
+    public ResponseEntity<SamplingPolicyResponse> updatePolicy(
+            @PathVariable String projectId,
+            @RequestBody @Valid SamplingPolicyRequest request
+    ) {
+        return ResponseEntity.ok(samplingPolicyService.updatePolicy(projectId, request));
+    }
+}
@@ -0,0 +1,33 @@
+package uni.bugtracker.backend.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import uni.bugtracker.backend.dto.search.SearchResultPage;
+import uni.bugtracker.backend.service.SearchService;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+    private final SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @PreAuthorize("@projectSecurity.hasAccessToProject(#projectId, authentication)")
+    @GetMapping("/byProject/{projectId}")
+    public ResponseEntity<SearchResultPage> search(
+            @PathVariable String projectId,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        SearchResultPage result = searchService.search(projectId, q, page, size);
+        if (result.getHits().isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+}
@@ -5,35 +5,55 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import uni.bugtracker.backend.dto.session.SessionCreationResponse;
 import uni.bugtracker.backend.dto.session.SessionDetailsResponse;
 import uni.bugtracker.backend.dto.session.SessionRequest;
+import uni.bugtracker.backend.repository.projection.SessionVersion;
 import uni.bugtracker.backend.service.SessionService;
+import uni.bugtracker.backend.service.ingestion.IngestionScheduler;
+import uni.bugtracker.backend.service.ratelimit.IngestionRateLimiter;
+import uni.bugtracker.backend.utility.HttpCaching;
 
 @RestController
 @RequestMapping("/api/sessions")
 public class SessionController {
 
     private final SessionService sessionService;
+    private final IngestionRateLimiter rateLimiter;
+    private final IngestionScheduler ingestionScheduler;
 
-    public SessionController(SessionService sessionService) {
+    public SessionController(SessionService sessionService, IngestionRateLimiter rateLimiter,
+                             IngestionScheduler ingestionScheduler) {
         this.sessionService = sessionService;
+        this.rateLimiter = rateLimiter;
+        this.ingestionScheduler = ingestionScheduler;
     }
 
     @PostMapping
     public ResponseEntity<SessionCreationResponse> createSession(
             @Valid @RequestBody SessionRequest request
     ) {
-        return new ResponseEntity<>(sessionService.createSession(request),
+        sessionService.checkProjectExists(request.getProjectId());
+        rateLimiter.checkProject(request.getProjectId());
+        return new ResponseEntity<>(ingestionScheduler.run(request.getProjectId(), false, 0,
+                () -> sessionService.createSession(request)),
                 HttpStatus.CREATED);
     }
 
 //    @PreAuthorize("isAuthenticated()")
-    @PreAuthorize("@projectSecurity.hasAccessToProject(@sessionService.getProjectIdBySessionId(#id), authentication)")
+    @PreAuthorize("@projectSecurity.hasAccessToProject(@requestEntityLoader.sessionVersion(#id).projectId(), authentication)")
     @GetMapping("/{id}")
     public ResponseEntity<SessionDetailsResponse> getSession(
-            @PathVariable Long id
+            @PathVariable Long id,
+            WebRequest webRequest
     ) {
-        return new ResponseEntity<>(sessionService.getSession(id), HttpStatus.OK);
+        SessionVersion version = sessionService.getSessionVersion(id);
+        if (webRequest.checkNotModified(HttpCaching.etag(version))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(HttpCaching.cacheControl(HttpCaching.isClosed(version)))
+                .body(sessionService.getSession(id));
     }
 }
@@ -0,0 +1,31 @@
+package uni.bugtracker.backend.controller;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import uni.bugtracker.backend.dto.stats.ProjectStatsResponse;
+import uni.bugtracker.backend.service.StatsService;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+    private final StatsService statsService;
+
+    public StatsController(StatsService statsService) {
+        this.statsService = statsService;
+    }
+
+    // from/to are UTC days, both inclusive; the last 30 days by default
+    @PreAuthorize("@projectSecurity.hasAccessToProject(#projectId, authentication)")
+    @GetMapping("/byProject/{projectId}")
+    public ResponseEntity<ProjectStatsResponse> getDailyStats(
+            @PathVariable String projectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(statsService.getDailyStats(projectId, from, to));
+    }
+}
@@ -0,0 +1,20 @@
+package uni.bugtracker.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated listing. {@code nextCursor} is null on the last slice,
+ * {@code approximateTotal} is only filled when the client asked for it and the database
+ * keeps statistics (PostgreSQL).
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+    private Long approximateTotal;
+}
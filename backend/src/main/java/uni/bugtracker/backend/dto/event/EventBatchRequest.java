@@ -0,0 +1,19 @@
+package uni.bugtracker.backend.dto.event;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Set;
+
+@Data
+public class EventBatchRequest {
+    @NotEmpty
+    @Size(max = 500, message = "at most 500 ids per request")
+    private List<@NotNull Long> ids;
+
+    // subset of EventDetailsResponse fields; all fields when omitted
+    private Set<String> fields;
+}
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import uni.bugtracker.backend.model.Event;
 import uni.bugtracker.backend.model.EventType;
+import uni.bugtracker.backend.repository.projection.EventHeadRow;
 
 import java.time.Instant;
 
@@ -41,6 +42,21 @@ public class EventDetailsResponse {
         }
     }
 
+    // log and stackTrace stay null
+    public EventDetailsResponse(EventHeadRow row) {
+        this.eventId = row.id();
+        this.sessionId = row.sessionId();
+        this.type = row.type();
+        this.name = row.name();
+        this.url = row.url();
+        this.element = row.element();
+        this.timestamp = row.timestamp();
+        this.metadata = new Metadata();
+        this.metadata.fileName = row.fileName();
+        this.metadata.lineNumber = row.lineNumber();
+        this.metadata.statusCode = row.statusCode();
+    }
+
     @Data
     public static class Metadata {
         private String fileName;
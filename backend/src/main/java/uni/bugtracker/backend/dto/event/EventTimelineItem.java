@@ -0,0 +1,29 @@
+package uni.bugtracker.backend.dto.event;
+
+import lombok.Getter;
+import uni.bugtracker.backend.model.EventType;
+import uni.bugtracker.backend.repository.projection.EventTimelineRow;
+
+import java.time.Instant;
+
+@Getter
+public class EventTimelineItem {
+    private Long eventId;
+    private EventType type;
+    private String name;
+    private String url;
+    private Instant timestamp;
+    // null when the event has no log/stack trace or was stored before sizes were recorded
+    private Integer logLength;
+    private Integer stackTraceLength;
+
+    public EventTimelineItem(EventTimelineRow row) {
+        this.eventId = row.id();
+        this.type = row.type();
+        this.name = row.name();
+        this.url = row.url();
+        this.timestamp = row.timestamp();
+        this.logLength = row.logLength();
+        this.stackTraceLength = row.stackTraceLength();
+    }
+}
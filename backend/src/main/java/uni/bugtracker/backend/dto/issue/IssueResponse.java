@@ -0,0 +1,25 @@
+package uni.bugtracker.backend.dto.issue;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import uni.bugtracker.backend.model.CriticalityLevel;
+import uni.bugtracker.backend.model.Issue;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class IssueResponse {
+    private Long id;
+    private String title;
+    private String urlTemplate;
+    private long occurrences;
+    private Instant firstSeenAt;
+    private Instant lastSeenAt;
+    private CriticalityLevel criticality;
+
+    public static IssueResponse of(Issue issue) {
+        return new IssueResponse(issue.getId(), issue.getTitle(), issue.getUrlTemplate(), issue.getOccurrences(),
+                issue.getFirstSeenAt(), issue.getLastSeenAt(), issue.getCriticality());
+    }
+}
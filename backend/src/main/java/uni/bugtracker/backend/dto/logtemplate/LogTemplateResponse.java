@@ -0,0 +1,23 @@
+package uni.bugtracker.backend.dto.logtemplate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import uni.bugtracker.backend.model.LogTemplate;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class LogTemplateResponse {
+    private Long id;
+    // variable tokens shown as <*>
+    private String template;
+    private long occurrences;
+    private Instant firstSeenAt;
+    private Instant lastSeenAt;
+
+    public static LogTemplateResponse of(LogTemplate template) {
+        return new LogTemplateResponse(template.getId(), template.getTemplate(), template.getOccurrences(),
+                template.getFirstSeenAt(), template.getLastSeenAt());
+    }
+}
@@ -0,0 +1,33 @@
+package uni.bugtracker.backend.dto.purge;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import uni.bugtracker.backend.model.PurgeJob;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class PurgeJobResponse {
+    private Long id;
+    private PurgeJob.Kind kind;
+    private String projectId;
+    // the phase being worked on, DONE once finished
+    private PurgeJob.Phase phase;
+    private long deletedReports;
+    private long deletedSessions;
+    private long deletedEvents;
+    private long clearedScreenshots;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private Instant finishedAt;
+    // the last chunk failed with this, the job is retried
+    private String lastError;
+
+    public static PurgeJobResponse of(PurgeJob job) {
+        return new PurgeJobResponse(job.getId(), job.getKind(), job.getProjectId(), job.getPhase(),
+                job.getDeletedReports(), job.getDeletedSessions(), job.getDeletedEvents(),
+                job.getClearedScreenshots(), job.getCreatedAt(), job.getUpdatedAt(), job.getFinishedAt(),
+                job.getLastError());
+    }
+}
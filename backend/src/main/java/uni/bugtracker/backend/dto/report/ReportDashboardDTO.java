@@ -3,6 +3,7 @@ package uni.bugtracker.backend.dto.report;
 
 import lombok.Getter;
 import uni.bugtracker.backend.model.Report;
+import uni.bugtracker.backend.repository.projection.ReportListRow;
 
 import java.time.Instant;
 import java.util.List;
@@ -32,4 +33,20 @@ public class ReportDashboardDTO {
                 ? report.getStatus().name()
                 : null;
     }
+
+    public ReportDashboardDTO(ReportListRow row) {
+        this.id = row.id();
+        this.projectId = row.projectId();
+        this.title = row.title();
+        this.tags = row.tags().stream()
+                .map(Enum::name)
+                .toList();
+        this.reportedAt = row.reportedAt();
+        this.level = row.criticality() != null
+                ? row.criticality().name()
+                : null;
+        this.status = row.status() != null
+                ? row.status().name()
+                : null;
+    }
 }
@@ -0,0 +1,16 @@
+package uni.bugtracker.backend.dto.report;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import uni.bugtracker.backend.dto.CursorPage;
+
+// report card, its session and the first timeline page; parts that were not requested are omitted
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReportDetailResponse {
+    private Object report;
+    private Object session;
+    private CursorPage<Object> events;
+}
@@ -0,0 +1,25 @@
+package uni.bugtracker.backend.dto.report;
+
+import java.util.List;
+
+// data of a live feed event: the report as it appears in the dashboard list
+public record ReportFeedItem(
+        Long id,
+        String projectId,
+        String title,
+        List<String> tags,
+        String reportedAt,
+        String level,
+        String status
+) {
+    public static ReportFeedItem of(ReportDashboardDTO report) {
+        return new ReportFeedItem(
+                report.getId(),
+                report.getProjectId(),
+                report.getTitle(),
+                report.getTags(),
+                report.getReportedAt() != null ? report.getReportedAt().toString() : null,
+                report.getLevel(),
+                report.getStatus());
+    }
+}
@@ -0,0 +1,45 @@
+package uni.bugtracker.backend.dto.report;
+
+import lombok.Getter;
+import lombok.Setter;
+import uni.bugtracker.backend.model.CriticalityLevel;
+import uni.bugtracker.backend.model.ReportStatus;
+import uni.bugtracker.backend.model.Tag;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Dashboard list filter, bound from query parameters. Criteria are combined with AND,
+ * values inside one multi-valued criterion with OR (tags follow {@link #tagMatch}).
+ * {@code from} is inclusive, {@code to} exclusive.
+ */
+@Getter
+@Setter
+public class ReportFilter {
+    private Instant from;
+    private Instant to;
+    private String developer;
+    private Set<Tag> tags;
+    private TagMatch tagMatch = TagMatch.ANY;
+    private Set<CriticalityLevel> level;
+    private Set<ReportStatus> status;
+
+    public enum TagMatch {
+        ANY,
+        ALL
+    }
+
+    public static ReportFilter none() {
+        return new ReportFilter();
+    }
+
+    public boolean isEmpty() {
+        return from == null
+                && to == null
+                && (developer == null || developer.isBlank())
+                && (tags == null || tags.isEmpty())
+                && (level == null || level.isEmpty())
+                && (status == null || status.isEmpty());
+    }
+}
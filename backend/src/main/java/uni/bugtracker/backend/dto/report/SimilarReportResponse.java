@@ -0,0 +1,26 @@
+package uni.bugtracker.backend.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import uni.bugtracker.backend.model.CriticalityLevel;
+import uni.bugtracker.backend.model.ReportStatus;
+import uni.bugtracker.backend.repository.projection.ReportListRow;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class SimilarReportResponse {
+    private Long reportId;
+    // estimated Jaccard similarity of the shingled stack traces and logs, 0..1
+    private double similarity;
+    private String title;
+    private Instant reportedAt;
+    private CriticalityLevel level;
+    private ReportStatus status;
+
+    public static SimilarReportResponse of(ReportListRow row, double similarity) {
+        return new SimilarReportResponse(row.id(), similarity, row.title(), row.reportedAt(), row.criticality(),
+                row.status());
+    }
+}
@@ -0,0 +1,32 @@
+package uni.bugtracker.backend.dto.sampling;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+@Data
+public class SamplingPolicyRequest {
+    @DecimalMin("0.0") @DecimalMax("1.0")
+    private double actionRate = 1;
+
+    @DecimalMin("0.0") @DecimalMax("1.0")
+    private double performanceRate = 1;
+
+    @DecimalMin("0.0") @DecimalMax("1.0")
+    private double networkRate = 1;
+
+    @DecimalMin("0.0") @DecimalMax("1.0")
+    private double customRate = 1;
+
+    // 0 for no cap
+    @Min(0)
+    private int maxEventsPerSession;
+
+    @Min(0) @Max(3_600_000)
+    private long keepBeforeErrorMs;
+
+    @Min(0) @Max(3_600_000)
+    private long keepAfterErrorMs;
+}
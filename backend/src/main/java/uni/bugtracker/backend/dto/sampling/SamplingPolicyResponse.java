@@ -0,0 +1,47 @@
+package uni.bugtracker.backend.dto.sampling;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import uni.bugtracker.backend.model.EventType;
+import uni.bugtracker.backend.model.SamplingPolicy;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The policy as the widget receives it and as the server applies it. An event is sampled in
+ * when {@code fnv1a32(sessionId + ":" + type + ":" + epochMillis) / 2^32 < rate}, so the widget
+ * and the server make the same choice and a sent event is not sampled a second time.
+ */
+@Getter
+@AllArgsConstructor
+public class SamplingPolicyResponse {
+    private String projectId;
+    // ERROR is always 1
+    private Map<EventType, Double> rates;
+    private int maxEventsPerSession;
+    private long keepBeforeErrorMs;
+    private long keepAfterErrorMs;
+    // null for a project that never saved a policy
+    private Long version;
+
+    public static SamplingPolicyResponse of(SamplingPolicy policy) {
+        Map<EventType, Double> rates = new EnumMap<>(EventType.class);
+        for (EventType type : EventType.values()) {
+            rates.put(type, policy.rate(type));
+        }
+        return new SamplingPolicyResponse(policy.getProjectId(), Collections.unmodifiableMap(rates),
+                policy.getMaxEventsPerSession(), policy.getKeepBeforeErrorMs(), policy.getKeepAfterErrorMs(),
+                policy.getVersion());
+    }
+
+    public double rate(EventType type) {
+        return rates.get(type);
+    }
+
+    // the default: no row, nothing is dropped and the sampler keeps no state for the project
+    public boolean keepsAll() {
+        return maxEventsPerSession == 0 && rates.values().stream().allMatch(rate -> rate >= 1);
+    }
+}
@@ -0,0 +1,25 @@
+package uni.bugtracker.backend.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class SearchHit {
+    private Kind kind;
+    private Long id;
+    private Long sessionId;
+    // report title or event name
+    private String title;
+    private Instant timestamp;
+    private double rank;
+    // HTML-escaped excerpt, matches wrapped in <mark></mark>
+    private String highlight;
+
+    public enum Kind {
+        REPORT,
+        EVENT
+    }
+}
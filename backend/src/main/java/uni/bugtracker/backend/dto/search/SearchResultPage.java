@@ -0,0 +1,15 @@
+package uni.bugtracker.backend.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class SearchResultPage {
+    private List<SearchHit> hits;
+    private int page;
+    private int size;
+    private boolean hasNext;
+}
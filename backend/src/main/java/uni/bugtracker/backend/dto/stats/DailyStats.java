@@ -0,0 +1,23 @@
+package uni.bugtracker.backend.dto.stats;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Getter
+@Setter
+@RequiredArgsConstructor
+public class DailyStats {
+    private final LocalDate date;
+    private long reports;
+    // counts by ReportStatus, CriticalityLevel and Tag name; missing keys are zero
+    private final Map<String, Long> reportsByStatus = new TreeMap<>();
+    private final Map<String, Long> reportsByLevel = new TreeMap<>();
+    private final Map<String, Long> reportsByTag = new TreeMap<>();
+    private long sessions;
+    private long errorEvents;
+}
@@ -0,0 +1,17 @@
+package uni.bugtracker.backend.dto.stats;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ProjectStatsResponse {
+    private String projectId;
+    private LocalDate from;
+    private LocalDate to;
+    // one entry per UTC day of the range, days without activity included
+    private List<DailyStats> days;
+}
@@ -0,0 +1,22 @@
+package uni.bugtracker.backend.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class TooManyRequestsException extends BaseCustomerException {
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super("RATE_LIMITED", message, HttpStatus.TOO_MANY_REQUESTS);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    // thrown for every request of a flood, the stack trace would cost more than the check
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,68 @@
+package uni.bugtracker.backend.model;
+
+import uni.bugtracker.backend.utility.compression.TextCompression;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+
+/**
+ * A text column kept compressed in memory as it is in the database (see {@link CompressedTextType}).
+ * Loading an entity only copies the compressed bytes; the text is decompressed on the first
+ * {@link #text()} and kept, {@link #reader()} streams it without keeping it.
+ */
+public final class CompressedText {
+    private final byte[] stored;
+    private volatile String text;
+
+    private CompressedText(byte[] stored, String text) {
+        this.stored = stored;
+        this.text = text;
+    }
+
+    public static CompressedText of(String text) {
+        return text != null ? new CompressedText(TextCompression.compress(text), text) : null;
+    }
+
+    static CompressedText ofStored(byte[] stored) {
+        return stored != null ? new CompressedText(stored, null) : null;
+    }
+
+    public String text() {
+        String result = text;
+        if (result == null) {
+            result = TextCompression.decompress(stored);
+            text = result;
+        }
+        return result;
+    }
+
+    public Reader reader() {
+        String result = text;
+        return result != null ? new StringReader(result) : TextCompression.reader(stored);
+    }
+
+    public int storedSize() {
+        return stored.length;
+    }
+
+    byte[] stored() {
+        return stored;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof CompressedText that && Arrays.equals(stored, that.stored);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(stored);
+    }
+
+    // not the text: printing an entity must not decompress its bodies
+    @Override
+    public String toString() {
+        return "CompressedText[" + stored.length + " bytes]";
+    }
+}
@@ -0,0 +1,78 @@
+package uni.bugtracker.backend.model;
+
+import org.hibernate.type.SqlTypes;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.usertype.UserType;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Objects;
+
+/**
+ * Maps {@link CompressedText} to a binary column (bytea on PostgreSQL) holding the compressed
+ * bytes, so reading a row moves the compressed size and decompression waits for the first access.
+ * Values are immutable, a changed text is a new instance.
+ */
+public class CompressedTextType implements UserType<CompressedText> {
+
+    // 4,000,000 chars are at most 12,000,000 bytes of UTF-8, stored plain when they do not compress
+    public static final int MAX_LENGTH = 12_000_001;
+
+    @Override
+    public int getSqlType() {
+        return SqlTypes.VARBINARY;
+    }
+
+    @Override
+    public Class<CompressedText> returnedClass() {
+        return CompressedText.class;
+    }
+
+    @Override
+    public boolean equals(CompressedText x, CompressedText y) {
+        return Objects.equals(x, y);
+    }
+
+    @Override
+    public int hashCode(CompressedText x) {
+        return Objects.hashCode(x);
+    }
+
+    @Override
+    public CompressedText nullSafeGet(ResultSet rs, int position, WrapperOptions options) throws SQLException {
+        return CompressedText.ofStored(rs.getBytes(position));
+    }
+
+    @Override
+    public void nullSafeSet(PreparedStatement st, CompressedText value, int position, WrapperOptions options)
+            throws SQLException {
+        if (value == null) {
+            st.setNull(position, Types.VARBINARY);
+        } else {
+            st.setBytes(position, value.stored());
+        }
+    }
+
+    @Override
+    public CompressedText deepCopy(CompressedText value) {
+        return value;
+    }
+
+    @Override
+    public boolean isMutable() {
+        return false;
+    }
+
+    @Override
+    public Serializable disassemble(CompressedText value) {
+        return value != null ? value.stored() : null;
+    }
+
+    @Override
+    public CompressedText assemble(Serializable cached, Object owner) {
+        return CompressedText.ofStored((byte[]) cached);
+    }
+}
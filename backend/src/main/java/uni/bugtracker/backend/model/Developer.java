@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import uni.bugtracker.backend.security.model.Role;
 
 import java.util.HashSet;
@@ -41,4 +42,9 @@ public class Developer {
     @Column(nullable=false)
     private Role role = Role.DEVELOPER;
 
+    // bumped on every role change, tokens carrying an older value are rejected
+    @ColumnDefault("0")
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
 }
@@ -3,19 +3,27 @@ package uni.bugtracker.backend.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Type;
 
 import java.time.Instant;
 
 @Data
 @Entity
-@Table(name = "event")
+@Table(name = "event",
+        indexes = {
+                @Index(name = "idx_event_session_timestamp", columnList = "session_id, timestamp, id"),
+                @Index(name = "idx_event_stack_trace_hash", columnList = "stack_trace_hash"),
+                @Index(name = "idx_event_log_template", columnList = "log_template_id")
+        })
 public class Event {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "session_id", nullable = false)
+    // no constraint: session is partitioned, its primary key is (id, created_at)
+    @JoinColumn(name = "session_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Session session;
 
     @Enumerated(EnumType.STRING)
@@ -23,21 +31,150 @@ public class Event {
 
     private String name;
 
+    // log and stack trace are stored compressed (CompressedTextType) and decompressed on first access
+    @Type(CompressedTextType.class)
+    @Column(name = "log_data", length = CompressedTextType.MAX_LENGTH)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private CompressedText logData;
+
+    @Type(CompressedTextType.class)
+    @Column(name = "stack_trace_data", length = CompressedTextType.MAX_LENGTH)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private CompressedText stackTraceData;
+
+    // the trace shared with other events (StackTraceStore); rows without one keep it in stack_trace_data.
+    // no constraint: blobs are only collected once no event points to them
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "stack_trace_hash", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private StackTraceBlob stackTraceBlob;
+
+    // text of the blob attached at ingestion, so indexing the new event does not read it back
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private String stackTraceText;
+
+    // the mined template of the log (LogTemplateStore); log_data then holds only its parameters.
+    // no constraint: templates are deleted with the project
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "log_template_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private LogTemplate logTemplate;
+
+    // the log of a templated event as it was sent, so indexing the new event does not render it
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private String logText;
+
+    // rows written before compression keep their bodies in the large-object columns
     @Lob
-    @Size(max = 4_000_000)
-    private String log;
+    @Column(name = "log")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String legacyLog;
 
     @Lob
-    @Size(max = 4_000_000)
-    private String stackTrace;
+    @Column(name = "stack_trace")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String legacyStackTrace;
+
+    // false for those older rows: the default fills the column when it is added
+    @ColumnDefault("false")
+    @Column(name = "body_compressed", nullable = false)
+    @Setter(AccessLevel.NONE)
+    private boolean bodyCompressed = true;
+
+    // lengths in chars, so the timeline can show sizes without reading the bodies
+    private Integer logLength;
+    private Integer stackTraceLength;
 
     private String url;
     private String element; // For user actions
     private Instant timestamp;
 
+    // partition key (see PartitionedTable), database time of the insert; not read back into the entity
+    @ColumnDefault("current_timestamp")
+    @Column(name = "received_at", nullable = false, insertable = false, updatable = false)
+    private Instant receivedAt;
+
     @Embedded
     private Metadata metadata;
 
+    @Size(max = 4_000_000)
+    public String getLog() {
+        if (logTemplate != null) {
+            return logText != null ? logText : logTemplate.render(text(logData));
+        }
+        return bodyCompressed ? text(logData) : legacyLog;
+    }
+
+    // an older row stays in its format
+    public void setLog(String log) {
+        logTemplate = null;
+        logText = null;
+        if (bodyCompressed) {
+            logData = CompressedText.of(log);
+        } else {
+            legacyLog = log;
+        }
+        logLength = log != null ? log.length() : null;
+    }
+
+    // log is the template rendered with the parameters, encoded by LogTemplate.encode
+    public void setLog(LogTemplate template, String parameters, String log) {
+        logTemplate = template;
+        logText = log;
+        logData = CompressedText.of(parameters);
+        logLength = log.length();
+    }
+
+    @Size(max = 4_000_000)
+    public String getStackTrace() {
+        if (stackTraceBlob != null) {
+            return stackTraceText != null ? stackTraceText : stackTraceBlob.getText();
+        }
+        return bodyCompressed ? text(stackTraceData) : legacyStackTrace;
+    }
+
+    // kept inline, for traces that are not worth sharing
+    public void setStackTrace(String stackTrace) {
+        stackTraceBlob = null;
+        stackTraceText = null;
+        if (bodyCompressed) {
+            stackTraceData = CompressedText.of(stackTrace);
+        } else {
+            legacyStackTrace = stackTrace;
+        }
+        stackTraceLength = stackTrace != null ? stackTrace.length() : null;
+    }
+
+    // text is the blob's trace
+    public void setStackTrace(StackTraceBlob blob, String text) {
+        stackTraceBlob = blob;
+        stackTraceText = text;
+        stackTraceData = null;
+        stackTraceLength = text.length();
+    }
+
+    private static String text(CompressedText value) {
+        return value != null ? value.text() : null;
+    }
+
     @Embeddable
     @Data
     @NoArgsConstructor(access = AccessLevel.PUBLIC)
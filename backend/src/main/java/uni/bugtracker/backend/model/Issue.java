@@ -0,0 +1,59 @@
+package uni.bugtracker.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Instant;
+
+/**
+ * One error as it repeats across sessions: automatic reports with the same fingerprint
+ * (see {@link uni.bugtracker.backend.service.issue.IssueFingerprint}) point to one issue.
+ * Rows are created and counted by {@link uni.bugtracker.backend.repository.IssueWriter} in a
+ * single statement, so concurrent reports never lose an occurrence or create a second issue.
+ */
+@Entity
+@Table(name = "issue",
+        uniqueConstraints = @UniqueConstraint(name = "uk_issue_project_fingerprint",
+                columnNames = {"project_id", "fingerprint"}),
+        indexes = @Index(name = "idx_issue_project_last_seen", columnList = "project_id, last_seen_at, id"))
+@Getter@Setter
+public class Issue {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id", nullable = false)
+    private Project project;
+
+    // SHA-256 of error name, top stack frames and url template, all normalized
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(nullable = false, length = 255)
+    private String title;
+
+    @Column(length = 2048)
+    private String urlTemplate;
+
+    @ColumnDefault("1")
+    @Column(nullable = false)
+    private long occurrences;
+
+    @Column(name = "first_seen_at", nullable = false)
+    private Instant firstSeenAt;
+
+    @Column(name = "last_seen_at", nullable = false)
+    private Instant lastSeenAt;
+
+    // analyzed for the first report; later reports of the issue take it over
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CriticalityLevel criticality = CriticalityLevel.UNKNOWN;
+
+    // start of the last analysis; an issue still UNKNOWN well after it is analyzed again (IssueService)
+    @Column(name = "analysis_requested_at")
+    private Instant analysisRequestedAt;
+}
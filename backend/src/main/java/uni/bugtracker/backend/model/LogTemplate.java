@@ -0,0 +1,96 @@
+package uni.bugtracker.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A log line with its variable tokens replaced by {@value #WILDCARD}, mined by
+ * {@link uni.bugtracker.backend.service.logtemplate.LogTemplateStore}. An event with a template
+ * keeps only the parameters in {@code log_data}, its log is the template with the parameters
+ * filled in. The text of a row never changes: when the miner generalizes a template, the
+ * result is another row, so the events already pointing to the old one stay readable.
+ * Rows are written by {@link uni.bugtracker.backend.repository.LogTemplateWriter}.
+ */
+@Entity
+@Table(name = "log_template",
+        uniqueConstraints = @UniqueConstraint(name = "uk_log_template_project_hash",
+                columnNames = {"project_id", "hash"}),
+        indexes = @Index(name = "idx_log_template_project_occurrences", columnList = "project_id, occurrences, id"))
+@BatchSize(size = 100)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class LogTemplate {
+    public static final String WILDCARD = "<*>";
+    public static final int MAX_LENGTH = 2048;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private String projectId;
+
+    // SHA-256 of the template
+    @Column(nullable = false, length = 64)
+    private String hash;
+
+    // tokens of the line split at single spaces, so rendering gives back the exact line
+    @Column(nullable = false, length = MAX_LENGTH)
+    private String template;
+
+    // counted in memory and added in batches, a few seconds behind
+    @Column(nullable = false)
+    private long occurrences;
+
+    @Column(nullable = false)
+    private Instant firstSeenAt;
+
+    @Column(nullable = false)
+    private Instant lastSeenAt;
+
+    public String render(String parameters) {
+        return render(template, parameters);
+    }
+
+    public static String render(String template, String parameters) {
+        String[] tokens = template.split(" ", -1);
+        List<String> values = decode(parameters);
+        StringBuilder line = new StringBuilder(template.length() + parameters.length());
+        int next = 0;
+        for (int i = 0; i < tokens.length; i++) {
+            if (i > 0) {
+                line.append(' ');
+            }
+            line.append(WILDCARD.equals(tokens[i]) ? values.get(next++) : tokens[i]);
+        }
+        return line.toString();
+    }
+
+    // each value as its length, a colon and the value: "3:4042:ms"
+    public static String encode(List<String> parameters) {
+        StringBuilder encoded = new StringBuilder();
+        for (String parameter : parameters) {
+            encoded.append(parameter.length()).append(':').append(parameter);
+        }
+        return encoded.toString();
+    }
+
+    static List<String> decode(String encoded) {
+        List<String> values = new ArrayList<>();
+        int position = 0;
+        while (position < encoded.length()) {
+            int colon = encoded.indexOf(':', position);
+            int length = Integer.parseInt(encoded, position, colon, 10);
+            values.add(encoded.substring(colon + 1, colon + 1 + length));
+            position = colon + 1 + length;
+        }
+        return values;
+    }
+}
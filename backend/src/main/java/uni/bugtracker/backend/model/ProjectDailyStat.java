@@ -0,0 +1,51 @@
+package uni.bugtracker.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * One counter of the per-project statistics rollup, e.g. ("p1", 2026-03-01, "reports", "status:NEW") = 12.
+ * Written incrementally by StatsRollup, repaired by StatsReconciliationJob, never computed on read.
+ */
+@Entity
+@Table(name = "project_daily_stat",
+        indexes = @Index(name = "idx_project_daily_stat_project_date", columnList = "project_id, stat_date"))
+@IdClass(ProjectDailyStat.Key.class)
+@Getter
+@Setter
+public class ProjectDailyStat {
+    @Id
+    @Column(name = "project_id")
+    private String projectId;
+
+    // UTC day
+    @Id
+    private LocalDate statDate;
+
+    @Id
+    private String metric;
+
+    @Id
+    private String dimension;
+
+    @Column(nullable = false)
+    private long amount;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String projectId;
+        private LocalDate statDate;
+        private String metric;
+        private String dimension;
+    }
+}
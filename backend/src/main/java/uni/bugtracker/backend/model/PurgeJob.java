@@ -0,0 +1,91 @@
+package uni.bugtracker.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Instant;
+
+/**
+ * A background deletion run by {@link uni.bugtracker.backend.service.purge.PurgeEngine}: all
+ * data of a project, or the sessions and screenshots older than a cutoff. Phase and checkpoint
+ * are committed with every chunk, so a restarted node continues where the last chunk ended.
+ */
+@Entity
+@Table(name = "purge_job",
+        indexes = @Index(name = "idx_purge_job_open", columnList = "finishedAt, id"))
+@Getter@Setter
+public class PurgeJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Kind kind;
+
+    // PROJECT jobs only
+    private String projectId;
+
+    // RETENTION jobs: closed sessions started before this go with their events and reports
+    private Instant sessionCutoff;
+
+    // RETENTION jobs: screenshots of reports reported before this are cleared
+    private Instant screenshotCutoff;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Phase phase;
+
+    // last id handled in the current phase, rows up to it are not scanned again
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long checkpoint;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long deletedReports;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long deletedSessions;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long deletedEvents;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long clearedScreenshots;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    private Instant updatedAt;
+
+    private Instant finishedAt;
+
+    // the node working on the job holds it until then, a crashed node's job is picked up afterwards
+    private Instant claimedUntil;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    public enum Kind {
+        PROJECT,
+        RETENTION
+    }
+
+    public enum Phase {
+        REPORTS,
+        SESSIONS,
+        SCREENSHOTS,
+        PROJECT,
+        DONE
+    }
+
+    public long getDeletedRows() {
+        return deletedReports + deletedSessions + deletedEvents;
+    }
+}
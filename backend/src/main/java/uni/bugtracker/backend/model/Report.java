@@ -4,17 +4,27 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 @Entity
 @Table(name = "report",
         indexes = {
                 @Index(name = "idx_report_session", columnList = "sessionId"),
-                @Index(name = "idx_report_project", columnList = "projectId")
+                @Index(name = "idx_report_project", columnList = "projectId"),
+                @Index(name = "idx_report_project_reported", columnList = "projectId, reportedAt, id"),
+                @Index(name = "idx_report_project_status_reported", columnList = "projectId, status, reportedAt, id"),
+                @Index(name = "idx_report_project_criticality_reported", columnList = "projectId, criticality, reportedAt, id"),
+                @Index(name = "idx_report_project_developer_reported", columnList = "projectId, developer_id, reportedAt, id"),
+                @Index(name = "idx_report_issue", columnList = "issue_id")
         })
 @Getter@Setter
 public class Report {
@@ -27,18 +37,25 @@ public class Report {
     private Project project;
 
     @OneToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "session_id", nullable = false)
+    // no constraint: session is partitioned, its primary key is (id, created_at)
+    @JoinColumn(name = "session_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Session session;
 
     @Size(max = 255)
     @Column(length = 255)
     private String title;
 
-    @Enumerated(EnumType.STRING)
-    @ElementCollection(targetClass = Tag.class)
-    @CollectionTable(name = "report_tags", joinColumns = @JoinColumn(name = "report_id"))
-    @Column(name = "tag")
-    private List<Tag> tags;
+    // bitmask column, see TagSetConverter; report_tags rows are migrated by schema-postgresql.sql
+    @Convert(converter = TagSetConverter.class)
+    @ColumnDefault("0")
+    @Column(name = "tags_mask", nullable = false)
+    private Set<Tag> tags = EnumSet.noneOf(Tag.class);
+
+    // read-only view of the same column for bitwise filter predicates
+    @ColumnDefault("0")
+    @Column(name = "tags_mask", nullable = false, insertable = false, updatable = false)
+    @Setter(AccessLevel.NONE)
+    private int tagsMask;
 
     @NotNull
     private Instant reportedAt;
@@ -62,6 +79,7 @@ public class Report {
     private String currentUrl;
 
     @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "report_related_event_ids", joinColumns = @JoinColumn(name = "report_id"))
     @Column(name = "related_event_id")
     private List<Long> relatedEventIds;
 
@@ -76,6 +94,11 @@ public class Report {
     @JoinColumn(name = "developer_id", nullable = true)
     private Developer developer;
 
+    // automatic reports of the same error share an issue, user reports have none
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "issue_id")
+    private Issue issue;
+
     @Enumerated(EnumType.STRING)
     @NotNull // connect OpenRouter API
     private CriticalityLevel criticality = CriticalityLevel.UNKNOWN;
@@ -84,4 +107,21 @@ public class Report {
     @NotNull
     private ReportStatus status = ReportStatus.NEW;
 
+    // bumped by every update, part of the card's ETag
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    private Instant updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = Instant.now();
+    }
+
+    public void setTags(Collection<Tag> tags) {
+        this.tags = tags == null || tags.isEmpty() ? EnumSet.noneOf(Tag.class) : EnumSet.copyOf(tags);
+    }
 }
@@ -0,0 +1,37 @@
+package uni.bugtracker.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * MinHash signature of a report's stack traces and logs, so the similar-report index is
+ * rebuilt on startup without reading events again (see
+ * {@link uni.bugtracker.backend.service.similar.SimilarReportIndex}). No foreign key: the row
+ * is deleted with its report and is never read without it.
+ */
+@Entity
+@Table(name = "report_signature",
+        indexes = @Index(name = "idx_report_signature_project", columnList = "project_id"))
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ReportSignature {
+    @Id
+    @Column(name = "report_id")
+    private Long reportId;
+
+    @Column(name = "project_id", nullable = false)
+    private String projectId;
+
+    // 64 big-endian ints, null when the report has no text to compare
+    @Column(length = 256)
+    private byte[] signature;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
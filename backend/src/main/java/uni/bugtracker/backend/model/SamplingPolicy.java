@@ -0,0 +1,64 @@
+package uni.bugtracker.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * How many of a project's non-error events are stored, applied by
+ * {@link uni.bugtracker.backend.service.sampling.EventSampler} and served to the widget, which
+ * drops the same events before sending them. Errors are always stored. A project without a
+ * row stores everything.
+ */
+@Entity
+@Table(name = "sampling_policy")
+@Getter@Setter
+public class SamplingPolicy {
+    // one row per project, deleted with it (PurgeWriter)
+    @Id
+    @Column(name = "project_id")
+    private String projectId;
+
+    // share of the events of the type that is stored, 0 to 1
+    @Column(nullable = false)
+    private double actionRate = 1;
+
+    @Column(nullable = false)
+    private double performanceRate = 1;
+
+    @Column(nullable = false)
+    private double networkRate = 1;
+
+    @Column(nullable = false)
+    private double customRate = 1;
+
+    // non-error events stored per session, 0 for no cap
+    @Column(nullable = false)
+    private int maxEventsPerSession;
+
+    // events this close to an error of their session are stored whatever the rate and the cap
+    @Column(nullable = false)
+    private long keepBeforeErrorMs;
+
+    @Column(nullable = false)
+    private long keepAfterErrorMs;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    // part of the ETag of the config endpoint, null until the row is saved
+    @Version
+    private Long version;
+
+    public double rate(EventType type) {
+        return switch (type) {
+            case ERROR -> 1;
+            case ACTION -> actionRate;
+            case PERFORMANCE -> performanceRate;
+            case NETWORK -> networkRate;
+            case CUSTOM -> customRate;
+        };
+    }
+}
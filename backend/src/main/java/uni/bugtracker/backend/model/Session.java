@@ -3,6 +3,7 @@ package uni.bugtracker.backend.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.Instant;
 import java.util.List;
@@ -26,6 +27,12 @@ public class Session {
     private Instant startTime;
 
     private Instant endTime;
+
+    // partition key (see PartitionedTable), database time of the insert; not read back into the entity
+    @ColumnDefault("current_timestamp")
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
+    private Instant createdAt;
+
     private String browser;
     private String browserVersion;
     private String os;
@@ -40,7 +47,8 @@ public class Session {
     @ElementCollection
     @CollectionTable(
             name = "session_plugins",
-            joinColumns = @JoinColumn(name = "session_id")
+            joinColumns = @JoinColumn(name = "session_id"),
+            foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT)
     )
     @Column(name = "plugin")
     private List<String> plugins;
@@ -0,0 +1,44 @@
+package uni.bugtracker.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Type;
+
+import java.time.Instant;
+
+/**
+ * One distinct stack trace, shared by every {@link Event} that reported it. The key is the
+ * SHA-256 of the normalized text (see {@link uni.bugtracker.backend.service.StackTraceStore}),
+ * rows are only written by {@link uni.bugtracker.backend.repository.StackTraceBlobWriter}.
+ * The events of a page or export load their blobs with one query per batch.
+ */
+@Entity
+@Table(name = "stack_trace_blob")
+@BatchSize(size = 100)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StackTraceBlob {
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Type(CompressedTextType.class)
+    @Column(nullable = false, length = CompressedTextType.MAX_LENGTH)
+    @Getter(AccessLevel.NONE)
+    private CompressedText data;
+
+    // in chars, like Event.stackTraceLength
+    @Column(nullable = false)
+    private int length;
+
+    // last ingestion that found the blob; unreferenced blobs are removed once this is old enough
+    @Column(nullable = false)
+    private Instant seenAt;
+
+    public String getText() {
+        return data.text();
+    }
+}
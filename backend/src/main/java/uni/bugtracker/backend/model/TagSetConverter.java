@@ -0,0 +1,52 @@
+package uni.bugtracker.backend.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Stores a set of {@link Tag}s as an int bitmask, bit n standing for the tag with ordinal n.
+ * The mask is persisted, so tags may only ever be appended to the enum, never reordered or removed.
+ */
+@Converter
+public class TagSetConverter implements AttributeConverter<Set<Tag>, Integer> {
+
+    static {
+        if (Tag.values().length > Integer.SIZE - 1) {
+            throw new IllegalStateException("Tag no longer fits into an int bitmask");
+        }
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(Set<Tag> tags) {
+        return toMask(tags);
+    }
+
+    @Override
+    public Set<Tag> convertToEntityAttribute(Integer mask) {
+        return fromMask(mask == null ? 0 : mask);
+    }
+
+    public static int toMask(Collection<Tag> tags) {
+        int mask = 0;
+        if (tags != null) {
+            for (Tag tag : tags) {
+                mask |= 1 << tag.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    public static EnumSet<Tag> fromMask(int mask) {
+        EnumSet<Tag> tags = EnumSet.noneOf(Tag.class);
+        for (Tag tag : Tag.values()) {
+            if ((mask & (1 << tag.ordinal())) != 0) {
+                tags.add(tag);
+            }
+        }
+        return tags;
+    }
+}
@@ -0,0 +1,75 @@
+package uni.bugtracker.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import uni.bugtracker.backend.model.ProjectDailyStat;
+
+import java.sql.Date;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adds deltas to {@link ProjectDailyStat} counters with one batched upsert.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DailyStatWriter {
+
+    private static final String POSTGRES_UPSERT = """
+            insert into project_daily_stat (project_id, stat_date, metric, dimension, amount)
+            values (?, ?, ?, ?, ?)
+            on conflict (project_id, stat_date, metric, dimension)
+            do update set amount = project_daily_stat.amount + excluded.amount
+            """;
+
+    private static final String MERGE = """
+            merge into project_daily_stat t
+            using (select cast(? as varchar(255)) as project_id, cast(? as date) as stat_date,
+                          cast(? as varchar(255)) as metric, cast(? as varchar(255)) as dimension,
+                          cast(? as bigint) as amount) s
+            on t.project_id = s.project_id and t.stat_date = s.stat_date
+               and t.metric = s.metric and t.dimension = s.dimension
+            when matched then update set amount = t.amount + s.amount
+            when not matched then insert (project_id, stat_date, metric, dimension, amount)
+                values (s.project_id, s.stat_date, s.metric, s.dimension, s.amount)
+            """;
+
+    // rows are always locked in this order, two transactions touching the same counters cannot deadlock
+    private static final Comparator<ProjectDailyStat.Key> LOCK_ORDER = Comparator
+            .comparing(ProjectDailyStat.Key::getProjectId)
+            .thenComparing(ProjectDailyStat.Key::getStatDate)
+            .thenComparing(ProjectDailyStat.Key::getMetric)
+            .thenComparing(ProjectDailyStat.Key::getDimension);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    public void apply(Map<ProjectDailyStat.Key, Long> deltas) {
+        List<Map.Entry<ProjectDailyStat.Key, Long>> rows = deltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .sorted(Map.Entry.comparingByKey(LOCK_ORDER))
+                .toList();
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(dialect.isPostgres() ? POSTGRES_UPSERT : MERGE, rows, rows.size(), (ps, row) -> {
+            ProjectDailyStat.Key key = row.getKey();
+            ps.setString(1, key.getProjectId());
+            ps.setDate(2, Date.valueOf(key.getStatDate()));
+            ps.setString(3, key.getMetric());
+            ps.setString(4, key.getDimension());
+            ps.setLong(5, row.getValue());
+        });
+    }
+
+    // one reconciliation at a time across nodes, released with the transaction
+    public boolean tryLockReconciliation() {
+        if (!dialect.isPostgres()) {
+            return true;
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select pg_try_advisory_xact_lock(hashtext('project_daily_stat'))", Boolean.class));
+    }
+}
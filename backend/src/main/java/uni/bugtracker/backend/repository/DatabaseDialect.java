@@ -0,0 +1,31 @@
+package uni.bugtracker.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * The database the application runs on, read once from the connection metadata.
+ * Production runs on PostgreSQL and tests on H2, which lacks some of what the writers use:
+ * upserts are insert .. on conflict on PostgreSQL and a standard merge elsewhere, and
+ * PostgreSQL-only features (statistics, advisory locks, large objects, partitioning) are
+ * skipped or replaced on other databases.
+ */
+@Component
+@RequiredArgsConstructor
+public class DatabaseDialect {
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    public boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+            postgres = result;
+        }
+        return Boolean.TRUE.equals(result);
+    }
+}
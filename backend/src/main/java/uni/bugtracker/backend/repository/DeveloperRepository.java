@@ -1,6 +1,7 @@
 package uni.bugtracker.backend.repository;
 
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,6 +12,7 @@ import uni.bugtracker.backend.model.Project;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface DeveloperRepository extends JpaRepository<Developer, String> {
     Optional<Developer> findByUsername(String username);
@@ -21,6 +23,11 @@ public interface DeveloperRepository extends JpaRepository<Developer, String> {
 
     Page<Developer> findAll(Pageable pageable);
 
+    // keyset pages ordered by the primary key
+    List<Developer> findAllByOrderByIdAsc(Limit limit);
+
+    List<Developer> findAllByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
     @Query("""
         select p
         from Developer d
@@ -28,4 +35,15 @@ public interface DeveloperRepository extends JpaRepository<Developer, String> {
         where d.id = :developerId
     """)
     List<Project> findProjectsByDeveloperId(@Param("developerId") String developerId);
+
+    @Query("""
+        select p.id
+        from Developer d
+        join d.projects p
+        where d.id = :developerId
+    """)
+    Set<String> findProjectIdsByDeveloperId(@Param("developerId") String developerId);
+
+    @Query("select d.tokenVersion from Developer d where d.id = :developerId")
+    Optional<Integer> findTokenVersionById(@Param("developerId") String developerId);
 }
@@ -0,0 +1,113 @@
+package uni.bugtracker.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import uni.bugtracker.backend.dto.event.EventDetailsResponse;
+import uni.bugtracker.backend.model.EventType;
+import uni.bugtracker.backend.model.LogTemplate;
+import uni.bugtracker.backend.utility.compression.TextCompression;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Clob;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Reads one event with its log and stack trace as character streams, decompressed while they
+ * are read (or straight from the large objects of rows written before compression), so a
+ * multi-megabyte body never has to fit in a String. A shared stack trace is read from its
+ * {@code stack_trace_blob} row, a mined log is rendered from its {@code log_template} row and
+ * parameters. Must run inside a transaction:
+ * PostgreSQL large objects cannot be read in auto-commit mode.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EventBodyReader {
+    private static final String SQL = """
+            select e.id, e.session_id, e.type, e.name, e.body_compressed, e.log_data,
+                   coalesce(b.data, e.stack_trace_data) as stack_trace_data, e.log, e.stack_trace,
+                   t.template as log_template,
+                   e.url, e.element, e.timestamp, e.file_name, e.line_number, e.status_code
+            from event e
+            left join stack_trace_blob b on b.hash = e.stack_trace_hash
+            left join log_template t on t.id = e.log_template_id
+            where e.id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @FunctionalInterface
+    public interface BodyConsumer {
+        // head has log and stackTrace unset; the readers are null when the column is null
+        void accept(EventDetailsResponse head, Reader log, Reader stackTrace) throws IOException;
+    }
+
+    // false when there is no such event
+    public boolean read(Long eventId, BodyConsumer consumer) {
+        return Boolean.TRUE.equals(jdbcTemplate.query(SQL, rs -> {
+            if (!rs.next()) {
+                return false;
+            }
+            EventDetailsResponse.Metadata metadata = new EventDetailsResponse.Metadata();
+            metadata.setFileName(rs.getString("file_name"));
+            metadata.setLineNumber(rs.getString("line_number"));
+            metadata.setStatusCode(rs.getString("status_code"));
+            String type = rs.getString("type");
+            Timestamp timestamp = rs.getTimestamp("timestamp");
+            EventDetailsResponse head = new EventDetailsResponse(
+                    rs.getLong("id"),
+                    rs.getLong("session_id"),
+                    type != null ? EventType.valueOf(type) : null,
+                    rs.getString("name"),
+                    null,
+                    null,
+                    rs.getString("url"),
+                    rs.getString("element"),
+                    timestamp != null ? timestamp.toInstant() : null,
+                    metadata);
+
+            if (rs.getBoolean("body_compressed")) {
+                String template = rs.getString("log_template");
+                byte[] logData = rs.getBytes("log_data");
+                try (Reader logReader = template != null
+                        ? new StringReader(LogTemplate.render(template, TextCompression.decompress(logData)))
+                        : reader(logData);
+                     Reader stackTraceReader = reader(rs.getBytes("stack_trace_data"))) {
+                    consumer.accept(head, logReader, stackTraceReader);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return true;
+            }
+            Clob log = rs.getClob("log");
+            Clob stackTrace = rs.getClob("stack_trace");
+            try (Reader logReader = reader(log); Reader stackTraceReader = reader(stackTrace)) {
+                consumer.accept(head, logReader, stackTraceReader);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                free(log);
+                free(stackTrace);
+            }
+            return true;
+        }, eventId));
+    }
+
+    private static Reader reader(byte[] compressed) {
+        return compressed != null ? TextCompression.reader(compressed) : null;
+    }
+
+    private static Reader reader(Clob clob) throws SQLException {
+        return clob != null ? clob.getCharacterStream() : null;
+    }
+
+    private static void free(Clob clob) throws SQLException {
+        if (clob != null) {
+            clob.free();
+        }
+    }
+}
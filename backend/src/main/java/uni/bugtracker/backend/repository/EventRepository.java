@@ -1,18 +1,155 @@
 package uni.bugtracker.backend.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import uni.bugtracker.backend.model.Event;
 import uni.bugtracker.backend.model.EventType;
+import uni.bugtracker.backend.repository.projection.EventHeadRow;
+import uni.bugtracker.backend.repository.projection.EventTimelineRow;
+import uni.bugtracker.backend.repository.projection.ProjectTimestampRow;
+import uni.bugtracker.backend.repository.projection.EventVersion;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * event is partitioned by received_at (see PartitionedTable). Queries of one session also
+ * bound received_at by the session's created_at: an event is always stored after its session,
+ * so the partitions before the session are skipped at execution time.
+ */
 public interface EventRepository extends JpaRepository<Event, Long> {
-    List<Event> findAllBySessionId(Long sessionId);
+    @Query("""
+            select e from Event e
+            where e.session.id = :sessionId
+              and e.receivedAt >= (select s.createdAt from Session s where s.id = :sessionId)
+            """)
+    List<Event> findAllBySessionId(@Param("sessionId") Long sessionId);
 
     Optional<Event> findFirstBySessionIdOrderByTimestampDesc(Long sessionId);
 
     boolean existsBySessionIdAndType(Long sessionId, EventType type);
 
+    boolean existsBySessionId(Long sessionId);
+
     void deleteBySessionId(Long sessionId);
+
+    @Query("select e.session.project.id from Event e where e.id = :eventId")
+    Optional<String> findProjectIdById(@Param("eventId") Long eventId);
+
+    @Query("""
+            select new uni.bugtracker.backend.repository.projection.EventVersion(
+                e.id, e.session.project.id, e.session.isActive)
+            from Event e
+            where e.id = :eventId
+            """)
+    Optional<EventVersion> findVersionById(@Param("eventId") Long eventId);
+
+    @Query("select e from Event e join fetch e.session where e.id = :eventId")
+    Optional<Event> findWithSessionById(@Param("eventId") Long eventId);
+
+    @Query("select e from Event e join fetch e.session where e.id in :ids")
+    List<Event> findAllWithSessionByIdIn(@Param("ids") Collection<Long> ids);
+
+    // search index backfill, in id order
+    @Query("select e.id from Event e where e.id > :afterId order by e.id")
+    List<Long> findIdsAfter(@Param("afterId") long afterId, Limit limit);
+
+    // PostgreSQL only: search_vector is added by schema-postgresql.sql and not mapped
+    @Query(value = """
+            select id from event
+            where search_vector is null and id > :afterId
+            order by id
+            limit :limit
+            """, nativeQuery = true)
+    List<Long> findIdsWithoutSearchVector(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    @Query("select distinct e.session.project.id from Event e where e.id in :ids")
+    List<String> findProjectIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "16"))
+    @Query("select e from Event e where e.id in :ids order by e.timestamp asc, e.id asc")
+    Stream<Event> streamAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    // for batches that asked for neither log nor stack trace: the large objects are not read at all
+    @Query("""
+            select new uni.bugtracker.backend.repository.projection.EventHeadRow(
+                e.id, e.session.id, e.type, e.name, e.url, e.element, e.timestamp,
+                e.metadata.fileName, e.metadata.lineNumber, e.metadata.statusCode)
+            from Event e
+            where e.id in :ids
+            order by e.timestamp asc, e.id asc
+            """)
+    Stream<EventHeadRow> streamHeadsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // read through a server-side cursor (PostgreSQL needs an open transaction), a few rows at a time
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "16"))
+    @Query("""
+            select e from Event e
+            where e.session.id = :sessionId
+              and e.receivedAt >= (select s.createdAt from Session s where s.id = :sessionId)
+            order by e.timestamp asc, e.id asc
+            """)
+    Stream<Event> streamAllBySessionId(@Param("sessionId") Long sessionId);
+
+    // keyset pages in (timestamp asc, id asc) order, served by idx_event_session_timestamp
+    @Query("""
+            select new uni.bugtracker.backend.repository.projection.EventTimelineRow(
+                e.id, e.type, e.name, e.url, e.timestamp, e.logLength, e.stackTraceLength)
+            from Event e
+            where e.session.id = :sessionId
+              and e.receivedAt >= (select s.createdAt from Session s where s.id = :sessionId)
+            order by e.timestamp asc, e.id asc
+            """)
+    List<EventTimelineRow> findFirstTimelineRowsBySessionId(@Param("sessionId") Long sessionId, Limit limit);
+
+    @Query("""
+            select new uni.bugtracker.backend.repository.projection.EventTimelineRow(
+                e.id, e.type, e.name, e.url, e.timestamp, e.logLength, e.stackTraceLength)
+            from Event e
+            where e.session.id = :sessionId
+              and e.receivedAt >= (select s.createdAt from Session s where s.id = :sessionId)
+              and (e.timestamp, e.id) > (:timestamp, :id)
+            order by e.timestamp asc, e.id asc
+            """)
+    List<EventTimelineRow> findTimelineRowsBySessionIdAfter(
+            @Param("sessionId") Long sessionId,
+            @Param("timestamp") Instant timestamp,
+            @Param("id") Long id,
+            Limit limit);
+
+    // sampling state of a session (EventSampler), read once per session and node
+    @Query("""
+            select e.timestamp from Event e
+            where e.session.id = :sessionId
+              and e.receivedAt >= (select s.createdAt from Session s where s.id = :sessionId)
+              and e.type = uni.bugtracker.backend.model.EventType.ERROR
+            order by e.timestamp desc, e.id desc
+            """)
+    List<Instant> findLatestErrorTimestamps(@Param("sessionId") Long sessionId, Limit limit);
+
+    @Query("""
+            select count(e) from Event e
+            where e.session.id = :sessionId
+              and e.receivedAt >= (select s.createdAt from Session s where s.id = :sessionId)
+              and e.type <> uni.bugtracker.backend.model.EventType.ERROR
+            """)
+    long countNonErrorEvents(@Param("sessionId") Long sessionId);
+
+    // statistics reconciliation: ERROR events by time, not by session
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new uni.bugtracker.backend.repository.projection.ProjectTimestampRow(s.project.id, e.timestamp)
+            from Event e join e.session s
+            where e.type = uni.bugtracker.backend.model.EventType.ERROR
+                and e.timestamp >= :from
+            """)
+    Stream<ProjectTimestampRow> streamErrorTimestampsSince(@Param("from") Instant from);
 }
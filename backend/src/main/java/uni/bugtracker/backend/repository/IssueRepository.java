@@ -0,0 +1,24 @@
+package uni.bugtracker.backend.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import uni.bugtracker.backend.model.CriticalityLevel;
+import uni.bugtracker.backend.model.Issue;
+
+import java.util.List;
+
+@Repository
+public interface IssueRepository extends JpaRepository<Issue, Long> {
+
+    // served by idx_issue_project_last_seen
+    List<Issue> findAllByProjectIdOrderByLastSeenAtDescIdDesc(String projectId, Limit limit);
+
+    // takes the issue's row lock: a report counted concurrently commits first and is seen afterwards
+    @Modifying(flushAutomatically = true)
+    @Query("update Issue i set i.criticality = :level where i.id = :id")
+    int updateCriticality(@Param("id") Long id, @Param("level") CriticalityLevel level);
+}
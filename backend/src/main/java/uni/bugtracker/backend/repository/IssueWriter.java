@@ -0,0 +1,78 @@
+package uni.bugtracker.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import uni.bugtracker.backend.model.CriticalityLevel;
+import uni.bugtracker.backend.model.Issue;
+import uni.bugtracker.backend.repository.projection.IssueOccurrence;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Counts one occurrence of an {@link Issue}, creating it on the first, with one upsert: the row
+ * lock serializes concurrent reports of the same issue, so exactly one of them sees occurrence 1.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IssueWriter {
+
+    private static final String POSTGRES_UPSERT = """
+            insert into issue (project_id, fingerprint, title, url_template, occurrences,
+                               first_seen_at, last_seen_at, criticality)
+            values (?, ?, ?, ?, 1, ?, ?, 'UNKNOWN')
+            on conflict (project_id, fingerprint) do update
+            set occurrences = issue.occurrences + 1,
+                last_seen_at = greatest(issue.last_seen_at, excluded.last_seen_at)
+            returning id, occurrences, criticality
+            """;
+
+    private static final String MERGE = """
+            merge into issue t
+            using (select cast(? as varchar(255)) as project_id, cast(? as varchar(64)) as fingerprint,
+                          cast(? as varchar(255)) as title, cast(? as varchar(2048)) as url_template,
+                          cast(? as timestamp with time zone) as first_seen_at,
+                          cast(? as timestamp with time zone) as last_seen_at) s
+            on t.project_id = s.project_id and t.fingerprint = s.fingerprint
+            when matched then update set occurrences = t.occurrences + 1,
+                last_seen_at = greatest(t.last_seen_at, s.last_seen_at)
+            when not matched then insert (project_id, fingerprint, title, url_template, occurrences,
+                                          first_seen_at, last_seen_at, criticality)
+                values (s.project_id, s.fingerprint, s.title, s.url_template, 1,
+                        s.first_seen_at, s.last_seen_at, 'UNKNOWN')
+            """;
+
+    // the upsert of the occurrence holds the row lock, one of concurrent reports gets the analysis
+    private static final String CLAIM_ANALYSIS = """
+            update issue set analysis_requested_at = ?
+            where id = ? and criticality = 'UNKNOWN'
+              and (analysis_requested_at is null or analysis_requested_at < ?)
+            """;
+
+    private static final RowMapper<IssueOccurrence> OCCURRENCE = (rs, rowNum) -> new IssueOccurrence(
+            rs.getLong("id"), rs.getLong("occurrences"), CriticalityLevel.valueOf(rs.getString("criticality")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    public IssueOccurrence recordOccurrence(String projectId, String fingerprint, String title, String urlTemplate,
+                                            Instant seenAt) {
+        Timestamp seen = Timestamp.from(seenAt);
+        if (dialect.isPostgres()) {
+            return jdbcTemplate.queryForObject(POSTGRES_UPSERT, OCCURRENCE,
+                    projectId, fingerprint, title, urlTemplate, seen, seen);
+        }
+        // the merge keeps the row locked until commit, the select cannot see another report's count
+        jdbcTemplate.update(MERGE, projectId, fingerprint, title, urlTemplate, seen, seen);
+        return jdbcTemplate.queryForObject(
+                "select id, occurrences, criticality from issue where project_id = ? and fingerprint = ?",
+                OCCURRENCE, projectId, fingerprint);
+    }
+
+    // true when the issue is still UNKNOWN and no analysis was started since requestedBefore
+    public boolean claimAnalysis(Long issueId, Instant now, Instant requestedBefore) {
+        return jdbcTemplate.update(CLAIM_ANALYSIS, Timestamp.from(now), issueId, Timestamp.from(requestedBefore)) > 0;
+    }
+}
@@ -0,0 +1,15 @@
+package uni.bugtracker.backend.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import uni.bugtracker.backend.model.LogTemplate;
+
+import java.util.List;
+
+@Repository
+public interface LogTemplateRepository extends JpaRepository<LogTemplate, Long> {
+
+    // served by idx_log_template_project_occurrences
+    List<LogTemplate> findAllByProjectIdOrderByOccurrencesDescIdAsc(String projectId, Limit limit);
+}
@@ -0,0 +1,58 @@
+package uni.bugtracker.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import uni.bugtracker.backend.model.LogTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Finds or creates the {@link LogTemplate} row of a template without a read-modify-write race:
+ * nodes that mine the same template at the same time end up with one row. Occurrences are added
+ * in batches of increments, never set, so counts from several nodes add up.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LogTemplateWriter {
+
+    private static final String POSTGRES_INSERT = """
+            insert into log_template (project_id, hash, template, occurrences, first_seen_at, last_seen_at)
+            values (?, ?, ?, 0, ?, ?)
+            on conflict (project_id, hash) do nothing
+            """;
+
+    private static final String MERGE = """
+            merge into log_template t
+            using (select cast(? as varchar(255)) as project_id, cast(? as varchar(64)) as hash,
+                          cast(? as varchar(2048)) as template,
+                          cast(? as timestamp with time zone) as first_seen_at,
+                          cast(? as timestamp with time zone) as last_seen_at) s
+            on t.project_id = s.project_id and t.hash = s.hash
+            when not matched then insert (project_id, hash, template, occurrences, first_seen_at, last_seen_at)
+                values (s.project_id, s.hash, s.template, 0, s.first_seen_at, s.last_seen_at)
+            """;
+
+    private static final String ADD_OCCURRENCES = """
+            update log_template
+            set occurrences = occurrences + ?, last_seen_at = greatest(last_seen_at, ?)
+            where id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    public long insertIfAbsent(String projectId, String hash, String template, Instant seenAt) {
+        Timestamp seen = Timestamp.from(seenAt);
+        jdbcTemplate.update(dialect.isPostgres() ? POSTGRES_INSERT : MERGE, projectId, hash, template, seen, seen);
+        return jdbcTemplate.queryForObject("select id from log_template where project_id = ? and hash = ?",
+                Long.class, projectId, hash);
+    }
+
+    // each increment is {count, last seen as Timestamp, template id}
+    public void addOccurrences(List<Object[]> increments) {
+        jdbcTemplate.batchUpdate(ADD_OCCURRENCES, increments);
+    }
+}
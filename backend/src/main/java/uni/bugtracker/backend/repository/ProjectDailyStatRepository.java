@@ -0,0 +1,24 @@
+package uni.bugtracker.backend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import uni.bugtracker.backend.model.ProjectDailyStat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ProjectDailyStatRepository extends JpaRepository<ProjectDailyStat, ProjectDailyStat.Key> {
+
+    // served by idx_project_daily_stat_project_date
+    List<ProjectDailyStat> findAllByProjectIdAndStatDateBetween(String projectId, LocalDate from, LocalDate to);
+
+    List<ProjectDailyStat> findAllByStatDateGreaterThanEqual(LocalDate from);
+
+    @Transactional
+    @Modifying
+    @Query("delete from ProjectDailyStat s where s.projectId = :projectId")
+    void deleteByProjectId(@Param("projectId") String projectId);
+}
@@ -0,0 +1,33 @@
+package uni.bugtracker.backend.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import uni.bugtracker.backend.model.PurgeJob;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PurgeJobRepository extends JpaRepository<PurgeJob, Long> {
+
+    List<PurgeJob> findAllByFinishedAtIsNullOrderByIdAsc();
+
+    Optional<PurgeJob> findFirstByKindAndProjectIdAndFinishedAtIsNull(PurgeJob.Kind kind, String projectId);
+
+    boolean existsByKindAndFinishedAtIsNull(PurgeJob.Kind kind);
+
+    List<PurgeJob> findAllByOrderByIdDesc(Limit limit);
+
+    // 1 when this node got the job: nobody holds it or the holder's claim ran out
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update PurgeJob j set j.claimedUntil = :until
+            where j.id = :id and j.finishedAt is null and (j.claimedUntil is null or j.claimedUntil < :now)
+            """)
+    int claim(@Param("id") Long id, @Param("now") Instant now, @Param("until") Instant until);
+}
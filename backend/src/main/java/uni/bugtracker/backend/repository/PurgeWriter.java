@@ -0,0 +1,154 @@
+package uni.bugtracker.backend.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded deletes for the purge jobs: every method touches at most the ids it is given or
+ * the rows of one session, so a chunk holds its locks only briefly. Sessions are referenced
+ * without foreign keys (see {@link uni.bugtracker.backend.repository.partition.PartitionedTable}),
+ * their events, reports and plugins are deleted here explicitly. On PostgreSQL the large
+ * objects of the rows are unlinked first, they would outlive the rows.
+ */
+@Repository
+public class PurgeWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+    private final NamedParameterJdbcTemplate named;
+    private final Map<String, Boolean> largeObjectColumns = new ConcurrentHashMap<>();
+
+    public PurgeWriter(JdbcTemplate jdbcTemplate, DatabaseDialect dialect) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = dialect;
+        this.named = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public List<Long> reportsOfProject(String projectId, long afterId, int limit) {
+        return named.queryForList(
+                "select id from report where project_id = :projectId and id > :after order by id limit :limit",
+                new MapSqlParameterSource("projectId", projectId).addValue("after", afterId).addValue("limit", limit),
+                Long.class);
+    }
+
+    public List<Long> reportsOfSession(long sessionId) {
+        return jdbcTemplate.queryForList("select id from report where session_id = ?", Long.class, sessionId);
+    }
+
+    public List<Long> reportsWithScreenshotBefore(Instant cutoff, long afterId, int limit) {
+        return named.queryForList("""
+                select id from report
+                where reported_at < :cutoff and screen is not null and id > :after
+                order by id limit :limit
+                """,
+                new MapSqlParameterSource("cutoff", Timestamp.from(cutoff)).addValue("after", afterId)
+                        .addValue("limit", limit),
+                Long.class);
+    }
+
+    public int deleteReports(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        unlinkLargeObjects("report", "screen", params);
+        named.update("delete from report_related_event_ids where report_id in (:ids)", params);
+        named.update("delete from report_signature where report_id in (:ids)", params);
+        return named.update("delete from report where id in (:ids)", params);
+    }
+
+    public int clearScreenshots(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        unlinkLargeObjects("report", "screen", params);
+        return named.update("update report set screen = null where id in (:ids) and screen is not null", params);
+    }
+
+    public Optional<Long> nextSessionOfProject(String projectId, long afterId) {
+        return jdbcTemplate.queryForList(
+                "select id from session where project_id = ? and id > ? order by id limit 1",
+                Long.class, projectId, afterId).stream().findFirst();
+    }
+
+    // active sessions are left alone, their events are still coming in
+    public Optional<Long> nextClosedSessionStartedBefore(Instant cutoff, long afterId) {
+        return jdbcTemplate.queryForList(
+                "select id from session where start_time < ? and is_active = false and id > ? order by id limit 1",
+                Long.class, Timestamp.from(cutoff), afterId).stream().findFirst();
+    }
+
+    public List<Long> eventsOfSession(long sessionId, int limit) {
+        return jdbcTemplate.queryForList(
+                "select id from event where session_id = ? limit ?", Long.class, sessionId, limit);
+    }
+
+    public int deleteEvents(long sessionId, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids).addValue("sessionId", sessionId);
+        unlinkLargeObjects("event", "log", params);
+        unlinkLargeObjects("event", "stack_trace", params);
+        return named.update("delete from event where session_id = :sessionId and id in (:ids)", params);
+    }
+
+    // the session's events and reports must be gone already
+    public int deleteSession(long sessionId) {
+        jdbcTemplate.update("delete from session_plugins where session_id = ?", sessionId);
+        return jdbcTemplate.update("delete from session where id = ?", sessionId);
+    }
+
+    // a session or report created while the project was being deleted
+    public boolean hasRowsOfProject(String projectId) {
+        return !jdbcTemplate.queryForList(
+                "select 1 from session where project_id = ? union all select 1 from report where project_id = ? limit 1",
+                Integer.class, projectId, projectId).isEmpty();
+    }
+
+    public void removeMembers(String projectId) {
+        jdbcTemplate.update("delete from developer_project where project_id = ?", projectId);
+    }
+
+    public void deleteProject(String projectId) {
+        removeMembers(projectId);
+        jdbcTemplate.update("delete from dev_notif where project_id = ?", projectId);
+        jdbcTemplate.update("delete from issue where project_id = ?", projectId);
+        jdbcTemplate.update("delete from log_template where project_id = ?", projectId);
+        jdbcTemplate.update("delete from sampling_policy where project_id = ?", projectId);
+        jdbcTemplate.update("delete from report_signature where project_id = ?", projectId);
+        jdbcTemplate.update("delete from project where id = ?", projectId);
+    }
+
+    private void unlinkLargeObjects(String table, String column, MapSqlParameterSource params) {
+        if (!isLargeObjectColumn(table, column)) {
+            return;
+        }
+        named.queryForObject("select count(lo_unlink(" + column + ")) from " + table
+                + " where " + column + " is not null and id in (:ids)", params, Long.class);
+    }
+
+    // @Lob columns are oid on PostgreSQL; other databases keep the bytes in the row
+    private boolean isLargeObjectColumn(String table, String column) {
+        if (!dialect.isPostgres()) {
+            return false;
+        }
+        return largeObjectColumns.computeIfAbsent(table + "." + column, key -> {
+            Integer count = jdbcTemplate.queryForObject("""
+                    select count(*) from information_schema.columns
+                    where table_schema = current_schema() and table_name = ? and column_name = ? and udt_name = 'oid'
+                    """, Integer.class, table, column);
+            return count != null && count > 0;
+        });
+    }
+}
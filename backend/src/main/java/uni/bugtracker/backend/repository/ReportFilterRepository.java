@@ -0,0 +1,19 @@
+package uni.bugtracker.backend.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import uni.bugtracker.backend.dto.report.ReportFilter;
+import uni.bugtracker.backend.repository.projection.ReportListRow;
+import uni.bugtracker.backend.utility.pagination.ReportCursor;
+
+import java.util.List;
+
+// dashboard list queries whose WHERE clause depends on the filter, see ReportFilterRepositoryImpl
+public interface ReportFilterRepository {
+
+    Page<ReportListRow> findListRows(String projectId, ReportFilter filter, Pageable pageable);
+
+    // keyset slice in (reportedAt desc, id desc) order, after == null for the first one
+    List<ReportListRow> findListRowsAfter(String projectId, ReportFilter filter, ReportCursor after, Limit limit);
+}
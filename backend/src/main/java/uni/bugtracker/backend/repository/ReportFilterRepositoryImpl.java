@@ -0,0 +1,130 @@
+package uni.bugtracker.backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import uni.bugtracker.backend.dto.report.ReportFilter;
+import uni.bugtracker.backend.model.Report;
+import uni.bugtracker.backend.model.TagSetConverter;
+import uni.bugtracker.backend.repository.projection.ReportListRow;
+import uni.bugtracker.backend.utility.pagination.ReportCursor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria implementation of the filtered dashboard list. Predicates are only added for
+ * criteria that are set, so every combination gets a plain conjunctive WHERE clause the
+ * planner can match against the report indexes (see Report and schema-postgresql.sql).
+ * Tag predicates are evaluated on the row itself, no join is needed.
+ */
+@RequiredArgsConstructor
+public class ReportFilterRepositoryImpl implements ReportFilterRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<ReportListRow> findListRows(String projectId, ReportFilter filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ReportListRow> query = cb.createQuery(ReportListRow.class);
+        Root<Report> report = query.from(Report.class);
+        query.select(listColumns(cb, report))
+                .where(predicates(cb, report, projectId, filter).toArray(Predicate[]::new))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), report, cb));
+
+        var typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> count(projectId, filter));
+    }
+
+    @Override
+    public List<ReportListRow> findListRowsAfter(String projectId, ReportFilter filter, ReportCursor after, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ReportListRow> query = cb.createQuery(ReportListRow.class);
+        Root<Report> report = query.from(Report.class);
+
+        List<Predicate> predicates = predicates(cb, report, projectId, filter);
+        if (after != null) {
+            Path<Instant> reportedAt = report.get("reportedAt");
+            predicates.add(cb.or(
+                    cb.lessThan(reportedAt, after.reportedAt()),
+                    cb.and(cb.equal(reportedAt, after.reportedAt()), cb.lessThan(report.<Long>get("id"), after.id()))));
+        }
+        query.select(listColumns(cb, report))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(report.get("reportedAt")), cb.desc(report.get("id")));
+
+        var typedQuery = entityManager.createQuery(query);
+        if (limit.isLimited()) {
+            typedQuery.setMaxResults(limit.max());
+        }
+        return typedQuery.getResultList();
+    }
+
+    private long count(String projectId, ReportFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Report> report = query.from(Report.class);
+        query.select(cb.count(report))
+                .where(predicates(cb, report, projectId, filter).toArray(Predicate[]::new));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private CompoundSelection<ReportListRow> listColumns(CriteriaBuilder cb, Root<Report> report) {
+        return cb.construct(ReportListRow.class,
+                report.get("id"),
+                report.get("project").get("id"),
+                report.get("title"),
+                report.get("reportedAt"),
+                report.get("criticality"),
+                report.get("status"),
+                report.get("tags"));
+    }
+
+    private List<Predicate> predicates(
+            CriteriaBuilder cb,
+            Root<Report> report,
+            String projectId,
+            ReportFilter filter
+    ) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(report.get("project").get("id"), projectId));
+
+        if (filter.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(report.<Instant>get("reportedAt"), filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add(cb.lessThan(report.<Instant>get("reportedAt"), filter.getTo()));
+        }
+        if (filter.getDeveloper() != null && !filter.getDeveloper().isBlank()) {
+            predicates.add(cb.equal(report.get("developer").get("username"), filter.getDeveloper()));
+        }
+        if (filter.getLevel() != null && !filter.getLevel().isEmpty()) {
+            predicates.add(report.get("criticality").in(filter.getLevel()));
+        }
+        if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+            predicates.add(report.get("status").in(filter.getStatus()));
+        }
+        if (filter.getTags() != null && !filter.getTags().isEmpty()) {
+            predicates.add(tagPredicate(cb, report, filter));
+        }
+        return predicates;
+    }
+
+    // bitwise test on the tags_mask column: any -> (mask & wanted) <> 0, all -> (mask & wanted) = wanted
+    private Predicate tagPredicate(CriteriaBuilder cb, Root<Report> report, ReportFilter filter) {
+        int wanted = TagSetConverter.toMask(filter.getTags());
+        Expression<Integer> matched = cb.function("bitand", Integer.class, report.get("tagsMask"), cb.literal(wanted));
+        return filter.getTagMatch() == ReportFilter.TagMatch.ALL
+                ? cb.equal(matched, wanted)
+                : cb.notEqual(matched, 0);
+    }
+}
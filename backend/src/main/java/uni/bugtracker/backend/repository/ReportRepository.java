@@ -1,20 +1,158 @@
 package uni.bugtracker.backend.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import uni.bugtracker.backend.model.CriticalityLevel;
 import uni.bugtracker.backend.model.Report;
 import uni.bugtracker.backend.model.ReportStatus;
+import uni.bugtracker.backend.repository.projection.ReportListRow;
+import uni.bugtracker.backend.repository.projection.ReportStatsRow;
+import uni.bugtracker.backend.repository.projection.ReportVersion;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ReportRepository extends JpaRepository<Report, Long> {
-    //filter by projectId
+public interface ReportRepository extends JpaRepository<Report, Long>, ReportFilterRepository {
+    // filtering by date/devName/tags/level/status lives in ReportFilterRepository
 
-    /*filter by PROJECT_ID, date/devName/tags/level/status
-    * */
-
-    Page<Report> findAllByProjectId(String projectId, Pageable pageable);
     Page<Report> findAllByStatus(ReportStatus status, Pageable pageable);
-    Page<Report> findAllByProjectIdAndStatus(String projectId, ReportStatus status, Pageable pageable);
+
+    // dashboard list: columns only, tags come with the row as a bitmask
+    @Query(value = """
+            select new uni.bugtracker.backend.repository.projection.ReportListRow(
+                r.id, r.project.id, r.title, r.reportedAt, r.criticality, r.status, r.tags)
+            from Report r
+            where r.project.id = :projectId
+            """,
+            countQuery = "select count(r) from Report r where r.project.id = :projectId")
+    Page<ReportListRow> findListRowsByProjectId(@Param("projectId") String projectId, Pageable pageable);
+
+    @Query(value = """
+            select new uni.bugtracker.backend.repository.projection.ReportListRow(
+                r.id, r.project.id, r.title, r.reportedAt, r.criticality, r.status, r.tags)
+            from Report r
+            where r.project.id = :projectId and r.status = :status
+            """,
+            countQuery = "select count(r) from Report r where r.project.id = :projectId and r.status = :status")
+    Page<ReportListRow> findListRowsByProjectIdAndStatus(
+            @Param("projectId") String projectId,
+            @Param("status") ReportStatus status,
+            Pageable pageable);
+
+    // keyset pages in (reportedAt desc, id desc) order, served by idx_report_project_reported
+    @Query("""
+            select new uni.bugtracker.backend.repository.projection.ReportListRow(
+                r.id, r.project.id, r.title, r.reportedAt, r.criticality, r.status, r.tags)
+            from Report r
+            where r.project.id = :projectId
+            order by r.reportedAt desc, r.id desc
+            """)
+    List<ReportListRow> findFirstListRowsByProjectId(@Param("projectId") String projectId, Limit limit);
+
+    @Query("""
+            select new uni.bugtracker.backend.repository.projection.ReportListRow(
+                r.id, r.project.id, r.title, r.reportedAt, r.criticality, r.status, r.tags)
+            from Report r
+            where r.project.id = :projectId
+              and (r.reportedAt, r.id) < (:reportedAt, :id)
+            order by r.reportedAt desc, r.id desc
+            """)
+    List<ReportListRow> findListRowsByProjectIdAfter(
+            @Param("projectId") String projectId,
+            @Param("reportedAt") Instant reportedAt,
+            @Param("id") Long id,
+            Limit limit);
+
+    // same, served by idx_report_project_status_reported
+    @Query("""
+            select new uni.bugtracker.backend.repository.projection.ReportListRow(
+                r.id, r.project.id, r.title, r.reportedAt, r.criticality, r.status, r.tags)
+            from Report r
+            where r.project.id = :projectId and r.status = :status
+            order by r.reportedAt desc, r.id desc
+            """)
+    List<ReportListRow> findFirstListRowsByProjectIdAndStatus(
+            @Param("projectId") String projectId,
+            @Param("status") ReportStatus status,
+            Limit limit);
+
+    @Query("""
+            select new uni.bugtracker.backend.repository.projection.ReportListRow(
+                r.id, r.project.id, r.title, r.reportedAt, r.criticality, r.status, r.tags)
+            from Report r
+            where r.project.id = :projectId and r.status = :status
+              and (r.reportedAt, r.id) < (:reportedAt, :id)
+            order by r.reportedAt desc, r.id desc
+            """)
+    List<ReportListRow> findListRowsByProjectIdAndStatusAfter(
+            @Param("projectId") String projectId,
+            @Param("status") ReportStatus status,
+            @Param("reportedAt") Instant reportedAt,
+            @Param("id") Long id,
+            Limit limit);
+
+    // a single row of the dashboard list, for the live feed
+    @Query("""
+            select new uni.bugtracker.backend.repository.projection.ReportListRow(
+                r.id, r.project.id, r.title, r.reportedAt, r.criticality, r.status, r.tags)
+            from Report r
+            where r.id = :reportId
+            """)
+    Optional<ReportListRow> findListRowById(@Param("reportId") Long reportId);
+
+    // the rows of the similar reports, in no particular order
+    @Query("""
+            select new uni.bugtracker.backend.repository.projection.ReportListRow(
+                r.id, r.project.id, r.title, r.reportedAt, r.criticality, r.status, r.tags)
+            from Report r
+            where r.id in :ids
+            """)
+    List<ReportListRow> findListRowsByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("""
+            select new uni.bugtracker.backend.repository.projection.ReportVersion(
+                r.id, r.project.id, r.version, r.updatedAt)
+            from Report r
+            where r.id = :reportId
+            """)
+    Optional<ReportVersion> findVersionById(@Param("reportId") Long reportId);
+
+    // search index backfill, in id order
+    @Query("select r.id from Report r where r.id > :afterId order by r.id")
+    List<Long> findIdsAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query("select r.project.id from Report r where r.id = :reportId")
+    Optional<String> findProjectIdById(@Param("reportId") Long reportId);
+
+    // reports of an issue still waiting for its criticality, served by idx_report_issue
+    @Query("select r from Report r where r.issue.id = :issueId and r.criticality = :level and r.id <> :reportId")
+    List<Report> findAllByIssueWithCriticality(
+            @Param("issueId") Long issueId,
+            @Param("level") CriticalityLevel level,
+            @Param("reportId") Long reportId);
+
+    // everything a report card needs in one statement
+    @EntityGraph(attributePaths = {"developer", "relatedEventIds"})
+    @Query("select r from Report r where r.id = :reportId")
+    Optional<Report> findCardById(@Param("reportId") Long reportId);
+
+    // statistics reconciliation, read through a cursor
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new uni.bugtracker.backend.repository.projection.ReportStatsRow(
+                r.project.id, r.reportedAt, r.status, r.criticality, r.tags)
+            from Report r
+            where r.reportedAt >= :from
+            """)
+    Stream<ReportStatsRow> streamStatsRowsReportedSince(@Param("from") Instant from);
 }
@@ -0,0 +1,22 @@
+package uni.bugtracker.backend.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import uni.bugtracker.backend.model.ReportSignature;
+
+import java.util.List;
+
+@Repository
+public interface ReportSignatureRepository extends JpaRepository<ReportSignature, Long> {
+
+    // reports created before the index existed, or while no node was indexing
+    @Query("""
+            select r.id from Report r
+            where r.id > :afterId and not exists (select 1 from ReportSignature s where s.reportId = r.id)
+            order by r.id
+            """)
+    List<Long> findReportIdsWithoutSignature(@Param("afterId") long afterId, Limit limit);
+}
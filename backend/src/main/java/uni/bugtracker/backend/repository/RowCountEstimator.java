@@ -0,0 +1,49 @@
+package uni.bugtracker.backend.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Row counts read from PostgreSQL statistics instead of {@code count(*)}. Estimates are as
+ * fresh as the last ANALYZE/autovacuum. Other databases (H2 in tests) get an empty result.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RowCountEstimator {
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    // whole table: pg_class.reltuples (-1 until the table was analyzed once)
+    public Optional<Long> estimateTable(String table) {
+        if (!dialect.isPostgres()) {
+            return Optional.empty();
+        }
+        Long rows = jdbcTemplate.query(
+                "select reltuples::bigint from pg_class where oid = to_regclass(?)",
+                rs -> rs.next() ? rs.getLong(1) : null,
+                table);
+        return rows == null || rows < 0 ? Optional.empty() : Optional.of(rows);
+    }
+
+    // filtered rows: the planner's estimate, i.e. reltuples scaled by the column statistics
+    public Optional<Long> estimateRows(String select, Object... args) {
+        if (!dialect.isPostgres()) {
+            return Optional.empty();
+        }
+        String plan = jdbcTemplate.queryForObject("explain (format json) " + select, String.class, args);
+        try {
+            JsonNode rows = JSON.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.isNumber() ? Optional.of(rows.asLong()) : Optional.empty();
+        } catch (JsonProcessingException e) {
+            return Optional.empty();
+        }
+    }
+}
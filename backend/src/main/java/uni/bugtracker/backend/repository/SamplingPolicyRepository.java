@@ -0,0 +1,7 @@
+package uni.bugtracker.backend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import uni.bugtracker.backend.model.SamplingPolicy;
+
+public interface SamplingPolicyRepository extends JpaRepository<SamplingPolicy, String> {
+}
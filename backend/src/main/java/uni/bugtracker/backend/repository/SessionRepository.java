@@ -1,12 +1,16 @@
 package uni.bugtracker.backend.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import uni.bugtracker.backend.model.Session;
+import uni.bugtracker.backend.repository.projection.ProjectTimestampRow;
+import uni.bugtracker.backend.repository.projection.SessionVersion;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 public interface SessionRepository extends JpaRepository<Session, Long> {
 
@@ -15,9 +19,32 @@ public interface SessionRepository extends JpaRepository<Session, Long> {
                 where s.isActive = true
                     and s.endTime is null
                     and coalesce(
-                            (select max(e.timestamp) from Event e where e.session = s),
+                            (select max(e.timestamp) from Event e
+                                where e.session = s and e.receivedAt >= s.createdAt),
                             s.startTime
                         ) < :deadline
             """)
     List<Session> findExpiredSessions(@Param("deadline") Instant deadline);
-}
\ No newline at end of file
+
+    @Query("""
+            select new uni.bugtracker.backend.repository.projection.SessionVersion(
+                s.id, s.project.id, s.isActive, s.endTime)
+            from Session s
+            where s.id = :sessionId
+            """)
+    Optional<SessionVersion> findVersionById(@Param("sessionId") Long sessionId);
+
+    @Query("select s.project.id from Session s where s.id = :sessionId")
+    Optional<String> findProjectIdById(@Param("sessionId") Long sessionId);
+
+    @EntityGraph(attributePaths = "plugins")
+    @Query("select s from Session s where s.id = :sessionId")
+    Optional<Session> findWithPluginsById(@Param("sessionId") Long sessionId);
+
+    @Query("""
+            select new uni.bugtracker.backend.repository.projection.ProjectTimestampRow(s.project.id, s.startTime)
+            from Session s
+            where s.startTime >= :from
+            """)
+    List<ProjectTimestampRow> findProjectIdAndStartTimeSince(@Param("from") Instant from);
+}
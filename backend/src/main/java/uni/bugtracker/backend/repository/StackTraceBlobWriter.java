@@ -0,0 +1,64 @@
+package uni.bugtracker.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import uni.bugtracker.backend.model.StackTraceBlob;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Inserts {@link StackTraceBlob} rows without reading them first and removes the ones no event
+ * points to.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StackTraceBlobWriter {
+
+    private static final String POSTGRES_INSERT = """
+            insert into stack_trace_blob (hash, data, length, seen_at)
+            values (?, ?, ?, ?)
+            on conflict (hash) do nothing
+            """;
+
+    private static final String MERGE = """
+            merge into stack_trace_blob t
+            using (select cast(? as varchar(64)) as hash, cast(? as varbinary) as data,
+                          cast(? as integer) as length, cast(? as timestamp with time zone) as seen_at) s
+            on t.hash = s.hash
+            when not matched then insert (hash, data, length, seen_at)
+                values (s.hash, s.data, s.length, s.seen_at)
+            """;
+
+    // seen_at is checked again on the row itself: a blob found by an ingestion while the
+    // candidates were selected is skipped, PostgreSQL re-evaluates the condition after the row lock
+    private static final String DELETE_UNREFERENCED = """
+            delete from stack_trace_blob
+            where seen_at < ? and hash in (
+                select b.hash from stack_trace_blob b
+                where b.seen_at < ?
+                  and not exists (select 1 from event e where e.stack_trace_hash = b.hash)
+                limit ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    // true when the blob is new; an existing one only gets its seen_at moved
+    public boolean insertOrTouch(String hash, byte[] data, int length, Instant seenAt) {
+        Timestamp seen = Timestamp.from(seenAt);
+        int inserted = jdbcTemplate.update(dialect.isPostgres() ? POSTGRES_INSERT : MERGE, hash, data, length, seen);
+        if (inserted > 0) {
+            return true;
+        }
+        jdbcTemplate.update("update stack_trace_blob set seen_at = ? where hash = ? and seen_at < ?",
+                seen, hash, seen);
+        return false;
+    }
+
+    public int deleteUnreferenced(Instant seenBefore, int limit) {
+        Timestamp cutoff = Timestamp.from(seenBefore);
+        return jdbcTemplate.update(DELETE_UNREFERENCED, cutoff, cutoff, limit);
+    }
+}
@@ -0,0 +1,56 @@
+package uni.bugtracker.backend.repository.partition;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * Tables range-partitioned by month of a database-assigned insert time. Partitions are named
+ * after their month, {@code event_p202611}; the table that existed before partitioning becomes
+ * {@code event_before_202611}, everything up to that month. The bounds follow from the names.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum PartitionedTable {
+    SESSION("session", "created_at"),
+    EVENT("event", "received_at");
+
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final String table;
+    private final String partitionKey;
+
+    public String partitionName(YearMonth month) {
+        return table + "_p" + MONTH.format(month);
+    }
+
+    public String legacyName(YearMonth end) {
+        return table + "_before_" + MONTH.format(end);
+    }
+
+    // the first month after the partition, empty for a table not named by this class
+    public Optional<YearMonth> upperBound(String partitionName) {
+        if (partitionName.startsWith(table + "_p")) {
+            return parse(partitionName.substring(table.length() + 2)).map(month -> month.plusMonths(1));
+        }
+        if (partitionName.startsWith(table + "_before_")) {
+            return parse(partitionName.substring(table.length() + 8));
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<YearMonth> parse(String month) {
+        if (month.length() != 6) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(month, MONTH));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package uni.bugtracker.backend.repository.partition;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import uni.bugtracker.backend.repository.DatabaseDialect;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PostgreSQL DDL for the {@link PartitionedTable}s: converting the plain table Hibernate created,
+ * creating monthly partitions and dropping old ones. Callers run each step in a transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TimePartitions {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    public boolean isSupported() {
+        return dialect.isPostgres();
+    }
+
+    // one maintenance step at a time across nodes, released with the transaction
+    public boolean tryLock() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select pg_try_advisory_xact_lock(hashtext('time_partitions'))", Boolean.class));
+    }
+
+    // DDL waits this long for running queries instead of queueing every insert behind it
+    public void setLockTimeout(int seconds) {
+        jdbcTemplate.execute("set local lock_timeout = '" + seconds + "s'");
+    }
+
+    public boolean isPartitioned(PartitionedTable table) {
+        List<String> kinds = jdbcTemplate.queryForList(
+                "select relkind::text from pg_class where oid = to_regclass(?)", String.class, table.getTable());
+        return kinds.contains("p");
+    }
+
+    /**
+     * Replaces the plain table by a partitioned one of the same shape. The old table is kept as the
+     * partition of everything before {@code firstMonth}, so no row is copied; the new primary key
+     * (id plus partition key) is built on it once. Foreign keys to session cannot exist on a
+     * partitioned session and are dropped, so session is converted before event.
+     */
+    public void convert(PartitionedTable table, YearMonth firstMonth) {
+        String name = table.getTable();
+        String legacy = table.legacyName(firstMonth);
+        String key = table.getPartitionKey();
+
+        // no insert may take an id between reading the last one and the new sequence taking over
+        jdbcTemplate.execute("lock table " + name + " in access exclusive mode");
+        if (table == PartitionedTable.SESSION) {
+            backfillInsertTimes();
+        }
+
+        List<String> indexes = jdbcTemplate.queryForList("""
+                select pg_get_indexdef(i.indexrelid)
+                from pg_index i
+                left join pg_constraint c on c.conindid = i.indexrelid and c.contype = 'p'
+                where i.indrelid = to_regclass(?) and c.oid is null
+                """, String.class, name);
+        List<Map<String, Object>> foreignKeys = jdbcTemplate.queryForList("""
+                select conname, pg_get_constraintdef(oid) as definition
+                from pg_constraint
+                where conrelid = to_regclass(?) and contype = 'f'
+                  and confrelid <> to_regclass('session')
+                """, name);
+        if (table == PartitionedTable.SESSION) {
+            jdbcTemplate.queryForList("""
+                    select conrelid::regclass::text as owner, conname
+                    from pg_constraint
+                    where confrelid = to_regclass('session') and contype = 'f' and conparentid = 0
+                    """).forEach(fk -> jdbcTemplate.execute("alter table " + fk.get("owner")
+                    + " drop constraint " + quote((String) fk.get("conname"))));
+        }
+        long nextId = nextId(name);
+
+        jdbcTemplate.execute("alter table " + name + " rename to " + legacy);
+        // the old names go to the parent, a matching index of the old table is attached instead of rebuilt
+        jdbcTemplate.queryForList(
+                "select indexrelid::regclass::text from pg_index where indrelid = to_regclass(?)", String.class, legacy)
+                .forEach(index -> jdbcTemplate.execute("alter index " + index + " rename to "
+                        + quote(truncate(unquote(index) + "_" + legacy.substring(name.length() + 1)))));
+
+        jdbcTemplate.execute("create table " + name + " (like " + legacy
+                + " including defaults including constraints including generated including storage)"
+                + " partition by range (" + key + ")");
+        // ids continue from the old table; its identity column is no longer used
+        String sequence = name + "_partitioned_id_seq";
+        jdbcTemplate.execute("create sequence " + sequence + " as bigint start with " + nextId
+                + " owned by " + name + ".id");
+        jdbcTemplate.execute("alter table " + name + " alter column id set default nextval('" + sequence + "')");
+        jdbcTemplate.execute("alter table " + name + " add constraint " + name + "_pkey primary key (id, " + key + ")");
+        indexes.forEach(jdbcTemplate::execute);
+        foreignKeys.forEach(fk -> jdbcTemplate.execute("alter table " + name + " add constraint "
+                + quote((String) fk.get("conname")) + " " + fk.get("definition")));
+
+        // a partition cannot have an identity column of its own
+        jdbcTemplate.execute("alter table " + legacy + " alter column id drop identity if exists");
+        jdbcTemplate.execute("alter table " + legacy + " alter column " + key + " set not null");
+        jdbcTemplate.execute("alter table " + name + " attach partition " + legacy
+                + " for values from (minvalue) to ('" + start(firstMonth) + "')");
+    }
+
+    /**
+     * ddl-auto added created_at and received_at with the default current_timestamp, so rows that
+     * existed then got the time of their ALTER, event's possibly earlier than session's. Queries bound
+     * a session's events by {@code received_at >= created_at}: the old rows take the client's
+     * start_time and timestamp instead, never a later time than before (they stay in the old
+     * partition) and no event earlier than its session.
+     */
+    private void backfillInsertTimes() {
+        jdbcTemplate.update("update session set created_at = start_time where start_time < created_at");
+        jdbcTemplate.update("""
+                update event e set received_at = greatest(e.timestamp, s.created_at)
+                from session s
+                where s.id = e.session_id and greatest(e.timestamp, s.created_at) < e.received_at
+                """);
+    }
+
+    // past both the rows and the identity sequence: ids of deleted events stay unused
+    private long nextId(String table) {
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+        long next = (maxId != null ? maxId : 0) + 1;
+        String identity = jdbcTemplate.queryForObject("select pg_get_serial_sequence(?, 'id')", String.class, table);
+        if (identity != null) {
+            Long lastValue = jdbcTemplate.queryForObject("select last_value from " + identity, Long.class);
+            next = Math.max(next, (lastValue != null ? lastValue : 0) + 1);
+        }
+        return next;
+    }
+
+    // indexes and foreign keys of the parent are created on the new partition as well
+    public void createPartition(PartitionedTable table, YearMonth month) {
+        jdbcTemplate.execute("create table if not exists " + table.partitionName(month)
+                + " partition of " + table.getTable()
+                + " for values from ('" + start(month) + "') to ('" + start(month.plusMonths(1)) + "')");
+    }
+
+    public List<String> partitions(PartitionedTable table) {
+        return jdbcTemplate.queryForList("""
+                select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid
+                where i.inhparent = to_regclass(?)
+                order by c.relname
+                """, String.class, table.getTable());
+    }
+
+    // sessions are referenced without a foreign key: their reports and plugins go first
+    public int deleteRowsOfSessions(String sessionPartition) {
+        String sessions = "(select id from " + sessionPartition + ")";
+        String reports = "(select id from report where session_id in " + sessions + ")";
+        unlinkLargeObjects("report", "screen", "id in " + reports);
+        jdbcTemplate.update("delete from report_related_event_ids where report_id in " + reports);
+        int deleted = jdbcTemplate.update("delete from report where session_id in " + sessions);
+        jdbcTemplate.update("delete from session_plugins where session_id in " + sessions);
+        return deleted;
+    }
+
+    // large objects live outside the table and would survive the drop
+    public void unlinkLargeObjectsOf(String eventPartition) {
+        unlinkLargeObjects(eventPartition, "log", "true");
+        unlinkLargeObjects(eventPartition, "stack_trace", "true");
+    }
+
+    public void dropPartition(PartitionedTable table, String partition) {
+        jdbcTemplate.execute("alter table " + table.getTable() + " detach partition " + partition);
+        jdbcTemplate.execute("drop table " + partition);
+    }
+
+    private void unlinkLargeObjects(String table, String column, String condition) {
+        Integer oidColumns = jdbcTemplate.queryForObject("""
+                select count(*) from information_schema.columns
+                where table_schema = current_schema() and table_name = ? and column_name = ? and udt_name = 'oid'
+                """, Integer.class, table, column);
+        if (oidColumns != null && oidColumns > 0) {
+            jdbcTemplate.queryForObject("select count(lo_unlink(" + column + ")) from " + table
+                    + " where " + column + " is not null and " + condition, Long.class);
+        }
+    }
+
+    private static String start(YearMonth month) {
+        return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant().toString();
+    }
+
+    private static String truncate(String identifier) {
+        return identifier.length() > 63 ? identifier.substring(0, 63) : identifier;
+    }
+
+    private static String unquote(String identifier) {
+        return identifier.startsWith("\"") ? identifier.substring(1, identifier.length() - 1) : identifier;
+    }
+
+    private static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,20 @@
+package uni.bugtracker.backend.repository.projection;
+
+import uni.bugtracker.backend.model.EventType;
+
+import java.time.Instant;
+
+// every event column except log and stack trace
+public record EventHeadRow(
+        Long id,
+        Long sessionId,
+        EventType type,
+        String name,
+        String url,
+        String element,
+        Instant timestamp,
+        String fileName,
+        String lineNumber,
+        String statusCode
+) {
+}
@@ -0,0 +1,17 @@
+package uni.bugtracker.backend.repository.projection;
+
+import uni.bugtracker.backend.model.EventType;
+
+import java.time.Instant;
+
+// timeline columns of an event, read without touching the log and stack trace large objects
+public record EventTimelineRow(
+        Long id,
+        EventType type,
+        String name,
+        String url,
+        Instant timestamp,
+        Integer logLength,
+        Integer stackTraceLength
+) {
+}
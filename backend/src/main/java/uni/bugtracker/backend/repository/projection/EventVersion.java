@@ -0,0 +1,5 @@
+package uni.bugtracker.backend.repository.projection;
+
+// events are never updated; the session state decides whether they may still be deleted
+public record EventVersion(Long id, String projectId, Boolean sessionActive) {
+}
@@ -0,0 +1,11 @@
+package uni.bugtracker.backend.repository.projection;
+
+import uni.bugtracker.backend.model.CriticalityLevel;
+
+// the issue a report was counted for; occurrences is 1 when the report created it
+public record IssueOccurrence(Long issueId, long occurrences, CriticalityLevel criticality) {
+
+    public boolean first() {
+        return occurrences == 1;
+    }
+}
@@ -0,0 +1,7 @@
+package uni.bugtracker.backend.repository.projection;
+
+import java.time.Instant;
+
+// a session start or an event time with the project it belongs to, for the daily statistics
+public record ProjectTimestampRow(String projectId, Instant timestamp) {
+}
@@ -0,0 +1,20 @@
+package uni.bugtracker.backend.repository.projection;
+
+import uni.bugtracker.backend.model.CriticalityLevel;
+import uni.bugtracker.backend.model.ReportStatus;
+import uni.bugtracker.backend.model.Tag;
+
+import java.time.Instant;
+import java.util.Set;
+
+// dashboard list columns of a report, read without loading the entity
+public record ReportListRow(
+        Long id,
+        String projectId,
+        String title,
+        Instant reportedAt,
+        CriticalityLevel criticality,
+        ReportStatus status,
+        Set<Tag> tags
+) {
+}
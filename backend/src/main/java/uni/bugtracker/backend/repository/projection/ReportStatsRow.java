@@ -0,0 +1,18 @@
+package uni.bugtracker.backend.repository.projection;
+
+import uni.bugtracker.backend.model.CriticalityLevel;
+import uni.bugtracker.backend.model.ReportStatus;
+import uni.bugtracker.backend.model.Tag;
+
+import java.time.Instant;
+import java.util.Set;
+
+// the columns a report is counted by in the daily statistics
+public record ReportStatsRow(
+        String projectId,
+        Instant reportedAt,
+        ReportStatus status,
+        CriticalityLevel criticality,
+        Set<Tag> tags
+) {
+}
@@ -0,0 +1,7 @@
+package uni.bugtracker.backend.repository.projection;
+
+import java.time.Instant;
+
+// enough of a report to authorize a read and answer a conditional request
+public record ReportVersion(Long id, String projectId, Long version, Instant updatedAt) {
+}
@@ -0,0 +1,7 @@
+package uni.bugtracker.backend.repository.projection;
+
+import java.time.Instant;
+
+// a session changes only until it is closed: isActive and endTime are its version
+public record SessionVersion(Long id, String projectId, Boolean isActive, Instant endTime) {
+}
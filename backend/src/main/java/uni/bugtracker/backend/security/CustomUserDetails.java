@@ -18,12 +18,24 @@ public class CustomUserDetails implements UserDetails {
     private final String password;
     @Getter
     private final Role role;
+    @Getter
+    private final int tokenVersion;
 
     public CustomUserDetails(Developer dev) {
         this.id = dev.getId();
         this.username = dev.getUsername();
         this.password = dev.getPassword();
         this.role = dev.getRole();
+        this.tokenVersion = dev.getTokenVersion();
+    }
+
+    // principal restored from signed JWT claims, no password is needed after login
+    public CustomUserDetails(String id, String username, Role role, int tokenVersion) {
+        this.id = id;
+        this.username = username;
+        this.password = null;
+        this.role = role;
+        this.tokenVersion = tokenVersion;
     }
 
     @Override
@@ -0,0 +1,65 @@
+package uni.bugtracker.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uni.bugtracker.backend.repository.DeveloperRepository;
+import uni.bugtracker.backend.utility.cluster.ClusterEventBus;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Project ids per developer, loaded with one query on the first check.
+ * A dashboard page authorizes the same user and project several times,
+ * with the cache only the first check of a developer reaches the database.
+ * Membership changes invalidate the entry on every node through {@link ClusterEventBus}.
+ */
+@Component
+public class ProjectMembershipCache {
+
+    public static final String CHANNEL = "bt_project_membership";
+
+    private final DeveloperRepository developerRepository;
+    private final ClusterEventBus eventBus;
+    private final Cache<String, Set<String>> memberships;
+
+    public ProjectMembershipCache(
+            DeveloperRepository developerRepository,
+            ClusterEventBus eventBus,
+            @Value("${app.membership-cache.max-size:10000}") long maxSize,
+            @Value("${app.membership-cache.ttl:10m}") Duration ttl
+    ) {
+        this.developerRepository = developerRepository;
+        this.eventBus = eventBus;
+        this.memberships = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        eventBus.subscribe(CHANNEL, this::onInvalidation);
+    }
+
+    public boolean isMember(String developerId, String projectId) {
+        return memberships
+                .get(developerId, id -> Set.copyOf(developerRepository.findProjectIdsByDeveloperId(id)))
+                .contains(projectId);
+    }
+
+    // applied after the surrounding transaction commits
+    public void invalidate(String developerId) {
+        eventBus.publish(CHANNEL, developerId);
+    }
+
+    public void invalidateAll() {
+        eventBus.publish(CHANNEL, ClusterEventBus.RESYNC);
+    }
+
+    void onInvalidation(String payload) {
+        if (ClusterEventBus.RESYNC.equals(payload)) {
+            memberships.invalidateAll();
+        } else {
+            memberships.invalidate(payload);
+        }
+    }
+}
@@ -3,14 +3,15 @@ package uni.bugtracker.backend.security;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
-import uni.bugtracker.backend.repository.DeveloperRepository;
 import uni.bugtracker.backend.security.model.Role;
 
+import java.util.Collection;
+
 @Component("projectSecurity")
 @RequiredArgsConstructor
 public class ProjectSecurity {
 
-    private final DeveloperRepository developerRepository;
+    private final ProjectMembershipCache membershipCache;
 
     public boolean hasAccessToProject(String projectId, Authentication auth) {
         CustomUserDetails user = (CustomUserDetails) auth.getPrincipal();
@@ -19,9 +20,14 @@ public class ProjectSecurity {
             return true;
         }
 
-        return developerRepository.existsByIdAndProjects_Id(
+        return membershipCache.isMember(
                 user.getId(),
                 projectId
         );
     }
+
+    // batch endpoints: access to every project the requested resources belong to
+    public boolean hasAccessToProjects(Collection<String> projectIds, Authentication auth) {
+        return projectIds.stream().allMatch(projectId -> hasAccessToProject(projectId, auth));
+    }
 }
@@ -5,7 +5,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -13,13 +12,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import uni.bugtracker.backend.model.Developer;
 import uni.bugtracker.backend.repository.DeveloperRepository;
+import uni.bugtracker.backend.security.CustomUserDetails;
 import uni.bugtracker.backend.security.dto.AuthRequest;
 import uni.bugtracker.backend.security.dto.JwtResponse;
 import uni.bugtracker.backend.security.dto.RegisterRequest;
 import uni.bugtracker.backend.security.model.Role;
 import uni.bugtracker.backend.security.service.JwtService;
 
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -58,13 +57,7 @@ public class AuthController {
         Developer user = developerRepository.findByUsername(request.getUsername())
                 .orElseThrow();
 
-        String token = jwtService.generateToken(
-                new org.springframework.security.core.userdetails.User(
-                        user.getUsername(),
-                        user.getPassword(),
-                        List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
-                )
-        );
+        String token = jwtService.generateToken(new CustomUserDetails(user));
 
 
         return new ResponseEntity<>(new JwtResponse(token,
@@ -1,6 +1,7 @@
 package uni.bugtracker.backend.security.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -8,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import uni.bugtracker.backend.security.CustomUserDetails;
 import uni.bugtracker.backend.security.model.Role;
 
 import javax.crypto.SecretKey;
@@ -17,6 +19,11 @@ import java.util.Date;
 @RequiredArgsConstructor
 public class JwtService {
 
+    private static final String ROLE_CLAIM = "role";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String TOKEN_VERSION_CLAIM = "ver";
+    private static final String ROLE_PREFIX = "ROLE_";
+
     @Value("${jwt.secret}")
     private String secretKey;
 
@@ -36,15 +43,37 @@ public class JwtService {
     public String generateToken(UserDetails userDetails) {
 /*        Map<String, Object> claims = new HashMap<>();
         claims.put("role", role.name()); // было "roles"*/
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .subject(userDetails.getUsername())
-                .claim("role", userDetails.getAuthorities().iterator().next().getAuthority())
+                .claim(ROLE_CLAIM, userDetails.getAuthorities().iterator().next().getAuthority());
+        // id and token version let the filter rebuild the principal without a user lookup
+        if (userDetails instanceof CustomUserDetails user) {
+            builder.claim(USER_ID_CLAIM, user.getId())
+                    .claim(TOKEN_VERSION_CLAIM, user.getTokenVersion());
+        }
+        return builder
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expirationTime))
                 .signWith(getSignInKey(), Jwts.SIG.HS256)
                 .compact();
     }
 
+    /**
+     * Builds the principal straight from the signed claims.
+     * Returns null for tokens issued before the id/version claims existed,
+     * callers then have to fall back to loading the user from the database.
+     */
+    public CustomUserDetails extractPrincipal(String token) {
+        Claims claims = extractAllClaims(token);
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        Integer version = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+        if (userId == null || role == null || version == null) {
+            return null;
+        }
+        return new CustomUserDetails(userId, claims.getSubject(), toRole(role), version);
+    }
+
     public String extractUsername(String token) {
         return extractAllClaims(token).getSubject();
     }
@@ -64,8 +93,13 @@ public class JwtService {
                 .build()
                 .parseSignedClaims(token)
                 .getPayload()
-                .get("role", String.class);
-        return Role.valueOf(role);
+                .get(ROLE_CLAIM, String.class);
+        return toRole(role);
+    }
+
+    // the claim holds the granted authority, e.g. ROLE_ADMIN
+    private Role toRole(String role) {
+        return Role.valueOf(role.startsWith(ROLE_PREFIX) ? role.substring(ROLE_PREFIX.length()) : role);
     }
 
 /*    private Claims extractAllClaims(String token) {
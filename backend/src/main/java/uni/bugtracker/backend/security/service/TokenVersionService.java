@@ -0,0 +1,63 @@
+package uni.bugtracker.backend.security.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import uni.bugtracker.backend.repository.DeveloperRepository;
+import uni.bugtracker.backend.utility.cluster.ClusterEventBus;
+
+import java.time.Duration;
+
+/**
+ * Small cache of the current token version per user.
+ * A token is accepted only while its "ver" claim matches the stored version,
+ * so bumping the version revokes every token issued before a role change.
+ */
+@Service
+public class TokenVersionService {
+
+    // marks deleted users, so a token of a removed account does not hit the db on every request
+    private static final int MISSING_USER = -1;
+    private static final String CHANNEL = "bt_token_version";
+
+    private final DeveloperRepository developerRepository;
+    private final ClusterEventBus eventBus;
+    private final Cache<String, Integer> versions;
+
+    public TokenVersionService(
+            DeveloperRepository developerRepository,
+            ClusterEventBus eventBus,
+            @Value("${jwt.version-cache.max-size:10000}") long maxSize,
+            @Value("${jwt.version-cache.ttl:30s}") Duration ttl
+    ) {
+        this.developerRepository = developerRepository;
+        this.eventBus = eventBus;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        eventBus.subscribe(CHANNEL, this::onVersionChanged);
+    }
+
+    public boolean isCurrent(String userId, int tokenVersion) {
+        int current = versions.get(userId, id -> developerRepository.findTokenVersionById(id)
+                .orElse(MISSING_USER));
+        return current != MISSING_USER && current == tokenVersion;
+    }
+
+    // overwrites instead of evicting, so a concurrent reload cannot bring the old version back
+    public void updateVersion(String userId, int tokenVersion) {
+        versions.put(userId, tokenVersion);
+        // other nodes reload the committed version
+        eventBus.publish(CHANNEL, userId);
+    }
+
+    private void onVersionChanged(String userId) {
+        if (ClusterEventBus.RESYNC.equals(userId)) {
+            versions.invalidateAll();
+        } else {
+            versions.invalidate(userId);
+        }
+    }
+}
@@ -2,20 +2,27 @@ package uni.bugtracker.backend.security.service;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import uni.bugtracker.backend.dto.CursorPage;
 import uni.bugtracker.backend.exception.ResourceNotFoundException;
 import uni.bugtracker.backend.model.Developer;
 import uni.bugtracker.backend.model.Project;
 import uni.bugtracker.backend.repository.DeveloperRepository;
 import uni.bugtracker.backend.repository.ProjectRepository;
+import uni.bugtracker.backend.repository.RowCountEstimator;
 import uni.bugtracker.backend.security.CustomUserDetails;
+import uni.bugtracker.backend.security.ProjectMembershipCache;
 import uni.bugtracker.backend.security.ProjectSecurity;
 import uni.bugtracker.backend.security.dto.UserDTO;
 import uni.bugtracker.backend.security.model.Role;
+import uni.bugtracker.backend.utility.pagination.CursorCodec;
+
+import java.util.List;
 
 
 
@@ -23,15 +30,24 @@ import uni.bugtracker.backend.security.model.Role;
 @Transactional
 @RequiredArgsConstructor
 public class UserService {
+    public static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final DeveloperRepository developerRepository;
     private final ProjectRepository projectRepository;
     private final ProjectSecurity projectSecurity;
+    private final TokenVersionService tokenVersionService;
+    private final ProjectMembershipCache membershipCache;
+    private final RowCountEstimator rowCountEstimator;
 
     public UserDTO changeUserRole(String userId, Role newRole) {
         Developer user = developerRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User nor found with id: " + userId));
         user.setRole(newRole);
-        return new UserDTO(developerRepository.save(user));
+        // the role is a signed claim now, old tokens must stop working
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        Developer saved = developerRepository.save(user);
+        tokenVersionService.updateVersion(userId, saved.getTokenVersion());
+        return new UserDTO(saved);
     }
 
     public Page<UserDTO> getAllUsers(Pageable pageable) {
@@ -39,6 +55,21 @@ public class UserService {
         return usersPage.map(UserDTO::new);
     }
 
+    public CursorPage<UserDTO> getUsersAfter(String cursor, int size, boolean withCount) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        Limit limit = Limit.of(pageSize + 1);
+        List<Developer> users = cursor == null || cursor.isBlank()
+                ? developerRepository.findAllByOrderByIdAsc(limit)
+                : developerRepository.findAllByIdGreaterThanOrderByIdAsc(CursorCodec.decode(cursor, 1)[0], limit);
+        boolean hasNext = users.size() > pageSize;
+        List<Developer> page = hasNext ? users.subList(0, pageSize) : users;
+        return new CursorPage<>(
+                page.stream().map(UserDTO::new).toList(),
+                hasNext ? CursorCodec.encode(page.getLast().getId()) : null,
+                hasNext,
+                withCount ? rowCountEstimator.estimateTable("user_dev").orElse(null) : null);
+    }
+
 
 
     @Transactional
@@ -59,6 +90,7 @@ public class UserService {
             return new UserDTO(targetUser);
         }
         targetUser.getProjects().add(project);
+        membershipCache.invalidate(targetUserId);
         return new UserDTO(developerRepository.save(targetUser));
     }
 
@@ -87,6 +119,7 @@ public class UserService {
         }
 
         targetUser.getProjects().remove(project);
+        membershipCache.invalidate(targetUserId);
 
         return new UserDTO(developerRepository.save(targetUser));
     }
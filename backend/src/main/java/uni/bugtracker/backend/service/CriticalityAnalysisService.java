@@ -1,43 +1,134 @@
 package uni.bugtracker.backend.service;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import uni.bugtracker.backend.dto.report.ReportDashboardDTO;
+import uni.bugtracker.backend.dto.report.ReportFeedItem;
 import uni.bugtracker.backend.model.CriticalityLevel;
 import uni.bugtracker.backend.model.Event;
+import uni.bugtracker.backend.model.ProjectDailyStat;
 import uni.bugtracker.backend.model.Report;
 import uni.bugtracker.backend.repository.EventRepository;
+import uni.bugtracker.backend.repository.IssueRepository;
 import uni.bugtracker.backend.repository.ReportRepository;
+import uni.bugtracker.backend.service.feed.ReportChangedEvent;
+import uni.bugtracker.backend.service.feed.ReportFeed;
+import uni.bugtracker.backend.service.stats.StatsRollup;
 import uni.bugtracker.backend.utility.ai_criticality.AIClient;
 
 import java.util.List;
 
+/**
+ * Sets a new report's criticality from the AI analysis of its session's events. The AI call takes
+ * seconds and runs outside a transaction; its result goes to the report as it is by then, so a
+ * dashboard save in between is neither overwritten nor a reason to lose the result, and the alert
+ * for a CRITICAL report is sent once the level is committed.
+ */
 @Service
-@RequiredArgsConstructor
 public class CriticalityAnalysisService {
+    // a save of the same report in between makes the update retry on the new version
+    static final int MAX_ATTEMPTS = 3;
+
     private final ReportRepository reportRepository;
     private final EventRepository eventRepository;
     private final AIClient aiClient;
     private final NotificationService notificationService;
+    private final ReportCardCache reportCardCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StatsRollup statsRollup;
+    private final IssueRepository issueRepository;
+    private final TransactionTemplate transaction;
+
+    public CriticalityAnalysisService(
+            ReportRepository reportRepository,
+            EventRepository eventRepository,
+            AIClient aiClient,
+            NotificationService notificationService,
+            ReportCardCache reportCardCache,
+            ApplicationEventPublisher eventPublisher,
+            StatsRollup statsRollup,
+            IssueRepository issueRepository,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.reportRepository = reportRepository;
+        this.eventRepository = eventRepository;
+        this.aiClient = aiClient;
+        this.notificationService = notificationService;
+        this.reportCardCache = reportCardCache;
+        this.eventPublisher = eventPublisher;
+        this.statsRollup = statsRollup;
+        this.issueRepository = issueRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void analyzeAndUpdate(Long reportId) {
+        List<Event> events = transaction.execute(status -> loadEvents(reportId));
+        CriticalityLevel level = determineCriticality(events);
+
+        Report report = applyWithRetry(reportId, level);
+        if (report != null && level == CriticalityLevel.CRITICAL) {
+            notificationService.sendNotifs(report.getProject().getId(), report);
+        }
+    }
+
+    private Report applyWithRetry(Long reportId, CriticalityLevel level) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.execute(status -> apply(reportId, level));
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
 
+    private List<Event> loadEvents(Long reportId) {
         Report report = reportRepository.findById(reportId)
                 .orElseThrow(() -> new IllegalStateException("Report not found"));
+        List<Event> events = eventRepository.findAllBySessionId(report.getSession().getId());
+        // the AI client reads the bodies after the transaction, their lazy parts are loaded now
+        events.forEach(event -> {
+            event.getLog();
+            event.getStackTrace();
+        });
+        return events;
+    }
 
-        List<Event> events =
-                eventRepository.findAllBySessionId(report.getSession().getId());
+    // null when the report is gone or got a level on the dashboard meanwhile
+    private Report apply(Long reportId, CriticalityLevel level) {
+        Report report = reportRepository.findById(reportId).orElse(null);
+        if (report == null || report.getCriticality() != CriticalityLevel.UNKNOWN) {
+            return null;
+        }
+        updateCriticality(report, level);
+        if (report.getIssue() != null && level != CriticalityLevel.UNKNOWN) {
+            applyToIssue(report.getIssue().getId(), reportId, level);
+        }
+        return report;
+    }
 
-        CriticalityLevel level = determineCriticality(events);
+    // reports counted for the issue while its first one was analyzed take the result over, without alerts
+    private void applyToIssue(Long issueId, Long reportId, CriticalityLevel level) {
+        issueRepository.updateCriticality(issueId, level);
+        for (Report other : reportRepository.findAllByIssueWithCriticality(issueId, CriticalityLevel.UNKNOWN, reportId)) {
+            updateCriticality(other, level);
+        }
+    }
 
+    private void updateCriticality(Report report, CriticalityLevel level) {
+        List<ProjectDailyStat.Key> previousStats = StatsRollup.reportKeys(report);
         report.setCriticality(level);
         reportRepository.save(report);
-
-        if (level == CriticalityLevel.CRITICAL) {
-            notificationService.sendNotifs(report.getProject().getId(), report);
-        }
+        statsRollup.reportChanged(previousStats, report);
+        reportCardCache.invalidate(report.getId());
+        eventPublisher.publishEvent(new ReportChangedEvent(ReportFeed.CRITICALITY_UPDATED,
+                ReportFeedItem.of(new ReportDashboardDTO(report))));
     }
 
     private CriticalityLevel determineCriticality(List<Event> events) {
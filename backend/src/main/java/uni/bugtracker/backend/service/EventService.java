@@ -1,43 +1,85 @@
 package uni.bugtracker.backend.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import jakarta.persistence.EntityManager;
 import uni.bugtracker.backend.exception.ResourceNotFoundException;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uni.bugtracker.backend.dto.CursorPage;
 import uni.bugtracker.backend.dto.event.EventDetailsResponse;
 import uni.bugtracker.backend.dto.event.EventRequest;
+import uni.bugtracker.backend.dto.event.EventTimelineItem;
+import uni.bugtracker.backend.exception.BusinessValidationException;
 import uni.bugtracker.backend.model.Event;
 import uni.bugtracker.backend.model.Session;
+import uni.bugtracker.backend.repository.EventBodyReader;
 import uni.bugtracker.backend.repository.EventRepository;
 import uni.bugtracker.backend.repository.SessionRepository;
-
+import uni.bugtracker.backend.repository.projection.EventHeadRow;
+import uni.bugtracker.backend.repository.projection.EventTimelineRow;
+import uni.bugtracker.backend.repository.projection.EventVersion;
+import uni.bugtracker.backend.service.logtemplate.LogTemplateStore;
+import uni.bugtracker.backend.service.sampling.EventSampler;
+import uni.bugtracker.backend.service.search.SearchIndex;
+import uni.bugtracker.backend.service.stats.StatsRollup;
+import uni.bugtracker.backend.utility.EventJsonWriter;
+import uni.bugtracker.backend.utility.pagination.EventCursor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class EventService {
     private final EventRepository eventRepository;
     private final SessionRepository sessionRepository;
+    private final RequestEntityLoader entityLoader;
+    private final SearchIndex searchIndex;
+    private final EventBodyReader eventBodyReader;
+    private final EntityManager entityManager;
+    private final StatsRollup statsRollup;
+    private final StackTraceStore stackTraceStore;
+    private final LogTemplateStore logTemplateStore;
+    private final EventSampler eventSampler;
+
+    public static final int MAX_TIMELINE_PAGE_SIZE = 200;
 
     private static final int MAX_LOG = 4_000_000;
     private static final int MAX_NAME = 255;
     private static final int MAX_STACK_TRACE = 4_000_000;
+    // events converted together, their shared stack traces are fetched with one query (StackTraceBlob)
+    private static final int WRITE_CHUNK = 100;
 
 
+    // null when the project's sampling policy drops the event, nothing is written then
     @Transactional
     public Long createEvent(EventRequest request) {
         Session session = sessionRepository.findById(request.getSessionId())
                 .orElseThrow(() ->
                         new ResourceNotFoundException("Session not found: " + request.getSessionId())
                 );
+        if (eventSampler.sampleOut(session.getProject().getId(), session.getId(), request.getType(),
+                request.getTimestamp())) {
+            return null;
+        }
 
         Event event = new Event();
 
         event.setSession(session);
         event.setType(request.getType());
         event.setName(trim(request.getName(), MAX_NAME));
-        event.setLog(trim(request.getLog(), MAX_LOG));
-        event.setStackTrace(trim(request.getStackTrace(), MAX_STACK_TRACE));
+        logTemplateStore.attach(event, trim(request.getLog(), MAX_LOG), session.getProject().getId());
+        stackTraceStore.attach(event, trim(request.getStackTrace(), MAX_STACK_TRACE));
         event.setUrl(request.getUrl());
         event.setElement(request.getElement());
         event.setTimestamp(request.getTimestamp());
@@ -50,33 +92,140 @@ public class EventService {
             event.setMetadata(metadata);
         }
 
-        return eventRepository.save(event).getId();
+        Event saved = eventRepository.save(event);
+        searchIndex.indexEvent(saved, session.getProject().getId());
+        statsRollup.eventAdded(saved, session.getProject().getId());
+        return saved.getId();
     }
 
     public EventDetailsResponse getEvent(Long eventId) {
+        return new EventDetailsResponse(entityLoader.event(eventId));
+    }
 
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() ->
-                        new ResourceNotFoundException("Event not found: " + eventId)
-                );
+    public boolean sessionHasEvents(Long sessionId) {
+        return eventRepository.existsBySessionId(sessionId);
+    }
+
+    /**
+     * Writes all events of the session as a JSON array, reading them through a database cursor.
+     * Events are detached once written, so at most one chunk of events is in memory at a time.
+     */
+    @Transactional(readOnly = true)
+    public void writeEventsBySession(Long sessionId, OutputStream out) throws IOException {
+        try (Stream<Event> events = eventRepository.streamAllBySessionId(sessionId);
+             JsonGenerator json = EventJsonWriter.open(out)) {
+            json.writeStartArray();
+            writeInChunks(events.iterator(), event -> EventJsonWriter.write(json, new EventDetailsResponse(event)));
+            json.writeEndArray();
+        }
+    }
 
-        return new EventDetailsResponse(event);
+    // log and stack trace are copied from the large objects to the response in chunks
+    @Transactional(readOnly = true)
+    public void writeEventBody(Long eventId, OutputStream out) throws IOException {
+        try (JsonGenerator json = EventJsonWriter.open(out)) {
+            boolean found = eventBodyReader.read(eventId,
+                    (head, log, stackTrace) -> EventJsonWriter.write(json, head, log, stackTrace));
+            if (!found) {
+                throw new ResourceNotFoundException("Event not found: " + eventId);
+            }
+        }
     }
 
-    @Transactional
-    public List<EventDetailsResponse> getEventsBySession(Long sessionId) {
-        return eventRepository.findAllBySessionId(sessionId)
-                .stream()
-                .map(EventDetailsResponse::new)
-                .toList();
+    public List<String> getProjectIdsByEventIds(Collection<Long> eventIds) {
+        return eventRepository.findProjectIdsByIdIn(new LinkedHashSet<>(eventIds));
+    }
+
+    // null or empty selects every field; unknown names are rejected before anything is written
+    public Set<String> resolveFields(Set<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return EventJsonWriter.FIELDS;
+        }
+        Set<String> unknown = new HashSet<>(fields);
+        unknown.removeAll(EventJsonWriter.FIELDS);
+        if (!unknown.isEmpty()) {
+            throw new BusinessValidationException("INVALID_ARGUMENT",
+                    "Unknown event fields: " + String.join(", ", unknown));
+        }
+        return Set.copyOf(fields);
+    }
+
+    /**
+     * Writes the events with the given ids as a JSON array in timeline order, using one query.
+     * Ids that do not exist are skipped. Without log and stackTrace in the selection the
+     * large objects are not read.
+     */
+    @Transactional(readOnly = true)
+    public void writeEventsByIds(Collection<Long> eventIds, Set<String> fields, OutputStream out) throws IOException {
+        Set<Long> ids = new LinkedHashSet<>(eventIds);
+        boolean withBodies = fields.contains("log") || fields.contains("stackTrace");
+        try (JsonGenerator json = EventJsonWriter.open(out)) {
+            json.writeStartArray();
+            if (withBodies) {
+                try (Stream<Event> events = eventRepository.streamAllByIdIn(ids)) {
+                    writeInChunks(events.iterator(),
+                            event -> EventJsonWriter.write(json, new EventDetailsResponse(event), fields));
+                }
+            } else {
+                try (Stream<EventHeadRow> heads = eventRepository.streamHeadsByIdIn(ids)) {
+                    Iterator<EventHeadRow> iterator = heads.iterator();
+                    while (iterator.hasNext()) {
+                        EventJsonWriter.write(json, new EventDetailsResponse(iterator.next()), fields);
+                    }
+                }
+            }
+            json.writeEndArray();
+        }
+    }
+
+    public CursorPage<EventTimelineItem> getTimeline(Long sessionId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_TIMELINE_PAGE_SIZE));
+        Limit limit = Limit.of(pageSize + 1);
+        List<EventTimelineRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = eventRepository.findFirstTimelineRowsBySessionId(sessionId, limit);
+        } else {
+            EventCursor after = EventCursor.decode(cursor);
+            rows = eventRepository.findTimelineRowsBySessionIdAfter(sessionId, after.timestamp(), after.id(), limit);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<EventTimelineRow> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            EventTimelineRow last = page.getLast();
+            nextCursor = new EventCursor(last.timestamp(), last.id()).encode();
+        }
+        return new CursorPage<>(page.stream().map(EventTimelineItem::new).toList(), nextCursor, hasNext, null);
+    }
+
+    public EventVersion getEventVersion(Long eventId) {
+        return entityLoader.eventVersion(eventId);
     }
 
     public String getProjectIdByEventId(Long eventId) {
-        Event event =  eventRepository.findById(eventId)
+        return eventRepository.findProjectIdById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found: " + eventId));
-        Long sessionId = event.getSession().getId();
-        return sessionRepository.findById(sessionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Session for this event not found")).getProject().getId();
+    }
+
+    // the blobs of a chunk's stack traces are all loaded by the first one read, then the chunk is detached
+    private void writeInChunks(Iterator<Event> events, EventWriter writer) throws IOException {
+        List<Event> chunk = new ArrayList<>(WRITE_CHUNK);
+        while (events.hasNext()) {
+            chunk.add(events.next());
+            if (chunk.size() == WRITE_CHUNK || !events.hasNext()) {
+                for (Event event : chunk) {
+                    writer.write(event);
+                }
+                chunk.forEach(entityManager::detach);
+                chunk.clear();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface EventWriter {
+        void write(Event event) throws IOException;
     }
 
     private String trim(String s, int max) {
@@ -0,0 +1,164 @@
+package uni.bugtracker.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uni.bugtracker.backend.repository.partition.PartitionedTable;
+import uni.bugtracker.backend.repository.partition.TimePartitions;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Keeps event and session partitioned by month (PostgreSQL only): converts the tables on the
+ * first start, creates the partitions of the coming months and drops whole partitions once
+ * they are older than the retention period, instead of deleting rows.
+ * Every step is a short transaction of its own; a step another node holds is skipped,
+ * any other failure ends the run.
+ */
+@Slf4j
+@Service
+public class PartitionMaintenanceJob {
+    private static final int LOCK_TIMEOUT_SECONDS = 10;
+
+    private final TimePartitions partitions;
+    private final ReportCardCache reportCardCache;
+    private final SessionService sessionService;
+    private final TransactionTemplate transaction;
+    private final int retentionMonths;
+    private final int premakeMonths;
+    private final Clock clock;
+
+    @Autowired
+    public PartitionMaintenanceJob(
+            TimePartitions partitions,
+            ReportCardCache reportCardCache,
+            SessionService sessionService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.retention.months:60}") int retentionMonths,
+            @Value("${app.partitions.premake-months:3}") int premakeMonths
+    ) {
+        this(partitions, reportCardCache, sessionService, transactionManager, retentionMonths, premakeMonths,
+                Clock.systemUTC());
+    }
+
+    PartitionMaintenanceJob(
+            TimePartitions partitions,
+            ReportCardCache reportCardCache,
+            SessionService sessionService,
+            PlatformTransactionManager transactionManager,
+            int retentionMonths,
+            int premakeMonths,
+            Clock clock
+    ) {
+        this.partitions = partitions;
+        this.reportCardCache = reportCardCache;
+        this.sessionService = sessionService;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.retentionMonths = retentionMonths;
+        this.premakeMonths = premakeMonths;
+        this.clock = clock;
+    }
+
+    // inserts need the partition of the current month before the first request
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${app.partitions.maintenance-cron:0 15 2 * * *}", zone = "UTC")
+    public void maintain() {
+        if (!partitions.isSupported()) {
+            return;
+        }
+        YearMonth now = YearMonth.now(clock);
+        // session first: converting it drops the foreign keys event has to it
+        for (PartitionedTable table : PartitionedTable.values()) {
+            if (!step(() -> partitions.isPartitioned(table) || convert(table, now.plusMonths(1)))) {
+                return;
+            }
+            // months already covered, by the converted table or earlier runs, are skipped
+            YearMonth next = partitions.partitions(table).stream()
+                    .map(table::upperBound)
+                    .flatMap(Optional::stream)
+                    .max(Comparator.naturalOrder())
+                    .filter(end -> end.isAfter(now))
+                    .orElse(now);
+            for (YearMonth month = next; !month.isAfter(now.plusMonths(premakeMonths)); month = month.plusMonths(1)) {
+                YearMonth partitionMonth = month;
+                step(() -> {
+                    partitions.createPartition(table, partitionMonth);
+                    return true;
+                });
+            }
+        }
+        dropExpired(now.minusMonths(retentionMonths));
+    }
+
+    private boolean convert(PartitionedTable table, YearMonth firstMonth) {
+        log.warn("Converting table {} to monthly partitions, rows before {} stay in {}",
+                table.getTable(), firstMonth, table.legacyName(firstMonth));
+        partitions.convert(table, firstMonth);
+        return true;
+    }
+
+    // partitions that end on or before the cutoff month; events before sessions, whose reports go along
+    private void dropExpired(YearMonth cutoff) {
+        int reports = 0;
+        for (PartitionedTable table : new PartitionedTable[]{PartitionedTable.EVENT, PartitionedTable.SESSION}) {
+            for (String partition : partitions.partitions(table)) {
+                boolean expired = table.upperBound(partition).map(end -> !end.isAfter(cutoff)).orElse(false);
+                if (!expired) {
+                    continue;
+                }
+                int[] deleted = new int[1];
+                boolean dropped = step(() -> {
+                    if (table == PartitionedTable.SESSION) {
+                        deleted[0] = partitions.deleteRowsOfSessions(partition);
+                    } else {
+                        partitions.unlinkLargeObjectsOf(partition);
+                    }
+                    partitions.dropPartition(table, partition);
+                    return true;
+                });
+                if (dropped) {
+                    if (table == PartitionedTable.SESSION) {
+                        sessionService.sessionsDeleted();
+                    }
+                    reports += deleted[0];
+                    log.info("Dropped partition {} (retention {} months)", partition, retentionMonths);
+                }
+            }
+        }
+        if (reports > 0) {
+            reportCardCache.invalidateAll();
+            log.info("Deleted {} reports of sessions past retention", reports);
+        }
+    }
+
+    // false when another node holds the lock or a lock could not be taken in time, the next run retries
+    private boolean step(Supplier<Boolean> work) {
+        try {
+            return Boolean.TRUE.equals(transaction.execute(status -> {
+                if (!partitions.tryLock()) {
+                    return false;
+                }
+                partitions.setLockTimeout(LOCK_TIMEOUT_SECONDS);
+                return work.get();
+            }));
+        } catch (PessimisticLockingFailureException e) {
+            log.warn("Partition maintenance step timed out waiting for a lock, retrying on the next run", e);
+            return false;
+        }
+    }
+}
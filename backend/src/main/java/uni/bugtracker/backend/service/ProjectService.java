@@ -9,10 +9,17 @@ import uni.bugtracker.backend.exception.ProjectCreationError;
 import uni.bugtracker.backend.exception.ResourceNotFoundException;
 import uni.bugtracker.backend.model.Developer;
 import uni.bugtracker.backend.model.Project;
+import uni.bugtracker.backend.model.PurgeJob;
 import uni.bugtracker.backend.repository.DeveloperRepository;
 import uni.bugtracker.backend.repository.ProjectRepository;
 import uni.bugtracker.backend.security.CustomUserDetails;
+import uni.bugtracker.backend.security.ProjectMembershipCache;
 import uni.bugtracker.backend.security.model.Role;
+import uni.bugtracker.backend.security.service.TokenVersionService;
+import uni.bugtracker.backend.service.purge.PurgeService;
+import uni.bugtracker.backend.service.search.SearchIndex;
+import uni.bugtracker.backend.service.similar.SimilarReportIndex;
+import uni.bugtracker.backend.service.stats.StatsRollup;
 
 import java.util.List;
 
@@ -21,6 +28,12 @@ import java.util.List;
 public class ProjectService {
     private final ProjectRepository projectRepository;
     private final DeveloperRepository developerRepository;
+    private final ProjectMembershipCache membershipCache;
+    private final TokenVersionService tokenVersionService;
+    private final SearchIndex searchIndex;
+    private final StatsRollup statsRollup;
+    private final SimilarReportIndex similarReportIndex;
+    private final PurgeService purgeService;
 
     @Transactional
     public Project createProject(ProjectRequestBody projectBody, Authentication authentication) {
@@ -40,8 +53,12 @@ public class ProjectService {
                     "Create a new account to manage projects as pm.");
             }
             currentUser.setRole(Role.PM);
+            // the role is a signed claim, the DEVELOPER token must stop working (as in changeUserRole)
+            currentUser.setTokenVersion(currentUser.getTokenVersion() + 1);
             currentUser.getProjects().add(savedProject);
-            developerRepository.save(currentUser);
+            Developer saved = developerRepository.save(currentUser);
+            tokenVersionService.updateVersion(saved.getId(), saved.getTokenVersion());
+            membershipCache.invalidate(currentUser.getId());
         }
         return savedProject;
     }
@@ -72,10 +89,16 @@ public class ProjectService {
         return projectRepository.save(project);
     }
 
-    public Project deleteProject(String projectId) {
-        Project project = projectRepository.findById(projectId)
+    // reports, sessions and events are deleted in chunks by PurgeEngine, the project row last
+    @Transactional
+    public PurgeJob deleteProject(String projectId) {
+        projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with id:" + projectId));
-        projectRepository.deleteById(projectId);
-        return project;
+        PurgeJob job = purgeService.requestProjectDeletion(projectId);
+        membershipCache.invalidateAll();
+        searchIndex.removeProject(projectId);
+        statsRollup.removeProject(projectId);
+        similarReportIndex.removeProject(projectId);
+        return job;
     }
 }
@@ -0,0 +1,131 @@
+package uni.bugtracker.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tools.jackson.databind.ObjectMapper;
+import uni.bugtracker.backend.dto.report.ReportCardDTO;
+import uni.bugtracker.backend.model.Report;
+import uni.bugtracker.backend.repository.projection.ReportVersion;
+import uni.bugtracker.backend.utility.cluster.ClusterEventBus;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Serialized report cards, bounded by their total size in bytes and by age.
+ * An entry is only served for the report version it was built from, so a card
+ * changed on another node is never returned even before the invalidation arrives;
+ * invalidations through {@link ClusterEventBus} free the memory on every node.
+ * Cards are written by the application's {@link ObjectMapper}, as the message converter would.
+ */
+@Component
+public class ReportCardCache implements MeterBinder {
+
+    static final String CHANNEL = "bt_report_card";
+
+    // key, entry and array headers, counted on top of the json bytes
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private final ClusterEventBus eventBus;
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, CachedCard> cards;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ReportCardCache(
+            ClusterEventBus eventBus,
+            ObjectMapper objectMapper,
+            @Value("${app.report-card-cache.max-size:32MB}") DataSize maxSize,
+            @Value("${app.report-card-cache.ttl:10m}") Duration ttl
+    ) {
+        this.eventBus = eventBus;
+        this.objectMapper = objectMapper;
+        this.cards = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Long id, CachedCard card) -> card.weight())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        eventBus.subscribe(CHANNEL, this::onInvalidation);
+    }
+
+    // the screenshot url is absolute, a card built for another host name is rebuilt
+    public byte[] get(ReportVersion version, Supplier<Report> loader) {
+        String baseUrl = ServletUriComponentsBuilder.fromCurrentContextPath().build().toUriString();
+        CachedCard cached = cards.getIfPresent(version.id());
+        if (cached != null && Objects.equals(cached.version(), version.version()) && cached.baseUrl().equals(baseUrl)) {
+            hits.increment();
+            return cached.json();
+        }
+        misses.increment();
+        Report report = loader.get();
+        byte[] json = objectMapper.writeValueAsBytes(new ReportCardDTO(report));
+        cards.put(report.getId(), new CachedCard(report.getVersion(), baseUrl, json));
+        return json;
+    }
+
+    // applied after the surrounding transaction commits
+    public void invalidate(Long reportId) {
+        eventBus.publish(CHANNEL, reportId.toString());
+    }
+
+    public void invalidateAll() {
+        eventBus.publish(CHANNEL, ClusterEventBus.RESYNC);
+    }
+
+    public double hitRatio() {
+        long total = hits.sum() + misses.sum();
+        return total == 0 ? 0 : (double) hits.sum() / total;
+    }
+
+    // approximate heap held by the cached cards, pending writes are applied first
+    public long weightedSize() {
+        cards.cleanUp();
+        return cards.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0))
+                .orElse(0L);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("report.card.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("report.card.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("report.card.cache.evictions", cards, cache -> cache.stats().evictionCount())
+                .register(registry);
+        Gauge.builder("report.card.cache.hit.ratio", this, ReportCardCache::hitRatio)
+                .register(registry);
+        Gauge.builder("report.card.cache.size", cards, Cache::estimatedSize)
+                .register(registry);
+        Gauge.builder("report.card.cache.memory", this, ReportCardCache::weightedSize)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    void onInvalidation(String payload) {
+        if (ClusterEventBus.RESYNC.equals(payload)) {
+            cards.invalidateAll();
+        } else {
+            cards.invalidate(Long.valueOf(payload));
+        }
+    }
+
+    private record CachedCard(Long version, String baseUrl, byte[] json) {
+        int weight() {
+            return json.length + baseUrl.length() + ENTRY_OVERHEAD;
+        }
+    }
+}
@@ -17,6 +17,9 @@ public class ReportCriticalityListener {
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     @EventListener
     public void handle(ReportCreatedEvent event) {
+        if (!event.analyze()) {
+            return;
+        }
         analysisService.analyzeAndUpdate(event.reportId());
     }
 }
@@ -0,0 +1,85 @@
+package uni.bugtracker.backend.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import uni.bugtracker.backend.dto.CursorPage;
+import uni.bugtracker.backend.dto.event.EventTimelineItem;
+import uni.bugtracker.backend.dto.report.ReportCardDTO;
+import uni.bugtracker.backend.dto.report.ReportDetailResponse;
+import uni.bugtracker.backend.dto.session.SessionDetailsResponse;
+import uni.bugtracker.backend.exception.BusinessValidationException;
+import uni.bugtracker.backend.model.Report;
+import uni.bugtracker.backend.utility.SparseFields;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Everything the dashboard shows for one bug in a single response. The report is the
+ * instance the authorization check already loaded; the event timeline page is read on a
+ * virtual thread while the session is loaded on the request thread.
+ */
+@Service
+public class ReportDetailService {
+    public static final Set<String> PARTS = Set.of("report", "session", "events");
+
+    private final RequestEntityLoader entityLoader;
+    private final EventService eventService;
+    private final Executor detailExecutor;
+
+    public ReportDetailService(RequestEntityLoader entityLoader,
+                               EventService eventService,
+                               @Qualifier("detailExecutor") Executor detailExecutor) {
+        this.entityLoader = entityLoader;
+        this.eventService = eventService;
+        this.detailExecutor = detailExecutor;
+    }
+
+    public ReportDetailResponse getDetail(Long reportId, Set<String> include, String fields, int eventsSize) {
+        Set<String> parts = include == null || include.isEmpty() ? PARTS : include;
+        if (!PARTS.containsAll(parts)) {
+            throw new BusinessValidationException("INVALID_ARGUMENT", "include must be a subset of " + PARTS);
+        }
+        Map<String, Set<String>> selection = SparseFields.parse(fields, PARTS);
+
+        Report report = entityLoader.report(reportId);
+        Long sessionId = report.getSession().getId();
+
+        CompletableFuture<CursorPage<EventTimelineItem>> events = parts.contains("events")
+                ? CompletableFuture.supplyAsync(() -> eventService.getTimeline(sessionId, null, eventsSize), detailExecutor)
+                : null;
+
+        Object reportPart = parts.contains("report")
+                ? SparseFields.select(new ReportCardDTO(report), selection.get("report"))
+                : null;
+        Object sessionPart = parts.contains("session")
+                ? SparseFields.select(new SessionDetailsResponse(entityLoader.session(sessionId)), selection.get("session"))
+                : null;
+        CursorPage<Object> eventsPart = events != null
+                ? selectItems(join(events), selection.get("events"))
+                : null;
+
+        return new ReportDetailResponse(reportPart, sessionPart, eventsPart);
+    }
+
+    private static CursorPage<Object> selectItems(CursorPage<EventTimelineItem> page, Set<String> properties) {
+        List<Object> items = new ArrayList<>(page.getContent().size());
+        for (EventTimelineItem item : page.getContent()) {
+            items.add(SparseFields.select(item, properties));
+        }
+        return new CursorPage<>(items, page.getNextCursor(), page.isHasNext(), page.getApproximateTotal());
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
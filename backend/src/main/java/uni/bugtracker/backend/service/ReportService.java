@@ -6,18 +6,30 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import uni.bugtracker.backend.dto.CursorPage;
 import uni.bugtracker.backend.dto.report.ReportCardDTO;
 import uni.bugtracker.backend.dto.report.ReportDashboardDTO;
+import uni.bugtracker.backend.dto.report.ReportFeedItem;
+import uni.bugtracker.backend.dto.report.ReportFilter;
 import uni.bugtracker.backend.dto.report.ReportCreationRequestWidget;
 import uni.bugtracker.backend.dto.report.ReportUpdateRequestDashboard;
 import uni.bugtracker.backend.exception.BusinessValidationException;
 import uni.bugtracker.backend.exception.ResourceNotFoundException;
 import uni.bugtracker.backend.model.*;
 import uni.bugtracker.backend.repository.*;
+import uni.bugtracker.backend.repository.projection.ReportListRow;
+import uni.bugtracker.backend.repository.projection.ReportVersion;
+import uni.bugtracker.backend.service.feed.ReportChangedEvent;
+import uni.bugtracker.backend.service.feed.ReportFeed;
+import uni.bugtracker.backend.service.search.SearchIndex;
+import uni.bugtracker.backend.service.similar.SimilarReportIndex;
+import uni.bugtracker.backend.service.stats.StatsRollup;
 import uni.bugtracker.backend.utility.ReportMapper;
+import uni.bugtracker.backend.utility.pagination.ReportCursor;
 import uni.bugtracker.backend.utility.ai_criticality.ReportCreatedEvent;
 
 import java.util.*;
@@ -25,6 +37,8 @@ import java.util.*;
 @Service
 @RequiredArgsConstructor
 public class ReportService {
+    public static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final ReportRepository reportRepository;
     private final ProjectRepository projectRepository;
     private final SessionRepository sessionRepository;
@@ -32,6 +46,12 @@ public class ReportService {
     private final EventRepository eventRepository;
     private final ReportMapper mapper;
     private final ApplicationEventPublisher eventPublisher;
+    private final RequestEntityLoader entityLoader;
+    private final RowCountEstimator rowCountEstimator;
+    private final SearchIndex searchIndex;
+    private final ReportCardCache reportCardCache;
+    private final StatsRollup statsRollup;
+    private final SimilarReportIndex similarReportIndex;
 
     @Transactional
     public Long createReport(ReportCreationRequestWidget request, byte[] screen) {
@@ -49,6 +69,8 @@ public class ReportService {
         );
         report.setCriticality(CriticalityLevel.UNKNOWN);
             reportRepository.save(report);
+        searchIndex.indexReport(report);
+        statsRollup.reportAdded(report);
         eventPublisher.publishEvent(new ReportCreatedEvent(report.getId()));
         return report.getId();
     }
@@ -65,8 +87,7 @@ public class ReportService {
         }
         Set<String> fields = getJsonFields(jsonNode);
 
-        Report report = reportRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Report doesn't exist"));
+        Report report = entityLoader.report(id);
 
         Project project = null;
         if (fields.contains("projectId")) {
@@ -88,8 +109,23 @@ public class ReportService {
                                         "Developer '" + request.getDeveloperName() + "' doesn't exist"));
             }
         }
+        ReportStatus previousStatus = report.getStatus();
+        CriticalityLevel previousLevel = report.getCriticality();
+        List<ProjectDailyStat.Key> previousStats = StatsRollup.reportKeys(report);
         report = mapper.updateFromDashboard(report, request, fields, project, developer);
-        return new ReportCardDTO(reportRepository.save(report));
+        report = reportRepository.save(report);
+        searchIndex.indexReport(report);
+        statsRollup.reportChanged(previousStats, report);
+        reportCardCache.invalidate(id);
+        if (report.getStatus() != previousStatus) {
+            eventPublisher.publishEvent(new ReportChangedEvent(ReportFeed.STATUS_CHANGED,
+                    ReportFeedItem.of(new ReportDashboardDTO(report))));
+        }
+        if (report.getCriticality() != previousLevel) {
+            eventPublisher.publishEvent(new ReportChangedEvent(ReportFeed.CRITICALITY_UPDATED,
+                    ReportFeedItem.of(new ReportDashboardDTO(report))));
+        }
+        return new ReportCardDTO(report);
     }
 
     public Report getReport(Long id) {
@@ -97,44 +133,132 @@ public class ReportService {
                 .orElseThrow(() -> new ResourceNotFoundException("Report doesn't exist"));
     }
 
+    public ReportVersion getReportVersion(Long id) {
+        return entityLoader.reportVersion(id);
+    }
+
     public ReportCardDTO getReportCard(Long id) {
-        Report report = reportRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Report doesn't exist"));
-        return new ReportCardDTO(report);
+        return new ReportCardDTO(entityLoader.report(id));
+    }
+
+    // serialized card of the version the caller already checked, built at most once per version
+    public byte[] getReportCardJson(ReportVersion version) {
+        return reportCardCache.get(version, () -> entityLoader.report(version.id()));
     }
 
     public byte[] getScreen(Long reportId) {
-        Report report = reportRepository.findById(reportId)
-                .orElseThrow(() -> new ResourceNotFoundException("Report doesn't exist"));
-        return report.getScreen();
+        return entityLoader.report(reportId).getScreen();
     }
 
     public String getProjectIdByReportId(Long reportId) {
-        Report report = reportRepository.findById(reportId)
+        return reportRepository.findProjectIdById(reportId)
                 .orElseThrow(() -> new ResourceNotFoundException("Report doesn't exist"));
-        return report.getProject().getId();
     }
 
-    @Transactional
     public Page<ReportDashboardDTO> getAllReportsOfProject(String projectId, Pageable pageable) {
-        Page<Report> reportsPage = reportRepository.findAllByProjectId(projectId, pageable);
-        return reportsPage.map(ReportDashboardDTO::new);
+        return reportRepository.findListRowsByProjectId(projectId, pageable).map(ReportDashboardDTO::new);
+    }
+
+    public Page<ReportDashboardDTO> getAllReportsOfProject(String projectId, ReportFilter filter, Pageable pageable) {
+        if (filter.isEmpty()) {
+            return getAllReportsOfProject(projectId, pageable);
+        }
+        validate(filter);
+        return reportRepository.findListRows(projectId, filter, pageable).map(ReportDashboardDTO::new);
     }
 
     public Page<ReportDashboardDTO> getAllReportsSolvedOnProject(String projectId, Pageable pageable) {
-        Page<Report> reportsPage = reportRepository.findAllByProjectIdAndStatus(projectId, ReportStatus.DONE, pageable);
-        return reportsPage.map(ReportDashboardDTO::new);
+        return reportRepository.findListRowsByProjectIdAndStatus(projectId, ReportStatus.DONE, pageable)
+                .map(ReportDashboardDTO::new);
     }
 
     @Transactional
     public ReportCardDTO deleteReport(Long id) {
-        Report report = reportRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Report doesn't exist"));
+        Report report = entityLoader.report(id);
         ReportCardDTO dto = new ReportCardDTO(report);
         reportRepository.delete(report);
+        searchIndex.removeReport(id);
+        similarReportIndex.removeReport(id);
+        statsRollup.reportRemoved(report);
+        reportCardCache.invalidate(id);
+        entityLoader.forget(Report.class, id);
         return dto;
     }
 
+    // approximate count is only available for the unfiltered list
+    public CursorPage<ReportDashboardDTO> getReportsOfProjectAfter(
+            String projectId, ReportFilter filter, String cursor, int size, boolean withCount) {
+        if (filter.isEmpty()) {
+            return getReportsOfProjectAfter(projectId, cursor, size, withCount);
+        }
+        validate(filter);
+        ReportCursor after = cursor == null || cursor.isBlank() ? null : ReportCursor.decode(cursor);
+        List<ReportListRow> rows = reportRepository.findListRowsAfter(
+                projectId, filter, after, Limit.of(cursorPageSize(size) + 1));
+        return toCursorPage(rows, cursorPageSize(size), null);
+    }
+
+    public CursorPage<ReportDashboardDTO> getReportsOfProjectAfter(
+            String projectId, String cursor, int size, boolean withCount) {
+        Limit limit = Limit.of(cursorPageSize(size) + 1);
+        List<ReportListRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = reportRepository.findFirstListRowsByProjectId(projectId, limit);
+        } else {
+            ReportCursor after = ReportCursor.decode(cursor);
+            rows = reportRepository.findListRowsByProjectIdAfter(projectId, after.reportedAt(), after.id(), limit);
+        }
+        Long total = withCount
+                ? rowCountEstimator.estimateRows("select 1 from report where project_id = ?", projectId).orElse(null)
+                : null;
+        return toCursorPage(rows, cursorPageSize(size), total);
+    }
+
+    public CursorPage<ReportDashboardDTO> getReportsSolvedOnProjectAfter(
+            String projectId, String cursor, int size, boolean withCount) {
+        Limit limit = Limit.of(cursorPageSize(size) + 1);
+        List<ReportListRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = reportRepository.findFirstListRowsByProjectIdAndStatus(projectId, ReportStatus.DONE, limit);
+        } else {
+            ReportCursor after = ReportCursor.decode(cursor);
+            rows = reportRepository.findListRowsByProjectIdAndStatusAfter(
+                    projectId, ReportStatus.DONE, after.reportedAt(), after.id(), limit);
+        }
+        Long total = withCount
+                ? rowCountEstimator.estimateRows(
+                        "select 1 from report where project_id = ? and status = ?",
+                        projectId, ReportStatus.DONE.name()).orElse(null)
+                : null;
+        return toCursorPage(rows, cursorPageSize(size), total);
+    }
+
+    // rows holds one extra element when there is a next page
+    private CursorPage<ReportDashboardDTO> toCursorPage(List<ReportListRow> rows, int size, Long total) {
+        boolean hasNext = rows.size() > size;
+        List<ReportListRow> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            ReportListRow last = page.getLast();
+            nextCursor = new ReportCursor(last.reportedAt(), last.id()).encode();
+        }
+        return new CursorPage<>(
+                page.stream().map(ReportDashboardDTO::new).toList(),
+                nextCursor,
+                hasNext,
+                total);
+    }
+
+    private void validate(ReportFilter filter) {
+        if (filter.getFrom() != null && filter.getTo() != null && !filter.getFrom().isBefore(filter.getTo())) {
+            throw new BusinessValidationException("INVALID_ARGUMENT", "from must be before to");
+        }
+    }
+
+    private int cursorPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    }
+
     private Set<String> getJsonFields(JsonNode node) {
         Set<String> fields = new HashSet<>();
         if (node.isObject()) {
@@ -0,0 +1,120 @@
+package uni.bugtracker.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import uni.bugtracker.backend.exception.ResourceNotFoundException;
+import uni.bugtracker.backend.model.Event;
+import uni.bugtracker.backend.model.Report;
+import uni.bugtracker.backend.model.Session;
+import uni.bugtracker.backend.repository.EventRepository;
+import uni.bugtracker.backend.repository.ReportRepository;
+import uni.bugtracker.backend.repository.SessionRepository;
+import uni.bugtracker.backend.repository.projection.EventVersion;
+import uni.bugtracker.backend.repository.projection.ReportVersion;
+import uni.bugtracker.backend.repository.projection.SessionVersion;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Loads reports, events and sessions at most once per HTTP request.
+ * The {@code @PreAuthorize} check takes the project id from the loaded entity
+ * and the handler gets the very same instance, so authorization costs no extra query.
+ * Outside of a request (scheduler, async listeners) every call simply loads.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestEntityLoader {
+
+    private static final String CACHE_ATTRIBUTE = RequestEntityLoader.class.getName() + ".CACHE";
+
+    private final ReportRepository reportRepository;
+    private final EventRepository eventRepository;
+    private final SessionRepository sessionRepository;
+
+    public String reportProjectId(Long reportId) {
+        return report(reportId).getProject().getId();
+    }
+
+    public String eventProjectId(Long eventId) {
+        return event(eventId).getSession().getProject().getId();
+    }
+
+    public String sessionProjectId(Long sessionId) {
+        return session(sessionId).getProject().getId();
+    }
+
+    public Report report(Long reportId) {
+        return load(Report.class, reportId, () -> reportRepository.findCardById(reportId)
+                .orElseThrow(() -> new ResourceNotFoundException("Report doesn't exist")));
+    }
+
+    public Event event(Long eventId) {
+        return load(Event.class, eventId, () -> eventRepository.findWithSessionById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found: " + eventId)));
+    }
+
+    public Session session(Long sessionId) {
+        return load(Session.class, sessionId, () -> sessionRepository.findWithPluginsById(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Session not found: " + sessionId)));
+    }
+
+    // conditional GETs authorize from these and answer 304 without loading the entity itself
+    public ReportVersion reportVersion(Long reportId) {
+        return load(ReportVersion.class, reportId, () -> reportRepository.findVersionById(reportId)
+                .orElseThrow(() -> new ResourceNotFoundException("Report doesn't exist")));
+    }
+
+    public SessionVersion sessionVersion(Long sessionId) {
+        return load(SessionVersion.class, sessionId, () -> sessionRepository.findVersionById(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Session not found: " + sessionId)));
+    }
+
+    public EventVersion eventVersion(Long eventId) {
+        return load(EventVersion.class, eventId, () -> eventRepository.findVersionById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found: " + eventId)));
+    }
+
+    // deleted entities must not be served to the rest of the request
+    public void forget(Class<?> type, Long id) {
+        Map<String, Object> cache = requestCache(false);
+        if (cache != null) {
+            cache.remove(key(type, id));
+        }
+    }
+
+    private <T> T load(Class<T> type, Long id, Supplier<T> loader) {
+        Map<String, Object> cache = requestCache(true);
+        if (cache == null) {
+            return loader.get();
+        }
+        Object cached = cache.get(key(type, id));
+        if (cached == null) {
+            cached = loader.get();
+            cache.put(key(type, id), cached);
+        }
+        return type.cast(cached);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> requestCache(boolean create) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<String, Object> cache =
+                (Map<String, Object>) attributes.getAttribute(CACHE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cache == null && create) {
+            cache = new HashMap<>();
+            attributes.setAttribute(CACHE_ATTRIBUTE, cache, RequestAttributes.SCOPE_REQUEST);
+        }
+        return cache;
+    }
+
+    private String key(Class<?> type, Long id) {
+        return type.getSimpleName() + ":" + id;
+    }
+}
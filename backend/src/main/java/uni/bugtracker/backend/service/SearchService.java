@@ -0,0 +1,29 @@
+package uni.bugtracker.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import uni.bugtracker.backend.dto.search.SearchResultPage;
+import uni.bugtracker.backend.exception.BusinessValidationException;
+import uni.bugtracker.backend.service.search.SearchIndex;
+import uni.bugtracker.backend.service.search.SearchText;
+
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+    public static final int MAX_PAGE_SIZE = 100;
+    // deep offsets get expensive, nobody reads past the first few pages of search results
+    public static final int MAX_PAGE = 50;
+
+    private final SearchIndex searchIndex;
+
+    public SearchResultPage search(String projectId, String query, int page, int size) {
+        if (query == null || SearchText.terms(query).isEmpty()) {
+            throw new BusinessValidationException("INVALID_ARGUMENT", "Search query must contain a word");
+        }
+        if (page < 0 || page > MAX_PAGE) {
+            throw new BusinessValidationException("INVALID_ARGUMENT", "page must be between 0 and " + MAX_PAGE);
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        return searchIndex.search(projectId, query, page, pageSize);
+    }
+}
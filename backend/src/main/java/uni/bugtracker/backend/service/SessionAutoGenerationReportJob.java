@@ -10,6 +10,9 @@ import uni.bugtracker.backend.model.*;
 import uni.bugtracker.backend.repository.EventRepository;
 import uni.bugtracker.backend.repository.ReportRepository;
 import uni.bugtracker.backend.repository.SessionRepository;
+import uni.bugtracker.backend.service.issue.IssueService;
+import uni.bugtracker.backend.service.search.SearchIndex;
+import uni.bugtracker.backend.service.stats.StatsRollup;
 import uni.bugtracker.backend.utility.ai_criticality.ReportCreatedEvent;
 
 import java.time.Instant;
@@ -23,6 +26,9 @@ public class SessionAutoGenerationReportJob {
     private final ReportRepository reportRepository;
     private final SessionProperties sessionProperties;
     private final ApplicationEventPublisher eventPublisher;
+    private final SearchIndex searchIndex;
+    private final StatsRollup statsRollup;
+    private final IssueService issueService;
 
     @Scheduled(fixedDelayString = "#{@sessionProperties.checkInterval.toMillis()}")
     @Transactional
@@ -45,6 +51,7 @@ public class SessionAutoGenerationReportJob {
             createAutoReport(session);
         } else {
             eventRepository.deleteBySessionId(session.getId());
+            searchIndex.removeEventsOfSession(session.getId());
         }
 
         closeSession(session);
@@ -61,11 +68,15 @@ public class SessionAutoGenerationReportJob {
 
         List<Event> events = eventRepository.findAllBySessionId(session.getId());
         attachEvents(report, events);
+        // a repeat of a known issue is counted there, analyzed again only while the issue is UNKNOWN
+        boolean analyze = issueService.group(report, events);
 
         reportRepository.save(report);
+        searchIndex.indexReport(report);
+        statsRollup.reportAdded(report);
 
         eventPublisher.publishEvent(
-                new ReportCreatedEvent(report.getId())
+                new ReportCreatedEvent(report.getId(), analyze)
         );
     }
 
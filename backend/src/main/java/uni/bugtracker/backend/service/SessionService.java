@@ -1,7 +1,9 @@
 package uni.bugtracker.backend.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import uni.bugtracker.backend.dto.session.SessionCreationResponse;
 import uni.bugtracker.backend.dto.session.SessionDetailsResponse;
@@ -11,13 +13,50 @@ import uni.bugtracker.backend.model.Project;
 import uni.bugtracker.backend.model.Session;
 import uni.bugtracker.backend.repository.ProjectRepository;
 import uni.bugtracker.backend.repository.SessionRepository;
+import uni.bugtracker.backend.repository.projection.SessionVersion;
+import uni.bugtracker.backend.service.stats.StatsRollup;
+import uni.bugtracker.backend.utility.cluster.ClusterEventBus;
 
 
 @Service
-@RequiredArgsConstructor
 public class SessionService {
+
+    static final String CHANNEL = "bt_session";
+
     private final SessionRepository sessionRepository;
     private final ProjectRepository projectRepository;
+    private final RequestEntityLoader entityLoader;
+    private final StatsRollup statsRollup;
+    private final ClusterEventBus eventBus;
+
+    // a session never changes its project; every event of it asks before it is admitted
+    private final Cache<Long, String> projectIds;
+
+    public SessionService(
+            SessionRepository sessionRepository,
+            ProjectRepository projectRepository,
+            RequestEntityLoader entityLoader,
+            StatsRollup statsRollup,
+            ClusterEventBus eventBus,
+            @Value("${app.sessions.project-id-cache-size:100000}") long projectIdCacheSize
+    ) {
+        this.sessionRepository = sessionRepository;
+        this.projectRepository = projectRepository;
+        this.entityLoader = entityLoader;
+        this.statsRollup = statsRollup;
+        this.eventBus = eventBus;
+        this.projectIds = Caffeine.newBuilder()
+                .maximumSize(projectIdCacheSize)
+                .build();
+        eventBus.subscribe(CHANNEL, this::onSessionDeleted);
+    }
+
+    // an unknown project is turned away before it takes a place in the ingestion queue
+    public void checkProjectExists(String projectId) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new ResourceNotFoundException("Project not found: " + projectId);
+        }
+    }
 
     @Transactional
     public SessionCreationResponse createSession(SessionRequest request) {
@@ -47,6 +86,7 @@ public class SessionService {
         session.setPlugins(request.getPlugins());
 
         Session sessionCreated = sessionRepository.save(session);
+        statsRollup.sessionStarted(sessionCreated);
 
         return new SessionCreationResponse(
                 "Session created successfully",
@@ -55,14 +95,33 @@ public class SessionService {
     }
 
     public SessionDetailsResponse getSession(Long sessionId) {
-        Session session = sessionRepository.findById(sessionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Session not found: " + sessionId));
-        return new SessionDetailsResponse(session);
+        return new SessionDetailsResponse(entityLoader.session(sessionId));
+    }
+
+    public SessionVersion getSessionVersion(Long sessionId) {
+        return entityLoader.sessionVersion(sessionId);
     }
 
     public String getProjectIdBySessionId(Long sessionId) {
-        Session session =  sessionRepository.findById(sessionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Session not found: " + sessionId));
-        return session.getProject().getId();
+        return projectIds.get(sessionId, id -> sessionRepository.findProjectIdById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Session not found: " + id)));
+    }
+
+    // a deleted session admits no more events on any node; applied after the surrounding transaction commits
+    public void sessionDeleted(Long sessionId) {
+        eventBus.publish(CHANNEL, sessionId.toString());
+    }
+
+    // after dropping a whole partition of sessions
+    public void sessionsDeleted() {
+        eventBus.publish(CHANNEL, ClusterEventBus.RESYNC);
+    }
+
+    void onSessionDeleted(String payload) {
+        if (ClusterEventBus.RESYNC.equals(payload)) {
+            projectIds.invalidateAll();
+        } else {
+            projectIds.invalidate(Long.valueOf(payload));
+        }
     }
 }
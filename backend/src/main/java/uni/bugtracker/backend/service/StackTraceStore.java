@@ -0,0 +1,194 @@
+package uni.bugtracker.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uni.bugtracker.backend.model.Event;
+import uni.bugtracker.backend.model.StackTraceBlob;
+import uni.bugtracker.backend.repository.StackTraceBlobWriter;
+import uni.bugtracker.backend.utility.compression.TextCompression;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stores each distinct stack trace once, in {@link StackTraceBlob}, and lets events point to it.
+ * A bounded cache of hashes known to be in the table spares the insert for the traces seen
+ * recently, which is most of them: an error repeats the same trace in every session.
+ * Blobs no event points to any more are deleted by {@link #collectGarbage()} after
+ * {@code gc-grace}; a cached hash is trusted for {@code cache-ttl} only, which must be
+ * shorter, so the blob behind a cached hash is never collected.
+ */
+@Slf4j
+@Component
+public class StackTraceStore implements MeterBinder {
+
+    private final StackTraceBlobWriter writer;
+    private final EntityManager entityManager;
+    private final Cache<String, Boolean> knownHashes;
+    private final Duration gcGrace;
+    private final int gcChunkSize;
+    private final Clock clock;
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder existing = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder deduplicatedChars = new LongAdder();
+    private final LongAdder collected = new LongAdder();
+
+    @Autowired
+    public StackTraceStore(
+            StackTraceBlobWriter writer,
+            EntityManager entityManager,
+            @Value("${app.stack-trace-store.cache-size:100000}") long cacheSize,
+            @Value("${app.stack-trace-store.cache-ttl:1h}") Duration cacheTtl,
+            @Value("${app.stack-trace-store.gc-grace:1d}") Duration gcGrace,
+            @Value("${app.stack-trace-store.gc-chunk-size:1000}") int gcChunkSize
+    ) {
+        this(writer, entityManager, cacheSize, cacheTtl, gcGrace, gcChunkSize, Clock.systemUTC());
+    }
+
+    StackTraceStore(
+            StackTraceBlobWriter writer,
+            EntityManager entityManager,
+            long cacheSize,
+            Duration cacheTtl,
+            Duration gcGrace,
+            int gcChunkSize,
+            Clock clock
+    ) {
+        if (cacheTtl.compareTo(gcGrace) >= 0) {
+            throw new IllegalArgumentException("app.stack-trace-store.cache-ttl must be shorter than gc-grace");
+        }
+        this.writer = writer;
+        this.entityManager = entityManager;
+        this.knownHashes = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+        this.gcGrace = gcGrace;
+        this.gcChunkSize = gcChunkSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Sets the event's stack trace to the shared blob of the normalized trace, inserting the
+     * blob if it is new. Must run in the transaction that saves the event.
+     */
+    public void attach(Event event, String stackTrace) {
+        String text = stackTrace != null ? normalize(stackTrace) : null;
+        if (text == null || text.isEmpty()) {
+            event.setStackTrace(stackTrace);
+            return;
+        }
+        String hash = hash(text);
+        if (knownHashes.getIfPresent(hash) != null) {
+            cacheHits.increment();
+            deduplicatedChars.add(text.length());
+        } else if (writer.insertOrTouch(hash, TextCompression.compress(text), text.length(), clock.instant())) {
+            created.increment();
+            remember(hash);
+        } else {
+            existing.increment();
+            deduplicatedChars.add(text.length());
+            remember(hash);
+        }
+        event.setStackTrace(entityManager.getReference(StackTraceBlob.class, hash), text);
+    }
+
+    // share of the attached traces that did not need a new blob
+    public double deduplicationRatio() {
+        long deduplicated = cacheHits.sum() + existing.sum();
+        long total = deduplicated + created.sum();
+        return total == 0 ? 0 : (double) deduplicated / total;
+    }
+
+    // each chunk is a statement of its own, the deletes never hold many row locks
+    @Scheduled(cron = "${app.stack-trace-store.gc-cron:0 0 4 * * *}", zone = "UTC")
+    public void collectGarbage() {
+        long deleted = 0;
+        int chunk;
+        do {
+            chunk = writer.deleteUnreferenced(clock.instant().minus(gcGrace), gcChunkSize);
+            deleted += chunk;
+        } while (chunk == gcChunkSize);
+        collected.add(deleted);
+        if (deleted > 0) {
+            log.info("Deleted {} unreferenced stack traces", deleted);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("stack.trace.store.lookups", cacheHits, LongAdder::sum)
+                .tag("result", "cached")
+                .register(registry);
+        FunctionCounter.builder("stack.trace.store.lookups", existing, LongAdder::sum)
+                .tag("result", "existing")
+                .register(registry);
+        FunctionCounter.builder("stack.trace.store.lookups", created, LongAdder::sum)
+                .tag("result", "created")
+                .register(registry);
+        FunctionCounter.builder("stack.trace.store.deduplicated", deduplicatedChars, LongAdder::sum)
+                .baseUnit("chars")
+                .register(registry);
+        FunctionCounter.builder("stack.trace.store.collected", collected, LongAdder::sum)
+                .register(registry);
+        Gauge.builder("stack.trace.store.deduplication.ratio", this, StackTraceStore::deduplicationRatio)
+                .register(registry);
+        Gauge.builder("stack.trace.store.cache.size", knownHashes, Cache::estimatedSize)
+                .register(registry);
+    }
+
+    // line endings unified, trailing blanks dropped; frames, line and column numbers stay as sent
+    static String normalize(String stackTrace) {
+        StringBuilder text = new StringBuilder(stackTrace.length());
+        for (String line : stackTrace.split("\r\n|\r|\n", -1)) {
+            text.append(line.stripTrailing()).append('\n');
+        }
+        int end = text.length();
+        while (end > 0 && text.charAt(end - 1) == '\n') {
+            end--;
+        }
+        return text.substring(0, end);
+    }
+
+    static String hash(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // a blob inserted by a transaction that rolls back must not be taken as known
+    private void remember(String hash) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            knownHashes.put(hash, Boolean.TRUE);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                knownHashes.put(hash, Boolean.TRUE);
+            }
+        });
+    }
+}
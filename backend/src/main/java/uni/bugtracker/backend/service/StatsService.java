@@ -0,0 +1,75 @@
+package uni.bugtracker.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import uni.bugtracker.backend.dto.stats.DailyStats;
+import uni.bugtracker.backend.dto.stats.ProjectStatsResponse;
+import uni.bugtracker.backend.exception.BusinessValidationException;
+import uni.bugtracker.backend.model.ProjectDailyStat;
+import uni.bugtracker.backend.repository.ProjectDailyStatRepository;
+import uni.bugtracker.backend.service.stats.StatsRollup;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// dashboard statistics, read from the rollup only: the cost depends on the days asked for, not on the reports
+@Service
+@RequiredArgsConstructor
+public class StatsService {
+    public static final int DEFAULT_DAYS = 30;
+    public static final int MAX_DAYS = 366;
+
+    private final ProjectDailyStatRepository statRepository;
+
+    public ProjectStatsResponse getDailyStats(String projectId, LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1L);
+        if (start.isAfter(end)) {
+            throw new BusinessValidationException("INVALID_ARGUMENT", "from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_DAYS) {
+            throw new BusinessValidationException("INVALID_ARGUMENT", "at most " + MAX_DAYS + " days can be requested");
+        }
+
+        Map<LocalDate, DailyStats> days = new LinkedHashMap<>();
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            days.put(day, new DailyStats(day));
+        }
+        for (ProjectDailyStat stat : statRepository.findAllByProjectIdAndStatDateBetween(projectId, start, end)) {
+            add(days.get(stat.getStatDate()), stat);
+        }
+        return new ProjectStatsResponse(projectId, start, end, days.values().stream().toList());
+    }
+
+    private static void add(DailyStats day, ProjectDailyStat stat) {
+        String dimension = stat.getDimension();
+        switch (stat.getMetric()) {
+            case StatsRollup.SESSIONS -> day.setSessions(stat.getAmount());
+            case StatsRollup.ERROR_EVENTS -> day.setErrorEvents(stat.getAmount());
+            case StatsRollup.REPORTS -> {
+                if (StatsRollup.TOTAL.equals(dimension)) {
+                    day.setReports(stat.getAmount());
+                } else if (dimension.startsWith(StatsRollup.STATUS)) {
+                    putNonZero(day.getReportsByStatus(), dimension.substring(StatsRollup.STATUS.length()), stat);
+                } else if (dimension.startsWith(StatsRollup.LEVEL)) {
+                    putNonZero(day.getReportsByLevel(), dimension.substring(StatsRollup.LEVEL.length()), stat);
+                } else if (dimension.startsWith(StatsRollup.TAG)) {
+                    putNonZero(day.getReportsByTag(), dimension.substring(StatsRollup.TAG.length()), stat);
+                }
+            }
+            default -> {
+                // metric of a newer version, ignored
+            }
+        }
+    }
+
+    // a counter that went back to zero stays as a row
+    private static void putNonZero(Map<String, Long> counts, String key, ProjectDailyStat stat) {
+        if (stat.getAmount() != 0) {
+            counts.put(key, stat.getAmount());
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package uni.bugtracker.backend.service.feed;
+
+import uni.bugtracker.backend.dto.report.ReportFeedItem;
+
+// published inside the transaction that changed the report, type is one of the ReportFeed event names
+public record ReportChangedEvent(String type, ReportFeedItem report) {
+}
@@ -0,0 +1,291 @@
+package uni.bugtracker.backend.service.feed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import uni.bugtracker.backend.dto.report.ReportDashboardDTO;
+import uni.bugtracker.backend.dto.report.ReportFeedItem;
+import uni.bugtracker.backend.repository.ReportRepository;
+import uni.bugtracker.backend.security.ProjectMembershipCache;
+import uni.bugtracker.backend.utility.ai_criticality.ReportCreatedEvent;
+import uni.bugtracker.backend.utility.cluster.ClusterEventBus;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events of report changes per project, replacing dashboard polling.
+ * Changes are fanned out to every node through {@link ClusterEventBus}, each node keeps
+ * the last events of a project so a reconnecting client resumes after {@code Last-Event-ID}.
+ * Event ids come from a database sequence and are unique across nodes, but they are taken
+ * before commit and do not arrive in id order: replay starts after the position of the
+ * client's last event in the buffer, which is the same on every node (notifications arrive
+ * in commit order). A stream is closed when its developer's memberships change, the client
+ * reconnects and is authorized again.
+ * An idle connection is an emitter and an empty queue; a client that cannot keep up with
+ * its queue is disconnected and resumes from the replay buffer on reconnect.
+ */
+@Slf4j
+@Component
+public class ReportFeed {
+
+    public static final String REPORT_CREATED = "report-created";
+    public static final String CRITICALITY_UPDATED = "criticality-updated";
+    public static final String STATUS_CHANGED = "status-changed";
+    // the requested events are gone, the client reloads the list
+    public static final String RESYNC = "resync";
+
+    static final String CHANNEL = "bt_report_feed";
+    static final String SEQUENCE = "report_feed_event_seq";
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Frame HEARTBEAT = new Frame(null, null, null, "ping");
+
+    private final ClusterEventBus eventBus;
+    private final ReportRepository reportRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Executor executor;
+    private final int bufferSize;
+    private final int replaySize;
+    private final int maxConnections;
+    private final Duration timeout;
+
+    private final Map<String, ProjectFeed> projects = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    public ReportFeed(
+            ClusterEventBus eventBus,
+            ReportRepository reportRepository,
+            JdbcTemplate jdbcTemplate,
+            @Qualifier("feedExecutor") Executor executor,
+            @Value("${app.report-feed.buffer-size:32}") int bufferSize,
+            @Value("${app.report-feed.replay-size:256}") int replaySize,
+            @Value("${app.report-feed.max-connections:10000}") int maxConnections,
+            @Value("${app.report-feed.timeout:30m}") Duration timeout
+    ) {
+        this.eventBus = eventBus;
+        this.reportRepository = reportRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.maxConnections = maxConnections;
+        this.timeout = timeout;
+        jdbcTemplate.execute("create sequence if not exists " + SEQUENCE);
+        eventBus.subscribe(CHANNEL, this::onMessage);
+        eventBus.subscribe(ProjectMembershipCache.CHANNEL, this::onMembershipChanged);
+    }
+
+    // empty when the node already serves max-connections feeds
+    public Optional<SseEmitter> subscribe(String projectId, String developerId, String lastEventId) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        ProjectFeed feed = projects.computeIfAbsent(projectId, id -> new ProjectFeed());
+        Subscriber subscriber = new Subscriber(emitter, developerId);
+        Runnable remove = () -> {
+            subscriber.closed = true;
+            if (feed.subscribers.remove(subscriber)) {
+                connections.decrementAndGet();
+            }
+        };
+        emitter.onCompletion(remove);
+        emitter.onError(e -> remove.run());
+
+        Long resumeAfter = parseEventId(lastEventId);
+        // replay and registration under the lock: nothing is missed or sent twice
+        synchronized (feed) {
+            feed.subscribers.add(subscriber);
+            subscriber.offer(HEARTBEAT);
+            if (resumeAfter != null) {
+                replayAfter(feed, resumeAfter, subscriber);
+            }
+        }
+        return Optional.of(emitter);
+    }
+
+    public int connectionCount() {
+        return connections.get();
+    }
+
+    @EventListener
+    public void onReportCreated(ReportCreatedEvent event) {
+        reportRepository.findListRowById(event.reportId())
+                .ifPresent(row -> publish(REPORT_CREATED, ReportFeedItem.of(new ReportDashboardDTO(row))));
+    }
+
+    @EventListener
+    public void onReportChanged(ReportChangedEvent event) {
+        publish(event.type(), event.report());
+    }
+
+    // sent to the other nodes on commit and delivered here after commit
+    public void publish(String type, ReportFeedItem report) {
+        try {
+            eventBus.publish(CHANNEL, JSON.writeValueAsString(new ReportFeedEvent(nextEventId(), type, report)));
+        } catch (JsonProcessingException e) {
+            log.error("Cannot serialize live feed event for report {}", report.id(), e);
+        }
+    }
+
+    // keeps idle connections open through proxies and finds dead ones
+    @Scheduled(fixedDelayString = "${app.report-feed.heartbeat-ms:25000}")
+    public void heartbeat() {
+        projects.values().forEach(feed -> feed.subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT)));
+    }
+
+    void onMessage(String payload) {
+        if (ClusterEventBus.RESYNC.equals(payload)) {
+            // notifications may have been lost while the bus reconnected
+            Frame resync = new Frame(null, RESYNC, "{}", null);
+            projects.values().forEach(feed -> {
+                synchronized (feed) {
+                    feed.replay.clear();
+                    feed.subscribers.forEach(subscriber -> subscriber.offer(resync));
+                }
+            });
+            return;
+        }
+        ReportFeedEvent event;
+        String data;
+        try {
+            event = JSON.readValue(payload, ReportFeedEvent.class);
+            data = JSON.writeValueAsString(event.report());
+        } catch (JsonProcessingException e) {
+            log.warn("Dropping malformed live feed event", e);
+            return;
+        }
+        ProjectFeed feed = projects.computeIfAbsent(event.report().projectId(), id -> new ProjectFeed());
+        // serialized once, the same frame goes to every connection of the project
+        Frame frame = new Frame(event.eventId(), event.type(), data, null);
+        synchronized (feed) {
+            if (feed.replay.size() == replaySize) {
+                feed.replay.removeFirst();
+            }
+            feed.replay.addLast(frame);
+            feed.subscribers.forEach(subscriber -> subscriber.offer(frame));
+        }
+    }
+
+    // developer id or RESYNC, published after the memberships were committed
+    void onMembershipChanged(String payload) {
+        boolean everyone = ClusterEventBus.RESYNC.equals(payload);
+        projects.values().forEach(feed -> feed.subscribers.stream()
+                .filter(subscriber -> everyone || payload.equals(subscriber.developerId))
+                .forEach(Subscriber::close));
+    }
+
+    // the frames that arrived after the client's last one, a resync when it is no longer buffered
+    private static void replayAfter(ProjectFeed feed, long resumeAfter, Subscriber subscriber) {
+        boolean found = false;
+        for (Frame frame : feed.replay) {
+            if (found) {
+                subscriber.offer(frame);
+            } else {
+                found = frame.eventId() == resumeAfter;
+            }
+        }
+        if (!found) {
+            subscriber.offer(new Frame(null, RESYNC, "{}", null));
+        }
+    }
+
+    private long nextEventId() {
+        return jdbcTemplate.queryForObject("select nextval('" + SEQUENCE + "')", Long.class);
+    }
+
+    private static Long parseEventId(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private record Frame(Long eventId, String name, String data, String comment) {
+        SseEmitter.SseEventBuilder toEvent() {
+            if (comment != null) {
+                return SseEmitter.event().comment(comment);
+            }
+            SseEmitter.SseEventBuilder event = SseEmitter.event().name(name).data(data);
+            return eventId != null ? event.id(eventId.toString()) : event;
+        }
+    }
+
+    private static final class ProjectFeed {
+        final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        final ArrayDeque<Frame> replay = new ArrayDeque<>();
+    }
+
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final String developerId;
+        final ArrayBlockingQueue<Frame> queue = new ArrayBlockingQueue<>(bufferSize);
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, String developerId) {
+            this.emitter = emitter;
+            this.developerId = developerId;
+        }
+
+        void offer(Frame frame) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(frame)) {
+                // too slow, it reconnects with Last-Event-ID and gets the rest from the replay buffer
+                close();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        void close() {
+            if (!closed) {
+                closed = true;
+                emitter.complete();
+            }
+        }
+
+        // at most one drain per connection, frames leave in the order they were queued
+        void drain() {
+            try {
+                do {
+                    Frame frame;
+                    while (!closed && (frame = queue.poll()) != null) {
+                        emitter.send(frame.toEvent());
+                    }
+                    draining.set(false);
+                } while (!closed && !queue.isEmpty() && draining.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                closed = true;
+                draining.set(false);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package uni.bugtracker.backend.service.feed;
+
+import uni.bugtracker.backend.dto.report.ReportFeedItem;
+
+/**
+ * One message of the live feed as it travels between nodes.
+ * Ids are taken from the clock of the publishing node, so they are unique
+ * and ordered closely enough for resuming after {@code Last-Event-ID}.
+ */
+record ReportFeedEvent(long eventId, String type, ReportFeedItem report) {
+}
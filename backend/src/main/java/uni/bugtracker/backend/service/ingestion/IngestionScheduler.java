@@ -0,0 +1,302 @@
+package uni.bugtracker.backend.service.ingestion;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uni.bugtracker.backend.exception.TooManyRequestsException;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Admission of event and session writes to the database, fair between projects. At most
+ * {@code concurrency} writes run at once, on the request thread itself; the others wait in a
+ * bounded queue of their project and are let in by deficit round-robin: a project gets
+ * {@code quantum-kb} of request body per turn, so one that sends large or many events does
+ * not take the turns of the others. Error events have their own lane that is served before
+ * the other types. A write that finds its project's queue full, or waits longer than
+ * {@code max-wait}, is answered with 429.
+ */
+@Component
+public class IngestionScheduler implements MeterBinder {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // projects with waiting writes, in round-robin order, one ring per lane
+    private final ArrayDeque<ProjectQueue> errorRing = new ArrayDeque<>();
+    private final ArrayDeque<ProjectQueue> otherRing = new ArrayDeque<>();
+    private final Map<String, ProjectQueue> queues = new HashMap<>();
+    private final Cache<String, ProjectStats> stats;
+    private final int queueCapacity;
+    private final long quantum;
+    private final long maxWaitNanos;
+    private int available;
+    private int waiting;
+
+    private volatile MeterRegistry registry = new SimpleMeterRegistry();
+
+    public IngestionScheduler(
+            @Value("${app.ingestion.concurrency:8}") int concurrency,
+            @Value("${app.ingestion.queue-capacity:100}") int queueCapacity,
+            @Value("${app.ingestion.quantum-kb:8}") long quantumKb,
+            @Value("${app.ingestion.max-wait:5s}") Duration maxWait,
+            @Value("${app.ingestion.max-projects:10000}") long maxProjects
+    ) {
+        this.available = concurrency;
+        this.queueCapacity = queueCapacity;
+        this.quantum = quantumKb;
+        this.maxWaitNanos = maxWait.toNanos();
+        // an evicted project's meters leave the registry with it, on the thread that evicted it
+        this.stats = Caffeine.newBuilder()
+                .maximumSize(maxProjects)
+                .executor(Runnable::run)
+                .evictionListener((String projectId, ProjectStats evicted, RemovalCause cause) -> {
+                    if (evicted != null) {
+                        evicted.remove();
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Runs the write once it is admitted. {@code size} is the request's body in chars, the
+     * write costs a unit per started KB of it.
+     */
+    public <T> T run(String projectId, boolean error, long size, Supplier<T> write) {
+        acquire(projectId, error, 1 + size / 1024);
+        try {
+            return write.get();
+        } finally {
+            release();
+        }
+    }
+
+    public int queueDepth(String projectId) {
+        lock.lock();
+        try {
+            ProjectQueue queue = queues.get(projectId);
+            return queue != null ? queue.depth() : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("ingestion.queue.waiting", this, scheduler -> scheduler.waiting)
+                .register(registry);
+    }
+
+    private void acquire(String projectId, boolean error, long cost) {
+        Waiter waiter;
+        lock.lock();
+        try {
+            if (available > 0 && waiting == 0) {
+                available--;
+                return;
+            }
+            ProjectQueue queue = queues.computeIfAbsent(projectId, ProjectQueue::new);
+            if (queue.depth() >= queueCapacity) {
+                projectStats(projectId).full.increment();
+                throw new TooManyRequestsException("Ingestion queue of project " + projectId + " is full", 1);
+            }
+            waiter = new Waiter(lock.newCondition(), cost, error, System.nanoTime());
+            enqueue(queue, waiter);
+            awaitAdmission(queue, waiter);
+        } finally {
+            lock.unlock();
+        }
+        projectStats(projectId).wait.record(System.nanoTime() - waiter.enqueuedAt, TimeUnit.NANOSECONDS);
+    }
+
+    // under the lock; a waiter that gives up leaves the queue, one admitted meanwhile keeps its turn
+    private void awaitAdmission(ProjectQueue queue, Waiter waiter) {
+        long remaining = maxWaitNanos;
+        try {
+            while (!waiter.admitted && remaining > 0) {
+                remaining = waiter.ready.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (!waiter.admitted) {
+                remove(queue, waiter);
+                throw new IllegalStateException("Interrupted while waiting for ingestion", e);
+            }
+        }
+        if (!waiter.admitted) {
+            remove(queue, waiter);
+            projectStats(queue.projectId).timedOut.increment();
+            throw new TooManyRequestsException("Ingestion of project " + queue.projectId + " is overloaded", 1);
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            Waiter next = next(errorRing, true);
+            if (next == null) {
+                next = next(otherRing, false);
+            }
+            if (next == null) {
+                available++;
+                return;
+            }
+            next.admitted = true;
+            next.ready.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // deficit round-robin: the head project serves while its deficit covers the next write,
+    // otherwise it gets a quantum and goes to the back of the ring
+    private Waiter next(ArrayDeque<ProjectQueue> ring, boolean error) {
+        while (!ring.isEmpty()) {
+            ProjectQueue queue = ring.peekFirst();
+            ArrayDeque<Waiter> lane = queue.lane(error);
+            Waiter head = lane.peekFirst();
+            if (queue.deficit(error) >= head.cost) {
+                queue.addDeficit(error, -head.cost);
+                lane.pollFirst();
+                waiting--;
+                if (lane.isEmpty()) {
+                    ring.pollFirst();
+                    queue.resetDeficit(error);
+                    dropIfIdle(queue);
+                }
+                return head;
+            }
+            queue.addDeficit(error, quantum);
+            ring.addLast(ring.pollFirst());
+        }
+        return null;
+    }
+
+    private void enqueue(ProjectQueue queue, Waiter waiter) {
+        ArrayDeque<Waiter> lane = queue.lane(waiter.error);
+        if (lane.isEmpty()) {
+            (waiter.error ? errorRing : otherRing).addLast(queue);
+        }
+        lane.addLast(waiter);
+        waiting++;
+    }
+
+    private void remove(ProjectQueue queue, Waiter waiter) {
+        ArrayDeque<Waiter> lane = queue.lane(waiter.error);
+        lane.remove(waiter);
+        waiting--;
+        if (lane.isEmpty()) {
+            (waiter.error ? errorRing : otherRing).remove(queue);
+            queue.resetDeficit(waiter.error);
+            dropIfIdle(queue);
+        }
+    }
+
+    private void dropIfIdle(ProjectQueue queue) {
+        if (queue.depth() == 0) {
+            queues.remove(queue.projectId);
+        }
+    }
+
+    // meters only for projects that had to wait, the uncontended path creates none
+    private ProjectStats projectStats(String projectId) {
+        return stats.get(projectId, id -> new ProjectStats(id, registry, this));
+    }
+
+    private static final class Waiter {
+        private final Condition ready;
+        private final long cost;
+        private final boolean error;
+        private final long enqueuedAt;
+        private boolean admitted;
+
+        Waiter(Condition ready, long cost, boolean error, long enqueuedAt) {
+            this.ready = ready;
+            this.cost = cost;
+            this.error = error;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    private static final class ProjectQueue {
+        private final String projectId;
+        private final ArrayDeque<Waiter> errors = new ArrayDeque<>();
+        private final ArrayDeque<Waiter> others = new ArrayDeque<>();
+        private long errorDeficit;
+        private long otherDeficit;
+
+        ProjectQueue(String projectId) {
+            this.projectId = projectId;
+        }
+
+        ArrayDeque<Waiter> lane(boolean error) {
+            return error ? errors : others;
+        }
+
+        long deficit(boolean error) {
+            return error ? errorDeficit : otherDeficit;
+        }
+
+        void addDeficit(boolean error, long amount) {
+            if (error) {
+                errorDeficit += amount;
+            } else {
+                otherDeficit += amount;
+            }
+        }
+
+        void resetDeficit(boolean error) {
+            addDeficit(error, -deficit(error));
+        }
+
+        int depth() {
+            return errors.size() + others.size();
+        }
+    }
+
+    private static final class ProjectStats {
+        private final MeterRegistry registry;
+        private final Timer wait;
+        private final Counter full;
+        private final Counter timedOut;
+        private final Gauge depth;
+
+        ProjectStats(String projectId, MeterRegistry registry, IngestionScheduler scheduler) {
+            this.registry = registry;
+            this.wait = Timer.builder("ingestion.queue.wait")
+                    .tag("project", projectId)
+                    .register(registry);
+            this.full = Counter.builder("ingestion.queue.dropped")
+                    .tag("project", projectId)
+                    .tag("reason", "full")
+                    .register(registry);
+            this.timedOut = Counter.builder("ingestion.queue.dropped")
+                    .tag("project", projectId)
+                    .tag("reason", "timeout")
+                    .register(registry);
+            this.depth = Gauge.builder("ingestion.queue.depth", scheduler, s -> s.queueDepth(projectId))
+                    .tag("project", projectId)
+                    .register(registry);
+        }
+
+        void remove() {
+            List.<Meter>of(wait, full, timedOut, depth).forEach(registry::remove);
+        }
+    }
+}
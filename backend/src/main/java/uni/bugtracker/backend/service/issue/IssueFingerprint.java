@@ -0,0 +1,137 @@
+package uni.bugtracker.backend.service.issue;
+
+import uni.bugtracker.backend.model.Event;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * What makes two errors the same issue: the error name with its variable parts masked, the
+ * top stack frames as function and file without bundle hashes or positions, and the url with
+ * id-like path segments replaced. A new deployment or another user id does not open a new issue.
+ */
+public record IssueFingerprint(String hash, String title, String urlTemplate) {
+
+    static final int TOP_FRAMES = 3;
+    private static final int MAX_TITLE = 255;
+    private static final int MAX_URL = 2048;
+
+    private static final Pattern QUOTED = Pattern.compile("'[^']*'|\"[^\"]*\"|`[^`]*`");
+    private static final Pattern UUID = Pattern.compile(
+            "\\b[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}\\b");
+    private static final Pattern HEX = Pattern.compile("\\b(?:0x)?[0-9a-fA-F]*\\d[0-9a-fA-F]*\\b");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+    // Chrome "at fn (file:1:2)" / "at file:1:2", Firefox and Safari "fn@file:1:2"
+    private static final Pattern CHROME_FRAME = Pattern.compile("^\\s*at\\s+(?:(.+?)\\s+\\()?(.+?)\\)?\\s*$");
+    private static final Pattern GECKO_FRAME = Pattern.compile("^\\s*(.*?)@(.+?)\\s*$");
+    private static final Pattern POSITION = Pattern.compile("(?::\\d+)+$");
+    private static final Pattern BUNDLE_HASH = Pattern.compile("[.-][0-9a-f]{6,}(?=\\.)");
+    private static final Pattern ID_SEGMENT = Pattern.compile(
+            "\\d+|[0-9a-fA-F]{8,}|[0-9a-fA-F]{8}-[0-9a-fA-F-]{27}|[A-Za-z0-9_-]{20,}");
+
+    public static IssueFingerprint of(Event error) {
+        String title = truncate(normalizeName(error.getName()), MAX_TITLE);
+        List<String> frames = topFrames(error.getStackTrace());
+        String urlTemplate = truncate(urlTemplate(error.getUrl()), MAX_URL);
+        String key = title + '\n' + String.join("\n", frames) + '\n' + (urlTemplate != null ? urlTemplate : "");
+        return new IssueFingerprint(sha256(key), title, urlTemplate);
+    }
+
+    static String normalizeName(String name) {
+        if (name == null || name.isBlank()) {
+            return "Error";
+        }
+        String masked = QUOTED.matcher(name).replaceAll("?");
+        masked = UUID.matcher(masked).replaceAll("?");
+        masked = HEX.matcher(masked).replaceAll("?");
+        return SPACES.matcher(masked).replaceAll(" ").strip();
+    }
+
+    static List<String> topFrames(String stackTrace) {
+        List<String> frames = new ArrayList<>(TOP_FRAMES);
+        if (stackTrace == null) {
+            return frames;
+        }
+        for (String line : stackTrace.split("\r?\n")) {
+            String frame = frame(line);
+            if (frame != null) {
+                frames.add(frame);
+                if (frames.size() == TOP_FRAMES) {
+                    break;
+                }
+            }
+        }
+        return frames;
+    }
+
+    // function and file of one frame, null for the message lines
+    private static String frame(String line) {
+        Matcher chrome = CHROME_FRAME.matcher(line);
+        String function;
+        String location;
+        if (chrome.matches()) {
+            function = chrome.group(1);
+            location = chrome.group(2);
+        } else {
+            Matcher gecko = GECKO_FRAME.matcher(line);
+            if (!gecko.matches()) {
+                return null;
+            }
+            function = gecko.group(1);
+            location = gecko.group(2);
+        }
+        String file = POSITION.matcher(location).replaceAll("");
+        int query = file.indexOf('?');
+        if (query >= 0) {
+            file = file.substring(0, query);
+        }
+        file = BUNDLE_HASH.matcher(file.substring(file.lastIndexOf('/') + 1)).replaceAll("");
+        return (function == null || function.isBlank() ? "?" : function.strip()) + " " + file;
+    }
+
+    static String urlTemplate(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        String path;
+        String origin = "";
+        try {
+            URI uri = new URI(url.strip());
+            path = uri.getRawPath() != null ? uri.getRawPath() : "";
+            if (uri.getHost() != null) {
+                origin = uri.getHost() + (uri.getPort() >= 0 ? ":" + uri.getPort() : "");
+            }
+        } catch (URISyntaxException e) {
+            path = url.strip().replaceFirst("[?#].*$", "");
+        }
+        StringBuilder template = new StringBuilder(origin);
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            template.append('/').append(ID_SEGMENT.matcher(segment).matches() ? "{id}" : segment);
+        }
+        return template.isEmpty() ? "/" : template.toString();
+    }
+
+    private static String truncate(String value, int max) {
+        return value != null && value.length() > max ? value.substring(0, max) : value;
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package uni.bugtracker.backend.service.issue;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import uni.bugtracker.backend.exception.BusinessValidationException;
+import uni.bugtracker.backend.model.Event;
+import uni.bugtracker.backend.model.EventType;
+import uni.bugtracker.backend.model.Issue;
+import uni.bugtracker.backend.model.Report;
+import uni.bugtracker.backend.repository.IssueRepository;
+import uni.bugtracker.backend.repository.IssueWriter;
+import uni.bugtracker.backend.repository.projection.IssueOccurrence;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Folds automatic reports into {@link Issue}s by the fingerprint of the session's first error.
+ * Only the report that opens an issue is analyzed and may alert; the ones after it are counted
+ * and take the issue's criticality over, so an incident hitting many sessions costs one analysis.
+ * An analysis that failed or never finished would leave the issue UNKNOWN for good: while it is,
+ * a later report is analyzed again, at most once per {@code app.issues.reanalyze-after}.
+ */
+@Service
+public class IssueService {
+    private static final int MAX_LIMIT = 100;
+
+    private static final Comparator<Event> FIRST = Comparator
+            .comparing(Event::getTimestamp, Comparator.nullsLast(Comparator.<Instant>naturalOrder()))
+            .thenComparing(Event::getId, Comparator.nullsLast(Comparator.<Long>naturalOrder()));
+
+    private final IssueWriter writer;
+    private final IssueRepository issueRepository;
+    private final EntityManager entityManager;
+    private final Duration reanalyzeAfter;
+    private final Clock clock;
+
+    @Autowired
+    public IssueService(
+            IssueWriter writer,
+            IssueRepository issueRepository,
+            EntityManager entityManager,
+            @Value("${app.issues.reanalyze-after:15m}") Duration reanalyzeAfter
+    ) {
+        this(writer, issueRepository, entityManager, reanalyzeAfter, Clock.systemUTC());
+    }
+
+    IssueService(
+            IssueWriter writer,
+            IssueRepository issueRepository,
+            EntityManager entityManager,
+            Duration reanalyzeAfter,
+            Clock clock
+    ) {
+        this.writer = writer;
+        this.issueRepository = issueRepository;
+        this.entityManager = entityManager;
+        this.reanalyzeAfter = reanalyzeAfter;
+        this.clock = clock;
+    }
+
+    // true when the report opened its issue, re-analyzes one still UNKNOWN, or has no error to group by
+    public boolean group(Report report, List<Event> events) {
+        Optional<Event> error = events.stream()
+                .filter(event -> event.getType() == EventType.ERROR)
+                .min(FIRST);
+        if (error.isEmpty()) {
+            return true;
+        }
+        IssueFingerprint fingerprint = IssueFingerprint.of(error.get());
+        IssueOccurrence occurrence = writer.recordOccurrence(report.getProject().getId(), fingerprint.hash(),
+                fingerprint.title(), fingerprint.urlTemplate(), report.getReportedAt());
+        report.setIssue(entityManager.getReference(Issue.class, occurrence.issueId()));
+        if (!occurrence.first()) {
+            report.setCriticality(occurrence.criticality());
+        }
+        Instant now = clock.instant();
+        return writer.claimAnalysis(occurrence.issueId(), now, now.minus(reanalyzeAfter));
+    }
+
+    // most recently seen first
+    public List<Issue> getIssues(String projectId, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BusinessValidationException("INVALID_ARGUMENT", "limit must be between 1 and " + MAX_LIMIT);
+        }
+        return issueRepository.findAllByProjectIdOrderByLastSeenAtDescIdDesc(projectId, Limit.of(limit));
+    }
+}
@@ -0,0 +1,209 @@
+package uni.bugtracker.backend.service.logtemplate;
+
+import uni.bugtracker.backend.model.LogTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static uni.bugtracker.backend.model.LogTemplate.WILDCARD;
+
+/**
+ * Online log clustering after Drain (He et al., ICWS 2017) for the logs of one project. Lines
+ * are split at single spaces and routed through a tree of fixed depth: token count, then the
+ * first {@link #PREFIX_DEPTH} tokens, where a token with a digit or one past
+ * {@link #MAX_CHILDREN} siblings takes the wildcard branch. The leaf holds the templates of
+ * that route, a line joins the most similar one if at least {@code similarityThreshold} of its
+ * tokens agree with it, and the positions that differ become wildcards. A line that matches a
+ * template unchanged, the common case, only takes the read lock. At most {@code maxTemplates}
+ * templates are kept, lines that would need another one are not mined.
+ */
+final class LogTemplateMiner {
+
+    static final int PREFIX_DEPTH = 2;
+    static final int MAX_CHILDREN = 100;
+    static final int MAX_TOKENS = 64;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Node> byLength = new HashMap<>();
+    private final int maxTemplates;
+    private final double similarityThreshold;
+    private int templates;
+
+    LogTemplateMiner(int maxTemplates, double similarityThreshold) {
+        this.maxTemplates = maxTemplates;
+        this.similarityThreshold = similarityThreshold;
+    }
+
+    // the line's template and the tokens in its wildcards, in order
+    record Match(String template, List<String> parameters) {
+    }
+
+    // null for lines that are too long, or when the line needs a template over the limit
+    Match match(String line) {
+        // a wildcard is at most two chars longer than the token it replaces
+        if (line.length() > LogTemplate.MAX_LENGTH - 2 * MAX_TOKENS) {
+            return null;
+        }
+        String[] tokens = line.split(" ", -1);
+        if (tokens.length > MAX_TOKENS) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            Node leaf = descend(tokens, false);
+            Cluster cluster = leaf != null ? bestCluster(leaf, tokens) : null;
+            if (cluster != null && cluster.covers(tokens)) {
+                return cluster.match(tokens);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            Node leaf = descend(tokens, true);
+            Cluster cluster = bestCluster(leaf, tokens);
+            if (cluster != null) {
+                cluster.generalize(tokens);
+                return cluster.match(tokens);
+            }
+            if (templates == maxTemplates) {
+                return null;
+            }
+            cluster = new Cluster(tokens);
+            leaf.clusters.add(cluster);
+            templates++;
+            return cluster.match(tokens);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int templateCount() {
+        lock.readLock().lock();
+        try {
+            return templates;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Node descend(String[] tokens, boolean create) {
+        Node node = byLength.get(tokens.length);
+        if (node == null) {
+            if (!create) {
+                return null;
+            }
+            node = new Node();
+            byLength.put(tokens.length, node);
+        }
+        for (int depth = 0; depth < Math.min(PREFIX_DEPTH, tokens.length); depth++) {
+            String key = hasDigit(tokens[depth]) ? WILDCARD : tokens[depth];
+            Node child = node.children.get(key);
+            if (child == null) {
+                if (create && (node.children.size() < MAX_CHILDREN || key.equals(WILDCARD))) {
+                    child = new Node();
+                    node.children.put(key, child);
+                } else {
+                    child = node.children.get(WILDCARD);
+                    if (child == null) {
+                        if (!create) {
+                            return null;
+                        }
+                        child = new Node();
+                        node.children.put(WILDCARD, child);
+                    }
+                }
+            }
+            node = child;
+        }
+        return node;
+    }
+
+    // most agreeing tokens, wildcards agree with anything; ties go to the more general template
+    private Cluster bestCluster(Node leaf, String[] tokens) {
+        Cluster best = null;
+        double bestSimilarity = -1;
+        int bestWildcards = -1;
+        for (Cluster cluster : leaf.clusters) {
+            int equal = 0;
+            int wildcards = 0;
+            for (int i = 0; i < tokens.length; i++) {
+                if (cluster.tokens[i].equals(WILDCARD)) {
+                    wildcards++;
+                    equal++;
+                } else if (cluster.tokens[i].equals(tokens[i])) {
+                    equal++;
+                }
+            }
+            double similarity = (double) equal / tokens.length;
+            if (similarity > bestSimilarity || similarity == bestSimilarity && wildcards > bestWildcards) {
+                best = cluster;
+                bestSimilarity = similarity;
+                bestWildcards = wildcards;
+            }
+        }
+        return bestSimilarity >= similarityThreshold ? best : null;
+    }
+
+    private static boolean hasDigit(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (Character.isDigit(token.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final List<Cluster> clusters = new ArrayList<>();
+    }
+
+    private static final class Cluster {
+        private final String[] tokens;
+        private String template;
+
+        // tokens with digits are taken as parameters from the first line on
+        Cluster(String[] line) {
+            tokens = new String[line.length];
+            for (int i = 0; i < line.length; i++) {
+                tokens[i] = hasDigit(line[i]) ? WILDCARD : line[i];
+            }
+            template = String.join(" ", tokens);
+        }
+
+        boolean covers(String[] line) {
+            for (int i = 0; i < line.length; i++) {
+                if (!tokens[i].equals(WILDCARD) && !tokens[i].equals(line[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void generalize(String[] line) {
+            if (covers(line)) {
+                return;
+            }
+            for (int i = 0; i < line.length; i++) {
+                if (!tokens[i].equals(line[i])) {
+                    tokens[i] = WILDCARD;
+                }
+            }
+            template = String.join(" ", tokens);
+        }
+
+        Match match(String[] line) {
+            List<String> parameters = new ArrayList<>();
+            for (int i = 0; i < line.length; i++) {
+                if (tokens[i].equals(WILDCARD)) {
+                    parameters.add(line[i]);
+                }
+            }
+            return new Match(template, parameters);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package uni.bugtracker.backend.service.logtemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uni.bugtracker.backend.exception.BusinessValidationException;
+import uni.bugtracker.backend.model.Event;
+import uni.bugtracker.backend.model.LogTemplate;
+import uni.bugtracker.backend.repository.LogTemplateRepository;
+import uni.bugtracker.backend.repository.LogTemplateWriter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stores event logs as a {@link LogTemplate} and parameters. Each project has a
+ * {@link LogTemplateMiner} in a bounded cache; a miner dropped from it starts over, and the
+ * templates it finds again map to their existing rows by hash. Template ids are cached once
+ * their row is committed. Occurrences are counted in memory and added to the rows every
+ * {@code flush-ms}, ingestion never waits on the row of a frequent template.
+ */
+@Slf4j
+@Component
+public class LogTemplateStore implements MeterBinder {
+
+    static final int MAX_LIMIT = 100;
+
+    private final LogTemplateWriter writer;
+    private final LogTemplateRepository repository;
+    private final EntityManager entityManager;
+    private final Cache<String, LogTemplateMiner> miners;
+    private final Cache<String, Long> templateIds;
+    private final int maxTemplates;
+    private final double similarityThreshold;
+    private final Clock clock;
+
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    private final LongAdder mined = new LongAdder();
+    private final LongAdder unmined = new LongAdder();
+    private final LongAdder templatedChars = new LongAdder();
+    private final LongAdder parameterChars = new LongAdder();
+
+    @Autowired
+    public LogTemplateStore(
+            LogTemplateWriter writer,
+            LogTemplateRepository repository,
+            EntityManager entityManager,
+            @Value("${app.log-templates.max-projects:1000}") long maxProjects,
+            @Value("${app.log-templates.max-templates:1000}") int maxTemplates,
+            @Value("${app.log-templates.similarity-threshold:0.5}") double similarityThreshold,
+            @Value("${app.log-templates.id-cache-size:100000}") long idCacheSize,
+            @Value("${app.log-templates.idle-timeout:6h}") Duration idleTimeout
+    ) {
+        this(writer, repository, entityManager, maxProjects, maxTemplates, similarityThreshold, idCacheSize,
+                idleTimeout, Clock.systemUTC());
+    }
+
+    LogTemplateStore(
+            LogTemplateWriter writer,
+            LogTemplateRepository repository,
+            EntityManager entityManager,
+            long maxProjects,
+            int maxTemplates,
+            double similarityThreshold,
+            long idCacheSize,
+            Duration idleTimeout,
+            Clock clock
+    ) {
+        this.writer = writer;
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.miners = Caffeine.newBuilder()
+                .maximumSize(maxProjects)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        this.templateIds = Caffeine.newBuilder()
+                .maximumSize(idCacheSize)
+                .build();
+        this.maxTemplates = maxTemplates;
+        this.similarityThreshold = similarityThreshold;
+        this.clock = clock;
+    }
+
+    /**
+     * Sets the event's log, as a template and parameters when the miner finds one, otherwise as
+     * is. Must run in the transaction that saves the event.
+     */
+    public void attach(Event event, String log, String projectId) {
+        if (log == null || log.isEmpty()) {
+            event.setLog(log);
+            return;
+        }
+        LogTemplateMiner.Match match = miners.get(projectId, id -> new LogTemplateMiner(maxTemplates, similarityThreshold))
+                .match(log);
+        if (match == null) {
+            unmined.increment();
+            event.setLog(log);
+            return;
+        }
+        Instant now = clock.instant();
+        String hash = hash(match.template());
+        String key = projectId + ':' + hash;
+        Long id = templateIds.getIfPresent(key);
+        if (id == null) {
+            id = writer.insertIfAbsent(projectId, hash, match.template(), now);
+            remember(key, id);
+        }
+        String parameters = LogTemplate.encode(match.parameters());
+        event.setLog(entityManager.getReference(LogTemplate.class, id), parameters, log);
+        mined.increment();
+        templatedChars.add(log.length());
+        parameterChars.add(parameters.length());
+        // counted inside compute, so a counter is never removed by the flush between lookup and add
+        pending.compute(id, (templateId, counts) -> (counts != null ? counts : new Pending()).add(now));
+    }
+
+    public List<LogTemplate> getTemplates(String projectId, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BusinessValidationException("INVALID_ARGUMENT", "limit must be between 1 and " + MAX_LIMIT);
+        }
+        return repository.findAllByProjectIdOrderByOccurrencesDescIdAsc(projectId, Limit.of(limit));
+    }
+
+    // one batch per flush; counts that cannot be written are given back to the next one
+    @Scheduled(fixedDelayString = "${app.log-templates.flush-ms:10000}")
+    @PreDestroy
+    public void flushCounters() {
+        List<Object[]> increments = new ArrayList<>();
+        List<Map.Entry<Long, Pending>> taken = new ArrayList<>();
+        for (Map.Entry<Long, Pending> entry : pending.entrySet()) {
+            Pending counts = entry.getValue();
+            long count = counts.count.getAndSet(0);
+            if (count > 0) {
+                increments.add(new Object[]{count, Timestamp.from(counts.lastSeen.get()), entry.getKey()});
+                taken.add(entry);
+            } else {
+                pending.computeIfPresent(entry.getKey(), (id, idle) -> idle.count.get() == 0 ? null : idle);
+            }
+        }
+        if (increments.isEmpty()) {
+            return;
+        }
+        try {
+            writer.addOccurrences(increments);
+        } catch (DataAccessException e) {
+            log.warn("Could not write {} log template counters, retrying with the next flush", increments.size(), e);
+            for (int i = 0; i < taken.size(); i++) {
+                taken.get(i).getValue().count.addAndGet((long) increments.get(i)[0]);
+            }
+        }
+    }
+
+    // share of the mined logs' chars that the stored parameters take
+    public double storedRatio() {
+        long templated = templatedChars.sum();
+        return templated == 0 ? 1 : (double) parameterChars.sum() / templated;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("log.templates.logs", mined, LongAdder::sum)
+                .tag("result", "mined")
+                .register(registry);
+        FunctionCounter.builder("log.templates.logs", unmined, LongAdder::sum)
+                .tag("result", "unmined")
+                .register(registry);
+        Gauge.builder("log.templates.stored.ratio", this, LogTemplateStore::storedRatio)
+                .register(registry);
+        Gauge.builder("log.templates.projects", miners, Cache::estimatedSize)
+                .register(registry);
+    }
+
+    static String hash(String template) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(template.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // a row inserted by a transaction that rolls back must not be referenced by later events
+    private void remember(String key, Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            templateIds.put(key, id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                templateIds.put(key, id);
+            }
+        });
+    }
+
+    private static final class Pending {
+        // not a LongAdder: its reset can lose an increment that races it
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicReference<Instant> lastSeen = new AtomicReference<>(Instant.EPOCH);
+
+        Pending add(Instant seenAt) {
+            count.incrementAndGet();
+            lastSeen.accumulateAndGet(seenAt, (current, next) -> next.isAfter(current) ? next : current);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package uni.bugtracker.backend.service.purge;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uni.bugtracker.backend.model.PurgeJob;
+import uni.bugtracker.backend.repository.PurgeJobRepository;
+import uni.bugtracker.backend.repository.PurgeWriter;
+import uni.bugtracker.backend.service.ReportCardCache;
+import uni.bugtracker.backend.service.SessionService;
+import uni.bugtracker.backend.service.search.SearchIndex;
+import uni.bugtracker.backend.service.stats.StatsRollup;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Works through the open {@link PurgeJob}s in chunks of at most {@code chunk-size} rows.
+ * Each chunk is a transaction of its own that also moves the job's checkpoint, and the rows
+ * per second are capped, so a purge never holds long locks or starves the ingestion.
+ * A job is claimed by one node at a time; the claim is renewed by every chunk and runs out
+ * when the node dies, then another node resumes from the last checkpoint.
+ */
+@Slf4j
+@Service
+public class PurgeEngine {
+    private final PurgeJobRepository jobRepository;
+    private final PurgeWriter writer;
+    private final SearchIndex searchIndex;
+    private final StatsRollup statsRollup;
+    private final ReportCardCache reportCardCache;
+    private final SessionService sessionService;
+    private final TransactionTemplate transaction;
+    private final Executor executor;
+    private final int chunkSize;
+    private final int rowsPerSecond;
+    private final Duration claimTimeout;
+    private final Clock clock;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopping;
+
+    @Autowired
+    public PurgeEngine(
+            PurgeJobRepository jobRepository,
+            PurgeWriter writer,
+            SearchIndex searchIndex,
+            StatsRollup statsRollup,
+            ReportCardCache reportCardCache,
+            SessionService sessionService,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("purgeExecutor") Executor executor,
+            @Value("${app.purge.chunk-size:500}") int chunkSize,
+            @Value("${app.purge.rows-per-second:2000}") int rowsPerSecond,
+            @Value("${app.purge.claim-timeout:5m}") Duration claimTimeout
+    ) {
+        this(jobRepository, writer, searchIndex, statsRollup, reportCardCache, sessionService, transactionManager,
+                executor, chunkSize, rowsPerSecond, claimTimeout, Clock.systemUTC());
+    }
+
+    PurgeEngine(
+            PurgeJobRepository jobRepository,
+            PurgeWriter writer,
+            SearchIndex searchIndex,
+            StatsRollup statsRollup,
+            ReportCardCache reportCardCache,
+            SessionService sessionService,
+            PlatformTransactionManager transactionManager,
+            Executor executor,
+            int chunkSize,
+            int rowsPerSecond,
+            Duration claimTimeout,
+            Clock clock
+    ) {
+        this.jobRepository = jobRepository;
+        this.writer = writer;
+        this.searchIndex = searchIndex;
+        this.statsRollup = statsRollup;
+        this.reportCardCache = reportCardCache;
+        this.sessionService = sessionService;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.rowsPerSecond = rowsPerSecond;
+        this.claimTimeout = claimTimeout;
+        this.clock = clock;
+    }
+
+    // the jobs run on their own thread, a long purge does not hold up the other scheduled tasks
+    @Scheduled(fixedDelayString = "${app.purge.poll-ms:10000}")
+    public void poll() {
+        if (stopping || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    runPending();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            running.set(false);
+        }
+    }
+
+    // the checkpoint is committed, the next start continues from it
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+    }
+
+    void runPending() {
+        for (PurgeJob job : jobRepository.findAllByFinishedAtIsNullOrderByIdAsc()) {
+            if (stopping) {
+                return;
+            }
+            claim(job.getId()).ifPresent(claim -> run(job.getId(), claim));
+        }
+    }
+
+    private Optional<Instant> claim(Long jobId) {
+        Instant now = now();
+        Instant until = now.plus(claimTimeout);
+        boolean claimed = Boolean.TRUE.equals(transaction.execute(status ->
+                jobRepository.claim(jobId, now, until) == 1));
+        return claimed ? Optional.of(until) : Optional.empty();
+    }
+
+    private void run(Long jobId, Instant claim) {
+        while (!stopping) {
+            long started = System.nanoTime();
+            Chunk chunk;
+            try {
+                Instant current = claim;
+                chunk = transaction.execute(status -> step(jobId, current));
+            } catch (DataAccessException e) {
+                // the claim is kept until it runs out, a failing job is retried after claim-timeout
+                log.warn("Purge job {} failed, retrying after the claim runs out", jobId, e);
+                recordError(jobId, e);
+                return;
+            }
+            if (chunk == null || chunk.claim() == null) {
+                log.info("Purge job {} was taken over by another node", jobId);
+                return;
+            }
+            chunk.reportIds().forEach(reportCardCache::invalidate);
+            if (chunk.finished()) {
+                log.info("Purge job {} finished", jobId);
+                return;
+            }
+            claim = chunk.claim();
+            throttle(chunk.rows(), System.nanoTime() - started);
+        }
+    }
+
+    // one chunk of the job's current phase; the job row is updated in the same transaction
+    Chunk step(Long jobId, Instant claim) {
+        PurgeJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getFinishedAt() != null || !Objects.equals(job.getClaimedUntil(), claim)) {
+            return new Chunk(0, List.of(), true, null);
+        }
+        Chunk chunk = switch (job.getPhase()) {
+            case REPORTS -> deleteProjectReports(job);
+            case SESSIONS -> deleteNextSessionRows(job);
+            case SCREENSHOTS -> clearScreenshots(job);
+            case PROJECT -> deleteProject(job);
+            case DONE -> Chunk.NONE;
+        };
+        Instant now = now();
+        job.setUpdatedAt(now);
+        job.setLastError(null);
+        if (job.getPhase() == PurgeJob.Phase.DONE) {
+            job.setFinishedAt(now);
+            job.setClaimedUntil(null);
+            return new Chunk(chunk.rows(), chunk.reportIds(), true, claim);
+        }
+        Instant renewed = now.plus(claimTimeout);
+        job.setClaimedUntil(renewed);
+        return new Chunk(chunk.rows(), chunk.reportIds(), false, renewed);
+    }
+
+    private Chunk deleteProjectReports(PurgeJob job) {
+        List<Long> ids = writer.reportsOfProject(job.getProjectId(), job.getCheckpoint(), chunkSize);
+        if (ids.isEmpty()) {
+            advance(job);
+            return Chunk.NONE;
+        }
+        int deleted = writer.deleteReports(ids);
+        ids.forEach(searchIndex::removeReport);
+        job.setDeletedReports(job.getDeletedReports() + deleted);
+        job.setCheckpoint(ids.getLast());
+        return new Chunk(deleted, ids, false, null);
+    }
+
+    // events of a session go in chunks, the session itself with its reports once it has none left
+    private Chunk deleteNextSessionRows(PurgeJob job) {
+        Optional<Long> next = job.getKind() == PurgeJob.Kind.PROJECT
+                ? writer.nextSessionOfProject(job.getProjectId(), job.getCheckpoint())
+                : writer.nextClosedSessionStartedBefore(job.getSessionCutoff(), job.getCheckpoint());
+        if (next.isEmpty()) {
+            advance(job);
+            return Chunk.NONE;
+        }
+        long sessionId = next.get();
+        List<Long> events = writer.eventsOfSession(sessionId, chunkSize);
+        if (!events.isEmpty()) {
+            int deleted = writer.deleteEvents(sessionId, events);
+            job.setDeletedEvents(job.getDeletedEvents() + deleted);
+            return new Chunk(deleted, List.of(), false, null);
+        }
+        List<Long> reports = writer.reportsOfSession(sessionId);
+        int deletedReports = writer.deleteReports(reports);
+        int deletedSessions = writer.deleteSession(sessionId);
+        reports.forEach(searchIndex::removeReport);
+        searchIndex.removeEventsOfSession(sessionId);
+        sessionService.sessionDeleted(sessionId);
+        job.setDeletedReports(job.getDeletedReports() + deletedReports);
+        job.setDeletedSessions(job.getDeletedSessions() + deletedSessions);
+        job.setCheckpoint(sessionId);
+        return new Chunk(deletedReports + deletedSessions, reports, false, null);
+    }
+
+    private Chunk clearScreenshots(PurgeJob job) {
+        List<Long> ids = writer.reportsWithScreenshotBefore(job.getScreenshotCutoff(), job.getCheckpoint(), chunkSize);
+        if (ids.isEmpty()) {
+            advance(job);
+            return Chunk.NONE;
+        }
+        int cleared = writer.clearScreenshots(ids);
+        job.setClearedScreenshots(job.getClearedScreenshots() + cleared);
+        job.setCheckpoint(ids.getLast());
+        return new Chunk(cleared, ids, false, null);
+    }
+
+    private Chunk deleteProject(PurgeJob job) {
+        String projectId = job.getProjectId();
+        if (writer.hasRowsOfProject(projectId)) {
+            // a widget still sent data while the project was purged, go round once more
+            job.setPhase(PurgeJob.Phase.REPORTS);
+            job.setCheckpoint(0);
+            return Chunk.NONE;
+        }
+        writer.deleteProject(projectId);
+        searchIndex.removeProject(projectId);
+        statsRollup.removeProject(projectId);
+        advance(job);
+        return new Chunk(1, List.of(), false, null);
+    }
+
+    private static void advance(PurgeJob job) {
+        job.setPhase(switch (job.getPhase()) {
+            case REPORTS -> PurgeJob.Phase.SESSIONS;
+            case SESSIONS -> job.getKind() == PurgeJob.Kind.PROJECT
+                    ? PurgeJob.Phase.PROJECT
+                    : job.getScreenshotCutoff() != null ? PurgeJob.Phase.SCREENSHOTS : PurgeJob.Phase.DONE;
+            case SCREENSHOTS, PROJECT, DONE -> PurgeJob.Phase.DONE;
+        });
+        job.setCheckpoint(0);
+    }
+
+    private void recordError(Long jobId, DataAccessException error) {
+        try {
+            transaction.executeWithoutResult(status -> jobRepository.findById(jobId).ifPresent(job -> {
+                String message = String.valueOf(error.getMostSpecificCause().getMessage());
+                job.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+                job.setUpdatedAt(now());
+            }));
+        } catch (DataAccessException e) {
+            log.warn("Cannot record the error of purge job {}", jobId, e);
+        }
+    }
+
+    // sleeps until the chunk's rows fit into rows-per-second
+    private void throttle(int rows, long elapsedNanos) {
+        if (rowsPerSecond <= 0 || rows == 0) {
+            return;
+        }
+        long waitNanos = TimeUnit.SECONDS.toNanos(rows) / rowsPerSecond - elapsedNanos;
+        if (waitNanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopping = true;
+        }
+    }
+
+    // millisecond precision survives the round trip through the claim column
+    private Instant now() {
+        return clock.instant().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    record Chunk(int rows, List<Long> reportIds, boolean finished, Instant claim) {
+        static final Chunk NONE = new Chunk(0, List.of(), false, null);
+    }
+}
@@ -0,0 +1,115 @@
+package uni.bugtracker.backend.service.purge;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uni.bugtracker.backend.exception.BusinessValidationException;
+import uni.bugtracker.backend.exception.ResourceNotFoundException;
+import uni.bugtracker.backend.model.PurgeJob;
+import uni.bugtracker.backend.repository.PurgeJobRepository;
+import uni.bugtracker.backend.repository.PurgeWriter;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Creates the jobs {@link PurgeEngine} works through and reports their progress.
+ * Age-based retention is off unless {@code app.purge.session-retention} or
+ * {@code app.purge.screenshot-retention} is set; on PostgreSQL whole partitions are
+ * dropped after {@code app.retention.months} anyway.
+ */
+@Slf4j
+@Service
+public class PurgeService {
+    private static final int MAX_LIMIT = 100;
+
+    private final PurgeJobRepository jobRepository;
+    private final PurgeWriter writer;
+    private final Duration sessionRetention;
+    private final Duration screenshotRetention;
+    private final Clock clock;
+
+    @Autowired
+    public PurgeService(
+            PurgeJobRepository jobRepository,
+            PurgeWriter writer,
+            @Value("${app.purge.session-retention:0d}") Duration sessionRetention,
+            @Value("${app.purge.screenshot-retention:0d}") Duration screenshotRetention
+    ) {
+        this(jobRepository, writer, sessionRetention, screenshotRetention, Clock.systemUTC());
+    }
+
+    PurgeService(
+            PurgeJobRepository jobRepository,
+            PurgeWriter writer,
+            Duration sessionRetention,
+            Duration screenshotRetention,
+            Clock clock
+    ) {
+        this.jobRepository = jobRepository;
+        this.writer = writer;
+        this.sessionRetention = sessionRetention;
+        this.screenshotRetention = screenshotRetention;
+        this.clock = clock;
+    }
+
+    // members lose the project at once, its data goes in the background;
+    // a second request for the same project returns the job already running
+    @Transactional
+    public PurgeJob requestProjectDeletion(String projectId) {
+        writer.removeMembers(projectId);
+        return jobRepository.findFirstByKindAndProjectIdAndFinishedAtIsNull(PurgeJob.Kind.PROJECT, projectId)
+                .orElseGet(() -> {
+                    PurgeJob job = newJob(PurgeJob.Kind.PROJECT, PurgeJob.Phase.REPORTS);
+                    job.setProjectId(projectId);
+                    return jobRepository.save(job);
+                });
+    }
+
+    @Scheduled(cron = "${app.purge.retention-cron:0 45 2 * * *}", zone = "UTC")
+    @Transactional
+    public void scheduleRetention() {
+        boolean sessions = !sessionRetention.isZero();
+        boolean screenshots = !screenshotRetention.isZero();
+        if (!sessions && !screenshots || jobRepository.existsByKindAndFinishedAtIsNull(PurgeJob.Kind.RETENTION)) {
+            return;
+        }
+        Instant now = clock.instant();
+        PurgeJob job = newJob(PurgeJob.Kind.RETENTION, sessions ? PurgeJob.Phase.SESSIONS : PurgeJob.Phase.SCREENSHOTS);
+        if (sessions) {
+            job.setSessionCutoff(now.minus(sessionRetention));
+        }
+        if (screenshots) {
+            job.setScreenshotCutoff(now.minus(screenshotRetention));
+        }
+        jobRepository.save(job);
+        log.info("Scheduled retention purge: sessions before {}, screenshots before {}",
+                job.getSessionCutoff(), job.getScreenshotCutoff());
+    }
+
+    public PurgeJob getJob(Long jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Purge job not found with id:" + jobId));
+    }
+
+    public List<PurgeJob> getRecentJobs(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BusinessValidationException("INVALID_ARGUMENT", "limit must be between 1 and " + MAX_LIMIT);
+        }
+        return jobRepository.findAllByOrderByIdDesc(Limit.of(limit));
+    }
+
+    private PurgeJob newJob(PurgeJob.Kind kind, PurgeJob.Phase phase) {
+        PurgeJob job = new PurgeJob();
+        job.setKind(kind);
+        job.setPhase(phase);
+        job.setCreatedAt(clock.instant());
+        return job;
+    }
+}
@@ -0,0 +1,115 @@
+package uni.bugtracker.backend.service.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import uni.bugtracker.backend.config.RateLimitProperties;
+import uni.bugtracker.backend.exception.TooManyRequestsException;
+
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token buckets for the unauthenticated ingestion endpoints, one per project and one per
+ * session, so a single misbehaving site cannot take the connection pool from the others.
+ * The checks run in the controllers before the write is admitted; events name only their
+ * session, their project comes from SessionService's cached lookup.
+ * Buckets live in a bounded cache: an evicted or expired bucket starts full again, which
+ * only ever lets an idle key through. The limits are per node.
+ */
+@Component
+public class IngestionRateLimiter implements MeterBinder {
+
+    private final Cache<String, TokenBucket> projectBuckets;
+    private final Cache<Long, TokenBucket> sessionBuckets;
+    private final Rate projectRate;
+    private final Rate sessionRate;
+    private final Map<String, Rate> projectRates = new HashMap<>();
+    private final Clock clock;
+
+    private final LongAdder projectRejected = new LongAdder();
+    private final LongAdder sessionRejected = new LongAdder();
+
+    @Autowired
+    public IngestionRateLimiter(RateLimitProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    IngestionRateLimiter(RateLimitProperties properties, Clock clock) {
+        this.projectBuckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+        this.sessionBuckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+        this.projectRate = Rate.of(properties.getProject());
+        this.sessionRate = Rate.of(properties.getSession());
+        properties.getProjects().forEach((projectId, limit) -> projectRates.put(projectId, Rate.of(limit)));
+        this.clock = clock;
+    }
+
+    public void checkProject(String projectId) {
+        if (projectId == null) {
+            return;
+        }
+        Rate rate = projectRates.getOrDefault(projectId, projectRate);
+        long wait = projectBuckets.get(projectId, id -> new TokenBucket())
+                .tryTake(nowMicros(), rate.interval, rate.burst);
+        if (wait > 0) {
+            projectRejected.increment();
+            throw new TooManyRequestsException("Too many requests for project " + projectId, retryAfterSeconds(wait));
+        }
+    }
+
+    public void checkSession(Long sessionId) {
+        if (sessionId == null) {
+            return;
+        }
+        long wait = sessionBuckets.get(sessionId, id -> new TokenBucket())
+                .tryTake(nowMicros(), sessionRate.interval, sessionRate.burst);
+        if (wait > 0) {
+            sessionRejected.increment();
+            throw new TooManyRequestsException("Too many requests for session " + sessionId, retryAfterSeconds(wait));
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("ingestion.rate.limited", projectRejected, LongAdder::sum)
+                .tag("scope", "project")
+                .register(registry);
+        FunctionCounter.builder("ingestion.rate.limited", sessionRejected, LongAdder::sum)
+                .tag("scope", "session")
+                .register(registry);
+        Gauge.builder("ingestion.rate.buckets", this,
+                        limiter -> limiter.projectBuckets.estimatedSize() + limiter.sessionBuckets.estimatedSize())
+                .register(registry);
+    }
+
+    private long nowMicros() {
+        return clock.millis() * 1000;
+    }
+
+    // whole seconds, rounded up: a client that waits that long finds a token
+    private static long retryAfterSeconds(long waitMicros) {
+        return Math.max(1, (waitMicros + 999_999) / 1_000_000);
+    }
+
+    private record Rate(long interval, int burst) {
+        static Rate of(RateLimitProperties.Limit limit) {
+            if (limit.getRate() <= 0 || limit.getBurst() < 1) {
+                throw new IllegalArgumentException("rate limit needs a positive rate and a burst of at least 1");
+            }
+            return new Rate(Math.max(1, Math.round(1_000_000 / limit.getRate())), limit.getBurst());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package uni.bugtracker.backend.service.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket kept as the single time at which it would be full again (the generic cell
+ * rate algorithm): taking a token moves that time one interval forward, and the bucket is
+ * empty when it lies more than {@code burst} intervals ahead. One compare-and-set per
+ * request, no lock and no refill task.
+ */
+final class TokenBucket {
+
+    // micros; 0 for a new bucket, which starts full
+    private final AtomicLong fullAt = new AtomicLong();
+
+    // 0 when the token was taken, otherwise the micros until the next one
+    long tryTake(long nowMicros, long intervalMicros, int burst) {
+        long window = intervalMicros * burst;
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowMicros) + intervalMicros;
+            long ahead = next - nowMicros;
+            if (ahead > window) {
+                return ahead - window;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package uni.bugtracker.backend.service.sampling;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uni.bugtracker.backend.dto.sampling.SamplingPolicyResponse;
+import uni.bugtracker.backend.model.EventType;
+import uni.bugtracker.backend.repository.EventRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Applies a project's sampling policy to incoming events, the server side of what the widget
+ * does before sending. Errors are always kept. Other events are kept when they lie within the
+ * policy's window around an error of their session, otherwise while the session is under its
+ * cap and the event hashes below the rate of its type (see {@link SamplingPolicyResponse}).
+ * The widget holds back events from before an error and sends them after it, so the error is
+ * stored when they arrive, though possibly through another node.
+ * The recent error timestamps and the stored count of a session are read from the database
+ * the first time this node sees the session and kept in a bounded cache from then on. A kept event
+ * counts toward the cap while its transaction is open and stays counted only if it commits. Before
+ * an event is dropped under a policy with an error window, the error timestamps are read again,
+ * at most once per {@code error-refresh} and session. Projects that keep everything skip all of it.
+ */
+@Component
+public class EventSampler implements MeterBinder {
+
+    // latest error timestamps remembered per session
+    static final int MAX_ERRORS = 32;
+
+    private final SamplingPolicyService policyService;
+    private final EventRepository eventRepository;
+    private final long errorRefreshMs;
+    private final Clock clock;
+    private final Cache<Long, SessionState> sessions;
+
+    private final LongAdder droppedByRate = new LongAdder();
+    private final LongAdder droppedByCap = new LongAdder();
+    private final LongAdder keptNearError = new LongAdder();
+
+    @Autowired
+    public EventSampler(
+            SamplingPolicyService policyService,
+            EventRepository eventRepository,
+            @Value("${app.sampling.max-sessions:100000}") long maxSessions,
+            @Value("${app.sampling.idle-timeout:30m}") Duration idleTimeout,
+            @Value("${app.sampling.error-refresh:1s}") Duration errorRefresh
+    ) {
+        this(policyService, eventRepository, maxSessions, idleTimeout, errorRefresh, Clock.systemUTC());
+    }
+
+    EventSampler(
+            SamplingPolicyService policyService,
+            EventRepository eventRepository,
+            long maxSessions,
+            Duration idleTimeout,
+            Duration errorRefresh,
+            Clock clock
+    ) {
+        this.policyService = policyService;
+        this.eventRepository = eventRepository;
+        this.errorRefreshMs = errorRefresh.toMillis();
+        this.clock = clock;
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(maxSessions)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    // true when the event is not to be stored; a kept event counts toward the session's cap unless rolled back
+    public boolean sampleOut(String projectId, Long sessionId, EventType type, Instant timestamp) {
+        SamplingPolicyResponse policy = policyService.getPolicy(projectId);
+        if (policy.keepsAll()) {
+            return false;
+        }
+        SessionState state = sessions.get(sessionId, this::load);
+        long millis = timestamp != null ? timestamp.toEpochMilli() : 0;
+        if (type == EventType.ERROR) {
+            state.errorAt(millis);
+            return false;
+        }
+        LongAdder dropped = dropReason(state, sessionId, type, millis, policy);
+        if (dropped != null && (policy.getKeepBeforeErrorMs() > 0 || policy.getKeepAfterErrorMs() > 0)
+                && state.claimErrorRead(clock.millis(), errorRefreshMs)) {
+            // the error the event was held back for may have been stored through another node
+            state.addErrors(eventRepository.findLatestErrorTimestamps(sessionId, Limit.of(MAX_ERRORS)));
+            dropped = dropReason(state, sessionId, type, millis, policy);
+        }
+        if (dropped != null) {
+            dropped.increment();
+            return true;
+        }
+        whenCompleted(state);
+        return false;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("event.sampling.dropped", droppedByRate, LongAdder::sum)
+                .tag("reason", "rate")
+                .register(registry);
+        FunctionCounter.builder("event.sampling.dropped", droppedByCap, LongAdder::sum)
+                .tag("reason", "cap")
+                .register(registry);
+        FunctionCounter.builder("event.sampling.kept.near.error", keptNearError, LongAdder::sum)
+                .register(registry);
+        Gauge.builder("event.sampling.sessions", sessions, Cache::estimatedSize)
+                .register(registry);
+    }
+
+    // the widget computes the same hash, an event it sent is always sampled in here
+    static boolean sampledIn(Long sessionId, EventType type, long epochMillis, double rate) {
+        if (rate >= 1) {
+            return true;
+        }
+        if (rate <= 0) {
+            return false;
+        }
+        long hash = fnv1a32(sessionId + ":" + type.name() + ":" + epochMillis);
+        return hash < rate * 0x1_0000_0000L;
+    }
+
+    static long fnv1a32(String key) {
+        int hash = 0x811c9dc5;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x01000193;
+        }
+        return hash & 0xffff_ffffL;
+    }
+
+    // the counter of the reason the event is dropped for, null when it is kept and now pending
+    private LongAdder dropReason(SessionState state, Long sessionId, EventType type, long millis,
+                                 SamplingPolicyResponse policy) {
+        synchronized (state) {
+            if (state.nearError(millis, policy.getKeepBeforeErrorMs(), policy.getKeepAfterErrorMs())) {
+                keptNearError.increment();
+            } else if (policy.getMaxEventsPerSession() > 0
+                    && state.stored + state.pending >= policy.getMaxEventsPerSession()) {
+                return droppedByCap;
+            } else if (!sampledIn(sessionId, type, millis, policy.rate(type))) {
+                return droppedByRate;
+            }
+            state.pending++;
+            return null;
+        }
+    }
+
+    private SessionState load(Long sessionId) {
+        SessionState state = new SessionState(eventRepository.countNonErrorEvents(sessionId), clock.millis());
+        state.addErrors(eventRepository.findLatestErrorTimestamps(sessionId, Limit.of(MAX_ERRORS)));
+        return state;
+    }
+
+    // a rolled back insert is not counted; without a transaction the event counts right away
+    private static void whenCompleted(SessionState state) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    state.completed(status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            state.completed(true);
+        }
+    }
+
+    private static final class SessionState {
+        private final long[] errors = new long[MAX_ERRORS];
+        private int errorCount;
+        private int nextError;
+        private long stored;
+        // kept by transactions still open
+        private long pending;
+        private long errorsReadAt;
+
+        SessionState(long stored, long errorsReadAt) {
+            this.stored = stored;
+            this.errorsReadAt = errorsReadAt;
+        }
+
+        synchronized void errorAt(long millis) {
+            errors[nextError] = millis;
+            nextError = (nextError + 1) % MAX_ERRORS;
+            errorCount = Math.min(errorCount + 1, MAX_ERRORS);
+        }
+
+        // the stored errors, latest first; those known already are skipped
+        synchronized void addErrors(List<Instant> latestFirst) {
+            for (int i = latestFirst.size() - 1; i >= 0; i--) {
+                long millis = latestFirst.get(i).toEpochMilli();
+                if (!knows(millis)) {
+                    errorAt(millis);
+                }
+            }
+        }
+
+        synchronized void completed(boolean committed) {
+            pending--;
+            if (committed) {
+                stored++;
+            }
+        }
+
+        // true for one caller once refreshMs passed since the errors were last read
+        synchronized boolean claimErrorRead(long now, long refreshMs) {
+            if (now - errorsReadAt < refreshMs) {
+                return false;
+            }
+            errorsReadAt = now;
+            return true;
+        }
+
+        private boolean knows(long millis) {
+            for (int i = 0; i < errorCount; i++) {
+                if (errors[i] == millis) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // the caller holds the lock
+        boolean nearError(long millis, long before, long after) {
+            if (before == 0 && after == 0) {
+                return false;
+            }
+            for (int i = 0; i < errorCount; i++) {
+                long error = errors[i];
+                if (millis >= error - before && millis <= error + after) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package uni.bugtracker.backend.service.sampling;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uni.bugtracker.backend.dto.sampling.SamplingPolicyRequest;
+import uni.bugtracker.backend.dto.sampling.SamplingPolicyResponse;
+import uni.bugtracker.backend.exception.ResourceNotFoundException;
+import uni.bugtracker.backend.model.SamplingPolicy;
+import uni.bugtracker.backend.repository.ProjectRepository;
+import uni.bugtracker.backend.repository.SamplingPolicyRepository;
+import uni.bugtracker.backend.utility.cluster.ClusterEventBus;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Sampling policies per project. Every stored event and every widget start reads one, so they
+ * are cached; a saved policy invalidates its entry on every node through {@link ClusterEventBus}.
+ */
+@Service
+public class SamplingPolicyService {
+
+    static final String CHANNEL = "bt_sampling_policy";
+
+    private final SamplingPolicyRepository repository;
+    private final ProjectRepository projectRepository;
+    private final ClusterEventBus eventBus;
+    private final Cache<String, SamplingPolicyResponse> policies;
+
+    public SamplingPolicyService(
+            SamplingPolicyRepository repository,
+            ProjectRepository projectRepository,
+            ClusterEventBus eventBus,
+            @Value("${app.sampling.policy-cache.max-size:10000}") long maxSize,
+            @Value("${app.sampling.policy-cache.ttl:10m}") Duration ttl
+    ) {
+        this.repository = repository;
+        this.projectRepository = projectRepository;
+        this.eventBus = eventBus;
+        this.policies = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        eventBus.subscribe(CHANNEL, this::onInvalidation);
+    }
+
+    // the endpoint is public, unknown projects get a 404 instead of an entry in the cache
+    public SamplingPolicyResponse getPolicy(String projectId) {
+        return policies.get(projectId, this::load);
+    }
+
+    @Transactional
+    public SamplingPolicyResponse updatePolicy(String projectId, SamplingPolicyRequest request) {
+        SamplingPolicy policy = repository.findById(projectId).orElseGet(() -> newPolicy(projectId));
+        policy.setActionRate(request.getActionRate());
+        policy.setPerformanceRate(request.getPerformanceRate());
+        policy.setNetworkRate(request.getNetworkRate());
+        policy.setCustomRate(request.getCustomRate());
+        policy.setMaxEventsPerSession(request.getMaxEventsPerSession());
+        policy.setKeepBeforeErrorMs(request.getKeepBeforeErrorMs());
+        policy.setKeepAfterErrorMs(request.getKeepAfterErrorMs());
+        policy.setUpdatedAt(Instant.now());
+        SamplingPolicy saved = repository.saveAndFlush(policy);
+        eventBus.publish(CHANNEL, projectId);
+        return SamplingPolicyResponse.of(saved);
+    }
+
+    void onInvalidation(String payload) {
+        if (ClusterEventBus.RESYNC.equals(payload)) {
+            policies.invalidateAll();
+        } else {
+            policies.invalidate(payload);
+        }
+    }
+
+    private SamplingPolicyResponse load(String projectId) {
+        return SamplingPolicyResponse.of(repository.findById(projectId).orElseGet(() -> newPolicy(projectId)));
+    }
+
+    private SamplingPolicy newPolicy(String projectId) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new ResourceNotFoundException("Project not found: " + projectId);
+        }
+        SamplingPolicy policy = new SamplingPolicy();
+        policy.setProjectId(projectId);
+        return policy;
+    }
+}
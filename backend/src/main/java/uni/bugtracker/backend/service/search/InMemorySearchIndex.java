@@ -0,0 +1,197 @@
+package uni.bugtracker.backend.service.search;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uni.bugtracker.backend.dto.search.SearchHit;
+import uni.bugtracker.backend.dto.search.SearchResultPage;
+import uni.bugtracker.backend.model.Event;
+import uni.bugtracker.backend.model.Report;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Predicate;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index kept in the JVM, used when the database has no full-text search (H2 in tests).
+ * Changes made inside a transaction are applied after it commits. The index starts empty,
+ * {@link SearchIndexBackfill} fills it from the database on startup; afterwards it only sees
+ * documents written by this node.
+ */
+public class InMemorySearchIndex implements SearchIndex {
+
+    private record DocKey(SearchHit.Kind kind, long id) {
+    }
+
+    // term -> score inside this document, summed over fields by field weight
+    private record Doc(DocKey key, String projectId, Long sessionId, String title, Instant timestamp,
+                       String[] texts, Map<String, Float> termScores) {
+    }
+
+    private final Map<String, Set<DocKey>> postings = new HashMap<>();
+    private final Map<DocKey, Doc> docs = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void indexReport(Report report) {
+        Doc doc = doc(new DocKey(SearchHit.Kind.REPORT, report.getId()),
+                report.getProject().getId(),
+                report.getSession() != null ? report.getSession().getId() : null,
+                report.getTitle(),
+                report.getReportedAt(),
+                new String[]{report.getTitle(), report.getComments()},
+                new float[]{SearchText.TITLE_WEIGHT, SearchText.BODY_WEIGHT});
+        afterCommit(() -> put(doc));
+    }
+
+    @Override
+    public void indexEvent(Event event, String projectId) {
+        Doc doc = doc(new DocKey(SearchHit.Kind.EVENT, event.getId()),
+                projectId,
+                event.getSession().getId(),
+                event.getName(),
+                event.getTimestamp(),
+                new String[]{event.getName(), event.getLog(), event.getStackTrace()},
+                new float[]{SearchText.TITLE_WEIGHT, SearchText.BODY_WEIGHT, SearchText.TRACE_WEIGHT});
+        afterCommit(() -> put(doc));
+    }
+
+    @Override
+    public void removeReport(Long reportId) {
+        afterCommit(() -> removeWhere(doc -> doc.key().equals(new DocKey(SearchHit.Kind.REPORT, reportId))));
+    }
+
+    @Override
+    public void removeEventsOfSession(Long sessionId) {
+        afterCommit(() -> removeWhere(doc ->
+                doc.key().kind() == SearchHit.Kind.EVENT && Objects.equals(doc.sessionId(), sessionId)));
+    }
+
+    @Override
+    public void removeProject(String projectId) {
+        afterCommit(() -> removeWhere(doc -> doc.projectId().equals(projectId)));
+    }
+
+    @Override
+    public SearchResultPage search(String projectId, String query, int page, int size) {
+        Set<String> terms = SearchText.terms(query);
+        List<Doc> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Set<DocKey> candidates = null;
+            for (String term : terms) {
+                Set<DocKey> withTerm = postings.getOrDefault(term, Set.of());
+                if (candidates == null) {
+                    candidates = new HashSet<>(withTerm);
+                } else {
+                    candidates.retainAll(withTerm);
+                }
+            }
+            if (candidates != null) {
+                for (DocKey key : candidates) {
+                    Doc doc = docs.get(key);
+                    if (doc.projectId().equals(projectId)) {
+                        matches.add(doc);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Comparator<Doc> byRank = Comparator.comparingDouble((Doc doc) -> rank(doc, terms)).reversed()
+                .thenComparing(Doc::timestamp, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(doc -> doc.key().id(), Comparator.reverseOrder());
+        List<SearchHit> hits = matches.stream()
+                .sorted(byRank)
+                .skip((long) page * size)
+                .limit(size + 1L)
+                .map(doc -> new SearchHit(doc.key().kind(), doc.key().id(), doc.sessionId(), doc.title(),
+                        doc.timestamp(), rank(doc, terms), SearchText.highlight(terms, doc.texts())))
+                .toList();
+        boolean hasNext = hits.size() > size;
+        return new SearchResultPage(hasNext ? hits.subList(0, size) : hits, page, size, hasNext);
+    }
+
+    @Override
+    public boolean startsEmpty() {
+        return true;
+    }
+
+    private static double rank(Doc doc, Set<String> terms) {
+        double rank = 0;
+        for (String term : terms) {
+            rank += doc.termScores().getOrDefault(term, 0f);
+        }
+        return rank;
+    }
+
+    private static Doc doc(DocKey key, String projectId, Long sessionId, String title, Instant timestamp,
+                           String[] texts, float[] weights) {
+        Map<String, Float> termScores = new HashMap<>();
+        for (int i = 0; i < texts.length; i++) {
+            float weight = weights[i];
+            for (String term : SearchText.terms(texts[i])) {
+                termScores.merge(term, weight, Float::sum);
+            }
+        }
+        return new Doc(key, projectId, sessionId, title, timestamp, texts, termScores);
+    }
+
+    private void put(Doc doc) {
+        lock.writeLock().lock();
+        try {
+            unlink(docs.put(doc.key(), doc));
+            for (String term : doc.termScores().keySet()) {
+                postings.computeIfAbsent(term, t -> new HashSet<>()).add(doc.key());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeWhere(Predicate<Doc> condition) {
+        lock.writeLock().lock();
+        try {
+            Iterator<Doc> it = docs.values().iterator();
+            while (it.hasNext()) {
+                Doc doc = it.next();
+                if (condition.test(doc)) {
+                    it.remove();
+                    unlink(doc);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unlink(Doc doc) {
+        if (doc == null) {
+            return;
+        }
+        for (String term : doc.termScores().keySet()) {
+            Set<DocKey> keys = postings.get(term);
+            if (keys != null) {
+                keys.remove(doc.key());
+                if (keys.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package uni.bugtracker.backend.service.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import uni.bugtracker.backend.dto.search.SearchHit;
+import uni.bugtracker.backend.dto.search.SearchResultPage;
+import uni.bugtracker.backend.model.Event;
+import uni.bugtracker.backend.model.Report;
+import uni.bugtracker.backend.repository.EventRepository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Search backed by tsvector columns with GIN indexes (see schema-postgresql.sql).
+ * report.search_vector is a generated column, so reports need no work here.
+ * Event logs and stack traces are stored compressed (large objects in older rows) and SQL
+ * cannot read them, so the event vector is written by {@link #indexEvent} right after the
+ * insert, in the same transaction. Events stored before the column existed are indexed once
+ * by {@link SearchIndexBackfill}.
+ * Rows are deleted together with their vectors, the remove methods have nothing to do.
+ */
+@RequiredArgsConstructor
+public class PostgresSearchIndex implements SearchIndex {
+    private final JdbcTemplate jdbcTemplate;
+    private final EventRepository eventRepository;
+
+    // ts_rank_cd's default weights {D, C, B, A} = {0.1, 0.2, 0.4, 1.0} match SearchText's weights
+    private static final String SEARCH_SQL = """
+            select kind, id, session_id, title, comments, at, rank
+            from (select 'REPORT' as kind, r.id, r.session_id, r.title, r.comments,
+                         r.reported_at as at, ts_rank_cd(r.search_vector, q) as rank
+                  from report r, plainto_tsquery('simple', ?) q
+                  where r.project_id = ? and r.search_vector @@ q
+                  union all
+                  select 'EVENT', e.id, e.session_id, e.name, null,
+                         e.timestamp, ts_rank_cd(e.search_vector, q)
+                  from event e
+                  join session s on s.id = e.session_id,
+                       plainto_tsquery('simple', ?) q
+                  where s.project_id = ? and e.search_vector @@ q) hits
+            order by rank desc, at desc nulls last, id desc
+            limit ? offset ?
+            """;
+
+    private static final String INDEX_EVENT_SQL = """
+            update event
+            set search_vector = setweight(to_tsvector('simple', coalesce(?, '')), 'A')
+                             || setweight(to_tsvector('simple', coalesce(?, '')), 'B')
+                             || setweight(to_tsvector('simple', coalesce(?, '')), 'C')
+            where id = ?
+            """;
+
+    private record Row(SearchHit.Kind kind, long id, Long sessionId, String title, String comments,
+                       Instant at, double rank) {
+    }
+
+    @Override
+    public void indexReport(Report report) {
+        // generated column
+    }
+
+    @Override
+    public void indexEvent(Event event, String projectId) {
+        jdbcTemplate.update(INDEX_EVENT_SQL,
+                event.getName(),
+                SearchText.head(event.getLog()),
+                SearchText.head(event.getStackTrace()),
+                event.getId());
+    }
+
+    @Override
+    public void removeReport(Long reportId) {
+        // the vector is a column of the deleted row
+    }
+
+    @Override
+    public void removeEventsOfSession(Long sessionId) {
+        // the vector is a column of the deleted rows
+    }
+
+    @Override
+    public void removeProject(String projectId) {
+        // the vector is a column of the deleted rows
+    }
+
+    @Override
+    public SearchResultPage search(String projectId, String query, int page, int size) {
+        List<Row> rows = jdbcTemplate.query(SEARCH_SQL,
+                (rs, n) -> {
+                    Timestamp at = rs.getTimestamp("at");
+                    long sessionId = rs.getLong("session_id");
+                    return new Row(SearchHit.Kind.valueOf(rs.getString("kind")),
+                            rs.getLong("id"),
+                            rs.wasNull() ? null : sessionId,
+                            rs.getString("title"),
+                            rs.getString("comments"),
+                            at != null ? at.toInstant() : null,
+                            rs.getDouble("rank"));
+                },
+                query, projectId, query, projectId, size + 1, (long) page * size);
+
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
+
+        // the large objects are only read for the events on this page
+        List<Long> eventIds = rows.stream()
+                .filter(row -> row.kind() == SearchHit.Kind.EVENT)
+                .map(Row::id)
+                .toList();
+        Map<Long, Event> events = eventIds.isEmpty() ? Map.of() : eventRepository.findAllById(eventIds).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+
+        Set<String> terms = SearchText.terms(query);
+        List<SearchHit> hits = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            String highlight;
+            if (row.kind() == SearchHit.Kind.REPORT) {
+                highlight = SearchText.highlight(terms, row.title(), row.comments());
+            } else {
+                Event event = events.get(row.id());
+                highlight = event == null ? null
+                        : SearchText.highlight(terms, event.getName(), event.getLog(), event.getStackTrace());
+            }
+            hits.add(new SearchHit(row.kind(), row.id(), row.sessionId(), row.title(), row.at(), row.rank(), highlight));
+        }
+        return new SearchResultPage(hits, page, size, hasNext);
+    }
+
+    @Override
+    public boolean startsEmpty() {
+        return false;
+    }
+}
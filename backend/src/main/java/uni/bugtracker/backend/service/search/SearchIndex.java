@@ -0,0 +1,32 @@
+package uni.bugtracker.backend.service.search;
+
+import uni.bugtracker.backend.dto.search.SearchResultPage;
+import uni.bugtracker.backend.model.Event;
+import uni.bugtracker.backend.model.Report;
+
+/**
+ * Full-text index over report titles and comments and event names, logs and stack traces.
+ * Queries are plain term lists: every term must occur in a document (AND), ranked by
+ * weighted term frequency with titles/names above comments/logs above stack traces.
+ * The implementation is picked by {@link uni.bugtracker.backend.config.SearchConfig}.
+ */
+public interface SearchIndex {
+
+    // called after the report was inserted or its title/comments changed
+    void indexReport(Report report);
+
+    void indexEvent(Event event, String projectId);
+
+    void removeReport(Long reportId);
+
+    void removeEventsOfSession(Long sessionId);
+
+    void removeProject(String projectId);
+
+    // page is zero-based; size is already validated by the caller
+    SearchResultPage search(String projectId, String query, int page, int size);
+
+    // true when nothing survives a restart and every stored document is indexed again on startup,
+    // false when only events stored before the index existed still need it (see SearchIndexBackfill)
+    boolean startsEmpty();
+}
@@ -0,0 +1,103 @@
+package uni.bugtracker.backend.service.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uni.bugtracker.backend.model.Event;
+import uni.bugtracker.backend.repository.EventRepository;
+import uni.bugtracker.backend.repository.ReportRepository;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * Indexes the documents stored before the {@link SearchIndex} could see them, once on startup
+ * and in chunks of one transaction each. An index that starts empty gets every report and event;
+ * otherwise only the events without a search vector are left, which is a one-time job after the
+ * column was added and finds nothing on later starts. A chunk that fails is skipped and logged.
+ */
+@Slf4j
+@Component
+public class SearchIndexBackfill {
+
+    private final SearchIndex searchIndex;
+    private final ReportRepository reportRepository;
+    private final EventRepository eventRepository;
+    private final TransactionTemplate transaction;
+    private final Executor executor;
+    private final int chunkSize;
+
+    public SearchIndexBackfill(
+            SearchIndex searchIndex,
+            ReportRepository reportRepository,
+            EventRepository eventRepository,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("searchExecutor") Executor executor,
+            @Value("${app.search.backfill-chunk-size:500}") int chunkSize
+    ) {
+        this.searchIndex = searchIndex;
+        this.reportRepository = reportRepository;
+        this.eventRepository = eventRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.execute(this::backfill);
+    }
+
+    void backfill() {
+        long started = System.nanoTime();
+        long reports = 0;
+        if (searchIndex.startsEmpty()) {
+            reports = inChunks(afterId -> reportRepository.findIdsAfter(afterId, Limit.of(chunkSize)),
+                    ids -> reportRepository.findAllById(ids).forEach(searchIndex::indexReport));
+        }
+        long events = inChunks(afterId -> searchIndex.startsEmpty()
+                        ? eventRepository.findIdsAfter(afterId, Limit.of(chunkSize))
+                        : eventRepository.findIdsWithoutSearchVector(afterId, chunkSize),
+                ids -> {
+                    for (Event event : eventRepository.findAllWithSessionByIdIn(ids)) {
+                        searchIndex.indexEvent(event, event.getSession().getProject().getId());
+                    }
+                });
+        if (reports + events > 0) {
+            log.info("Indexed {} reports and {} events for search in {} ms", reports, events,
+                    (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    // keyset over the ids, so a skipped chunk is not read again
+    private long inChunks(LongFunction<List<Long>> nextIds, Consumer<List<Long>> indexer) {
+        long afterId = 0;
+        long indexed = 0;
+        List<Long> ids;
+        do {
+            ids = nextIds.apply(afterId);
+            if (ids.isEmpty()) {
+                break;
+            }
+            List<Long> chunk = ids;
+            try {
+                transaction.executeWithoutResult(status -> indexer.accept(chunk));
+                indexed += chunk.size();
+            } catch (DataAccessException e) {
+                log.warn("Could not index {} documents after id {} for search, they are indexed on the next start",
+                        chunk.size(), afterId, e);
+            }
+            afterId = chunk.get(chunk.size() - 1);
+        } while (ids.size() == chunkSize);
+        return indexed;
+    }
+}
@@ -0,0 +1,88 @@
+package uni.bugtracker.backend.service.search;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tokenizing and highlighting shared by the search implementations. Tokens are runs of
+ * letters and digits, lower-cased, close to what PostgreSQL's 'simple' configuration produces.
+ */
+public final class SearchText {
+    public static final float TITLE_WEIGHT = 1.0f;
+    public static final float BODY_WEIGHT = 0.4f;
+    public static final float TRACE_WEIGHT = 0.2f;
+
+    // only the head of a multi-megabyte log is indexed, tsvector values are limited to 1 MB
+    public static final int MAX_INDEXED_CHARS = 100_000;
+
+    private static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final int SNIPPET_CHARS = 160;
+
+    private SearchText() {
+    }
+
+    public static Set<String> terms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text != null) {
+            Matcher matcher = TOKEN.matcher(head(text));
+            while (matcher.find()) {
+                terms.add(matcher.group().toLowerCase(Locale.ROOT));
+            }
+        }
+        return terms;
+    }
+
+    public static String head(String text) {
+        return text == null || text.length() <= MAX_INDEXED_CHARS ? text : text.substring(0, MAX_INDEXED_CHARS);
+    }
+
+    /**
+     * Excerpt of the first text that contains one of the terms, cut around the first match.
+     * Returns null when none of the texts matches.
+     */
+    public static String highlight(Set<String> terms, String... texts) {
+        for (String text : texts) {
+            if (text == null || text.isEmpty()) {
+                continue;
+            }
+            String searchable = head(text);
+            Matcher matcher = TOKEN.matcher(searchable);
+            while (matcher.find()) {
+                if (terms.contains(matcher.group().toLowerCase(Locale.ROOT))) {
+                    int start = Math.max(0, matcher.start() - SNIPPET_CHARS / 3);
+                    int end = Math.min(searchable.length(), start + SNIPPET_CHARS);
+                    return mark(searchable.substring(start, end), terms, start > 0, end < text.length());
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String mark(String snippet, Set<String> terms, boolean cutStart, boolean cutEnd) {
+        StringBuilder out = new StringBuilder();
+        if (cutStart) {
+            out.append("…");
+        }
+        Matcher matcher = TOKEN.matcher(snippet);
+        int last = 0;
+        while (matcher.find()) {
+            if (terms.contains(matcher.group().toLowerCase(Locale.ROOT))) {
+                out.append(HtmlUtils.htmlEscape(snippet.substring(last, matcher.start())))
+                        .append("<mark>")
+                        .append(HtmlUtils.htmlEscape(matcher.group()))
+                        .append("</mark>");
+                last = matcher.end();
+            }
+        }
+        out.append(HtmlUtils.htmlEscape(snippet.substring(last)));
+        if (cutEnd) {
+            out.append("…");
+        }
+        return out.toString();
+    }
+}
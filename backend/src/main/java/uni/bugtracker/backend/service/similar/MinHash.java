@@ -0,0 +1,150 @@
+package uni.bugtracker.backend.service.similar;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * MinHash signatures over word 3-shingles. Words are lower-cased and every word with a digit
+ * becomes one placeholder, so texts that differ only in ids, counts or addresses get the same
+ * shingles. The fraction of equal positions of two signatures estimates the Jaccard similarity
+ * of their shingle sets. Signatures are persisted: the seeds and the mixing must not change.
+ */
+public final class MinHash {
+
+    public static final int HASHES = 64;
+    // 16 bands of 4 rows: pairs above ~0.5 similarity share a band with high probability
+    public static final int BANDS = 16;
+    static final int ROWS = HASHES / BANDS;
+    private static final int SHINGLE = 3;
+    private static final long DIGIT_WORD = 0x5bd1e9955bd1e995L;
+    private static final long[] SEEDS = new long[HASHES];
+
+    static {
+        for (int i = 0; i < HASHES; i++) {
+            SEEDS[i] = mix(0x9E3779B97F4A7C15L * (i + 1));
+        }
+    }
+
+    private MinHash() {
+    }
+
+    // null when the text has no words
+    public static int[] signature(CharSequence text) {
+        long[] shingles = shingles(text);
+        if (shingles.length == 0) {
+            return null;
+        }
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long shingle : shingles) {
+            for (int i = 0; i < HASHES; i++) {
+                int value = (int) (mix(shingle ^ SEEDS[i]) >>> 32);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / HASHES;
+    }
+
+    static double similarity(int[] a, int[] flat, int offset) {
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[i] == flat[offset + i]) {
+                equal++;
+            }
+        }
+        return (double) equal / HASHES;
+    }
+
+    static int bandHash(int[] signature, int band) {
+        int from = band * ROWS;
+        long hash = band;
+        for (int i = from; i < from + ROWS; i++) {
+            hash = mix(hash * 31 + signature[i]);
+        }
+        return (int) hash;
+    }
+
+    public static byte[] toBytes(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(HASHES * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    public static int[] fromBytes(byte[] bytes) {
+        int[] signature = new int[HASHES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    // distinct hashes of consecutive word triples, a shorter text is one shingle
+    private static long[] shingles(CharSequence text) {
+        long[] words = words(text);
+        if (words.length == 0) {
+            return words;
+        }
+        int count = Math.max(1, words.length - SHINGLE + 1);
+        long[] shingles = new long[count];
+        for (int i = 0; i < count; i++) {
+            long hash = 0;
+            for (int j = i; j < Math.min(words.length, i + SHINGLE); j++) {
+                hash = mix(hash ^ words[j]);
+            }
+            shingles[i] = hash;
+        }
+        Arrays.sort(shingles);
+        int distinct = 0;
+        for (int i = 0; i < shingles.length; i++) {
+            if (i == 0 || shingles[i] != shingles[i - 1]) {
+                shingles[distinct++] = shingles[i];
+            }
+        }
+        return Arrays.copyOf(shingles, distinct);
+    }
+
+    // FNV-1a of each lower-cased word of letters and digits
+    private static long[] words(CharSequence text) {
+        long[] words = new long[16];
+        int count = 0;
+        long hash = 0;
+        boolean inWord = false;
+        boolean digit = false;
+        for (int i = 0, length = text.length(); i <= length; i++) {
+            char c = i < length ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                if (!inWord) {
+                    hash = 0xcbf29ce484222325L;
+                    inWord = true;
+                    digit = false;
+                }
+                digit |= Character.isDigit(c);
+                hash = (hash ^ Character.toLowerCase(c)) * 0x100000001b3L;
+            } else if (inWord) {
+                if (count == words.length) {
+                    words = Arrays.copyOf(words, count * 2);
+                }
+                words[count++] = digit ? DIGIT_WORD : hash;
+                inWord = false;
+            }
+        }
+        return Arrays.copyOf(words, count);
+    }
+
+    // splitmix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,307 @@
+package uni.bugtracker.backend.service.similar;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uni.bugtracker.backend.dto.report.SimilarReportResponse;
+import uni.bugtracker.backend.exception.BusinessValidationException;
+import uni.bugtracker.backend.model.Event;
+import uni.bugtracker.backend.model.Report;
+import uni.bugtracker.backend.model.ReportSignature;
+import uni.bugtracker.backend.repository.EventRepository;
+import uni.bugtracker.backend.repository.ReportRepository;
+import uni.bugtracker.backend.repository.ReportSignatureRepository;
+import uni.bugtracker.backend.repository.projection.ReportListRow;
+import uni.bugtracker.backend.utility.ai_criticality.ReportCreatedEvent;
+import uni.bugtracker.backend.utility.cluster.ClusterEventBus;
+
+import java.time.Clock;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Near-duplicate reports by the MinHash signatures of their sessions' stack traces and logs,
+ * one {@link SimilarityIndex} per project. A report's signature is computed once, after the
+ * report commits, and stored in {@link ReportSignature}: on startup the index is rebuilt from
+ * that table and reports without a row are indexed in chunks. New signatures reach the other
+ * nodes through {@link ClusterEventBus} with the signature in the payload, a lost message
+ * rebuilds the whole index. Deleted reports stay in memory until the next rebuild and are
+ * dropped from the results, which are joined with the report table anyway.
+ */
+@Slf4j
+@Component
+public class SimilarReportIndex implements MeterBinder {
+
+    static final String CHANNEL = "bt_report_signature";
+
+    private final ReportSignatureRepository signatureRepository;
+    private final ReportRepository reportRepository;
+    private final EventRepository eventRepository;
+    private final ClusterEventBus eventBus;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final Executor executor;
+    private final double minSimilarity;
+    private final int maxTextLength;
+    private final int backfillChunkSize;
+    private final Clock clock;
+
+    private volatile Map<String, SimilarityIndex> projects = new ConcurrentHashMap<>();
+    // the indexes a running rebuild fills, announced signatures go to both
+    private volatile Map<String, SimilarityIndex> rebuilding;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final LongAdder indexed = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+
+    @Autowired
+    public SimilarReportIndex(
+            ReportSignatureRepository signatureRepository,
+            ReportRepository reportRepository,
+            EventRepository eventRepository,
+            ClusterEventBus eventBus,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("similarityExecutor") Executor executor,
+            @Value("${app.similar-reports.min-similarity:0.5}") double minSimilarity,
+            @Value("${app.similar-reports.max-text-length:65536}") int maxTextLength,
+            @Value("${app.similar-reports.backfill-chunk-size:500}") int backfillChunkSize
+    ) {
+        this(signatureRepository, reportRepository, eventRepository, eventBus, jdbcTemplate, transactionManager,
+                executor, minSimilarity, maxTextLength, backfillChunkSize, Clock.systemUTC());
+    }
+
+    SimilarReportIndex(
+            ReportSignatureRepository signatureRepository,
+            ReportRepository reportRepository,
+            EventRepository eventRepository,
+            ClusterEventBus eventBus,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            Executor executor,
+            double minSimilarity,
+            int maxTextLength,
+            int backfillChunkSize,
+            Clock clock
+    ) {
+        this.signatureRepository = signatureRepository;
+        this.reportRepository = reportRepository;
+        this.eventRepository = eventRepository;
+        this.eventBus = eventBus;
+        // streams the signatures on startup instead of reading the table into memory at once
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(1000);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.minSimilarity = minSimilarity;
+        this.maxTextLength = maxTextLength;
+        this.backfillChunkSize = backfillChunkSize;
+        this.clock = clock;
+        eventBus.subscribe(CHANNEL, this::onMessage);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.execute(() -> {
+            rebuild();
+            backfill();
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReportCreated(ReportCreatedEvent event) {
+        executor.execute(() -> {
+            try {
+                indexReport(event.reportId());
+            } catch (DataAccessException e) {
+                log.warn("Could not index report {} for similar reports, it is indexed on the next start",
+                        event.reportId(), e);
+            }
+        });
+    }
+
+    public List<SimilarReportResponse> findSimilar(Long reportId, int limit) {
+        if (limit < 1 || limit > 50) {
+            throw new BusinessValidationException("INVALID_ARGUMENT", "limit must be between 1 and 50");
+        }
+        lookups.increment();
+        ReportSignature row = signatureRepository.findById(reportId).orElse(null);
+        SimilarityIndex index = row != null ? projects.get(row.getProjectId()) : null;
+        if (index == null || row.getSignature() == null) {
+            return List.of();
+        }
+        // room for matches whose reports were deleted since they were indexed
+        List<SimilarityIndex.Match> matches =
+                index.query(MinHash.fromBytes(row.getSignature()), reportId, minSimilarity, limit * 2);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ReportListRow> reports = reportRepository
+                .findListRowsByIdIn(matches.stream().map(SimilarityIndex.Match::reportId).toList()).stream()
+                .collect(Collectors.toMap(ReportListRow::id, Function.identity()));
+        return matches.stream()
+                .filter(match -> reports.containsKey(match.reportId()))
+                .limit(limit)
+                .map(match -> SimilarReportResponse.of(reports.get(match.reportId()), match.similarity()))
+                .toList();
+    }
+
+    // in the transaction that deletes the report
+    public void removeReport(Long reportId) {
+        signatureRepository.deleteAllByIdInBatch(List.of(reportId));
+    }
+
+    // the signature rows go with the reports, the purge deletes them chunk by chunk
+    public void removeProject(String projectId) {
+        afterCommit(() -> projects.remove(projectId));
+    }
+
+    public int size() {
+        return projects.values().stream().mapToInt(SimilarityIndex::size).sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("similar.reports.index.size", this, SimilarReportIndex::size)
+                .register(registry);
+        FunctionCounter.builder("similar.reports.indexed", indexed, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("similar.reports.lookups", lookups, LongAdder::sum)
+                .register(registry);
+    }
+
+    // computes, stores and announces the signature; a report indexed already is left alone
+    void indexReport(Long reportId) {
+        transaction.executeWithoutResult(status -> {
+            Report report = reportRepository.findById(reportId).orElse(null);
+            if (report == null || signatureRepository.existsById(reportId)) {
+                return;
+            }
+            String projectId = report.getProject().getId();
+            int[] signature = report.getSession() != null
+                    ? MinHash.signature(text(eventRepository.findAllBySessionId(report.getSession().getId())))
+                    : null;
+            byte[] bytes = signature != null ? MinHash.toBytes(signature) : null;
+            signatureRepository.save(new ReportSignature(reportId, projectId, bytes, clock.instant()));
+            indexed.increment();
+            if (bytes != null) {
+                eventBus.publish(CHANNEL,
+                        reportId + " " + projectId + " " + Base64.getEncoder().encodeToString(bytes));
+            }
+        });
+    }
+
+    // reads every stored signature into fresh indexes, then replaces the current ones
+    void rebuild() {
+        Map<String, SimilarityIndex> rebuilt = new ConcurrentHashMap<>();
+        long started = System.nanoTime();
+        // a lock instead of synchronized, the virtual thread waits on jdbc without pinning its carrier
+        rebuildLock.lock();
+        rebuilding = rebuilt;
+        try {
+            transaction.executeWithoutResult(status -> jdbcTemplate.query(
+                    "select report_id, project_id, signature from report_signature where signature is not null",
+                    (RowCallbackHandler) rs -> add(rebuilt, rs.getString("project_id"), rs.getLong("report_id"),
+                            MinHash.fromBytes(rs.getBytes("signature")))));
+            projects = rebuilt;
+        } finally {
+            rebuilding = null;
+            rebuildLock.unlock();
+        }
+        log.info("Loaded {} report signatures of {} projects in {} ms", size(), rebuilt.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // reports committed before they could be indexed, e.g. by a node that stopped
+    void backfill() {
+        long afterId = 0;
+        List<Long> ids;
+        do {
+            ids = signatureRepository.findReportIdsWithoutSignature(afterId, Limit.of(backfillChunkSize));
+            for (Long id : ids) {
+                try {
+                    indexReport(id);
+                } catch (DataAccessException e) {
+                    log.warn("Could not index report {} for similar reports", id, e);
+                }
+                afterId = id;
+            }
+        } while (ids.size() == backfillChunkSize);
+    }
+
+    // "<reportId> <projectId> <base64 signature>", or a resync after lost messages
+    private void onMessage(String payload) {
+        if (ClusterEventBus.RESYNC.equals(payload)) {
+            executor.execute(this::rebuild);
+            return;
+        }
+        String[] parts = payload.split(" ", 3);
+        long reportId = Long.parseLong(parts[0]);
+        int[] signature = MinHash.fromBytes(Base64.getDecoder().decode(parts[2]));
+        Map<String, SimilarityIndex> pending = rebuilding;
+        if (pending != null) {
+            add(pending, parts[1], reportId, signature);
+        }
+        add(projects, parts[1], reportId, signature);
+    }
+
+    private static void add(Map<String, SimilarityIndex> indexes, String projectId, long reportId, int[] signature) {
+        indexes.computeIfAbsent(projectId, id -> new SimilarityIndex()).add(reportId, signature);
+    }
+
+    // stack traces first, they carry the most signal; logs fill up to the length limit
+    private String text(List<Event> events) {
+        StringBuilder text = new StringBuilder();
+        for (Event event : events) {
+            append(text, event.getStackTrace());
+        }
+        for (Event event : events) {
+            append(text, event.getLog());
+        }
+        return text.toString();
+    }
+
+    private void append(StringBuilder text, String part) {
+        if (part == null || part.isBlank() || text.length() >= maxTextLength) {
+            return;
+        }
+        text.append(part, 0, Math.min(part.length(), maxTextLength - text.length())).append('\n');
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,158 @@
+package uni.bugtracker.backend.service.similar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Locality-sensitive hashing over the MinHash signatures of one project. Signatures are kept
+ * in one flat array, each band maps the hash of its rows to a chain of slots, newest first.
+ * A lookup scores only the reports sharing at least one band with the query and walks at most
+ * {@link #MAX_BUCKET_WALK} slots per band, so a burst of one error cannot make lookups linear.
+ * Reports are only appended; callers drop deleted ones from the results.
+ */
+final class SimilarityIndex {
+
+    static final int MAX_BUCKET_WALK = 500;
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Band[] bands = new Band[MinHash.BANDS];
+    private long[] reportIds = new long[INITIAL_CAPACITY];
+    private int[] signatures = new int[INITIAL_CAPACITY * MinHash.HASHES];
+    private int size;
+
+    SimilarityIndex() {
+        for (int band = 0; band < bands.length; band++) {
+            bands[band] = new Band();
+        }
+    }
+
+    record Match(long reportId, double similarity) {
+    }
+
+    void add(long reportId, int[] signature) {
+        lock.writeLock().lock();
+        try {
+            if (size == reportIds.length) {
+                reportIds = Arrays.copyOf(reportIds, size * 2);
+                signatures = Arrays.copyOf(signatures, size * 2 * MinHash.HASHES);
+            }
+            int slot = size++;
+            reportIds[slot] = reportId;
+            System.arraycopy(signature, 0, signatures, slot * MinHash.HASHES, MinHash.HASHES);
+            for (int band = 0; band < bands.length; band++) {
+                bands[band].add(MinHash.bandHash(signature, band), slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // best matches first, ties to the newer report; the query report itself is left out
+    List<Match> query(int[] signature, long excludedReportId, double minSimilarity, int limit) {
+        int[] candidates = new int[MinHash.BANDS * MAX_BUCKET_WALK];
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            for (int band = 0; band < bands.length; band++) {
+                count = bands[band].collect(MinHash.bandHash(signature, band), candidates, count);
+            }
+            Arrays.sort(candidates, 0, count);
+            for (int i = 0; i < count; i++) {
+                int slot = candidates[i];
+                if (i > 0 && slot == candidates[i - 1] || reportIds[slot] == excludedReportId) {
+                    continue;
+                }
+                double similarity = MinHash.similarity(signature, signatures, slot * MinHash.HASHES);
+                if (similarity >= minSimilarity) {
+                    matches.add(new Match(reportIds[slot], similarity));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(Comparator.comparingDouble(Match::similarity).reversed()
+                .thenComparing(Comparator.comparingLong(Match::reportId).reversed()));
+        // a report can be added twice while the index loads, keep its first entry
+        List<Match> result = new ArrayList<>(Math.min(limit, matches.size()));
+        for (Match match : matches) {
+            if (result.size() == limit) {
+                break;
+            }
+            if (result.stream().noneMatch(taken -> taken.reportId() == match.reportId())) {
+                result.add(match);
+            }
+        }
+        return result;
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // open addressing from band hash to the newest slot, next[] links to older slots + 1
+    private static final class Band {
+        private int[] keys = new int[INITIAL_CAPACITY];
+        private int[] heads = new int[INITIAL_CAPACITY];
+        private int[] next = new int[INITIAL_CAPACITY];
+        private int used;
+
+        void add(int key, int slot) {
+            if (slot >= next.length) {
+                next = Arrays.copyOf(next, Math.max(slot + 1, next.length * 2));
+            }
+            if ((used + 1) * 4 > keys.length * 3) {
+                rehash();
+            }
+            int bucket = find(key);
+            if (heads[bucket] == 0) {
+                keys[bucket] = key;
+                used++;
+            }
+            next[slot] = heads[bucket];
+            heads[bucket] = slot + 1;
+        }
+
+        int collect(int key, int[] out, int count) {
+            int walked = 0;
+            for (int slot = heads[find(key)]; slot != 0 && walked < MAX_BUCKET_WALK; slot = next[slot - 1]) {
+                out[count++] = slot - 1;
+                walked++;
+            }
+            return count;
+        }
+
+        private int find(int key) {
+            int mask = keys.length - 1;
+            // band hashes are already mixed
+            int bucket = key & mask;
+            while (heads[bucket] != 0 && keys[bucket] != key) {
+                bucket = bucket + 1 & mask;
+            }
+            return bucket;
+        }
+
+        private void rehash() {
+            int[] oldKeys = keys;
+            int[] oldHeads = heads;
+            keys = new int[oldKeys.length * 2];
+            heads = new int[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldHeads[i] != 0) {
+                    int bucket = find(oldKeys[i]);
+                    keys[bucket] = oldKeys[i];
+                    heads[bucket] = oldHeads[i];
+                }
+            }
+        }
+    }
+}
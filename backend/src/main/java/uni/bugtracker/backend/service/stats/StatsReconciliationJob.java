@@ -0,0 +1,109 @@
+package uni.bugtracker.backend.service.stats;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import uni.bugtracker.backend.model.ProjectDailyStat;
+import uni.bugtracker.backend.repository.DailyStatWriter;
+import uni.bugtracker.backend.repository.EventRepository;
+import uni.bugtracker.backend.repository.ProjectDailyStatRepository;
+import uni.bugtracker.backend.repository.ReportRepository;
+import uni.bugtracker.backend.repository.SessionRepository;
+import uni.bugtracker.backend.repository.projection.ProjectTimestampRow;
+import uni.bugtracker.backend.repository.projection.ReportStatsRow;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Recounts the last days of the statistics rollup from the raw tables and writes the
+ * difference, repairing counters that drifted (e.g. rows changed by hand or a lost write).
+ * Raw rows are bucketed with the same keys the incremental path uses.
+ */
+@Slf4j
+@Service
+public class StatsReconciliationJob {
+    private final ReportRepository reportRepository;
+    private final SessionRepository sessionRepository;
+    private final EventRepository eventRepository;
+    private final ProjectDailyStatRepository statRepository;
+    private final DailyStatWriter writer;
+    private final int days;
+    private final Clock clock;
+
+    @Autowired
+    public StatsReconciliationJob(
+            ReportRepository reportRepository,
+            SessionRepository sessionRepository,
+            EventRepository eventRepository,
+            ProjectDailyStatRepository statRepository,
+            DailyStatWriter writer,
+            @Value("${app.stats.reconcile-days:7}") int days
+    ) {
+        this(reportRepository, sessionRepository, eventRepository, statRepository, writer, days, Clock.systemUTC());
+    }
+
+    StatsReconciliationJob(
+            ReportRepository reportRepository,
+            SessionRepository sessionRepository,
+            EventRepository eventRepository,
+            ProjectDailyStatRepository statRepository,
+            DailyStatWriter writer,
+            int days,
+            Clock clock
+    ) {
+        this.reportRepository = reportRepository;
+        this.sessionRepository = sessionRepository;
+        this.eventRepository = eventRepository;
+        this.statRepository = statRepository;
+        this.writer = writer;
+        this.days = days;
+        this.clock = clock;
+    }
+
+    // one snapshot for the raw rows and the counters: a report committed in between is not counted
+    // on one side only. A counter updated concurrently fails the run, the next one repairs it.
+    @Scheduled(cron = "${app.stats.reconcile-cron:0 30 3 * * *}", zone = "UTC")
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public void reconcile() {
+        if (!writer.tryLockReconciliation()) {
+            log.info("Statistics reconciliation is already running on another node");
+            return;
+        }
+        LocalDate fromDay = LocalDate.now(clock).minusDays(days - 1L);
+        Instant from = fromDay.atStartOfDay(ZoneOffset.UTC).toInstant();
+
+        Map<ProjectDailyStat.Key, Long> deltas = new HashMap<>();
+        try (Stream<ReportStatsRow> reports = reportRepository.streamStatsRowsReportedSince(from)) {
+            reports.forEach(row -> StatsRollup
+                    .reportKeys(row.projectId(), row.reportedAt(), row.status(), row.criticality(), row.tags())
+                    .forEach(key -> deltas.merge(key, 1L, Long::sum)));
+        }
+        sessionRepository.findProjectIdAndStartTimeSince(from).forEach(row ->
+                deltas.merge(StatsRollup.sessionKey(row.projectId(), row.timestamp()), 1L, Long::sum));
+        try (Stream<ProjectTimestampRow> errors = eventRepository.streamErrorTimestampsSince(from)) {
+            errors.forEach(row ->
+                    deltas.merge(StatsRollup.errorEventKey(row.projectId(), row.timestamp()), 1L, Long::sum));
+        }
+
+        // expected minus stored: zero for counters that are right, negative for stale ones
+        statRepository.findAllByStatDateGreaterThanEqual(fromDay).forEach(stat -> deltas.merge(
+                new ProjectDailyStat.Key(stat.getProjectId(), stat.getStatDate(), stat.getMetric(), stat.getDimension()),
+                -stat.getAmount(), Long::sum));
+
+        long corrected = deltas.values().stream().filter(delta -> delta != 0).count();
+        writer.apply(deltas);
+        if (corrected > 0) {
+            log.warn("Statistics reconciliation corrected {} counters since {}", corrected, fromDay);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package uni.bugtracker.backend.service.stats;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uni.bugtracker.backend.model.*;
+import uni.bugtracker.backend.repository.DailyStatWriter;
+import uni.bugtracker.backend.repository.ProjectDailyStatRepository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Keeps the {@link ProjectDailyStat} counters in step with reports, sessions and events.
+ * Changes of one transaction are summed up and written right before its commit, so the
+ * counter rows are locked only for the end of the transaction and a rollback writes nothing.
+ */
+@Component
+@RequiredArgsConstructor
+public class StatsRollup {
+    public static final String REPORTS = "reports";
+    public static final String SESSIONS = "sessions";
+    public static final String ERROR_EVENTS = "error_events";
+
+    public static final String TOTAL = "total";
+    public static final String STATUS = "status:";
+    public static final String LEVEL = "level:";
+    public static final String TAG = "tag:";
+
+    private final DailyStatWriter writer;
+    private final ProjectDailyStatRepository statRepository;
+
+    // the counters a report contributes to: total, its status, its level and each of its tags
+    public static List<ProjectDailyStat.Key> reportKeys(
+            String projectId, Instant reportedAt, ReportStatus status, CriticalityLevel level, Collection<Tag> tags) {
+        if (projectId == null || reportedAt == null) {
+            return List.of();
+        }
+        LocalDate day = day(reportedAt);
+        List<ProjectDailyStat.Key> keys = new ArrayList<>();
+        keys.add(new ProjectDailyStat.Key(projectId, day, REPORTS, TOTAL));
+        if (status != null) {
+            keys.add(new ProjectDailyStat.Key(projectId, day, REPORTS, STATUS + status.name()));
+        }
+        if (level != null) {
+            keys.add(new ProjectDailyStat.Key(projectId, day, REPORTS, LEVEL + level.name()));
+        }
+        if (tags != null) {
+            tags.forEach(tag -> keys.add(new ProjectDailyStat.Key(projectId, day, REPORTS, TAG + tag.name())));
+        }
+        return keys;
+    }
+
+    public static List<ProjectDailyStat.Key> reportKeys(Report report) {
+        return reportKeys(
+                report.getProject() != null ? report.getProject().getId() : null,
+                report.getReportedAt(), report.getStatus(), report.getCriticality(), report.getTags());
+    }
+
+    public static ProjectDailyStat.Key sessionKey(String projectId, Instant startTime) {
+        return new ProjectDailyStat.Key(projectId, day(startTime), SESSIONS, TOTAL);
+    }
+
+    public static ProjectDailyStat.Key errorEventKey(String projectId, Instant timestamp) {
+        return new ProjectDailyStat.Key(projectId, day(timestamp), ERROR_EVENTS, TOTAL);
+    }
+
+    public static LocalDate day(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    public void reportAdded(Report report) {
+        add(reportKeys(report), 1);
+    }
+
+    public void reportRemoved(Report report) {
+        add(reportKeys(report), -1);
+    }
+
+    // before: reportKeys(report) taken ahead of the change; counters both states share cancel out
+    public void reportChanged(List<ProjectDailyStat.Key> before, Report after) {
+        Map<ProjectDailyStat.Key, Long> deltas = new HashMap<>();
+        before.forEach(key -> deltas.merge(key, -1L, Long::sum));
+        reportKeys(after).forEach(key -> deltas.merge(key, 1L, Long::sum));
+        add(deltas);
+    }
+
+    public void sessionStarted(Session session) {
+        if (session.getStartTime() != null) {
+            add(List.of(sessionKey(session.getProject().getId(), session.getStartTime())), 1);
+        }
+    }
+
+    public void eventAdded(Event event, String projectId) {
+        if (event.getType() == EventType.ERROR && event.getTimestamp() != null) {
+            add(List.of(errorEventKey(projectId, event.getTimestamp())), 1);
+        }
+    }
+
+    public void removeProject(String projectId) {
+        statRepository.deleteByProjectId(projectId);
+    }
+
+    private void add(List<ProjectDailyStat.Key> keys, long delta) {
+        Map<ProjectDailyStat.Key, Long> deltas = new HashMap<>();
+        keys.forEach(key -> deltas.merge(key, delta, Long::sum));
+        add(deltas);
+    }
+
+    // one write outside a transaction, otherwise summed up until the commit
+    private void add(Map<ProjectDailyStat.Key, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Map<ProjectDailyStat.Key, Long> pending = pendingDeltas();
+            deltas.forEach((key, delta) -> pending.merge(key, delta, Long::sum));
+        } else {
+            writer.apply(deltas);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<ProjectDailyStat.Key, Long> pendingDeltas() {
+        Map<ProjectDailyStat.Key, Long> pending =
+                (Map<ProjectDailyStat.Key, Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        Map<ProjectDailyStat.Key, Long> created = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                writer.apply(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(StatsRollup.this);
+            }
+        });
+        return created;
+    }
+}
@@ -0,0 +1,117 @@
+package uni.bugtracker.backend.utility;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import uni.bugtracker.backend.dto.event.EventDetailsResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Set;
+
+/**
+ * Writes {@link EventDetailsResponse} JSON incrementally for the streaming event endpoints,
+ * in the same shape the regular message converter produces for a single event.
+ */
+public final class EventJsonWriter {
+    public static final Set<String> FIELDS = Set.of(
+            "eventId", "sessionId", "type", "name", "log", "stackTrace", "url", "element", "timestamp", "metadata");
+
+    private static final JsonFactory JSON = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private EventJsonWriter() {
+    }
+
+    // closing the generator flushes it but leaves the response stream open
+    public static JsonGenerator open(OutputStream out) throws IOException {
+        return JSON.createGenerator(out);
+    }
+
+    public static void write(JsonGenerator json, EventDetailsResponse event) throws IOException {
+        write(json, event, FIELDS);
+    }
+
+    // only the given subset of FIELDS is written
+    public static void write(JsonGenerator json, EventDetailsResponse event, Set<String> fields) throws IOException {
+        write(json, event,
+                event.getLog() != null ? new StringReader(event.getLog()) : null,
+                event.getStackTrace() != null ? new StringReader(event.getStackTrace()) : null,
+                fields);
+    }
+
+    // log and stackTrace are copied from the readers, event.getLog()/getStackTrace() are ignored
+    public static void write(JsonGenerator json, EventDetailsResponse event, Reader log, Reader stackTrace)
+            throws IOException {
+        write(json, event, log, stackTrace, FIELDS);
+    }
+
+    private static void write(JsonGenerator json, EventDetailsResponse event, Reader log, Reader stackTrace,
+                              Set<String> fields) throws IOException {
+        json.writeStartObject();
+        if (fields.contains("eventId")) {
+            writeNumber(json, "eventId", event.getEventId());
+        }
+        if (fields.contains("sessionId")) {
+            writeNumber(json, "sessionId", event.getSessionId());
+        }
+        if (fields.contains("type")) {
+            json.writeStringField("type", event.getType() != null ? event.getType().name() : null);
+        }
+        if (fields.contains("name")) {
+            json.writeStringField("name", event.getName());
+        }
+        if (fields.contains("log")) {
+            writeText(json, "log", log);
+        }
+        if (fields.contains("stackTrace")) {
+            writeText(json, "stackTrace", stackTrace);
+        }
+        if (fields.contains("url")) {
+            json.writeStringField("url", event.getUrl());
+        }
+        if (fields.contains("element")) {
+            json.writeStringField("element", event.getElement());
+        }
+        if (fields.contains("timestamp")) {
+            json.writeStringField("timestamp",
+                    event.getTimestamp() != null ? event.getTimestamp().toString() : null);
+        }
+        if (fields.contains("metadata")) {
+            writeMetadata(json, event.getMetadata());
+        }
+        json.writeEndObject();
+    }
+
+    private static void writeMetadata(JsonGenerator json, EventDetailsResponse.Metadata metadata) throws IOException {
+        if (metadata == null) {
+            json.writeNullField("metadata");
+            return;
+        }
+        json.writeObjectFieldStart("metadata");
+        json.writeStringField("fileName", metadata.getFileName());
+        json.writeStringField("lineNumber", metadata.getLineNumber());
+        json.writeStringField("statusCode", metadata.getStatusCode());
+        json.writeEndObject();
+    }
+
+    private static void writeNumber(JsonGenerator json, String field, Long value) throws IOException {
+        if (value == null) {
+            json.writeNullField(field);
+        } else {
+            json.writeNumberField(field, value);
+        }
+    }
+
+    private static void writeText(JsonGenerator json, String field, Reader text) throws IOException {
+        json.writeFieldName(field);
+        if (text == null) {
+            json.writeNull();
+        } else {
+            json.writeString(text, -1);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package uni.bugtracker.backend.utility;
+
+import org.springframework.http.CacheControl;
+import uni.bugtracker.backend.dto.sampling.SamplingPolicyResponse;
+import uni.bugtracker.backend.repository.projection.EventVersion;
+import uni.bugtracker.backend.repository.projection.ReportVersion;
+import uni.bugtracker.backend.repository.projection.SessionVersion;
+
+import java.time.Duration;
+
+/**
+ * ETags and Cache-Control values for the read endpoints. Tags are strong: they are derived
+ * from the row version, so the same tag always stands for the same JSON. Everything but the
+ * sampling policy is private, the responses depend on who asks.
+ */
+public final class HttpCaching {
+    // may be reused, but only after asking the server (If-None-Match -> 304)
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    // closed sessions and their events never change again
+    public static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+    // sampling policies are the same for everyone; a widget may start sessions on a stale one for
+    // a few minutes, the server applies the current one anyway
+    public static final CacheControl SAMPLING_POLICY = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+
+    private HttpCaching() {
+    }
+
+    public static String etag(ReportVersion report) {
+        return quote("report-" + report.id() + "-v" + report.version());
+    }
+
+    public static String etag(SessionVersion session) {
+        return quote("session-" + session.id() + "-" + state(session));
+    }
+
+    public static String etag(EventVersion event) {
+        return quote("event-" + event.id());
+    }
+
+    public static String etag(SamplingPolicyResponse policy) {
+        return quote("sampling-" + policy.getProjectId() + "-"
+                + (policy.getVersion() != null ? "v" + policy.getVersion() : "default"));
+    }
+
+    // the list and timeline of a session only stop changing once it is closed
+    public static String eventsEtag(SessionVersion session, String... variant) {
+        return quote("session-events-" + session.id() + "-" + state(session)
+                + (variant.length > 0 ? "-" + String.join("-", variant) : ""));
+    }
+
+    public static boolean isClosed(SessionVersion session) {
+        return !Boolean.TRUE.equals(session.isActive());
+    }
+
+    // -1 tells WebRequest.checkNotModified there is no Last-Modified
+    public static long lastModified(ReportVersion report) {
+        return report.updatedAt() != null ? report.updatedAt().toEpochMilli() : -1;
+    }
+
+    public static CacheControl cacheControl(boolean immutable) {
+        return immutable ? IMMUTABLE : REVALIDATE;
+    }
+
+    private static String state(SessionVersion session) {
+        return (isClosed(session) ? "closed" : "open")
+                + "-" + (session.endTime() != null ? session.endTime().toEpochMilli() : 0);
+    }
+
+    private static String quote(String tag) {
+        return "\"" + tag + "\"";
+    }
+}
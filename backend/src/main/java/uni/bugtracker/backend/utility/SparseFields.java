@@ -0,0 +1,53 @@
+package uni.bugtracker.backend.utility;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import uni.bugtracker.backend.exception.BusinessValidationException;
+
+import java.util.*;
+
+/**
+ * Sparse field selection for composite responses: {@code fields=report.title,session.browser}
+ * keeps only the listed properties of the named parts, parts without listed fields stay whole.
+ * Properties are read through their getters, so a selection never costs more than the full DTO.
+ */
+public final class SparseFields {
+
+    private SparseFields() {
+    }
+
+    // part -> selected properties, only for parts that appear in the expression
+    public static Map<String, Set<String>> parse(String fields, Set<String> parts) {
+        Map<String, Set<String>> selection = new HashMap<>();
+        if (fields == null || fields.isBlank()) {
+            return selection;
+        }
+        for (String path : fields.split(",")) {
+            String trimmed = path.trim();
+            int dot = trimmed.indexOf('.');
+            if (dot <= 0 || dot == trimmed.length() - 1 || !parts.contains(trimmed.substring(0, dot))) {
+                throw new BusinessValidationException("INVALID_ARGUMENT",
+                        "Field must look like <part>.<property> with part one of " + parts + ": " + trimmed);
+            }
+            selection.computeIfAbsent(trimmed.substring(0, dot), p -> new LinkedHashSet<>())
+                    .add(trimmed.substring(dot + 1));
+        }
+        return selection;
+    }
+
+    // the bean itself when nothing is selected, otherwise a map of the selected properties
+    public static Object select(Object bean, Set<String> properties) {
+        if (bean == null || properties == null || properties.isEmpty()) {
+            return bean;
+        }
+        BeanWrapper wrapper = new BeanWrapperImpl(bean);
+        Map<String, Object> selected = new LinkedHashMap<>();
+        for (String property : properties) {
+            if ("class".equals(property) || !wrapper.isReadableProperty(property)) {
+                throw new BusinessValidationException("INVALID_ARGUMENT", "Unknown field: " + property);
+            }
+            selected.put(property, wrapper.getPropertyValue(property));
+        }
+        return selected;
+    }
+}
@@ -1,3 +1,9 @@
 package uni.bugtracker.backend.utility.ai_criticality;
 
-public record ReportCreatedEvent(Long reportId) {}
+// analyze is false for a report that repeats an issue analyzed before: it took the issue's criticality over
+public record ReportCreatedEvent(Long reportId, boolean analyze) {
+
+    public ReportCreatedEvent(Long reportId) {
+        this(reportId, true);
+    }
+}
@@ -0,0 +1,110 @@
+package uni.bugtracker.backend.utility.compression;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Stored form of event logs and stack traces: one format byte, then the UTF-8 text either as is
+ * or raw-deflated with a preset dictionary of frequent stack-trace fragments. The dictionary
+ * makes short traces compress, which plain deflate cannot do without a history to refer to.
+ * A changed dictionary gets a new format byte; stored values keep naming the one they need.
+ */
+public final class TextCompression {
+    static final byte PLAIN = 0;
+    static final byte DEFLATE_STACK_TRACE_V1 = 1;
+
+    // below this, the format byte and the deflate block header eat the gain
+    private static final int MIN_COMPRESSED_BYTES = 64;
+    private static final byte[] STACK_TRACE_V1 = load("/compression/stack-trace-v1.dict");
+
+    private TextCompression() {
+    }
+
+    public static byte[] compress(String text) {
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length >= MIN_COMPRESSED_BYTES) {
+            byte[] compressed = deflate(utf8);
+            if (compressed.length < utf8.length) {
+                return compressed;
+            }
+        }
+        byte[] plain = new byte[utf8.length + 1];
+        plain[0] = PLAIN;
+        System.arraycopy(utf8, 0, plain, 1, utf8.length);
+        return plain;
+    }
+
+    public static String decompress(byte[] stored) {
+        if (stored[0] == PLAIN) {
+            return new String(stored, 1, stored.length - 1, StandardCharsets.UTF_8);
+        }
+        try (InputStream in = open(stored)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // decompresses while the caller reads, the text never has to exist as a whole
+    public static Reader reader(byte[] stored) {
+        return new InputStreamReader(open(stored), StandardCharsets.UTF_8);
+    }
+
+    private static InputStream open(byte[] stored) {
+        return switch (stored[0]) {
+            case PLAIN -> new ByteArrayInputStream(stored, 1, stored.length - 1);
+            case DEFLATE_STACK_TRACE_V1 -> inflating(stored, STACK_TRACE_V1);
+            default -> throw new IllegalStateException("Unknown text compression format " + stored[0]);
+        };
+    }
+
+    private static byte[] deflate(byte[] utf8) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setDictionary(STACK_TRACE_V1);
+            deflater.setInput(utf8);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(utf8.length / 4 + 16);
+            out.write(DEFLATE_STACK_TRACE_V1);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static InputStream inflating(byte[] stored, byte[] dictionary) {
+        Inflater inflater = new Inflater(true);
+        inflater.setDictionary(dictionary);
+        // zlib may read one byte past the end of a raw deflate stream
+        InputStream compressed = new SequenceInputStream(
+                new ByteArrayInputStream(stored, 1, stored.length - 1), new ByteArrayInputStream(new byte[1]));
+        return new InflaterInputStream(compressed, inflater, 8192) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+    }
+
+    private static byte[] load(String resource) {
+        try (InputStream in = TextCompression.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing compression dictionary " + resource);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
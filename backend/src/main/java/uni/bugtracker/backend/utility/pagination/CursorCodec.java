@@ -0,0 +1,41 @@
+package uni.bugtracker.backend.utility.pagination;
+
+import uni.bugtracker.backend.exception.BusinessValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * Opaque continuation tokens for keyset pagination: the sort key of the last row
+ * returned, joined and base64url-encoded. Clients must pass them back unchanged.
+ */
+public final class CursorCodec {
+    private static final String SEPARATOR = "|";
+    private static final Pattern SPLITTER = Pattern.compile(Pattern.quote(SEPARATOR));
+
+    private CursorCodec() {
+    }
+
+    public static String encode(String... keyParts) {
+        String raw = String.join(SEPARATOR, keyParts);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = SPLITTER.split(raw, -1);
+            if (parts.length != expectedParts) {
+                throw invalid();
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+    }
+
+    public static BusinessValidationException invalid() {
+        return new BusinessValidationException("INVALID_CURSOR", "Cursor is malformed or was not issued by this endpoint");
+    }
+}
@@ -0,0 +1,21 @@
+package uni.bugtracker.backend.utility.pagination;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+// position after the last event of a page in (timestamp asc, id asc) order
+public record EventCursor(Instant timestamp, Long id) {
+
+    public String encode() {
+        return CursorCodec.encode(timestamp.toString(), id.toString());
+    }
+
+    public static EventCursor decode(String cursor) {
+        String[] parts = CursorCodec.decode(cursor, 2);
+        try {
+            return new EventCursor(Instant.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw CursorCodec.invalid();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package uni.bugtracker.backend.utility.pagination;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+// position after the last report of a page in (reportedAt desc, id desc) order
+public record ReportCursor(Instant reportedAt, Long id) {
+
+    public String encode() {
+        return CursorCodec.encode(reportedAt.toString(), id.toString());
+    }
+
+    public static ReportCursor decode(String cursor) {
+        String[] parts = CursorCodec.decode(cursor, 2);
+        try {
+            return new ReportCursor(Instant.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw CursorCodec.invalid();
+        }
+    }
+}
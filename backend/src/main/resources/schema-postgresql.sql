@@ -0,0 +1,95 @@
+-- Schema work Hibernate's ddl-auto cannot express: partial indexes and data migrations.
+-- Runs after Hibernate's schema update (spring.jpa.defer-datasource-initialization),
+-- every statement must be idempotent. The file goes to the driver in one piece
+-- (spring.sql.init.separator), which splits it and keeps the do $$ ... $$ blocks whole.
+
+-- open work: the dashboard's default view filters on NEW/IN_PROGRESS
+create index if not exists idx_report_open_reported
+    on report (project_id, reported_at desc, id desc)
+    where status in ('NEW', 'IN_PROGRESS');
+
+-- triage view: HIGH/CRITICAL reports of a project, newest first
+create index if not exists idx_report_severe_reported
+    on report (project_id, reported_at desc, id desc)
+    where criticality in ('HIGH', 'CRITICAL');
+
+-- reports waiting for the AI criticality analysis
+create index if not exists idx_report_unknown_reported
+    on report (project_id, reported_at desc, id desc)
+    where criticality = 'UNKNOWN';
+
+-- one-time move of report_tags rows into report.tags_mask (bit n = Tag ordinal n, see TagSetConverter).
+-- The table is dropped afterwards, later starts find nothing to move.
+do $$
+begin
+    if to_regclass('report_tags') is not null then
+        update report r
+        set tags_mask = m.mask
+        from (select report_id,
+                     bit_or(case tag
+                                when 'NO_SUITABLE_TAG' then 1 << 0
+                                when 'BROKEN_LINK' then 1 << 1
+                                when 'SLOW_LOADING' then 1 << 2
+                                when 'BLANK_SCREEN' then 1 << 3
+                                when 'INTERFACE_ISSUE' then 1 << 4
+                                when 'FUNCTIONALITY_PROBLEMS' then 1 << 5
+                                when 'BROKEN_IMAGE' then 1 << 6
+                                when 'SEARCH_PROBLEM' then 1 << 7
+                                when 'FORM_NOT_WORKING' then 1 << 8
+                                when 'MOBILE_VIEW' then 1 << 9
+                                when 'REDIRECT_LOOP' then 1 << 10
+                                when 'LOGIN_ISSUE' then 1 << 11
+                                when 'REGISTER_ISSUE' then 1 << 12
+                                when 'FILTERS_NOT_WORKING' then 1 << 13
+                                when 'PAGINATION_ISSUE' then 1 << 14
+                                else 0 end) as mask
+              from report_tags
+              group by report_id) m
+        where r.id = m.report_id
+          and r.tags_mask = 0;
+
+        drop table report_tags;
+    end if;
+end
+$$;
+
+-- full-text search (PostgresSearchIndex). 'simple' keeps identifiers and stack frames as written,
+-- weights: A = title/name, B = comments/log, C = stack trace
+alter table report add column if not exists search_vector tsvector
+    generated always as (setweight(to_tsvector('simple', coalesce(title, '')), 'A')
+                      || setweight(to_tsvector('simple', coalesce(comments, '')), 'B')) stored;
+
+create index if not exists idx_report_search on report using gin (search_vector);
+
+-- log and stack_trace are large objects, the application writes this column after each insert;
+-- SearchIndexBackfill indexes the events stored before it, in chunks found through the partial index
+alter table event add column if not exists search_vector tsvector;
+
+create index if not exists idx_event_search on event using gin (search_vector);
+
+create index if not exists idx_event_unindexed on event (id) where search_vector is null;
+
+-- sizes for the event timeline, set by Event.setLog/setStackTrace for new rows.
+-- Older rows are measured once; log and stack_trace are large objects (oid) under Hibernate's PostgreSQL mapping.
+update event
+set log_length = char_length(convert_from(lo_get(log), 'UTF8'))
+where log is not null
+  and log_length is null;
+
+update event
+set stack_trace_length = char_length(convert_from(lo_get(stack_trace), 'UTF8'))
+where stack_trace is not null
+  and stack_trace_length is null;
+
+-- Last-Modified of the report card, reports written before the column existed start from their report time
+update report
+set updated_at = reported_at
+where updated_at is null;
+
+-- nightly statistics reconciliation (StatsReconciliationJob) reads sessions and ERROR events by time
+create index if not exists idx_session_start_time on session (start_time);
+
+create index if not exists idx_event_error_timestamp on event (timestamp) where type = 'ERROR';
+
+-- SessionAutoGenerationReportJob looks for active sessions in every session partition
+create index if not exists idx_session_active on session (id) where is_active;
@@ -0,0 +1,40 @@
+package uni.bugtracker.backend;
+
+import jakarta.persistence.EntityManager;
+import uni.bugtracker.backend.model.Project;
+import uni.bugtracker.backend.model.Session;
+
+import java.time.Instant;
+
+/**
+ * The project and session rows the repository-backed tests hang their events and reports on,
+ * and the fixed time those tests run at.
+ */
+public final class TestEntities {
+
+    public static final Instant NOW = Instant.parse("2026-03-02T03:00:00Z");
+
+    private TestEntities() {
+    }
+
+    public static Project project(EntityManager entityManager, String name) {
+        Project project = new Project();
+        project.setName(name);
+        entityManager.persist(project);
+        return project;
+    }
+
+    public static Session session(EntityManager entityManager, Project owner, Instant startTime, boolean active) {
+        Session session = new Session();
+        session.setProject(owner);
+        session.setIsActive(active);
+        session.setStartTime(startTime);
+        entityManager.persist(session);
+        return session;
+    }
+
+    // a session still receiving events, started at NOW
+    public static Session activeSession(EntityManager entityManager, Project owner) {
+        return session(entityManager, owner, NOW, true);
+    }
+}
@@ -0,0 +1,159 @@
+package uni.bugtracker.backend.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import uni.bugtracker.backend.model.*;
+import uni.bugtracker.backend.repository.*;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Repeated views of the same report or session: the second request carries the ETag
+ * of the first and must be answered with 304 for less work than the full read.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalRequestIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String token;
+    private Long reportId;
+    private Long sessionId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        token = IntegrationUsers.adminToken(mockMvc, developerRepository, "etag_admin");
+
+        Project project = new Project();
+        project.setName("Cached project");
+        projectRepository.save(project);
+
+        Session session = new Session();
+        session.setProject(project);
+        session.setIsActive(false);
+        session.setStartTime(Instant.now().minusSeconds(60));
+        session.setEndTime(Instant.now());
+        session.setPlugins(List.of("pdf"));
+        sessionId = sessionRepository.save(session).getId();
+
+        Report report = new Report();
+        report.setProject(project);
+        report.setSession(session);
+        report.setTitle("Broken checkout");
+        report.setReportedAt(Instant.now());
+        report.setTags(List.of(Tag.BLANK_SCREEN));
+        reportId = reportRepository.save(report).getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        reportRepository.deleteAll();
+        sessionRepository.deleteAll();
+        projectRepository.deleteAll();
+        developerRepository.deleteAll();
+    }
+
+    @Test
+    void getReport_shouldAnswerRepeatedViewWithNotModified() throws Exception {
+        // Given: a first full view
+        statistics.clear();
+        MvcResult first = mockMvc.perform(get("/api/reports/{id}", reportId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn();
+        long fullReadStatements = statistics.getPrepareStatementCount();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+
+        // When: the browser revalidates
+        statistics.clear();
+        MvcResult second = mockMvc.perform(get("/api/reports/{id}", reportId)
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+
+        // Then: no body and only the version lookup
+        assertThat(second.getResponse().getContentAsString()).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(fullReadStatements);
+    }
+
+    @Test
+    void getReport_shouldChangeEtagAfterUpdate() throws Exception {
+        // Given
+        String etag = mockMvc.perform(get("/api/reports/{id}", reportId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When
+        Report report = reportRepository.findById(reportId).orElseThrow();
+        report.setTitle("Broken checkout on Safari");
+        reportRepository.save(report);
+
+        // Then: the old tag no longer matches
+        String newEtag = mockMvc.perform(get("/api/reports/{id}", reportId)
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newEtag).isNotNull().isNotEqualTo(etag);
+    }
+
+    @Test
+    void getSession_shouldMarkClosedSessionImmutable() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/api/sessions/{id}", sessionId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+                .andReturn();
+
+        // Then
+        mockMvc.perform(get("/api/sessions/{id}", sessionId)
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, result.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified());
+    }
+}
@@ -0,0 +1,44 @@
+package uni.bugtracker.backend.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import uni.bugtracker.backend.model.Developer;
+import uni.bugtracker.backend.repository.DeveloperRepository;
+import uni.bugtracker.backend.security.model.Role;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// registers a user, promotes it to ADMIN and logs in, see SimpleUserFlowIntegrationTest for the single steps
+final class IntegrationUsers {
+
+    private IntegrationUsers() {
+    }
+
+    static String adminToken(MockMvc mockMvc, DeveloperRepository developerRepository, String username)
+            throws Exception {
+        String credentials = String.format("""
+            {
+                "username": "%s",
+                "password": "password123"
+            }
+            """, username);
+        mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials))
+                .andExpect(status().isOk());
+
+        Developer admin = developerRepository.findByUsername(username).orElseThrow();
+        admin.setRole(Role.ADMIN);
+        developerRepository.save(admin);
+
+        MvcResult login = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials))
+                .andExpect(status().isOk())
+                .andReturn();
+        return new ObjectMapper().readTree(login.getResponse().getContentAsString()).get("token").asText();
+    }
+}
@@ -0,0 +1,178 @@
+package uni.bugtracker.backend.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import uni.bugtracker.backend.dto.report.ReportFeedItem;
+import uni.bugtracker.backend.model.*;
+import uni.bugtracker.backend.repository.*;
+import uni.bugtracker.backend.security.ProjectMembershipCache;
+import uni.bugtracker.backend.service.feed.ReportFeed;
+import uni.bugtracker.backend.utility.ai_criticality.ReportCreatedEvent;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * The dashboard subscribes to /live instead of polling the report list,
+ * and resumes after a reconnect with the id of the last event it saw.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReportFeedIntegrationTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\d+)");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReportFeed reportFeed;
+
+    @Autowired
+    private ProjectMembershipCache membershipCache;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    private String token;
+    private Project project;
+    private Report report;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        token = IntegrationUsers.adminToken(mockMvc, developerRepository, "feed_admin");
+
+        project = new Project();
+        project.setName("Live project");
+        projectRepository.save(project);
+
+        Session session = new Session();
+        session.setProject(project);
+        session.setIsActive(false);
+        session.setStartTime(Instant.now());
+        session.setPlugins(List.of());
+        sessionRepository.save(session);
+
+        report = new Report();
+        report.setProject(project);
+        report.setSession(session);
+        report.setTitle("Payment button does nothing");
+        report.setReportedAt(Instant.now());
+        report.setTags(List.of(Tag.BROKEN_LINK));
+        reportRepository.save(report);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reportRepository.deleteAll();
+        sessionRepository.deleteAll();
+        projectRepository.deleteAll();
+        developerRepository.deleteAll();
+    }
+
+    @Test
+    void live_shouldPushCreatedReport() throws Exception {
+        // Given
+        MvcResult feed = subscribe(null);
+
+        // When
+        reportFeed.onReportCreated(new ReportCreatedEvent(report.getId()));
+
+        // Then
+        String body = awaitContent(feed.getResponse(), "event:report-created");
+        assertThat(body).contains("\"id\":" + report.getId());
+        assertThat(body).contains("\"title\":\"Payment button does nothing\"");
+        assertThat(body).contains("\"tags\":[\"BROKEN_LINK\"]");
+    }
+
+    @Test
+    void live_withLastEventId_shouldReplayOnlyMissedEvents() throws Exception {
+        // Given: the first event was seen, the connection dropped before the second
+        MvcResult first = subscribe(null);
+        reportFeed.publish(ReportFeed.STATUS_CHANGED, item("IN_PROGRESS"));
+        String seen = awaitContent(first.getResponse(), "event:status-changed");
+        Matcher matcher = EVENT_ID.matcher(seen);
+        assertThat(matcher.find()).isTrue();
+        reportFeed.publish(ReportFeed.STATUS_CHANGED, item("DONE"));
+
+        // When
+        MvcResult resumed = subscribe(matcher.group(1));
+
+        // Then
+        String body = awaitContent(resumed.getResponse(), "\"status\":\"DONE\"");
+        assertThat(body).doesNotContain("\"status\":\"IN_PROGRESS\"");
+    }
+
+    @Test
+    void live_withUnknownLastEventId_shouldAskForResync() throws Exception {
+        // When: the id is not in the replay buffer of this node
+        MvcResult feed = subscribe("1");
+
+        // Then
+        awaitContent(feed.getResponse(), "event:resync");
+    }
+
+    @Test
+    void live_whenMembershipChanges_shouldCloseTheStream() throws Exception {
+        // Given
+        MvcResult feed = subscribe(null);
+        String developerId = developerRepository.findByUsername("feed_admin").orElseThrow().getId();
+
+        // When: the client reconnects and the endpoint checks the membership again
+        membershipCache.invalidate(developerId);
+
+        // Then
+        feed.getAsyncResult(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private MvcResult subscribe(String lastEventId) throws Exception {
+        var live = get("/api/reports/byProject/{projectId}/live", project.getId())
+                .header("Authorization", "Bearer " + token);
+        if (lastEventId != null) {
+            live.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(live)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private ReportFeedItem item(String status) {
+        return new ReportFeedItem(report.getId(), project.getId(), report.getTitle(),
+                List.of(), report.getReportedAt().toString(), "UNKNOWN", status);
+    }
+
+    // frames are written from the feed executor, give it a moment
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String content = response.getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = response.getContentAsString();
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+}
@@ -0,0 +1,50 @@
+package uni.bugtracker.backend.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TagSetConverterTest {
+
+    private final TagSetConverter converter = new TagSetConverter();
+
+    @Test
+    void convertToDatabaseColumn_shouldSetOneBitPerTagOrdinal() {
+        // When
+        Integer mask = converter.convertToDatabaseColumn(EnumSet.of(Tag.NO_SUITABLE_TAG, Tag.SLOW_LOADING));
+
+        // Then
+        assertThat(mask).isEqualTo(0b101);
+    }
+
+    @Test
+    void convertToEntityAttribute_shouldRestoreAllTags() {
+        // Given
+        Set<Tag> all = EnumSet.allOf(Tag.class);
+
+        // When
+        Set<Tag> restored = converter.convertToEntityAttribute(converter.convertToDatabaseColumn(all));
+
+        // Then
+        assertThat(restored).isEqualTo(all);
+    }
+
+    @Test
+    void nullAndEmptyValues_shouldMapToZeroAndEmptySet() {
+        // Then
+        assertThat(converter.convertToDatabaseColumn(null)).isZero();
+        assertThat(converter.convertToEntityAttribute(null)).isEmpty();
+        assertThat(TagSetConverter.toMask(List.of())).isZero();
+    }
+
+    @Test
+    void toMask_shouldIgnoreDuplicates() {
+        // Then
+        assertThat(TagSetConverter.toMask(List.of(Tag.MOBILE_VIEW, Tag.MOBILE_VIEW)))
+                .isEqualTo(1 << Tag.MOBILE_VIEW.ordinal());
+    }
+}
@@ -0,0 +1,168 @@
+package uni.bugtracker.backend.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import uni.bugtracker.backend.dto.report.ReportFilter;
+import uni.bugtracker.backend.model.*;
+import uni.bugtracker.backend.repository.projection.ReportListRow;
+import uni.bugtracker.backend.security.model.Role;
+import uni.bugtracker.backend.utility.pagination.ReportCursor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class ReportFilterRepositoryImplTest {
+
+    private static final Instant T0 = Instant.parse("2026-03-01T00:00:00Z");
+    private static final PageRequest NEWEST_FIRST = PageRequest.of(0, 30, Sort.by(Sort.Direction.DESC, "reportedAt"));
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    private Project project;
+    private Project otherProject;
+    private Developer alice;
+
+    @BeforeEach
+    void setUp() {
+        project = project("Main");
+        otherProject = project("Other");
+        alice = Developer.builder().username("alice").password("pass").role(Role.DEVELOPER).build();
+        entityManager.persist(alice);
+
+        // title, minutes after T0, level, status, developer, tags
+        report(project, "r1", 0, CriticalityLevel.HIGH, ReportStatus.NEW, alice, List.of(Tag.BROKEN_LINK));
+        report(project, "r2", 10, CriticalityLevel.LOW, ReportStatus.DONE, null, List.of(Tag.BROKEN_LINK, Tag.SLOW_LOADING));
+        report(project, "r3", 20, CriticalityLevel.CRITICAL, ReportStatus.IN_PROGRESS, alice, List.of(Tag.SLOW_LOADING));
+        report(project, "r4", 30, CriticalityLevel.UNKNOWN, ReportStatus.NEW, null, List.of());
+        report(otherProject, "x1", 5, CriticalityLevel.HIGH, ReportStatus.NEW, alice, List.of(Tag.BROKEN_LINK));
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findListRows_shouldApplyDateRangeWithExclusiveUpperBound() {
+        // Given
+        ReportFilter filter = new ReportFilter();
+        filter.setFrom(T0.plusSeconds(600));
+        filter.setTo(T0.plusSeconds(1800));
+
+        // When
+        Page<ReportListRow> page = reportRepository.findListRows(project.getId(), filter, NEWEST_FIRST);
+
+        // Then
+        assertThat(titles(page.getContent())).containsExactly("r3", "r2");
+    }
+
+    @Test
+    void findListRows_shouldCombineCriteriaWithAnd() {
+        // Given
+        ReportFilter filter = new ReportFilter();
+        filter.setDeveloper("alice");
+        filter.setLevel(Set.of(CriticalityLevel.HIGH, CriticalityLevel.CRITICAL));
+        filter.setStatus(Set.of(ReportStatus.NEW));
+
+        // When
+        Page<ReportListRow> page = reportRepository.findListRows(project.getId(), filter, NEWEST_FIRST);
+
+        // Then
+        assertThat(titles(page.getContent())).containsExactly("r1");
+        assertThat(page.getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void findListRows_shouldMatchAnyOrAllTags() {
+        // Given
+        ReportFilter any = new ReportFilter();
+        any.setTags(Set.of(Tag.BROKEN_LINK, Tag.SLOW_LOADING));
+        ReportFilter all = new ReportFilter();
+        all.setTags(Set.of(Tag.BROKEN_LINK, Tag.SLOW_LOADING));
+        all.setTagMatch(ReportFilter.TagMatch.ALL);
+
+        // When
+        List<ReportListRow> anyRows = reportRepository.findListRows(project.getId(), any, NEWEST_FIRST).getContent();
+        List<ReportListRow> allRows = reportRepository.findListRows(project.getId(), all, NEWEST_FIRST).getContent();
+
+        // Then
+        assertThat(titles(anyRows)).containsExactly("r3", "r2", "r1");
+        assertThat(titles(allRows)).containsExactly("r2");
+    }
+
+    @Test
+    void findListRows_shouldCountOnlyWhenPageIsFull() {
+        // Given
+        ReportFilter filter = new ReportFilter();
+        filter.setStatus(Set.of(ReportStatus.NEW, ReportStatus.IN_PROGRESS));
+
+        // When
+        Page<ReportListRow> page = reportRepository.findListRows(
+                project.getId(), filter, PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "reportedAt")));
+
+        // Then
+        assertThat(titles(page.getContent())).containsExactly("r4", "r3");
+        assertThat(page.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void findListRowsAfter_shouldSeekWithinFilter() {
+        // Given
+        ReportFilter filter = new ReportFilter();
+        filter.setStatus(Set.of(ReportStatus.NEW, ReportStatus.IN_PROGRESS));
+
+        // When
+        List<ReportListRow> first = reportRepository.findListRowsAfter(project.getId(), filter, null, Limit.of(2));
+        ReportListRow last = first.getLast();
+        List<ReportListRow> next = reportRepository.findListRowsAfter(
+                project.getId(), filter, new ReportCursor(last.reportedAt(), last.id()), Limit.of(2));
+
+        // Then
+        assertThat(titles(first)).containsExactly("r4", "r3");
+        assertThat(titles(next)).containsExactly("r1");
+    }
+
+    private List<String> titles(List<ReportListRow> rows) {
+        return rows.stream().map(ReportListRow::title).toList();
+    }
+
+    private Project project(String name) {
+        Project p = new Project();
+        p.setName(name);
+        entityManager.persist(p);
+        return p;
+    }
+
+    private void report(Project owner, String title, int minutes, CriticalityLevel level, ReportStatus status,
+                        Developer developer, List<Tag> tags) {
+        Session session = new Session();
+        session.setProject(owner);
+        session.setIsActive(false);
+        session.setStartTime(T0);
+        entityManager.persist(session);
+
+        Report report = new Report();
+        report.setProject(owner);
+        report.setSession(session);
+        report.setTitle(title);
+        report.setReportedAt(T0.plusSeconds(minutes * 60L));
+        report.setCriticality(level);
+        report.setStatus(status);
+        report.setDeveloper(developer);
+        report.setTags(tags);
+        entityManager.persist(report);
+    }
+}
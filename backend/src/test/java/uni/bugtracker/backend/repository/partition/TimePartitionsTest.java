@@ -0,0 +1,139 @@
+package uni.bugtracker.backend.repository.partition;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import uni.bugtracker.backend.repository.DatabaseDialect;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Converting tables as they look after an upgrade on PostgreSQL (H2 has no partitioning): rows from
+ * before ddl-auto added the insert times, event's column added before session's. Needs
+ * BENCHMARK_DB_URL, BENCHMARK_DB_USERNAME and BENCHMARK_DB_PASSWORD of a scratch database,
+ * skipped without them; everything is created in a schema of its own.
+ */
+class TimePartitionsTest {
+
+    private static final String SCHEMA = "time_partitions_test";
+    private static final YearMonth FIRST = YearMonth.now(ZoneOffset.UTC).plusMonths(1);
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate transaction;
+    private TimePartitions partitions;
+
+    @BeforeEach
+    void setUp() {
+        String url = System.getenv("BENCHMARK_DB_URL");
+        assumeTrue(url != null && url.startsWith("jdbc:postgresql:"), "BENCHMARK_DB_URL of a PostgreSQL database");
+        dataSource = new SingleConnectionDataSource(
+                url, System.getenv("BENCHMARK_DB_USERNAME"), System.getenv("BENCHMARK_DB_PASSWORD"), true);
+        jdbc = new JdbcTemplate(dataSource);
+        transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        partitions = new TimePartitions(jdbc, new DatabaseDialect(jdbc));
+
+        jdbc.execute("drop schema if exists " + SCHEMA + " cascade");
+        jdbc.execute("create schema " + SCHEMA);
+        jdbc.execute("set search_path to " + SCHEMA);
+        // the shape Hibernate created before the insert times existed
+        jdbc.execute("""
+                create table session (id bigint generated by default as identity primary key,
+                                      start_time timestamptz, is_active boolean)""");
+        jdbc.execute("""
+                create table event (id bigint generated by default as identity primary key,
+                                    session_id bigint references session (id), timestamp timestamptz,
+                                    type varchar(32))""");
+        jdbc.execute("create index idx_event_session on event (session_id, timestamp, id)");
+        jdbc.update("insert into session (start_time, is_active) values ('2026-01-05T10:00:00Z', false)");
+        jdbc.update("insert into session (start_time, is_active) values ('2026-02-07T10:00:00Z', false)");
+        jdbc.update("""
+                insert into event (session_id, timestamp, type) values
+                    (1, '2026-01-05T10:00:01Z', 'ACTION'), (1, '2026-01-05T10:00:02Z', 'ERROR'),
+                    (2, '2026-02-07T10:00:01Z', 'ACTION')""");
+        jdbc.update("delete from event where id = 3");
+        jdbc.update("insert into event (session_id, timestamp, type) values (2, '2026-02-07T10:00:03Z', 'ACTION')");
+
+        // ddl-auto's ALTERs, one statement each: event's rows get an earlier time than session's
+        jdbc.execute("alter table event add column received_at timestamptz default current_timestamp not null");
+        jdbc.execute("select pg_sleep(0.01)");
+        jdbc.execute("alter table session add column created_at timestamptz default current_timestamp not null");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (dataSource != null) {
+            jdbc.execute("drop schema if exists " + SCHEMA + " cascade");
+            dataSource.destroy();
+        }
+    }
+
+    @Test
+    void convert_shouldKeepEveryOldEventWithinItsSession() {
+        // When
+        convertBoth();
+
+        // Then: the lower bound EventRepository and SessionRepository put on a session's events
+        assertThat(jdbc.queryForObject("""
+                select count(*) from event e join session s on s.id = e.session_id
+                where e.received_at >= s.created_at""", Integer.class)).isEqualTo(3);
+        assertThat(jdbc.queryForObject(
+                "select created_at = start_time from session where id = 1", Boolean.class)).isTrue();
+        assertThat(jdbc.queryForObject(
+                "select received_at = timestamp from event where id = 2", Boolean.class)).isTrue();
+    }
+
+    @Test
+    void convert_shouldPartitionBothTablesAndContinueTheIds() {
+        // When
+        convertBoth();
+
+        // Then
+        assertThat(partitions.isPartitioned(PartitionedTable.SESSION)).isTrue();
+        assertThat(partitions.isPartitioned(PartitionedTable.EVENT)).isTrue();
+        assertThat(partitions.partitions(PartitionedTable.EVENT)).containsExactly(PartitionedTable.EVENT.legacyName(FIRST));
+        assertThat(jdbc.queryForObject("""
+                select count(*) from information_schema.columns
+                where table_schema = current_schema() and is_identity = 'YES'""", Integer.class)).isZero();
+
+        // ids of deleted rows stay unused, new rows land in the old table until the first month
+        Long session = jdbc.queryForObject(
+                "insert into session (start_time, is_active) values (now(), true) returning id", Long.class);
+        Long event = jdbc.queryForObject(
+                "insert into event (session_id, timestamp, type) values (?, now(), 'ACTION') returning id",
+                Long.class, session);
+        assertThat(session).isEqualTo(3);
+        assertThat(event).isEqualTo(5);
+        assertThat(jdbc.queryForObject("select count(*) from " + PartitionedTable.EVENT.legacyName(FIRST),
+                Integer.class)).isEqualTo(4);
+    }
+
+    @Test
+    void createPartition_afterConvert_shouldTakeRowsOfItsMonth() {
+        // Given
+        convertBoth();
+        transaction.executeWithoutResult(status -> partitions.createPartition(PartitionedTable.EVENT, FIRST));
+
+        // When
+        jdbc.update("insert into event (session_id, timestamp, type, received_at) values (1, now(), 'ACTION', ?::timestamptz)",
+                FIRST.atDay(2).atStartOfDay(ZoneOffset.UTC).toInstant().toString());
+
+        // Then
+        assertThat(jdbc.queryForObject("select count(*) from " + PartitionedTable.EVENT.partitionName(FIRST),
+                Integer.class)).isEqualTo(1);
+    }
+
+    // session first, as PartitionMaintenanceJob does, each in a transaction of its own
+    private void convertBoth() {
+        transaction.executeWithoutResult(status -> partitions.convert(PartitionedTable.SESSION, FIRST));
+        transaction.executeWithoutResult(status -> partitions.convert(PartitionedTable.EVENT, FIRST));
+    }
+}
@@ -0,0 +1,91 @@
+package uni.bugtracker.backend.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uni.bugtracker.backend.repository.DeveloperRepository;
+import uni.bugtracker.backend.utility.cluster.ClusterEventBus;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectMembershipCacheTest {
+
+    @Mock
+    private DeveloperRepository developerRepository;
+
+    @Mock
+    private ClusterEventBus eventBus;
+
+    private ProjectMembershipCache membershipCache;
+    private Consumer<String> invalidationHandler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        membershipCache = new ProjectMembershipCache(developerRepository, eventBus, 100, Duration.ofMinutes(1));
+        ArgumentCaptor<Consumer<String>> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(eventBus).subscribe(eq(ProjectMembershipCache.CHANNEL), captor.capture());
+        invalidationHandler = captor.getValue();
+    }
+
+    @Test
+    void isMember_dashboardPageLoad_shouldQueryMembershipOnce() {
+        // Given
+        when(developerRepository.findProjectIdsByDeveloperId("dev-1"))
+                .thenReturn(Set.of("project-1", "project-2"));
+
+        // When: report card, its session, its events and the report list of the same project
+        for (int i = 0; i < 4; i++) {
+            assertThat(membershipCache.isMember("dev-1", "project-1")).isTrue();
+        }
+        assertThat(membershipCache.isMember("dev-1", "project-3")).isFalse();
+
+        // Then: 5 authorization queries before, 1 now
+        verify(developerRepository, times(1)).findProjectIdsByDeveloperId("dev-1");
+    }
+
+    @Test
+    void invalidate_shouldPublishAndReloadAfterDelivery() {
+        // Given
+        when(developerRepository.findProjectIdsByDeveloperId("dev-1"))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of("project-1"));
+        assertThat(membershipCache.isMember("dev-1", "project-1")).isFalse();
+
+        // When
+        membershipCache.invalidate("dev-1");
+        verify(eventBus).publish(ProjectMembershipCache.CHANNEL, "dev-1");
+        invalidationHandler.accept("dev-1");
+
+        // Then
+        assertThat(membershipCache.isMember("dev-1", "project-1")).isTrue();
+        verify(developerRepository, times(2)).findProjectIdsByDeveloperId("dev-1");
+    }
+
+    @Test
+    void resync_shouldDropAllEntries() {
+        // Given
+        when(developerRepository.findProjectIdsByDeveloperId(anyString())).thenReturn(Set.of("project-1"));
+        membershipCache.isMember("dev-1", "project-1");
+        membershipCache.isMember("dev-2", "project-1");
+
+        // When
+        invalidationHandler.accept(ClusterEventBus.RESYNC);
+        membershipCache.isMember("dev-1", "project-1");
+        membershipCache.isMember("dev-2", "project-1");
+
+        // Then
+        verify(developerRepository, times(2)).findProjectIdsByDeveloperId("dev-1");
+        verify(developerRepository, times(2)).findProjectIdsByDeveloperId("dev-2");
+    }
+}
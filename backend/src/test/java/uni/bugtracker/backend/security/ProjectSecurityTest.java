@@ -6,9 +6,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
-import uni.bugtracker.backend.repository.DeveloperRepository;
 import uni.bugtracker.backend.security.model.Role;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -17,7 +18,7 @@ import static org.mockito.Mockito.*;
 class ProjectSecurityTest {
 
     @Mock
-    private DeveloperRepository developerRepository;
+    private ProjectMembershipCache membershipCache;
 
     @Mock
     private Authentication authentication;
@@ -39,7 +40,7 @@ class ProjectSecurityTest {
 
         // Then
         assertThat(hasAccess).isTrue();
-        verifyNoInteractions(developerRepository);
+        verifyNoInteractions(membershipCache);
     }
 
     @Test
@@ -53,7 +54,7 @@ class ProjectSecurityTest {
         when(developer.getRole()).thenReturn(Role.DEVELOPER);
         when(developer.getId()).thenReturn(userId);
 
-        when(developerRepository.existsByIdAndProjects_Id(eq(userId), eq(projectId)))
+        when(membershipCache.isMember(eq(userId), eq(projectId)))
                 .thenReturn(true);
 
         // When
@@ -61,7 +62,7 @@ class ProjectSecurityTest {
 
         // Then
         assertThat(hasAccess).isTrue();
-        verify(developerRepository).existsByIdAndProjects_Id(userId, projectId);
+        verify(membershipCache).isMember(userId, projectId);
     }
 
     @Test
@@ -75,7 +76,7 @@ class ProjectSecurityTest {
         when(developer.getRole()).thenReturn(Role.PM);
         when(developer.getId()).thenReturn(userId);
 
-        when(developerRepository.existsByIdAndProjects_Id(eq(userId), eq(projectId)))
+        when(membershipCache.isMember(eq(userId), eq(projectId)))
                 .thenReturn(false);
 
         // When
@@ -83,11 +84,11 @@ class ProjectSecurityTest {
 
         // Then
         assertThat(hasAccess).isFalse();
-        verify(developerRepository).existsByIdAndProjects_Id(userId, projectId);
+        verify(membershipCache).isMember(userId, projectId);
     }
 
     @Test
-    void hasAccessToProject_whenManager_shouldCheckRepository() {
+    void hasAccessToProject_whenManager_shouldCheckMembership() {
         // Given
         String projectId = "project-789";
         String userId = "mgr-001";
@@ -97,7 +98,7 @@ class ProjectSecurityTest {
         when(manager.getRole()).thenReturn(Role.PM);
         when(manager.getId()).thenReturn(userId);
 
-        when(developerRepository.existsByIdAndProjects_Id(userId, projectId))
+        when(membershipCache.isMember(userId, projectId))
                 .thenReturn(true);
 
         // When
@@ -105,11 +106,11 @@ class ProjectSecurityTest {
 
         // Then
         assertThat(hasAccess).isTrue();
-        verify(developerRepository).existsByIdAndProjects_Id(userId, projectId);
+        verify(membershipCache).isMember(userId, projectId);
     }
 
     @Test
-    void hasAccessToProject_withEmptyProjectId_shouldCheckRepository() {
+    void hasAccessToProject_withEmptyProjectId_shouldCheckMembership() {
         // Given
         String emptyProjectId = "";
         String userId = "dev-123";
@@ -119,7 +120,7 @@ class ProjectSecurityTest {
         when(user.getRole()).thenReturn(Role.DEVELOPER);
         when(user.getId()).thenReturn(userId);
 
-        when(developerRepository.existsByIdAndProjects_Id(userId, emptyProjectId))
+        when(membershipCache.isMember(userId, emptyProjectId))
                 .thenReturn(false);
 
         // When
@@ -127,6 +128,36 @@ class ProjectSecurityTest {
 
         // Then
         assertThat(hasAccess).isFalse();
-        verify(developerRepository).existsByIdAndProjects_Id(userId, emptyProjectId);
+        verify(membershipCache).isMember(userId, emptyProjectId);
+    }
+
+    @Test
+    void hasAccessToProjects_whenOneProjectIsForeign_shouldReturnFalse() {
+        // Given
+        String userId = "dev-456";
+
+        CustomUserDetails developer = mock(CustomUserDetails.class);
+        when(authentication.getPrincipal()).thenReturn(developer);
+        when(developer.getRole()).thenReturn(Role.DEVELOPER);
+        when(developer.getId()).thenReturn(userId);
+
+        when(membershipCache.isMember(userId, "project-1")).thenReturn(true);
+        when(membershipCache.isMember(userId, "project-2")).thenReturn(false);
+
+        // When
+        boolean hasAccess = projectSecurity.hasAccessToProjects(List.of("project-1", "project-2"), authentication);
+
+        // Then
+        assertThat(hasAccess).isFalse();
+    }
+
+    @Test
+    void hasAccessToProjects_whenNoProjects_shouldReturnTrue() {
+        // When
+        boolean hasAccess = projectSecurity.hasAccessToProjects(List.of(), authentication);
+
+        // Then
+        assertThat(hasAccess).isTrue();
+        verifyNoInteractions(membershipCache);
     }
-}
\ No newline at end of file
+}
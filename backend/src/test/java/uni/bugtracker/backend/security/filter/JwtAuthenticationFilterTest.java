@@ -14,8 +14,11 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import uni.bugtracker.backend.security.CustomUserDetails;
+import uni.bugtracker.backend.security.model.Role;
 import uni.bugtracker.backend.security.service.CustomUserDetailsService;
 import uni.bugtracker.backend.security.service.JwtService;
+import uni.bugtracker.backend.security.service.TokenVersionService;
 
 import java.io.IOException;
 
@@ -30,6 +33,9 @@ class JwtAuthenticationFilterTest {
     @Mock
     private CustomUserDetailsService userDetailsService;
 
+    @Mock
+    private TokenVersionService tokenVersionService;
+
     @Mock
     private HttpServletRequest request;
 
@@ -138,4 +144,40 @@ class JwtAuthenticationFilterTest {
         verifyNoInteractions(userDetailsService);
         assert SecurityContextHolder.getContext().getAuthentication() == null;
     }
-}
\ No newline at end of file
+
+    @Test
+    void doFilterInternal_TokenWithClaims_ShouldAuthenticateWithoutUserLookup() throws ServletException, IOException {
+        String jwt = "claims.jwt.token";
+        CustomUserDetails principal = new CustomUserDetails("dev-1", "testuser", Role.DEVELOPER, 2);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
+        when(jwtService.extractUsername(jwt)).thenReturn("testuser");
+        when(jwtService.extractPrincipal(jwt)).thenReturn(principal);
+        when(tokenVersionService.isCurrent("dev-1", 2)).thenReturn(true);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(userDetailsService);
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assert auth != null;
+        assert auth.getPrincipal() == principal;
+    }
+
+    @Test
+    void doFilterInternal_TokenWithOutdatedVersion_ShouldNotSetAuthentication() throws ServletException, IOException {
+        String jwt = "revoked.jwt.token";
+        CustomUserDetails principal = new CustomUserDetails("dev-1", "testuser", Role.PM, 1);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
+        when(jwtService.extractUsername(jwt)).thenReturn("testuser");
+        when(jwtService.extractPrincipal(jwt)).thenReturn(principal);
+        when(tokenVersionService.isCurrent("dev-1", 1)).thenReturn(false);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(userDetailsService);
+        assert SecurityContextHolder.getContext().getAuthentication() == null;
+    }
+}
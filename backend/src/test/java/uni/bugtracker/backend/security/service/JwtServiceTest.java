@@ -14,6 +14,8 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.util.ReflectionTestUtils;
+import uni.bugtracker.backend.model.Developer;
+import uni.bugtracker.backend.security.CustomUserDetails;
 import uni.bugtracker.backend.security.model.Role;
 
 import javax.crypto.SecretKey;
@@ -74,6 +76,43 @@ class JwtServiceTest {
         assertThat(extractedRole).isEqualTo(userRole);
     }
 
+    @Test
+    void extractPrincipal_ShouldRestoreUserFromClaims() {
+        // Given
+        Developer developer = Developer.builder()
+                .id("dev-123")
+                .username(username)
+                .password("encoded")
+                .role(Role.PM)
+                .tokenVersion(5)
+                .build();
+        String token = jwtService.generateToken(new CustomUserDetails(developer));
+
+        // When
+        CustomUserDetails principal = jwtService.extractPrincipal(token);
+
+        // Then
+        assertThat(principal).isNotNull();
+        assertThat(principal.getId()).isEqualTo("dev-123");
+        assertThat(principal.getUsername()).isEqualTo(username);
+        assertThat(principal.getRole()).isEqualTo(Role.PM);
+        assertThat(principal.getTokenVersion()).isEqualTo(5);
+        assertThat(jwtService.getRoleFromToken(token)).isEqualTo(Role.PM);
+    }
+
+    @Test
+    void extractPrincipal_ShouldReturnNullForTokenWithoutIdClaim() {
+        // Given
+        setupUserDetailsMock();
+        String token = createValidToken();
+
+        // When
+        CustomUserDetails principal = jwtService.extractPrincipal(token);
+
+        // Then
+        assertThat(principal).isNull();
+    }
+
     @Test
     void extractUsername_ShouldReturnCorrectUsernameFromToken() {
         // Given
@@ -0,0 +1,73 @@
+package uni.bugtracker.backend.security.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uni.bugtracker.backend.repository.DeveloperRepository;
+import uni.bugtracker.backend.utility.cluster.ClusterEventBus;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionServiceTest {
+
+    @Mock
+    private DeveloperRepository developerRepository;
+
+    @Mock
+    private ClusterEventBus eventBus;
+
+    private TokenVersionService tokenVersionService;
+
+    @BeforeEach
+    void setUp() {
+        tokenVersionService = new TokenVersionService(developerRepository, eventBus, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void isCurrent_shouldLoadVersionOnceAndServeFromCache() {
+        // Given
+        when(developerRepository.findTokenVersionById("dev-1")).thenReturn(Optional.of(2));
+
+        // When
+        boolean first = tokenVersionService.isCurrent("dev-1", 2);
+        boolean second = tokenVersionService.isCurrent("dev-1", 2);
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        verify(developerRepository, times(1)).findTokenVersionById("dev-1");
+    }
+
+    @Test
+    void isCurrent_shouldRejectOutdatedVersionAfterUpdate() {
+        // Given
+        when(developerRepository.findTokenVersionById("dev-1")).thenReturn(Optional.of(0));
+        assertThat(tokenVersionService.isCurrent("dev-1", 0)).isTrue();
+
+        // When
+        tokenVersionService.updateVersion("dev-1", 1);
+
+        // Then
+        assertThat(tokenVersionService.isCurrent("dev-1", 0)).isFalse();
+        assertThat(tokenVersionService.isCurrent("dev-1", 1)).isTrue();
+        verify(eventBus).publish(anyString(), eq("dev-1"));
+    }
+
+    @Test
+    void isCurrent_shouldRejectDeletedUser() {
+        // Given
+        when(developerRepository.findTokenVersionById("ghost")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThat(tokenVersionService.isCurrent("ghost", 0)).isFalse();
+    }
+}
@@ -8,18 +8,22 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
+import uni.bugtracker.backend.dto.CursorPage;
 import uni.bugtracker.backend.exception.ResourceNotFoundException;
 import uni.bugtracker.backend.model.Developer;
 import uni.bugtracker.backend.model.Project;
 import uni.bugtracker.backend.repository.DeveloperRepository;
 import uni.bugtracker.backend.repository.ProjectRepository;
+import uni.bugtracker.backend.repository.RowCountEstimator;
 import uni.bugtracker.backend.security.CustomUserDetails;
+import uni.bugtracker.backend.security.ProjectMembershipCache;
 import uni.bugtracker.backend.security.ProjectSecurity;
 import uni.bugtracker.backend.security.dto.UserDTO;
 import uni.bugtracker.backend.security.model.Role;
@@ -44,6 +48,15 @@ class UserServiceTest {
     @Mock
     private ProjectSecurity projectSecurity;
 
+    @Mock
+    private TokenVersionService tokenVersionService;
+
+    @Mock
+    private ProjectMembershipCache membershipCache;
+
+    @Mock
+    private RowCountEstimator rowCountEstimator;
+
     @Mock
     private Authentication authentication;
 
@@ -123,6 +136,21 @@ class UserServiceTest {
         verify(developerRepository).save(testUser);
     }
 
+    @Test
+    void changeUserRole_ShouldBumpTokenVersion() {
+        // Given
+        testUser.setTokenVersion(3);
+        when(developerRepository.findById("user-123")).thenReturn(Optional.of(testUser));
+        when(developerRepository.save(any(Developer.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        userService.changeUserRole("user-123", Role.PM);
+
+        // Then
+        assertThat(testUser.getTokenVersion()).isEqualTo(4);
+        verify(tokenVersionService).updateVersion("user-123", 4);
+    }
+
     @Test
     void changeUserRole_ShouldThrowExceptionWhenUserNotFound() {
         // Given
@@ -154,6 +182,28 @@ class UserServiceTest {
         assertThat(result.getTotalElements()).isEqualTo(2);
     }
 
+    @Test
+    void getUsersAfter_ShouldPageByIdWithoutCount() {
+        // Given
+        when(developerRepository.findAllByOrderByIdAsc(Limit.of(2)))
+                .thenReturn(List.of(targetUser, testUser));
+        when(developerRepository.findAllByIdGreaterThanOrderByIdAsc("target-456", Limit.of(2)))
+                .thenReturn(List.of(testUser));
+
+        // When
+        CursorPage<UserDTO> first = userService.getUsersAfter(null, 1, false);
+        CursorPage<UserDTO> second = userService.getUsersAfter(first.getNextCursor(), 1, false);
+
+        // Then
+        assertThat(first.getContent()).extracting(UserDTO::getId).containsExactly("target-456");
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(second.getContent()).extracting(UserDTO::getId).containsExactly("user-123");
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+        verify(developerRepository, never()).count();
+        verifyNoInteractions(rowCountEstimator);
+    }
+
     @Test
     void assignProject_AdminCanAssignAnyProject() {
         // Given
@@ -168,6 +218,7 @@ class UserServiceTest {
         // Then
         assertThat(result.getProjectIds()).contains(testProject.getId());
         verify(projectSecurity, never()).hasAccessToProject(anyString(), any());
+        verify(membershipCache).invalidate("target-456");
     }
 
     @Test
@@ -274,6 +325,7 @@ class UserServiceTest {
         // Then
         assertThat(result.getProjectIds()).doesNotContain(testProject.getId());
         verify(developerRepository).save(targetUser);
+        verify(membershipCache).invalidate("target-456");
     }
 
     @Test
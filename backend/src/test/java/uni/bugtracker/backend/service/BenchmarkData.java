@@ -0,0 +1,94 @@
+package uni.bugtracker.backend.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import uni.bugtracker.backend.model.CriticalityLevel;
+import uni.bugtracker.backend.model.ReportStatus;
+import uni.bugtracker.backend.model.Tag;
+import uni.bugtracker.backend.model.TagSetConverter;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Bulk seeding and timing helpers shared by the tests tagged "benchmark".
+ * Report n is reported n seconds after {@code start}, has status n % 3, criticality n % 5,
+ * tags n % 15 and (n + 7) % 15, and every fourth report is assigned, round-robin over developerIds.
+ */
+public final class BenchmarkData {
+    private static final int BATCH = 5_000;
+
+    private BenchmarkData() {
+    }
+
+    static void seedReports(JdbcTemplate jdbc, String projectId, int count, Instant start, String... developerIds) {
+        ReportStatus[] statuses = ReportStatus.values();
+        CriticalityLevel[] levels = CriticalityLevel.values();
+
+        for (int from = 1; from <= count; from += BATCH) {
+            List<Object[]> sessions = new ArrayList<>();
+            List<Object[]> reports = new ArrayList<>();
+            for (long id = from; id < from + BATCH && id <= count; id++) {
+                Timestamp at = Timestamp.from(start.plusSeconds(id));
+                String developer = developerIds.length > 0 && id % 4 == 0
+                        ? developerIds[(int) ((id / 4) % developerIds.length)]
+                        : null;
+                sessions.add(new Object[]{id, projectId, false, at});
+                int tagsMask = TagSetConverter.toMask(tagsOf(id));
+                reports.add(new Object[]{id, projectId, id, "Report " + id, at, developer,
+                        levels[(int) (id % levels.length)].name(), statuses[(int) (id % statuses.length)].name(), tagsMask});
+            }
+            jdbc.batchUpdate("insert into session (id, project_id, is_active, start_time) values (?, ?, ?, ?)", sessions);
+            jdbc.batchUpdate("insert into report (id, project_id, session_id, title, reported_at, developer_id, " +
+                    "user_provided, criticality, status, tags_mask) values (?, ?, ?, ?, ?, ?, false, ?, ?, ?)", reports);
+        }
+    }
+
+    static List<Tag> tagsOf(long reportId) {
+        Tag[] tags = Tag.values();
+        return List.of(tags[(int) (reportId % tags.length)], tags[(int) ((reportId + 7) % tags.length)]);
+    }
+
+    // runs call warmup + iterations times, afterEach between calls, returns sorted latencies in nanoseconds
+    public static long[] measure(int warmup, int iterations, Supplier<?> call, Runnable afterEach) {
+        for (int i = 0; i < warmup; i++) {
+            call.get();
+            afterEach.run();
+        }
+        long[] nanos = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long begin = System.nanoTime();
+            call.get();
+            nanos[i] = System.nanoTime() - begin;
+            afterEach.run();
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    public static double percentileMillis(long[] sorted, double p) {
+        return percentileNanos(sorted, p) / 1_000_000.0;
+    }
+
+    public static double percentileMicros(long[] sorted, double p) {
+        return percentileNanos(sorted, p) / 1_000.0;
+    }
+
+    public static void print(String name, long[] sorted) {
+        System.out.printf("%-44s p50=%.2fms p95=%.2fms p99=%.2fms%n", name,
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.95), percentileMillis(sorted, 0.99));
+    }
+
+    // for operations well below a millisecond
+    public static void printMicros(String name, long[] sorted) {
+        System.out.printf("%-44s p50=%.1fus p95=%.1fus p99=%.1fus%n", name,
+                percentileMicros(sorted, 0.50), percentileMicros(sorted, 0.95), percentileMicros(sorted, 0.99));
+    }
+
+    private static long percentileNanos(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)];
+    }
+}
@@ -3,12 +3,22 @@ package uni.bugtracker.backend.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import uni.bugtracker.backend.dto.report.ReportDashboardDTO;
+import uni.bugtracker.backend.dto.report.ReportFeedItem;
 import uni.bugtracker.backend.model.*;
 import uni.bugtracker.backend.repository.EventRepository;
+import uni.bugtracker.backend.repository.IssueRepository;
 import uni.bugtracker.backend.repository.ReportRepository;
+import uni.bugtracker.backend.service.feed.ReportChangedEvent;
+import uni.bugtracker.backend.service.feed.ReportFeed;
+import uni.bugtracker.backend.service.stats.StatsRollup;
 import uni.bugtracker.backend.utility.ai_criticality.AIClient;
 
 import java.util.List;
@@ -31,6 +41,24 @@ class CriticalityAnalysisServiceTest {
     @Mock
     private AIClient aiClient;
 
+    @Mock
+    private ReportCardCache reportCardCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StatsRollup statsRollup;
+
+    @Mock
+    private IssueRepository issueRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private CriticalityAnalysisService analysisService;
 
@@ -48,6 +76,7 @@ class CriticalityAnalysisServiceTest {
 
         report = new Report();
         report.setId(100L);
+        report.setProject(project);
         report.setSession(session);
         report.setCriticality(CriticalityLevel.UNKNOWN);
 
@@ -71,10 +100,114 @@ class CriticalityAnalysisServiceTest {
 
         // Then
         assertThat(report.getCriticality()).isEqualTo(CriticalityLevel.HIGH);
-        verify(reportRepository).findById(100L);
+        verify(reportRepository, times(2)).findById(100L);
         verify(eventRepository).findAllBySessionId(1L);
         verify(aiClient).analyze(events);
         verify(reportRepository).save(report);
+        verify(reportCardCache).invalidate(100L);
+        verify(statsRollup).reportChanged(anyList(), eq(report));
+        verify(eventPublisher).publishEvent(new ReportChangedEvent(ReportFeed.CRITICALITY_UPDATED,
+                ReportFeedItem.of(new ReportDashboardDTO(report))));
+    }
+
+    @Test
+    void analyzeAndUpdate_withIssue_shouldPassLevelToReportsOfTheIssue() {
+        // Given
+        Issue issue = new Issue();
+        issue.setId(7L);
+        report.setIssue(issue);
+        Report repeat = new Report();
+        repeat.setId(101L);
+        repeat.setProject(report.getProject());
+        repeat.setCriticality(CriticalityLevel.UNKNOWN);
+        when(reportRepository.findById(100L)).thenReturn(Optional.of(report));
+        when(eventRepository.findAllBySessionId(1L)).thenReturn(events);
+        when(aiClient.analyze(events)).thenReturn(CriticalityLevel.HIGH);
+        when(reportRepository.findAllByIssueWithCriticality(7L, CriticalityLevel.UNKNOWN, 100L))
+                .thenReturn(List.of(repeat));
+
+        // When
+        analysisService.analyzeAndUpdate(100L);
+
+        // Then
+        assertThat(repeat.getCriticality()).isEqualTo(CriticalityLevel.HIGH);
+        verify(issueRepository).updateCriticality(7L, CriticalityLevel.HIGH);
+        verify(reportCardCache).invalidate(101L);
+        verify(aiClient, times(1)).analyze(anyList());
+    }
+
+    @Test
+    void analyzeAndUpdate_whenAnalysisFails_shouldLeaveIssueUnknown() {
+        // Given
+        Issue issue = new Issue();
+        issue.setId(7L);
+        report.setIssue(issue);
+        when(reportRepository.findById(100L)).thenReturn(Optional.of(report));
+        when(eventRepository.findAllBySessionId(1L)).thenReturn(events);
+        when(aiClient.analyze(events)).thenThrow(new RuntimeException("AI error"));
+
+        // When
+        analysisService.analyzeAndUpdate(100L);
+
+        // Then
+        verifyNoInteractions(issueRepository);
+    }
+
+    @Test
+    void analyzeAndUpdate_whenCritical_shouldAlertAfterTheLevelIsCommitted() {
+        // Given
+        when(reportRepository.findById(100L)).thenReturn(Optional.of(report));
+        when(eventRepository.findAllBySessionId(1L)).thenReturn(events);
+        when(aiClient.analyze(events)).thenReturn(CriticalityLevel.CRITICAL);
+
+        // When
+        analysisService.analyzeAndUpdate(100L);
+
+        // Then
+        InOrder inOrder = inOrder(reportRepository, transactionManager, notificationService);
+        inOrder.verify(reportRepository).save(report);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(notificationService).sendNotifs("project-123", report);
+    }
+
+    @Test
+    void analyzeAndUpdate_whenTheReportWasSavedMeanwhile_shouldApplyTheLevelToTheNewVersion() {
+        // Given
+        Report saved = new Report();
+        saved.setId(100L);
+        saved.setProject(report.getProject());
+        saved.setCriticality(CriticalityLevel.UNKNOWN);
+        when(reportRepository.findById(100L)).thenReturn(Optional.of(report), Optional.of(report), Optional.of(saved));
+        when(eventRepository.findAllBySessionId(1L)).thenReturn(events);
+        when(aiClient.analyze(events)).thenReturn(CriticalityLevel.HIGH);
+        when(reportRepository.save(report)).thenThrow(new ObjectOptimisticLockingFailureException(Report.class, 100L));
+
+        // When
+        analysisService.analyzeAndUpdate(100L);
+
+        // Then
+        assertThat(saved.getCriticality()).isEqualTo(CriticalityLevel.HIGH);
+        verify(reportRepository).save(saved);
+        verify(reportCardCache).invalidate(100L);
+    }
+
+    @Test
+    void analyzeAndUpdate_whenTheLevelWasSetOnTheDashboard_shouldKeepIt() {
+        // Given
+        Report edited = new Report();
+        edited.setId(100L);
+        edited.setCriticality(CriticalityLevel.LOW);
+        when(reportRepository.findById(100L)).thenReturn(Optional.of(report), Optional.of(edited));
+        when(eventRepository.findAllBySessionId(1L)).thenReturn(events);
+        when(aiClient.analyze(events)).thenReturn(CriticalityLevel.CRITICAL);
+
+        // When
+        analysisService.analyzeAndUpdate(100L);
+
+        // Then
+        assertThat(edited.getCriticality()).isEqualTo(CriticalityLevel.LOW);
+        verify(reportRepository, never()).save(any());
+        verifyNoInteractions(notificationService);
     }
 
     @Test
@@ -0,0 +1,116 @@
+package uni.bugtracker.backend.service;
+
+import org.junit.jupiter.api.Test;
+import uni.bugtracker.backend.utility.compression.TextCompression;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Storage ratio and CPU cost per event of the compressed log/stack trace columns, over
+ * synthetic browser errors: the stored bytes against the UTF-8 size (what TOAST would start
+ * from) and against deflate without the dictionary. Run with {@code ./gradlew benchmark}.
+ */
+@org.junit.jupiter.api.Tag("benchmark")
+class EventCompressionBenchmarkTest {
+
+    private static final int EVENTS = 20_000;
+    private static final int WARMUP = 20_000;
+    private static final String[] MESSAGES = {
+            "Uncaught TypeError: Cannot read properties of undefined (reading '%s')",
+            "Uncaught TypeError: Cannot read properties of null (reading '%s')",
+            "Uncaught (in promise) Error: Request failed with status code 500 at /api/%s",
+            "Uncaught ReferenceError: %s is not defined",
+            "TypeError: undefined is not an object (evaluating 'props.%s')"
+    };
+    private static final String[] FRAMES = {
+            "renderWithHooks", "updateFunctionComponent", "beginWork", "performUnitOfWork", "workLoopSync",
+            "renderRootSync", "commitHookEffectListMount", "flushPassiveEffects", "HTMLButtonElement.onClick",
+            "dispatchDiscreteEvent", "settle", "XMLHttpRequest.onreadystatechange", "Axios.request"
+    };
+    private static final String[] FIELDS = {"price", "items", "user", "token", "length", "map", "id"};
+
+    @Test
+    void compressionRatioAndCpuPerEvent() {
+        Random random = new Random(42);
+        List<String> bodies = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            bodies.add(i % 2 == 0 ? stackTrace(random) : log(random));
+        }
+
+        long utf8 = 0;
+        long withDictionary = 0;
+        long withoutDictionary = 0;
+        for (String body : bodies) {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            byte[] stored = TextCompression.compress(body);
+            assertThat(TextCompression.decompress(stored)).isEqualTo(body);
+            utf8 += bytes.length;
+            withDictionary += stored.length;
+            withoutDictionary += deflateWithoutDictionary(bytes);
+        }
+        System.out.printf("%-44s %.1f bytes/event%n", "utf-8", (double) utf8 / EVENTS);
+        System.out.printf("%-44s %.1f bytes/event, ratio %.2f%n", "deflate without dictionary",
+                (double) withoutDictionary / EVENTS, (double) utf8 / withoutDictionary);
+        System.out.printf("%-44s %.1f bytes/event, ratio %.2f%n", "deflate with stack-trace dictionary",
+                (double) withDictionary / EVENTS, (double) utf8 / withDictionary);
+
+        List<byte[]> stored = bodies.stream().map(TextCompression::compress).toList();
+        AtomicInteger next = new AtomicInteger();
+        long[] compress = BenchmarkData.measure(WARMUP, EVENTS,
+                () -> TextCompression.compress(bodies.get(next.getAndIncrement() % EVENTS)), () -> { });
+        long[] decompress = BenchmarkData.measure(WARMUP, EVENTS,
+                () -> TextCompression.decompress(stored.get(next.getAndIncrement() % EVENTS)), () -> { });
+        BenchmarkData.printMicros("compress per event", compress);
+        BenchmarkData.printMicros("decompress per event", decompress);
+
+        assertThat(withDictionary).isLessThan(withoutDictionary);
+    }
+
+    private static String stackTrace(Random random) {
+        StringBuilder trace = new StringBuilder(String.format(MESSAGES[random.nextInt(MESSAGES.length)],
+                FIELDS[random.nextInt(FIELDS.length)]));
+        int frames = 4 + random.nextInt(20);
+        for (int i = 0; i < frames; i++) {
+            trace.append("\n    at ").append(FRAMES[random.nextInt(FRAMES.length)])
+                    .append(" (https://shop.example.com/static/js/main.").append(Integer.toHexString(random.nextInt()))
+                    .append(".chunk.js:").append(1 + random.nextInt(3)).append(':').append(random.nextInt(200_000))
+                    .append(')');
+        }
+        return trace.toString();
+    }
+
+    private static String log(Random random) {
+        StringBuilder log = new StringBuilder();
+        int lines = 1 + random.nextInt(10);
+        for (int i = 0; i < lines; i++) {
+            log.append("GET https://shop.example.com/api/").append(FIELDS[random.nextInt(FIELDS.length)])
+                    .append('/').append(random.nextInt(100_000)).append(" 500 (Internal Server Error)\n");
+        }
+        return log.toString();
+    }
+
+    private static int deflateWithoutDictionary(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            // the format byte, and plain storage when deflate does not help, as TextCompression does
+            return Math.min(out.size(), bytes.length) + 1;
+        } finally {
+            deflater.end();
+        }
+    }
+}
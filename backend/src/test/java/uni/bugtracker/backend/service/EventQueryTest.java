@@ -0,0 +1,392 @@
+package uni.bugtracker.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import uni.bugtracker.backend.dto.CursorPage;
+import uni.bugtracker.backend.dto.event.EventRequest;
+import uni.bugtracker.backend.dto.event.EventTimelineItem;
+import uni.bugtracker.backend.dto.sampling.SamplingPolicyRequest;
+import uni.bugtracker.backend.model.*;
+import uni.bugtracker.backend.repository.DailyStatWriter;
+import uni.bugtracker.backend.repository.DatabaseDialect;
+import uni.bugtracker.backend.repository.EventBodyReader;
+import uni.bugtracker.backend.repository.LogTemplateWriter;
+import uni.bugtracker.backend.repository.StackTraceBlobWriter;
+import uni.bugtracker.backend.service.logtemplate.LogTemplateStore;
+import uni.bugtracker.backend.service.sampling.EventSampler;
+import uni.bugtracker.backend.service.sampling.SamplingPolicyService;
+import uni.bugtracker.backend.service.search.InMemorySearchIndex;
+import uni.bugtracker.backend.service.stats.StatsRollup;
+import uni.bugtracker.backend.utility.EventJsonWriter;
+import uni.bugtracker.backend.utility.cluster.ClusterEventBus;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The timeline reads no large objects and pages by keyset, a batch of events costs one
+ * authorization and one fetch query; the streaming endpoints produce the same JSON shape
+ * as {@code EventDetailsResponse}.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({EventService.class, EventBodyReader.class, RequestEntityLoader.class, InMemorySearchIndex.class,
+        StatsRollup.class, DailyStatWriter.class, StackTraceStore.class, StackTraceBlobWriter.class,
+        LogTemplateStore.class, LogTemplateWriter.class, EventSampler.class, SamplingPolicyService.class,
+        ClusterEventBus.class, DatabaseDialect.class})
+class EventQueryTest {
+
+    private static final int EVENTS = 25;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SamplingPolicyService samplingPolicyService;
+
+    private Statistics statistics;
+    private Long sessionId;
+    private Long firstEventId;
+
+    @BeforeEach
+    void setUp() {
+        Project project = new Project();
+        project.setName("Project");
+        entityManager.persist(project);
+
+        Session session = new Session();
+        session.setProject(project);
+        session.setIsActive(true);
+        session.setStartTime(Instant.now());
+        entityManager.persist(session);
+        sessionId = session.getId();
+
+        Instant start = Instant.parse("2025-01-01T00:00:00Z");
+        for (int i = 0; i < EVENTS; i++) {
+            Event event = new Event();
+            event.setSession(session);
+            event.setType(i % 5 == 0 ? EventType.ERROR : EventType.ACTION);
+            event.setName("Event " + i);
+            event.setUrl("https://example.com/" + i);
+            event.setLog("log line ".repeat(i + 1));
+            event.setStackTrace(i % 5 == 0 ? "at app.js:" + i : null);
+            // two events share every timestamp, the id breaks the tie
+            event.setTimestamp(start.plusSeconds(i / 2));
+            entityManager.persist(event);
+            if (i == 0) {
+                firstEventId = event.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getTimeline_shouldWalkAllEventsInOrderWithOneQueryPerPage() {
+        // Given
+        StringBuilder names = new StringBuilder();
+        String cursor = null;
+        int pages = 0;
+
+        // When
+        do {
+            CursorPage<EventTimelineItem> page = eventService.getTimeline(sessionId, cursor, 10);
+            page.getContent().forEach(item -> names.append(item.getName()).append(','));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Then
+        assertThat(pages).isEqualTo(3);
+        assertThat(names.toString()).startsWith("Event 0,Event 1,Event 2,").endsWith("Event 24,");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void getTimeline_shouldReturnSizesInsteadOfBodies() {
+        // When
+        EventTimelineItem first = eventService.getTimeline(sessionId, null, 1).getContent().getFirst();
+
+        // Then
+        assertThat(first.getType()).isEqualTo(EventType.ERROR);
+        assertThat(first.getLogLength()).isEqualTo("log line ".length());
+        assertThat(first.getStackTraceLength()).isEqualTo("at app.js:0".length());
+    }
+
+    @Test
+    void writeEventsBySession_shouldWriteAllEventsAsJsonArray() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        eventService.writeEventsBySession(sessionId, out);
+
+        // Then
+        JsonNode events = new ObjectMapper().readTree(out.toByteArray());
+        assertThat(events.size()).isEqualTo(EVENTS);
+        assertThat(events.get(0).get("name").asText()).isEqualTo("Event 0");
+        assertThat(events.get(0).get("sessionId").asLong()).isEqualTo(sessionId);
+        assertThat(events.get(0).get("timestamp").asText()).isEqualTo("2025-01-01T00:00:00Z");
+        assertThat(events.get(1).get("stackTrace").isNull()).isTrue();
+        assertThat(events.get(24).get("log").asText()).isEqualTo("log line ".repeat(25));
+    }
+
+    @Test
+    void writeEventBody_shouldStreamLogAndStackTrace() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        eventService.writeEventBody(firstEventId, out);
+
+        // Then
+        JsonNode event = new ObjectMapper().readTree(out.toByteArray());
+        assertThat(event.get("eventId").asLong()).isEqualTo(firstEventId);
+        assertThat(event.get("type").asText()).isEqualTo("ERROR");
+        assertThat(event.get("log").asText()).isEqualTo("log line ");
+        assertThat(event.get("stackTrace").asText()).isEqualTo("at app.js:0");
+        assertThat(event.get("metadata").get("fileName").isNull()).isTrue();
+    }
+
+    @Test
+    void persist_shouldStoreBodiesCompressed() {
+        // Given
+        String stackTrace = "    at HTMLButtonElement.onClick (https://example.com/static/js/main.chunk.js:1:2345)\n"
+                .repeat(200);
+        Event event = new Event();
+        event.setSession(entityManager.find(Session.class, sessionId));
+        event.setType(EventType.ERROR);
+        event.setStackTrace(stackTrace);
+
+        // When
+        entityManager.persist(event);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        Long stored = jdbcTemplate.queryForObject(
+                "select octet_length(stack_trace_data) from event where id = ?", Long.class, event.getId());
+        assertThat(stored).isLessThan(stackTrace.length() / 10L);
+        assertThat(entityManager.find(Event.class, event.getId()).getStackTrace()).isEqualTo(stackTrace);
+    }
+
+    @Test
+    void writeEventBody_shouldReadRowsStoredBeforeCompression() throws Exception {
+        // Given: a row from before compression, bodies in the old columns
+        jdbcTemplate.update("update event set body_compressed = false, log_data = null, stack_trace_data = null, "
+                + "log = ?, stack_trace = ? where id = ?", "old log", "at old.js:1", firstEventId);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        eventService.writeEventBody(firstEventId, out);
+
+        // Then
+        JsonNode event = new ObjectMapper().readTree(out.toByteArray());
+        assertThat(event.get("log").asText()).isEqualTo("old log");
+        assertThat(event.get("stackTrace").asText()).isEqualTo("at old.js:1");
+        assertThat(entityManager.find(Event.class, firstEventId).getLog()).isEqualTo("old log");
+    }
+
+    @Test
+    void batchOfEvents_shouldCostOneAuthorizationAndOneFetchQuery() throws Exception {
+        // Given
+        List<Long> ids = LongStream.range(firstEventId, firstEventId + EVENTS).boxed().toList();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        List<String> projectIds = eventService.getProjectIdsByEventIds(ids);
+        eventService.writeEventsByIds(ids, EventJsonWriter.FIELDS, out);
+
+        // Then
+        assertThat(projectIds).hasSize(1);
+        assertThat(new ObjectMapper().readTree(out.toByteArray()).size()).isEqualTo(EVENTS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void createEvent_shouldStoreEachDistinctStackTraceOnce() throws Exception {
+        // Given: 10 errors with two different traces, one of them sent with other line endings
+        String first = "TypeError: x is undefined\n    at render (app.js:10:5)\n    at main (app.js:3:1)";
+        String second = "RangeError: too deep\n    at loop (app.js:20:7)";
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            EventRequest request = new EventRequest();
+            request.setSessionId(sessionId);
+            request.setType(EventType.ERROR);
+            request.setName("Error " + i);
+            request.setStackTrace(i % 2 == 0 ? first.replace("\n", "\r\n") + "\n" : second);
+            request.setTimestamp(Instant.parse("2025-01-02T00:00:00Z").plusSeconds(i));
+            ids.add(eventService.createEvent(request));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        eventService.writeEventsByIds(ids, EventJsonWriter.FIELDS, out);
+
+        // Then: one query for the events, one for both blobs
+        JsonNode events = new ObjectMapper().readTree(out.toByteArray());
+        assertThat(jdbcTemplate.queryForObject("select count(*) from stack_trace_blob", Long.class)).isEqualTo(2);
+        assertThat(events.get(0).get("stackTrace").asText()).isEqualTo(first);
+        assertThat(events.get(1).get("stackTrace").asText()).isEqualTo(second);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(eventService.getTimeline(sessionId, null, 100).getContent().getLast().getStackTraceLength())
+                .isEqualTo(second.length());
+    }
+
+    @Test
+    void writeEventBody_shouldStreamSharedStackTrace() throws Exception {
+        // Given
+        EventRequest request = new EventRequest();
+        request.setSessionId(sessionId);
+        request.setType(EventType.ERROR);
+        request.setStackTrace("at shared.js:1");
+        Long eventId = eventService.createEvent(request);
+        entityManager.flush();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        eventService.writeEventBody(eventId, out);
+
+        // Then
+        JsonNode event = new ObjectMapper().readTree(out.toByteArray());
+        assertThat(event.get("stackTrace").asText()).isEqualTo("at shared.js:1");
+        assertThat(jdbcTemplate.queryForObject(
+                "select stack_trace_data from event where id = ?", byte[].class, eventId)).isNull();
+    }
+
+    @Test
+    void createEvent_shouldStoreRepetitiveLogsAsOneTemplateAndParameters() throws Exception {
+        // Given
+        List<String> logs = List.of(
+                "GET /api/orders/17 failed after 312 ms",
+                "GET /api/orders/9045 failed after 8 ms",
+                "GET  /api/orders/3 failed after 1200 ms");
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < logs.size(); i++) {
+            EventRequest request = new EventRequest();
+            request.setSessionId(sessionId);
+            request.setType(EventType.NETWORK);
+            request.setName("Request " + i);
+            request.setLog(logs.get(i));
+            request.setTimestamp(Instant.parse("2025-01-03T00:00:00Z").plusSeconds(i));
+            ids.add(eventService.createEvent(request));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        ByteArrayOutputStream all = new ByteArrayOutputStream();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        // When
+        eventService.writeEventsByIds(ids, EventJsonWriter.FIELDS, all);
+        eventService.writeEventBody(ids.get(1), body);
+
+        // Then: the line with two spaces has its own template, every log reads back as sent
+        JsonNode events = new ObjectMapper().readTree(all.toByteArray());
+        assertThat(jdbcTemplate.queryForList("select template from log_template order by id", String.class))
+                .containsExactly("GET <*> failed after <*> ms", "GET  <*> failed after <*> ms");
+        for (int i = 0; i < logs.size(); i++) {
+            assertThat(events.get(i).get("log").asText()).isEqualTo(logs.get(i));
+        }
+        assertThat(new ObjectMapper().readTree(body.toByteArray()).get("log").asText()).isEqualTo(logs.get(1));
+        assertThat(eventService.getTimeline(sessionId, null, 100).getContent().getLast().getLogLength())
+                .isEqualTo(logs.get(2).length());
+    }
+
+    @Test
+    void createEvent_withSamplingPolicy_shouldKeepOnlyEventsAfterAnError() {
+        // Given: errors of the session at 0, 2, 5, 7 and 10 s
+        SamplingPolicyRequest policy = new SamplingPolicyRequest();
+        policy.setActionRate(0);
+        policy.setKeepAfterErrorMs(1000);
+        samplingPolicyService.updatePolicy(projectId(), policy);
+        Instant start = Instant.parse("2025-01-01T00:00:00Z");
+
+        // When
+        Long afterStoredError = eventService.createEvent(request(EventType.ACTION, start.plusMillis(10_500)));
+        Long alone = eventService.createEvent(request(EventType.ACTION, start.plusSeconds(30)));
+        Long error = eventService.createEvent(request(EventType.ERROR, start.plusSeconds(30)));
+        Long afterNewError = eventService.createEvent(request(EventType.ACTION, start.plusMillis(30_500)));
+
+        // Then
+        assertThat(afterStoredError).isNotNull();
+        assertThat(alone).isNull();
+        assertThat(error).isNotNull();
+        assertThat(afterNewError).isNotNull();
+    }
+
+    @Test
+    void createEvent_withSessionCap_shouldCountStoredEvents() {
+        // Given: 20 non-error events stored already
+        SamplingPolicyRequest policy = new SamplingPolicyRequest();
+        policy.setMaxEventsPerSession(21);
+        samplingPolicyService.updatePolicy(projectId(), policy);
+        Instant at = Instant.parse("2025-01-02T00:00:00Z");
+
+        // When
+        Long last = eventService.createEvent(request(EventType.ACTION, at));
+        Long overCap = eventService.createEvent(request(EventType.PERFORMANCE, at));
+        Long error = eventService.createEvent(request(EventType.ERROR, at));
+
+        // Then
+        assertThat(last).isNotNull();
+        assertThat(overCap).isNull();
+        assertThat(error).isNotNull();
+    }
+
+    @Test
+    void writeEventsByIds_withoutBodies_shouldLoadNoEntities() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        eventService.writeEventsByIds(List.of(firstEventId, -1L), Set.of("eventId", "type", "timestamp"), out);
+
+        // Then
+        JsonNode events = new ObjectMapper().readTree(out.toByteArray());
+        assertThat(events.size()).isEqualTo(1);
+        assertThat(events.get(0).has("log")).isFalse();
+        assertThat(events.get(0).get("type").asText()).isEqualTo("ERROR");
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    private String projectId() {
+        return entityManager.find(Session.class, sessionId).getProject().getId();
+    }
+
+    private EventRequest request(EventType type, Instant timestamp) {
+        EventRequest request = new EventRequest();
+        request.setSessionId(sessionId);
+        request.setType(type);
+        request.setName(type.name().toLowerCase());
+        request.setUrl("https://example.com/sampled");
+        request.setTimestamp(timestamp);
+        return request;
+    }
+}
@@ -6,23 +6,42 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Limit;
+import uni.bugtracker.backend.dto.CursorPage;
 import uni.bugtracker.backend.dto.event.EventRequest;
+import uni.bugtracker.backend.dto.event.EventTimelineItem;
+import uni.bugtracker.backend.exception.BusinessValidationException;
 import uni.bugtracker.backend.exception.ResourceNotFoundException;
 import uni.bugtracker.backend.model.Event;
 import uni.bugtracker.backend.model.EventType;
 import uni.bugtracker.backend.model.Session;
 import uni.bugtracker.backend.model.Project;
+import uni.bugtracker.backend.repository.EventBodyReader;
 import uni.bugtracker.backend.repository.EventRepository;
 import uni.bugtracker.backend.repository.SessionRepository;
-
+import uni.bugtracker.backend.repository.projection.EventHeadRow;
+import uni.bugtracker.backend.repository.projection.EventTimelineRow;
+import uni.bugtracker.backend.service.logtemplate.LogTemplateStore;
+import uni.bugtracker.backend.service.sampling.EventSampler;
+import uni.bugtracker.backend.service.search.SearchIndex;
+import uni.bugtracker.backend.service.stats.StatsRollup;
+import uni.bugtracker.backend.utility.pagination.EventCursor;
+
+import java.io.ByteArrayOutputStream;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +53,30 @@ class EventServiceTest {
     @Mock
     private SessionRepository sessionRepository;
 
+    @Mock
+    private RequestEntityLoader entityLoader;
+
+    @Mock
+    private SearchIndex searchIndex;
+
+    @Mock
+    private EventBodyReader eventBodyReader;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private StatsRollup statsRollup;
+
+    @Mock
+    private StackTraceStore stackTraceStore;
+
+    @Mock
+    private LogTemplateStore logTemplateStore;
+
+    @Mock
+    private EventSampler eventSampler;
+
     @InjectMocks
     private EventService eventService;
 
@@ -98,6 +141,10 @@ class EventServiceTest {
         assertThat(eventId).isEqualTo(100L);
         verify(sessionRepository).findById(1L);
         verify(eventRepository).save(any(Event.class));
+        verify(searchIndex).indexEvent(savedEvent, "project-123");
+        verify(statsRollup).eventAdded(savedEvent, "project-123");
+        verify(stackTraceStore).attach(any(Event.class), eq("Stack trace"));
+        verify(logTemplateStore).attach(any(Event.class), eq("Error log"), eq("project-123"));
     }
 
     @Test
@@ -107,17 +154,46 @@ class EventServiceTest {
         eventRequest.setLog(longLog);
 
         when(sessionRepository.findById(1L)).thenReturn(Optional.of(session));
-        when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> {
-            Event event = invocation.getArgument(0);
-            assertThat(event.getLog()).hasSize(4_000_000);
-            return savedEvent;
-        });
+        when(eventRepository.save(any(Event.class))).thenReturn(savedEvent);
 
         // When
         eventService.createEvent(eventRequest);
 
-        // Then - логика трима проверена в моке
+        // Then: the log reaches the template store trimmed
         verify(eventRepository).save(any(Event.class));
+        verify(logTemplateStore).attach(any(Event.class), argThat(log -> log.length() == 4_000_000),
+                eq("project-123"));
+    }
+
+    @Test
+    void createEvent_shouldTrimStackTraceBeforeStoringIt() {
+        // Given
+        eventRequest.setStackTrace("x".repeat(5_000_000));
+        when(sessionRepository.findById(1L)).thenReturn(Optional.of(session));
+        when(eventRepository.save(any(Event.class))).thenReturn(savedEvent);
+
+        // When
+        eventService.createEvent(eventRequest);
+
+        // Then
+        verify(stackTraceStore).attach(any(Event.class), argThat(trace -> trace.length() == 4_000_000));
+    }
+
+    @Test
+    void createEvent_whenSampledOut_shouldWriteNothing() {
+        // Given
+        eventRequest.setType(EventType.NETWORK);
+        when(sessionRepository.findById(1L)).thenReturn(Optional.of(session));
+        when(eventSampler.sampleOut("project-123", 1L, EventType.NETWORK, eventRequest.getTimestamp()))
+                .thenReturn(true);
+
+        // When
+        Long eventId = eventService.createEvent(eventRequest);
+
+        // Then
+        assertThat(eventId).isNull();
+        verify(eventRepository, never()).save(any());
+        verifyNoInteractions(logTemplateStore, stackTraceStore, searchIndex, statsRollup);
     }
 
     @Test
@@ -152,7 +228,7 @@ class EventServiceTest {
     @Test
     void getEvent_shouldReturnEventDetails() {
         // Given
-        when(eventRepository.findById(100L)).thenReturn(Optional.of(savedEvent));
+        when(entityLoader.event(100L)).thenReturn(savedEvent);
 
         // When
         var result = eventService.getEvent(100L);
@@ -161,13 +237,13 @@ class EventServiceTest {
         assertThat(result.getEventId()).isEqualTo(100L);
         assertThat(result.getSessionId()).isEqualTo(1L);
         assertThat(result.getType()).isEqualTo(EventType.ERROR);
-        verify(eventRepository).findById(100L);
+        verify(entityLoader).event(100L);
     }
 
     @Test
     void getEvent_whenEventNotFound_shouldThrowException() {
         // Given
-        when(eventRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(entityLoader.event(anyLong())).thenThrow(new ResourceNotFoundException("Event not found: 999"));
 
         // When & Then
         assertThatThrownBy(() -> eventService.getEvent(999L))
@@ -176,43 +252,143 @@ class EventServiceTest {
     }
 
     @Test
-    void getEventsBySession_shouldReturnEventsForSession() {
+    void writeEventsBySession_shouldWriteJsonArrayAndDetachEvents() throws Exception {
+        // Given
+        when(eventRepository.streamAllBySessionId(1L)).thenReturn(Stream.of(savedEvent));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        eventService.writeEventsBySession(1L, out);
+
+        // Then
+        JsonNode events = new ObjectMapper().readTree(out.toByteArray());
+        assertThat(events.size()).isEqualTo(1);
+        assertThat(events.get(0).get("eventId").asLong()).isEqualTo(100L);
+        assertThat(events.get(0).get("log").asText()).isEqualTo("Error log");
+        assertThat(events.get(0).get("metadata").get("statusCode").asText()).isEqualTo("404");
+        verify(entityManager).detach(savedEvent);
+    }
+
+    @Test
+    void writeEventsBySession_whenNoEvents_shouldWriteEmptyArray() throws Exception {
+        // Given
+        when(eventRepository.streamAllBySessionId(1L)).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        eventService.writeEventsBySession(1L, out);
+
+        // Then
+        assertThat(out.toString()).isEqualTo("[]");
+    }
+
+    @Test
+    void writeEventBody_whenEventNotFound_shouldThrowException() {
+        // Given
+        when(eventBodyReader.read(eq(999L), any())).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> eventService.writeEventBody(999L, new ByteArrayOutputStream()))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Event not found");
+    }
+
+    @Test
+    void writeEventsByIds_withoutBodyFields_shouldReadHeadsOnly() throws Exception {
+        // Given
+        EventHeadRow head = new EventHeadRow(100L, 1L, EventType.ERROR, "Test Event", "http://example.com",
+                "#button", Instant.parse("2025-01-01T00:00:00Z"), "app.js", "42", "404");
+        when(eventRepository.streamHeadsByIdIn(Set.of(100L))).thenReturn(Stream.of(head));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        eventService.writeEventsByIds(List.of(100L, 100L), Set.of("eventId", "name"), out);
+
+        // Then
+        assertThat(out.toString()).isEqualTo("[{\"eventId\":100,\"name\":\"Test Event\"}]");
+        verify(eventRepository, never()).streamAllByIdIn(any());
+    }
+
+    @Test
+    void writeEventsByIds_withLog_shouldReadEntities() throws Exception {
+        // Given
+        when(eventRepository.streamAllByIdIn(Set.of(100L))).thenReturn(Stream.of(savedEvent));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        eventService.writeEventsByIds(List.of(100L), Set.of("eventId", "log"), out);
+
+        // Then
+        assertThat(out.toString()).isEqualTo("[{\"eventId\":100,\"log\":\"Error log\"}]");
+        verify(entityManager).detach(savedEvent);
+    }
+
+    @Test
+    void resolveFields_whenEmpty_shouldSelectAllFields() {
+        // When & Then
+        assertThat(eventService.resolveFields(null)).contains("eventId", "log", "stackTrace", "metadata");
+    }
+
+    @Test
+    void resolveFields_whenUnknownField_shouldThrowException() {
+        // When & Then
+        assertThatThrownBy(() -> eventService.resolveFields(Set.of("name", "password")))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("password");
+    }
+
+    @Test
+    void getTimeline_withMoreRows_shouldReturnNextCursor() {
         // Given
-        List<Event> events = List.of(savedEvent);
-        when(eventRepository.findAllBySessionId(1L)).thenReturn(events);
+        Instant now = Instant.now();
+        List<EventTimelineRow> rows = List.of(
+                new EventTimelineRow(1L, EventType.ACTION, "click", "http://example.com", now, null, null),
+                new EventTimelineRow(2L, EventType.ERROR, "boom", "http://example.com", now, 9, 11),
+                new EventTimelineRow(3L, EventType.ACTION, "scroll", "http://example.com", now, null, null));
+        when(eventRepository.findFirstTimelineRowsBySessionId(1L, Limit.of(3))).thenReturn(rows);
 
         // When
-        var result = eventService.getEventsBySession(1L);
+        CursorPage<EventTimelineItem> page = eventService.getTimeline(1L, null, 2);
 
         // Then
-        assertThat(result).hasSize(1);
-        assertThat(result.getFirst().getEventId()).isEqualTo(100L);
-        verify(eventRepository).findAllBySessionId(1L);
+        assertThat(page.getContent()).extracting(EventTimelineItem::getEventId).containsExactly(1L, 2L);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(EventCursor.decode(page.getNextCursor())).isEqualTo(new EventCursor(now, 2L));
     }
 
     @Test
-    void getEventsBySession_whenNoEvents_shouldReturnEmptyList() {
+    void getTimeline_withCursor_shouldContinueAfterIt() {
         // Given
-        when(eventRepository.findAllBySessionId(1L)).thenReturn(List.of());
+        Instant now = Instant.now();
+        String cursor = new EventCursor(now, 2L).encode();
+        when(eventRepository.findTimelineRowsBySessionIdAfter(1L, now, 2L, Limit.of(51))).thenReturn(List.of());
 
         // When
-        var result = eventService.getEventsBySession(1L);
+        CursorPage<EventTimelineItem> page = eventService.getTimeline(1L, cursor, 50);
 
         // Then
-        assertThat(result).isEmpty();
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getTimeline_withInvalidCursor_shouldThrowException() {
+        // When & Then
+        assertThatThrownBy(() -> eventService.getTimeline(1L, "not a cursor", 50))
+                .isInstanceOf(BusinessValidationException.class);
     }
 
     @Test
     void getProjectIdByEventId_shouldReturnProjectId() {
         // Given
-        when(eventRepository.findById(100L)).thenReturn(Optional.of(savedEvent));
-        when(sessionRepository.findById(1L)).thenReturn(Optional.of(session));
+        when(eventRepository.findProjectIdById(100L)).thenReturn(Optional.of("project-123"));
 
         // When
         String projectId = eventService.getProjectIdByEventId(100L);
 
         // Then
         assertThat(projectId).isEqualTo("project-123");
+        verifyNoInteractions(sessionRepository);
     }
 
     @Test
@@ -0,0 +1,160 @@
+package uni.bugtracker.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.transaction.PlatformTransactionManager;
+import uni.bugtracker.backend.repository.partition.PartitionedTable;
+import uni.bugtracker.backend.repository.partition.TimePartitions;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionMaintenanceJobTest {
+
+    private static final YearMonth NOW = YearMonth.of(2026, 10);
+
+    @Mock
+    private TimePartitions partitions;
+
+    @Mock
+    private ReportCardCache reportCardCache;
+
+    @Mock
+    private SessionService sessionService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PartitionMaintenanceJob job;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2026-10-19T02:15:00Z"), ZoneOffset.UTC);
+        job = new PartitionMaintenanceJob(partitions, reportCardCache, sessionService, transactionManager, 60, 2, clock);
+    }
+
+    @Test
+    void maintain_onOtherDatabase_shouldDoNothing() {
+        // Given
+        when(partitions.isSupported()).thenReturn(false);
+
+        // When
+        job.maintain();
+
+        // Then
+        verify(partitions).isSupported();
+        verifyNoMoreInteractions(partitions);
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void maintain_onPlainTables_shouldConvertSessionBeforeEventAndCreateTheComingMonths() {
+        // Given
+        when(partitions.isSupported()).thenReturn(true);
+        when(partitions.tryLock()).thenReturn(true);
+        when(partitions.isPartitioned(any())).thenReturn(false);
+        when(partitions.partitions(PartitionedTable.SESSION)).thenReturn(List.of("session_before_202611"));
+        when(partitions.partitions(PartitionedTable.EVENT)).thenReturn(List.of("event_before_202611"));
+
+        // When
+        job.maintain();
+
+        // Then: the old table holds the current month, partitions start with the next one
+        InOrder inOrder = inOrder(partitions);
+        inOrder.verify(partitions).convert(PartitionedTable.SESSION, NOW.plusMonths(1));
+        inOrder.verify(partitions).createPartition(PartitionedTable.SESSION, NOW.plusMonths(1));
+        inOrder.verify(partitions).createPartition(PartitionedTable.SESSION, NOW.plusMonths(2));
+        inOrder.verify(partitions).convert(PartitionedTable.EVENT, NOW.plusMonths(1));
+        verify(partitions, never()).createPartition(any(), eq(NOW));
+        verify(partitions, never()).dropPartition(any(), any());
+    }
+
+    @Test
+    void maintain_shouldDropPartitionsPastRetentionWithTheReportsOfTheirSessions() {
+        // Given: retention of 60 months ends before 2021-10
+        when(partitions.isSupported()).thenReturn(true);
+        when(partitions.tryLock()).thenReturn(true);
+        when(partitions.isPartitioned(any())).thenReturn(true);
+        when(partitions.partitions(PartitionedTable.EVENT)).thenReturn(
+                List.of("event_before_202109", "event_p202109", "event_p202110", "event_p202612"));
+        when(partitions.partitions(PartitionedTable.SESSION)).thenReturn(
+                List.of("session_p202109", "session_p202110", "session_p202612"));
+        when(partitions.deleteRowsOfSessions("session_p202109")).thenReturn(3);
+
+        // When
+        job.maintain();
+
+        // Then
+        verify(partitions).unlinkLargeObjectsOf("event_before_202109");
+        verify(partitions).dropPartition(PartitionedTable.EVENT, "event_before_202109");
+        verify(partitions).dropPartition(PartitionedTable.EVENT, "event_p202109");
+        verify(partitions).dropPartition(PartitionedTable.SESSION, "session_p202109");
+        verify(partitions, never()).dropPartition(any(), eq("event_p202110"));
+        verify(partitions, never()).dropPartition(any(), eq("session_p202110"));
+        verify(reportCardCache).invalidateAll();
+        verify(sessionService).sessionsDeleted();
+        // covered up to 2027-01 already, nothing to create
+        verify(partitions, never()).createPartition(any(), any());
+    }
+
+    @Test
+    void maintain_whenAnotherNodeHoldsTheLock_shouldSkipTheWork() {
+        // Given
+        when(partitions.isSupported()).thenReturn(true);
+        when(partitions.tryLock()).thenReturn(false);
+
+        // When
+        job.maintain();
+
+        // Then
+        verify(partitions, never()).isPartitioned(any());
+        verify(partitions, never()).convert(any(), any());
+        verify(partitions, never()).dropPartition(any(), any());
+    }
+
+    @Test
+    void maintain_whenALockTimesOut_shouldRetryOnTheNextRun() {
+        // Given
+        when(partitions.isSupported()).thenReturn(true);
+        when(partitions.tryLock()).thenReturn(true);
+        when(partitions.isPartitioned(PartitionedTable.SESSION)).thenReturn(false);
+        doThrow(new CannotAcquireLockException("lock timeout"))
+                .when(partitions).convert(PartitionedTable.SESSION, NOW.plusMonths(1));
+
+        // When
+        job.maintain();
+
+        // Then
+        verify(partitions, never()).convert(eq(PartitionedTable.EVENT), any());
+        verify(partitions, never()).createPartition(any(), any());
+    }
+
+    @Test
+    void maintain_whenAConversionFails_shouldNotSwallowTheError() {
+        // Given
+        when(partitions.isSupported()).thenReturn(true);
+        when(partitions.tryLock()).thenReturn(true);
+        when(partitions.isPartitioned(PartitionedTable.SESSION)).thenReturn(false);
+        doThrow(new BadSqlGrammarException("convert", "alter table", new SQLException("identity column")))
+                .when(partitions).convert(PartitionedTable.SESSION, NOW.plusMonths(1));
+
+        // When & Then
+        assertThatThrownBy(() -> job.maintain()).isInstanceOf(BadSqlGrammarException.class);
+        verify(partitions, never()).convert(eq(PartitionedTable.EVENT), any());
+    }
+}
@@ -0,0 +1,148 @@
+package uni.bugtracker.backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The event table with and without monthly partitions on PostgreSQL (H2 has no partitioning):
+ * the session timeline must not get slower, and retention of the oldest month must be far cheaper
+ * as a partition drop than as a delete plus vacuum. Needs BENCHMARK_DB_URL, BENCHMARK_DB_USERNAME
+ * and BENCHMARK_DB_PASSWORD of a scratch database. Run with {@code ./gradlew benchmark}.
+ */
+@org.junit.jupiter.api.Tag("benchmark")
+class PartitioningBenchmarkTest {
+
+    private static final int MONTHS = 24;
+    private static final int EVENTS_PER_MONTH = 200_000;
+    private static final int EVENTS_PER_SESSION = 50;
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 1_000;
+    private static final YearMonth FIRST = YearMonth.of(2024, 1);
+
+    // events of a month are spread over its first 28 days
+    private static final Duration EVENT_SPACING = Duration.ofDays(28).dividedBy(EVENTS_PER_MONTH);
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        String url = System.getenv("BENCHMARK_DB_URL");
+        assumeTrue(url != null && url.startsWith("jdbc:postgresql:"), "BENCHMARK_DB_URL of a PostgreSQL database");
+        dataSource = new SingleConnectionDataSource(
+                url, System.getenv("BENCHMARK_DB_USERNAME"), System.getenv("BENCHMARK_DB_PASSWORD"), true);
+        jdbc = new JdbcTemplate(dataSource);
+        dropTables();
+
+        String columns = """
+                (id bigint not null, session_id bigint not null, type varchar(32), name varchar(255),
+                 timestamp timestamptz, received_at timestamptz not null, log text)""";
+        jdbc.execute("create table bench_event_plain " + columns);
+        jdbc.execute("alter table bench_event_plain add primary key (id)");
+        jdbc.execute("create table bench_event_part " + columns + " partition by range (received_at)");
+        jdbc.execute("alter table bench_event_part add primary key (id, received_at)");
+        for (int m = 0; m < MONTHS; m++) {
+            jdbc.execute("create table bench_event_part_" + m + " partition of bench_event_part for values from ('"
+                    + start(FIRST.plusMonths(m)) + "') to ('" + start(FIRST.plusMonths(m + 1)) + "')");
+        }
+
+        // event n belongs to session n / 50, EVENTS_PER_MONTH events per month, see receivedAt
+        String seed = """
+                insert into %1$s
+                select n, n / %2$d, case when n %% 20 = 0 then 'ERROR' else 'ACTION' end, 'Event ' || n,
+                       ts, ts, repeat('log line ', 25)
+                from (select n, (timestamp '%3$s' + (n / %4$d) * interval '1 month'
+                                 + (n %% %4$d) * (interval '28 days' / %4$d)) at time zone 'UTC' as ts
+                      from generate_series(0, %5$d) n) s
+                """;
+        for (String table : new String[]{"bench_event_plain", "bench_event_part"}) {
+            jdbc.execute(seed.formatted(table, EVENTS_PER_SESSION, FIRST.atDay(1).atStartOfDay(), EVENTS_PER_MONTH,
+                    (long) MONTHS * EVENTS_PER_MONTH - 1));
+            jdbc.execute("create index on " + table + " (session_id, timestamp, id)");
+            jdbc.execute("analyze " + table);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (dataSource != null) {
+            dropTables();
+            dataSource.destroy();
+        }
+    }
+
+    @Test
+    void sessionTimeline_shouldNotGetSlowerWithPartitions() {
+        long sessions = (long) MONTHS * EVENTS_PER_MONTH / EVENTS_PER_SESSION;
+
+        long[] plain = BenchmarkData.measure(WARMUP, ITERATIONS, () -> jdbc.queryForList("""
+                select id, type, name, timestamp from bench_event_plain
+                where session_id = ?
+                order by timestamp, id limit 50
+                """, ThreadLocalRandom.current().nextLong(sessions)), () -> { });
+        // the lower bound is what EventRepository takes from the session's created_at
+        long[] partitioned = BenchmarkData.measure(WARMUP, ITERATIONS, () -> {
+            long session = ThreadLocalRandom.current().nextLong(sessions);
+            return jdbc.queryForList("""
+                    select id, type, name, timestamp from bench_event_part
+                    where session_id = ? and received_at >= ?
+                    order by timestamp, id limit 50
+                    """, session, receivedAt(session * EVENTS_PER_SESSION));
+        }, () -> { });
+        BenchmarkData.print("timeline, plain table", plain);
+        BenchmarkData.print("timeline, " + MONTHS + " partitions", partitioned);
+
+        assertThat(BenchmarkData.percentileMillis(partitioned, 0.95))
+                .isLessThan(BenchmarkData.percentileMillis(plain, 0.95) * 2 + 1);
+    }
+
+    @Test
+    void retention_shouldDropTheOldestMonthCheaperThanDeletingIt() {
+        Timestamp cutoff = Timestamp.from(start(FIRST.plusMonths(1)));
+
+        long begin = System.nanoTime();
+        int deleted = jdbc.update("delete from bench_event_plain where received_at < ?", cutoff);
+        // the space of deleted rows is only reusable after a vacuum, which reads the whole table
+        jdbc.execute("vacuum bench_event_plain");
+        double deleteMillis = (System.nanoTime() - begin) / 1_000_000.0;
+
+        begin = System.nanoTime();
+        jdbc.execute("alter table bench_event_part detach partition bench_event_part_0");
+        jdbc.execute("drop table bench_event_part_0");
+        double dropMillis = (System.nanoTime() - begin) / 1_000_000.0;
+
+        System.out.printf("retention of one month (%d rows): delete + vacuum %.0fms, partition drop %.0fms%n",
+                deleted, deleteMillis, dropMillis);
+        assertThat(deleted).isEqualTo(EVENTS_PER_MONTH);
+        assertThat(dropMillis).isLessThan(deleteMillis / 10);
+    }
+
+    // the same time the seed gives event n
+    private static Timestamp receivedAt(long event) {
+        return Timestamp.from(start(FIRST.plusMonths(event / EVENTS_PER_MONTH))
+                .plus(EVENT_SPACING.multipliedBy(event % EVENTS_PER_MONTH)));
+    }
+
+    private static Instant start(YearMonth month) {
+        return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private void dropTables() {
+        jdbc.execute("drop table if exists bench_event_plain");
+        jdbc.execute("drop table if exists bench_event_part");
+        jdbc.execute("drop table if exists bench_event_part_0");
+    }
+}
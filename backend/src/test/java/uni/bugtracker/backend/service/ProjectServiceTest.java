@@ -13,10 +13,17 @@ import uni.bugtracker.backend.exception.ProjectCreationError;
 import uni.bugtracker.backend.exception.ResourceNotFoundException;
 import uni.bugtracker.backend.model.Developer;
 import uni.bugtracker.backend.model.Project;
+import uni.bugtracker.backend.model.PurgeJob;
 import uni.bugtracker.backend.repository.DeveloperRepository;
 import uni.bugtracker.backend.repository.ProjectRepository;
 import uni.bugtracker.backend.security.CustomUserDetails;
+import uni.bugtracker.backend.security.ProjectMembershipCache;
 import uni.bugtracker.backend.security.model.Role;
+import uni.bugtracker.backend.security.service.TokenVersionService;
+import uni.bugtracker.backend.service.purge.PurgeService;
+import uni.bugtracker.backend.service.search.SearchIndex;
+import uni.bugtracker.backend.service.similar.SimilarReportIndex;
+import uni.bugtracker.backend.service.stats.StatsRollup;
 
 import java.util.HashSet;
 import java.util.List;
@@ -37,9 +44,27 @@ class ProjectServiceTest {
     @Mock
     private DeveloperRepository developerRepository;
 
+    @Mock
+    private ProjectMembershipCache membershipCache;
+
+    @Mock
+    private SearchIndex searchIndex;
+
     @Mock
     private Authentication authentication;
 
+    @Mock
+    private StatsRollup statsRollup;
+
+    @Mock
+    private PurgeService purgeService;
+
+    @Mock
+    private SimilarReportIndex similarReportIndex;
+
+    @Mock
+    private TokenVersionService tokenVersionService;
+
     @InjectMocks
     private ProjectService projectService;
 
@@ -116,6 +141,33 @@ class ProjectServiceTest {
 
         verify(projectRepository).save(any(Project.class));
         verify(developerRepository).save(developer);
+        verify(membershipCache).invalidate("dev-id");
+    }
+
+    @Test
+    void createProject_whenDeveloperIsPromoted_shouldRevokeTheDeveloperToken() {
+        // Given
+        ProjectRequestBody request = new ProjectRequestBody();
+        request.setProjectName("New Project");
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getName()).thenReturn("devUser");
+        Developer developer = new Developer();
+        developer.setId("dev-id");
+        developer.setUsername("devUser");
+        developer.setRole(Role.DEVELOPER);
+        developer.setTokenVersion(3);
+        developer.setProjects(new HashSet<>());
+        when(developerRepository.findByUsername("devUser")).thenReturn(Optional.of(developer));
+        when(developerRepository.findProjectsByDeveloperId("dev-id")).thenReturn(Collections.emptyList());
+        when(projectRepository.save(any(Project.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(developerRepository.save(any(Developer.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        projectService.createProject(request, authentication);
+
+        // Then: tokens with the DEVELOPER role claim no longer match
+        assertThat(developer.getTokenVersion()).isEqualTo(4);
+        verify(tokenVersionService).updateVersion("dev-id", 4);
     }
 
     @Test
@@ -190,6 +242,7 @@ class ProjectServiceTest {
         assertThat(admin.getProjects()).isEmpty();
 
         verify(developerRepository, never()).save(admin);
+        verifyNoInteractions(tokenVersionService);
     }
 
     @Test
@@ -317,17 +370,25 @@ class ProjectServiceTest {
     }
 
     @Test
-    void deleteProject_shouldDeleteAndReturnProject() {
+    void deleteProject_shouldQueuePurgeJobInsteadOfDeletingInline() {
         // Given
+        PurgeJob job = new PurgeJob();
+        job.setKind(PurgeJob.Kind.PROJECT);
+        job.setProjectId("project-123");
         when(projectRepository.findById("project-123")).thenReturn(Optional.of(project));
+        when(purgeService.requestProjectDeletion("project-123")).thenReturn(job);
 
         // When
-        Project result = projectService.deleteProject("project-123");
+        PurgeJob result = projectService.deleteProject("project-123");
 
-        // Then
-        assertThat(result).isEqualTo(project);
+        // Then: the rows go in chunks in the background
+        assertThat(result).isSameAs(job);
         verify(projectRepository).findById("project-123");
-        verify(projectRepository).deleteById("project-123");
+        verify(projectRepository, never()).deleteById(anyString());
+        verify(membershipCache).invalidateAll();
+        verify(searchIndex).removeProject("project-123");
+        verify(statsRollup).removeProject("project-123");
+        verify(similarReportIndex).removeProject("project-123");
     }
 
     @Test
@@ -338,5 +399,6 @@ class ProjectServiceTest {
         // When & Then
         assertThatThrownBy(() -> projectService.deleteProject("invalid"))
                 .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(purgeService);
     }
 }
\ No newline at end of file
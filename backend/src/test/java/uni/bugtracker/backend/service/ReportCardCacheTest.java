@@ -0,0 +1,155 @@
+package uni.bugtracker.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import uni.bugtracker.backend.model.*;
+import uni.bugtracker.backend.repository.projection.ReportVersion;
+import uni.bugtracker.backend.utility.cluster.ClusterEventBus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ReportCardCacheTest {
+
+    @Mock
+    private ClusterEventBus eventBus;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    private ReportCardCache reportCardCache;
+    private Consumer<String> invalidationHandler;
+    private Report report;
+    private AtomicInteger loads;
+    private Supplier<Report> loader;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        reportCardCache = new ReportCardCache(eventBus, objectMapper, DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+        ArgumentCaptor<Consumer<String>> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(eventBus).subscribe(eq(ReportCardCache.CHANNEL), captor.capture());
+        invalidationHandler = captor.getValue();
+
+        Project project = new Project();
+        project.setId("project-1");
+        Session session = new Session();
+        session.setId(5L);
+        report = new Report();
+        report.setId(1L);
+        report.setVersion(3L);
+        report.setProject(project);
+        report.setSession(session);
+        report.setTitle("Checkout fails");
+        report.setReportedAt(Instant.parse("2026-01-10T12:00:00Z"));
+        report.setTags(List.of(Tag.BLANK_SCREEN));
+        report.setRelatedEventIds(List.of(10L, 11L));
+        report.setCriticality(CriticalityLevel.HIGH);
+        report.setStatus(ReportStatus.NEW);
+
+        loads = new AtomicInteger();
+        loader = () -> {
+            loads.incrementAndGet();
+            return report;
+        };
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void get_repeatedViews_shouldBuildCardOnce() {
+        // When
+        byte[] first = reportCardCache.get(version(3L), loader);
+        byte[] second = reportCardCache.get(version(3L), loader);
+
+        // Then: same bytes, in the shape of ReportCardDTO
+        assertThat(loads).hasValue(1);
+        assertThat(second).isSameAs(first);
+        assertThat(reportCardCache.hitRatio()).isEqualTo(0.5);
+        JsonNode json = objectMapper.readTree(first);
+        assertThat(json.get("id").asLong()).isEqualTo(1L);
+        assertThat(json.get("projectId").asString()).isEqualTo("project-1");
+        assertThat(json.get("reportedAt").asString()).isEqualTo("2026-01-10T12:00:00Z");
+        assertThat(json.get("tags").get(0).asString()).isEqualTo("BLANK_SCREEN");
+        assertThat(json.get("eventIDs")).hasSize(2);
+        assertThat(json.get("level").asString()).isEqualTo("HIGH");
+        assertThat(json.get("screenUrl").isNull()).isTrue();
+    }
+
+    @Test
+    void get_newerVersion_shouldRebuildWithoutInvalidation() {
+        // Given: updated on another node, the notification has not arrived yet
+        reportCardCache.get(version(3L), loader);
+        report.setVersion(4L);
+
+        // When
+        reportCardCache.get(version(4L), loader);
+        reportCardCache.get(version(4L), loader);
+
+        // Then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidate_shouldPublishAndDropEntryOnDelivery() {
+        // Given
+        reportCardCache.get(version(3L), loader);
+
+        // When
+        reportCardCache.invalidate(1L);
+        verify(eventBus).publish(ReportCardCache.CHANNEL, "1");
+        invalidationHandler.accept("1");
+        reportCardCache.get(version(3L), loader);
+
+        // Then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void bindTo_shouldExposeHitRatioAndMemory() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        reportCardCache.bindTo(registry);
+        byte[] json = reportCardCache.get(version(3L), loader);
+        reportCardCache.get(version(3L), loader);
+
+        // When
+        double hitRatio = registry.get("report.card.cache.hit.ratio").gauge().value();
+        double memory = registry.get("report.card.cache.memory").gauge().value();
+
+        // Then
+        assertThat(hitRatio).isEqualTo(0.5);
+        assertThat(memory).isGreaterThan(json.length);
+        assertThat(registry.get("report.card.cache.requests").tag("result", "hit").functionCounter().count())
+                .isEqualTo(1);
+    }
+
+    private static ReportVersion version(Long version) {
+        return new ReportVersion(1L, "project-1", version, Instant.now());
+    }
+}
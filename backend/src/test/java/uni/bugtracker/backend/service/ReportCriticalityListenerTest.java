@@ -31,6 +31,15 @@ class ReportCriticalityListenerTest {
         verify(analysisService).analyzeAndUpdate(100L);
     }
 
+    @Test
+    void handle_whenReportRepeatsIssue_shouldSkipAnalysis() {
+        // When
+        listener.handle(new ReportCreatedEvent(100L, false));
+
+        // Then
+        verifyNoInteractions(analysisService);
+    }
+
     @Test
     void handle_whenAnalysisServiceThrowsException_shouldPropagate() {
         // Given
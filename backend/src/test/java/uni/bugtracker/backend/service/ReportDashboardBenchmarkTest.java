@@ -0,0 +1,108 @@
+package uni.bugtracker.backend.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import uni.bugtracker.backend.dto.report.ReportDashboardDTO;
+import uni.bugtracker.backend.model.Project;
+import uni.bugtracker.backend.model.Report;
+import uni.bugtracker.backend.repository.DailyStatWriter;
+import uni.bugtracker.backend.repository.DatabaseDialect;
+import uni.bugtracker.backend.repository.RowCountEstimator;
+import uni.bugtracker.backend.service.search.InMemorySearchIndex;
+import uni.bugtracker.backend.service.stats.StatsRollup;
+import uni.bugtracker.backend.utility.ReportMapper;
+import uni.bugtracker.backend.utility.cluster.ClusterEventBus;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dashboard list latency over a project with 100k reports, projection query vs entity page.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@org.junit.jupiter.api.Tag("benchmark")
+@AutoConfigureJson
+@DataJpaTest
+@Import({ReportService.class, ReportMapper.class, RequestEntityLoader.class, RowCountEstimator.class,
+        InMemorySearchIndex.class, ReportCardCache.class, ClusterEventBus.class, StatsRollup.class,
+        DailyStatWriter.class, DatabaseDialect.class})
+class ReportDashboardBenchmarkTest {
+
+    private static final int REPORTS = 100_000;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReportService reportService;
+
+    private String projectId;
+
+    @BeforeEach
+    void seed() {
+        Project project = new Project();
+        project.setName("Benchmark");
+        entityManager.persist(project);
+        entityManager.flush();
+        projectId = project.getId();
+
+        BenchmarkData.seedReports(new JdbcTemplate(dataSource), projectId, REPORTS, Instant.now().minusSeconds(REPORTS));
+        entityManager.clear();
+    }
+
+    @Test
+    void dashboardList_latency() {
+        Pageable firstPage = PageRequest.of(0, 30, Sort.by(Sort.Direction.DESC, "reportedAt"));
+        Pageable deepPage = PageRequest.of(2_000, 30, Sort.by(Sort.Direction.DESC, "reportedAt"));
+
+        report("projection, first page", () -> reportService.getAllReportsOfProject(projectId, firstPage).getContent());
+        report("projection, page 2000", () -> reportService.getAllReportsOfProject(projectId, deepPage).getContent());
+        report("projection, solved", () -> reportService.getAllReportsSolvedOnProject(projectId, firstPage).getContent());
+        report("entities, first page", () -> entityPage(firstPage));
+
+        // same depth as page 2000, reached by seeking instead of skipping 60k rows
+        String cursor = null;
+        for (int i = 0; i < 2_000; i++) {
+            cursor = reportService.getReportsOfProjectAfter(projectId, cursor, 30, false).getNextCursor();
+        }
+        String deepCursor = cursor;
+        report("keyset, first slice", () -> reportService.getReportsOfProjectAfter(projectId, null, 30, false).getContent());
+        report("keyset, slice 2000", () -> reportService.getReportsOfProjectAfter(projectId, deepCursor, 30, false).getContent());
+    }
+
+    // the list as it was built before: a page of full entities
+    private List<ReportDashboardDTO> entityPage(Pageable pageable) {
+        return entityManager.createQuery(
+                        "select r from Report r where r.project.id = :projectId order by r.reportedAt desc", Report.class)
+                .setParameter("projectId", projectId)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList()
+                .stream()
+                .map(ReportDashboardDTO::new)
+                .toList();
+    }
+
+    private void report(String name, Supplier<List<ReportDashboardDTO>> call) {
+        assertThat(call.get()).hasSize(30);
+        BenchmarkData.print(name, BenchmarkData.measure(WARMUP, ITERATIONS, call, entityManager::clear));
+    }
+}
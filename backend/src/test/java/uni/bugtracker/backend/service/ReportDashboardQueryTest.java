@@ -0,0 +1,167 @@
+package uni.bugtracker.backend.service;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import uni.bugtracker.backend.dto.CursorPage;
+import uni.bugtracker.backend.dto.report.ReportDashboardDTO;
+import uni.bugtracker.backend.model.*;
+import uni.bugtracker.backend.repository.DailyStatWriter;
+import uni.bugtracker.backend.repository.DatabaseDialect;
+import uni.bugtracker.backend.repository.RowCountEstimator;
+import uni.bugtracker.backend.service.search.InMemorySearchIndex;
+import uni.bugtracker.backend.service.similar.SimilarReportIndex;
+import uni.bugtracker.backend.service.stats.StatsRollup;
+import uni.bugtracker.backend.utility.ReportMapper;
+import uni.bugtracker.backend.utility.cluster.ClusterEventBus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement count of the dashboard list must not grow with the page size.
+ */
+@AutoConfigureJson
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ReportService.class, ReportMapper.class, RequestEntityLoader.class, RowCountEstimator.class,
+        InMemorySearchIndex.class, ReportCardCache.class, ClusterEventBus.class, StatsRollup.class,
+        DailyStatWriter.class, DatabaseDialect.class})
+class ReportDashboardQueryTest {
+
+    private static final int REPORTS = 40;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ReportService reportService;
+
+    // reads no rows of the dashboard
+    @MockitoBean
+    private SimilarReportIndex similarReportIndex;
+
+    private Statistics statistics;
+    private String projectId;
+
+    @BeforeEach
+    void setUp() {
+        Project project = new Project();
+        project.setName("Project");
+        entityManager.persist(project);
+        projectId = project.getId();
+
+        Instant now = Instant.now();
+        for (int i = 0; i < REPORTS; i++) {
+            Session session = new Session();
+            session.setProject(project);
+            session.setIsActive(false);
+            session.setStartTime(now);
+            entityManager.persist(session);
+
+            Report report = new Report();
+            report.setProject(project);
+            report.setSession(session);
+            report.setTitle("Report " + i);
+            report.setReportedAt(now.minusSeconds(i));
+            report.setTags(i % 2 == 0 ? List.of(Tag.BROKEN_LINK, Tag.SLOW_LOADING) : List.of());
+            report.setStatus(i % 4 == 0 ? ReportStatus.DONE : ReportStatus.NEW);
+            entityManager.persist(report);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllReportsOfProject_fullPage_shouldUseRowsAndCountQueries() {
+        // When
+        Page<ReportDashboardDTO> page = reportService.getAllReportsOfProject(
+                projectId, PageRequest.of(0, 30, Sort.by(Sort.Direction.DESC, "reportedAt")));
+
+        // Then
+        assertThat(page.getContent()).hasSize(30);
+        assertThat(page.getTotalElements()).isEqualTo(REPORTS);
+        assertThat(page.getContent().getFirst().getTitle()).isEqualTo("Report 0");
+        assertThat(page.getContent().getFirst().getTags()).containsExactlyInAnyOrder("BROKEN_LINK", "SLOW_LOADING");
+        assertThat(page.getContent().get(1).getTags()).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    @Test
+    void getAllReportsOfProject_lastPage_shouldSkipCountQuery() {
+        // When
+        Page<ReportDashboardDTO> page = reportService.getAllReportsOfProject(
+                projectId, PageRequest.of(1, 30, Sort.by(Sort.Direction.DESC, "reportedAt")));
+
+        // Then
+        assertThat(page.getContent()).hasSize(REPORTS - 30);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getAllReportsSolvedOnProject_shouldReturnOnlyDoneWithOneQuery() {
+        // When
+        Page<ReportDashboardDTO> page = reportService.getAllReportsSolvedOnProject(
+                projectId, PageRequest.of(0, 30, Sort.by(Sort.Direction.DESC, "reportedAt")));
+
+        // Then
+        assertThat(page.getContent()).hasSize(REPORTS / 4);
+        assertThat(page.getContent()).allMatch(dto -> "DONE".equals(dto.getStatus()));
+        assertThat(page.getContent()).allMatch(dto -> dto.getTags().size() == 2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getReportsOfProjectAfter_shouldWalkAllReportsWithoutCountQueries() {
+        // Given
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+
+        // When
+        do {
+            CursorPage<ReportDashboardDTO> slice = reportService.getReportsOfProjectAfter(projectId, cursor, 15, false);
+            slice.getContent().forEach(dto -> titles.add(dto.getTitle()));
+            cursor = slice.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Then: 15 + 15 + 10, newest first, one statement per slice
+        assertThat(pages).isEqualTo(3);
+        assertThat(titles).hasSize(REPORTS).doesNotHaveDuplicates();
+        assertThat(titles.getFirst()).isEqualTo("Report 0");
+        assertThat(titles.getLast()).isEqualTo("Report " + (REPORTS - 1));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(pages);
+    }
+
+    @Test
+    void getReportsSolvedOnProjectAfter_shouldKeepStatusFilterAcrossSlices() {
+        // When
+        CursorPage<ReportDashboardDTO> first = reportService.getReportsSolvedOnProjectAfter(projectId, null, 6, false);
+        CursorPage<ReportDashboardDTO> second = reportService.getReportsSolvedOnProjectAfter(
+                projectId, first.getNextCursor(), 6, false);
+
+        // Then
+        assertThat(first.getContent()).hasSize(6);
+        assertThat(second.getContent()).hasSize(REPORTS / 4 - 6);
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getContent()).allMatch(dto -> "DONE".equals(dto.getStatus()));
+    }
+}
@@ -0,0 +1,132 @@
+package uni.bugtracker.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uni.bugtracker.backend.dto.CursorPage;
+import uni.bugtracker.backend.dto.event.EventTimelineItem;
+import uni.bugtracker.backend.dto.report.ReportCardDTO;
+import uni.bugtracker.backend.dto.report.ReportDetailResponse;
+import uni.bugtracker.backend.dto.session.SessionDetailsResponse;
+import uni.bugtracker.backend.exception.BusinessValidationException;
+import uni.bugtracker.backend.model.*;
+import uni.bugtracker.backend.repository.projection.EventTimelineRow;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportDetailServiceTest {
+
+    @Mock
+    private RequestEntityLoader entityLoader;
+    @Mock
+    private EventService eventService;
+
+    private ReportDetailService reportDetailService;
+    private Session session;
+    private Report report;
+
+    @BeforeEach
+    void setUp() {
+        // tasks run inline, the parallelism itself is not under test here
+        reportDetailService = new ReportDetailService(entityLoader, eventService, Runnable::run);
+
+        Project project = new Project();
+        project.setId("project-123");
+
+        session = new Session();
+        session.setId(1L);
+        session.setProject(project);
+        session.setIsActive(false);
+        session.setBrowser("Firefox");
+
+        report = new Report();
+        report.setId(10L);
+        report.setProject(project);
+        report.setSession(session);
+        report.setTitle("Checkout fails");
+        report.setStatus(ReportStatus.NEW);
+        report.setReportedAt(Instant.now());
+    }
+
+    @Test
+    void getDetail_withoutParameters_shouldReturnAllParts() {
+        // Given
+        EventTimelineItem item = new EventTimelineItem(
+                new EventTimelineRow(5L, EventType.ERROR, "boom", "http://example.com", Instant.now(), 10, 20));
+        when(entityLoader.report(10L)).thenReturn(report);
+        when(entityLoader.session(1L)).thenReturn(session);
+        when(eventService.getTimeline(1L, null, 100)).thenReturn(new CursorPage<>(List.of(item), null, false, null));
+
+        // When
+        ReportDetailResponse detail = reportDetailService.getDetail(10L, null, null, 100);
+
+        // Then
+        assertThat(detail.getReport()).isInstanceOf(ReportCardDTO.class);
+        assertThat(((ReportCardDTO) detail.getReport()).getTitle()).isEqualTo("Checkout fails");
+        assertThat(((SessionDetailsResponse) detail.getSession()).getBrowser()).isEqualTo("Firefox");
+        assertThat(detail.getEvents().getContent()).containsExactly(item);
+    }
+
+    @Test
+    void getDetail_withIncludeAndFields_shouldLoadAndReturnOnlySelection() {
+        // Given
+        when(entityLoader.report(10L)).thenReturn(report);
+
+        // When
+        ReportDetailResponse detail = reportDetailService.getDetail(
+                10L, Set.of("report"), "report.title, report.status", 100);
+
+        // Then
+        assertThat(detail.getReport()).isEqualTo(Map.of("title", "Checkout fails", "status", "NEW"));
+        assertThat(detail.getSession()).isNull();
+        assertThat(detail.getEvents()).isNull();
+        verify(entityLoader, never()).session(anyLong());
+        verifyNoInteractions(eventService);
+    }
+
+    @Test
+    void getDetail_withEventFields_shouldSelectFieldsOfEveryItem() {
+        // Given
+        EventTimelineItem item = new EventTimelineItem(
+                new EventTimelineRow(5L, EventType.ERROR, "boom", "http://example.com", Instant.now(), 10, 20));
+        when(entityLoader.report(10L)).thenReturn(report);
+        when(eventService.getTimeline(1L, null, 50)).thenReturn(new CursorPage<>(List.of(item), "next", true, null));
+
+        // When
+        ReportDetailResponse detail = reportDetailService.getDetail(10L, Set.of("events"), "events.name", 50);
+
+        // Then
+        assertThat(detail.getEvents().getContent()).containsExactly(Map.of("name", "boom"));
+        assertThat(detail.getEvents().getNextCursor()).isEqualTo("next");
+    }
+
+    @Test
+    void getDetail_withUnknownPart_shouldThrowException() {
+        // When & Then
+        assertThatThrownBy(() -> reportDetailService.getDetail(10L, Set.of("screen"), null, 100))
+                .isInstanceOf(BusinessValidationException.class);
+        verifyNoInteractions(entityLoader, eventService);
+    }
+
+    @Test
+    void getDetail_withUnknownField_shouldThrowException() {
+        // Given
+        when(entityLoader.report(10L)).thenReturn(report);
+
+        // When & Then
+        assertThatThrownBy(() -> reportDetailService.getDetail(10L, Set.of("report"), "report.password", 100))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("password");
+    }
+}
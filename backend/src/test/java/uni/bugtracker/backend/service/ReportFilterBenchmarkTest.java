@@ -0,0 +1,140 @@
+package uni.bugtracker.backend.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import uni.bugtracker.backend.dto.report.ReportFilter;
+import uni.bugtracker.backend.model.*;
+import uni.bugtracker.backend.repository.DailyStatWriter;
+import uni.bugtracker.backend.repository.DatabaseDialect;
+import uni.bugtracker.backend.repository.RowCountEstimator;
+import uni.bugtracker.backend.service.search.InMemorySearchIndex;
+import uni.bugtracker.backend.service.stats.StatsRollup;
+import uni.bugtracker.backend.security.model.Role;
+import uni.bugtracker.backend.utility.ReportMapper;
+import uni.bugtracker.backend.utility.cluster.ClusterEventBus;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Filtered dashboard list over a project with a million reports. Every filter combination
+ * the dashboard offers must stay under 200 ms at P95 for the keyset list; the offset list
+ * is printed alongside, its count(*) grows with the number of matching rows.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@org.junit.jupiter.api.Tag("benchmark")
+@AutoConfigureJson
+@DataJpaTest
+@Import({ReportService.class, ReportMapper.class, RequestEntityLoader.class, RowCountEstimator.class,
+        InMemorySearchIndex.class, ReportCardCache.class, ClusterEventBus.class, StatsRollup.class,
+        DailyStatWriter.class, DatabaseDialect.class})
+class ReportFilterBenchmarkTest {
+
+    private static final int REPORTS = 1_000_000;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 200;
+    private static final double P95_BUDGET_MS = 200;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReportService reportService;
+
+    private String projectId;
+    private Instant start;
+
+    @BeforeEach
+    void seed() {
+        Project project = new Project();
+        project.setName("Benchmark");
+        entityManager.persist(project);
+        String[] developerIds = new String[4];
+        for (int i = 0; i < developerIds.length; i++) {
+            Developer developer = Developer.builder()
+                    .username("dev" + i)
+                    .password("pass")
+                    .role(Role.DEVELOPER)
+                    .build();
+            entityManager.persist(developer);
+            developerIds[i] = developer.getId();
+        }
+        entityManager.flush();
+        projectId = project.getId();
+
+        start = Instant.now().minusSeconds(REPORTS);
+        BenchmarkData.seedReports(new JdbcTemplate(dataSource), projectId, REPORTS, start, developerIds);
+        entityManager.clear();
+    }
+
+    @Test
+    void filteredList_p95() {
+        Map<String, ReportFilter> filters = new LinkedHashMap<>();
+        filters.put("open", filter(f -> f.setStatus(Set.of(ReportStatus.NEW, ReportStatus.IN_PROGRESS))));
+        filters.put("solved", filter(f -> f.setStatus(Set.of(ReportStatus.DONE))));
+        filters.put("high + critical", filter(f -> f.setLevel(Set.of(CriticalityLevel.HIGH, CriticalityLevel.CRITICAL))));
+        filters.put("developer", filter(f -> f.setDeveloper("dev0")));
+        filters.put("last day", filter(f -> f.setFrom(start.plusSeconds(REPORTS - 86_400))));
+        filters.put("one day a week ago", filter(f -> {
+            f.setFrom(start.plusSeconds(REPORTS - 8 * 86_400));
+            f.setTo(start.plusSeconds(REPORTS - 7 * 86_400));
+        }));
+        filters.put("any tag", filter(f -> f.setTags(Set.of(Tag.BROKEN_LINK))));
+        filters.put("all tags", filter(f -> {
+            f.setTags(Set.of(Tag.BROKEN_LINK, Tag.FORM_NOT_WORKING));
+            f.setTagMatch(ReportFilter.TagMatch.ALL);
+        }));
+        filters.put("open + severe + last day", filter(f -> {
+            f.setStatus(Set.of(ReportStatus.NEW));
+            f.setLevel(Set.of(CriticalityLevel.HIGH, CriticalityLevel.CRITICAL));
+            f.setFrom(start.plusSeconds(REPORTS - 86_400));
+        }));
+        filters.put("developer + open + any tag", filter(f -> {
+            f.setDeveloper("dev0");
+            f.setStatus(Set.of(ReportStatus.NEW, ReportStatus.IN_PROGRESS));
+            f.setTags(Set.of(Tag.SLOW_LOADING, Tag.BLANK_SCREEN));
+        }));
+
+        Pageable firstPage = PageRequest.of(0, 30, Sort.by(Sort.Direction.DESC, "reportedAt"));
+        filters.forEach((name, filter) -> {
+            assertThat(reportService.getReportsOfProjectAfter(projectId, filter, null, 30, false).getContent())
+                    .as(name)
+                    .isNotEmpty();
+
+            long[] keyset = BenchmarkData.measure(WARMUP, ITERATIONS,
+                    () -> reportService.getReportsOfProjectAfter(projectId, filter, null, 30, false),
+                    entityManager::clear);
+            long[] offset = BenchmarkData.measure(WARMUP, ITERATIONS / 4,
+                    () -> reportService.getAllReportsOfProject(projectId, filter, firstPage),
+                    entityManager::clear);
+            BenchmarkData.print("keyset, " + name, keyset);
+            BenchmarkData.print("offset + count, " + name, offset);
+
+            assertThat(BenchmarkData.percentileMillis(keyset, 0.95)).as(name).isLessThan(P95_BUDGET_MS);
+        });
+    }
+
+    private static ReportFilter filter(Consumer<ReportFilter> setup) {
+        ReportFilter filter = new ReportFilter();
+        setup.accept(filter);
+        return filter;
+    }
+}
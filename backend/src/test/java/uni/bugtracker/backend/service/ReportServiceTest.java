@@ -3,26 +3,40 @@ package uni.bugtracker.backend.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import uni.bugtracker.backend.dto.CursorPage;
 import uni.bugtracker.backend.dto.report.ReportCreationRequestWidget;
+import uni.bugtracker.backend.dto.report.ReportDashboardDTO;
+import uni.bugtracker.backend.dto.report.ReportFilter;
 import uni.bugtracker.backend.dto.report.ReportUpdateRequestDashboard;
 import uni.bugtracker.backend.exception.BusinessValidationException;
 import uni.bugtracker.backend.exception.ResourceNotFoundException;
 import uni.bugtracker.backend.model.*;
 import uni.bugtracker.backend.repository.*;
+import uni.bugtracker.backend.repository.projection.ReportListRow;
+import uni.bugtracker.backend.service.feed.ReportChangedEvent;
+import uni.bugtracker.backend.service.feed.ReportFeed;
+import uni.bugtracker.backend.service.search.SearchIndex;
+import uni.bugtracker.backend.service.similar.SimilarReportIndex;
+import uni.bugtracker.backend.service.stats.StatsRollup;
 import uni.bugtracker.backend.utility.ReportMapper;
+import uni.bugtracker.backend.utility.pagination.ReportCursor;
 import uni.bugtracker.backend.utility.ai_criticality.ReportCreatedEvent;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -46,6 +60,18 @@ class ReportServiceTest {
     private ReportMapper reportMapper;
     @Mock
     private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private RequestEntityLoader entityLoader;
+    @Mock
+    private RowCountEstimator rowCountEstimator;
+    @Mock
+    private SearchIndex searchIndex;
+    @Mock
+    private ReportCardCache reportCardCache;
+    @Mock
+    private StatsRollup statsRollup;
+    @Mock
+    private SimilarReportIndex similarReportIndex;
 
     @InjectMocks
     private ReportService reportService;
@@ -124,6 +150,8 @@ class ReportServiceTest {
         verify(eventRepository).findAllBySessionId(1L);
         verify(reportMapper).attachEvents(report, events);
         verify(reportRepository).save(report);
+        verify(searchIndex).indexReport(report);
+        verify(statsRollup).reportAdded(report);
         verify(eventPublisher).publishEvent(any(ReportCreatedEvent.class));
 
         verify(sessionRepository, never()).save(any(Session.class));
@@ -147,7 +175,7 @@ class ReportServiceTest {
         // Given
         String rawJson = "{\"title\":\"Updated Title\",\"developerName\":\"john.doe\"}";
 
-        when(reportRepository.findById(1L)).thenReturn(Optional.of(report));
+        when(entityLoader.report(1L)).thenReturn(report);
         when(developerRepository.findByUsername("john.doe")).thenReturn(Optional.of(developer));
         when(reportMapper.updateFromDashboard(eq(report), eq(dashboardRequest), anySet(), eq(null), eq(developer)))
                 .thenReturn(report);
@@ -158,10 +186,34 @@ class ReportServiceTest {
 
         // Then
         assertThat(result).isNotNull();
-        verify(reportRepository).findById(1L);
+        verify(entityLoader).report(1L);
         verify(developerRepository).findByUsername("john.doe");
         verify(reportMapper).updateFromDashboard(any(), any(), anySet(), any(), any());
         verify(reportRepository).save(report);
+        verify(reportCardCache).invalidate(1L);
+    }
+
+    @Test
+    void updateReportFromDashboard_statusChanged_shouldPublishFeedEvent() {
+        // Given
+        String rawJson = "{\"status\":\"DONE\"}";
+        when(entityLoader.report(1L)).thenReturn(report);
+        when(reportMapper.updateFromDashboard(eq(report), eq(dashboardRequest), anySet(), eq(null), eq(null)))
+                .thenAnswer(invocation -> {
+                    report.setStatus(ReportStatus.DONE);
+                    return report;
+                });
+        when(reportRepository.save(report)).thenReturn(report);
+
+        // When
+        reportService.updateReportFromDashboard(1L, dashboardRequest, rawJson);
+
+        // Then: only the status event, criticality did not change
+        ArgumentCaptor<ReportChangedEvent> captor = ArgumentCaptor.forClass(ReportChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().type()).isEqualTo(ReportFeed.STATUS_CHANGED);
+        assertThat(captor.getValue().report().status()).isEqualTo("DONE");
+        assertThat(captor.getValue().report().projectId()).isEqualTo("project-123");
     }
 
     @Test
@@ -179,7 +231,7 @@ class ReportServiceTest {
     void updateReportFromDashboard_whenReportNotFound_shouldThrowException() {
         // Given
         String rawJson = "{}";
-        when(reportRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(entityLoader.report(anyLong())).thenThrow(new ResourceNotFoundException("Report doesn't exist"));
 
         // When & Then
         assertThatThrownBy(() -> reportService.updateReportFromDashboard(999L, dashboardRequest, rawJson))
@@ -190,82 +242,181 @@ class ReportServiceTest {
     @Test
     void getReportCard_shouldReturnDTO() {
         // Given
-        when(reportRepository.findById(1L)).thenReturn(Optional.of(report));
+        when(entityLoader.report(1L)).thenReturn(report);
 
         // When
         var result = reportService.getReportCard(1L);
 
         // Then
         assertThat(result).isNotNull();
-        verify(reportRepository).findById(1L);
+        verify(entityLoader).report(1L);
     }
 
     @Test
     void getAllReportsOfProject_shouldReturnPage() {
         // Given
         PageRequest pageable = PageRequest.of(0, 10);
-        Page<Report> reportPage = new PageImpl<>(List.of(report), pageable, 1);
+        ReportListRow row = new ReportListRow(1L, "project-123", "Title", Instant.now(),
+                CriticalityLevel.UNKNOWN, ReportStatus.NEW, EnumSet.of(Tag.BROKEN_LINK));
+        Page<ReportListRow> rowPage = new PageImpl<>(List.of(row), pageable, 1);
 
-        when(reportRepository.findAllByProjectId("project-123", pageable)).thenReturn(reportPage);
+        when(reportRepository.findListRowsByProjectId("project-123", pageable)).thenReturn(rowPage);
 
         // When
-        Page<?> result = reportService.getAllReportsOfProject("project-123", pageable);
+        Page<ReportDashboardDTO> result = reportService.getAllReportsOfProject("project-123", pageable);
 
         // Then
         assertThat(result.getTotalElements()).isEqualTo(1);
-        verify(reportRepository).findAllByProjectId("project-123", pageable);
+        assertThat(result.getContent().getFirst().getTags()).containsExactly("BROKEN_LINK");
+        verify(reportRepository).findListRowsByProjectId("project-123", pageable);
     }
 
     @Test
     void getAllReportsSolvedOnProject_shouldReturnOnlyDoneReports() {
         // Given
         PageRequest pageable = PageRequest.of(0, 10);
+        ReportListRow doneRow = new ReportListRow(2L, "project-123", "Done Report", Instant.now(),
+                CriticalityLevel.UNKNOWN, ReportStatus.DONE, EnumSet.noneOf(Tag.class));
+        Page<ReportListRow> rowPage = new PageImpl<>(List.of(doneRow), pageable, 1);
+
+        when(reportRepository.findListRowsByProjectIdAndStatus("project-123", ReportStatus.DONE, pageable))
+                .thenReturn(rowPage);
 
-        Report doneReport = new Report();
-        doneReport.setId(2L);
-        doneReport.setTitle("Done Report");
-        doneReport.setProject(project);
-        doneReport.setStatus(ReportStatus.DONE);
-        doneReport.setCriticality(CriticalityLevel.UNKNOWN);
-        doneReport.setTags(new ArrayList<>());
+        // When
+        Page<ReportDashboardDTO> result = reportService.getAllReportsSolvedOnProject("project-123", pageable);
 
-        Page<Report> reportPage = new PageImpl<>(List.of(doneReport), pageable, 1);
+        // Then
+        assertThat(result.getTotalElements()).isEqualTo(1);
+        assertThat(result.getContent().getFirst().getStatus()).isEqualTo("DONE");
+        assertThat(result.getContent().getFirst().getTags()).isEmpty();
+        verify(reportRepository).findListRowsByProjectIdAndStatus("project-123", ReportStatus.DONE, pageable);
+    }
 
-        when(reportRepository.findAllByProjectIdAndStatus("project-123", ReportStatus.DONE, pageable))
-                .thenReturn(reportPage);
+    @Test
+    void getAllReportsOfProject_withFilter_shouldUseFilterQuery() {
+        // Given
+        PageRequest pageable = PageRequest.of(0, 10);
+        ReportFilter filter = new ReportFilter();
+        filter.setStatus(Set.of(ReportStatus.NEW));
+        when(reportRepository.findListRows("project-123", filter, pageable)).thenReturn(Page.empty(pageable));
 
         // When
-        Page<?> result = reportService.getAllReportsSolvedOnProject("project-123", pageable);
+        Page<ReportDashboardDTO> result = reportService.getAllReportsOfProject("project-123", filter, pageable);
 
         // Then
-        assertThat(result.getTotalElements()).isEqualTo(1);
-        verify(reportRepository).findAllByProjectIdAndStatus("project-123", ReportStatus.DONE, pageable);
+        assertThat(result.isEmpty()).isTrue();
+        verify(reportRepository, never()).findListRowsByProjectId(any(), any());
+    }
+
+    @Test
+    void getAllReportsOfProject_withEmptyFilter_shouldUseProjectionQuery() {
+        // Given
+        PageRequest pageable = PageRequest.of(0, 10);
+        when(reportRepository.findListRowsByProjectId("project-123", pageable)).thenReturn(Page.empty(pageable));
+
+        // When
+        reportService.getAllReportsOfProject("project-123", ReportFilter.none(), pageable);
+
+        // Then
+        verify(reportRepository, never()).findListRows(any(), any(), any());
+    }
+
+    @Test
+    void getAllReportsOfProject_shouldRejectEmptyDateRange() {
+        // Given
+        ReportFilter filter = new ReportFilter();
+        filter.setFrom(Instant.parse("2026-01-02T00:00:00Z"));
+        filter.setTo(Instant.parse("2026-01-01T00:00:00Z"));
+
+        // When & Then
+        assertThatThrownBy(() -> reportService.getAllReportsOfProject("project-123", filter, PageRequest.of(0, 10)))
+                .isInstanceOf(BusinessValidationException.class);
+        verifyNoInteractions(reportRepository);
+    }
+
+    @Test
+    void getReportsOfProjectAfter_shouldReturnCursorOfLastRowWhenMoreRowsExist() {
+        // Given
+        Instant newest = Instant.parse("2026-01-02T10:00:00Z");
+        ReportListRow first = listRow(5L, "A", newest);
+        ReportListRow second = listRow(4L, "B", newest.minusSeconds(1));
+        ReportListRow extra = listRow(3L, "C", newest.minusSeconds(2));
+        when(reportRepository.findFirstListRowsByProjectId("project-123", Limit.of(3)))
+                .thenReturn(List.of(first, second, extra));
+
+        // When
+        CursorPage<ReportDashboardDTO> result = reportService.getReportsOfProjectAfter("project-123", null, 2, false);
+
+        // Then
+        assertThat(result.getContent()).extracting(ReportDashboardDTO::getId).containsExactly(5L, 4L);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(ReportCursor.decode(result.getNextCursor())).isEqualTo(new ReportCursor(second.reportedAt(), 4L));
+        assertThat(result.getApproximateTotal()).isNull();
+        verifyNoInteractions(rowCountEstimator);
+    }
+
+    @Test
+    void getReportsOfProjectAfter_shouldSeekPastCursorAndEstimateCountOnRequest() {
+        // Given
+        Instant at = Instant.parse("2026-01-02T10:00:00Z");
+        String cursor = new ReportCursor(at, 4L).encode();
+        ReportListRow row = listRow(3L, "C", at.minusSeconds(1));
+        when(reportRepository.findListRowsByProjectIdAfter("project-123", at, 4L, Limit.of(3))).thenReturn(List.of(row));
+        when(rowCountEstimator.estimateRows(anyString(), eq("project-123"))).thenReturn(Optional.of(3L));
+
+        // When
+        CursorPage<ReportDashboardDTO> result = reportService.getReportsOfProjectAfter("project-123", cursor, 2, true);
+
+        // Then
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+        assertThat(result.getApproximateTotal()).isEqualTo(3L);
+    }
+
+    @Test
+    void getReportsSolvedOnProjectAfter_shouldRejectForeignCursor() {
+        // When & Then
+        assertThatThrownBy(() -> reportService.getReportsSolvedOnProjectAfter("project-123", "not-a-cursor", 30, false))
+                .isInstanceOf(BusinessValidationException.class);
+        verifyNoInteractions(reportRepository);
     }
 
     @Test
     void deleteReport_shouldDeleteAndReturnDTO() {
         // Given
-        when(reportRepository.findById(1L)).thenReturn(Optional.of(report));
+        when(entityLoader.report(1L)).thenReturn(report);
 
         // When
         var result = reportService.deleteReport(1L);
 
         // Then
         assertThat(result).isNotNull();
-        verify(reportRepository).findById(1L);
+        verify(entityLoader).report(1L);
         verify(reportRepository).delete(report);
+        verify(searchIndex).removeReport(1L);
+        verify(similarReportIndex).removeReport(1L);
+        verify(statsRollup).reportRemoved(report);
+        verify(reportCardCache).invalidate(1L);
+        verify(entityLoader).forget(Report.class, 1L);
     }
 
     @Test
     void getProjectIdByReportId_shouldReturnProjectId() {
         // Given
-        when(reportRepository.findById(1L)).thenReturn(Optional.of(report));
+        when(reportRepository.findProjectIdById(1L)).thenReturn(Optional.of("project-123"));
 
         // When
         String projectId = reportService.getProjectIdByReportId(1L);
 
         // Then
         assertThat(projectId).isEqualTo("project-123");
-        verify(reportRepository).findById(1L);
+        verify(reportRepository).findProjectIdById(1L);
+        verify(reportRepository, never()).findById(anyLong());
+    }
+
+    private ReportListRow listRow(Long id, String title, Instant reportedAt) {
+        return new ReportListRow(id, "project-123", title, reportedAt,
+                CriticalityLevel.UNKNOWN, ReportStatus.NEW, EnumSet.noneOf(Tag.class));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,169 @@
+package uni.bugtracker.backend.service;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import uni.bugtracker.backend.dto.event.EventDetailsResponse;
+import uni.bugtracker.backend.dto.report.ReportCardDTO;
+import uni.bugtracker.backend.dto.session.SessionDetailsResponse;
+import uni.bugtracker.backend.model.*;
+import uni.bugtracker.backend.repository.EventRepository;
+import uni.bugtracker.backend.repository.SessionRepository;
+import uni.bugtracker.backend.security.model.Role;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the statements one authorized read costs: the {@code @PreAuthorize} lookup
+ * followed by the handler, both inside one request.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(RequestEntityLoader.class)
+class RequestEntityLoaderTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private RequestEntityLoader entityLoader;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    private Statistics statistics;
+    private Long reportId;
+    private Long sessionId;
+    private Long eventId;
+
+    @BeforeEach
+    void setUp() {
+        Project project = new Project();
+        project.setName("Project");
+        entityManager.persist(project);
+
+        Developer developer = Developer.builder()
+                .username("dev")
+                .password("pass")
+                .role(Role.DEVELOPER)
+                .build();
+        entityManager.persist(developer);
+
+        Session session = new Session();
+        session.setProject(project);
+        session.setIsActive(false);
+        session.setStartTime(Instant.now());
+        session.setPlugins(List.of("pdf"));
+        entityManager.persist(session);
+
+        Event event = new Event();
+        event.setSession(session);
+        event.setType(EventType.ERROR);
+        event.setName("TypeError");
+        event.setTimestamp(Instant.now());
+        entityManager.persist(event);
+
+        Report report = new Report();
+        report.setProject(project);
+        report.setSession(session);
+        report.setReportedAt(Instant.now());
+        report.setTags(List.of(Tag.BLANK_SCREEN));
+        report.setRelatedEventIds(List.of(event.getId()));
+        report.setDeveloper(developer);
+        entityManager.persist(report);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        reportId = report.getId();
+        sessionId = session.getId();
+        eventId = event.getId();
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void getReportCard_shouldLoadReportOnceForAuthorizationAndHandler() {
+        // When: GET /api/reports/{id}
+        String projectId = entityLoader.reportProjectId(reportId);
+        ReportCardDTO card = new ReportCardDTO(entityLoader.report(reportId));
+
+        // Then: report joined with developer and relatedEventIds
+        assertThat(card.getProjectId()).isEqualTo(projectId);
+        assertThat(card.getDeveloperName()).isEqualTo("dev");
+        assertThat(card.getTags()).containsExactly("BLANK_SCREEN");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getEvent_shouldLoadEventWithSessionInOneQuery() {
+        // When: GET /api/events/{id}
+        String projectId = entityLoader.eventProjectId(eventId);
+        EventDetailsResponse response = new EventDetailsResponse(entityLoader.event(eventId));
+
+        // Then: was event + session for the check and the event again for the handler
+        assertThat(projectId).isNotNull();
+        assertThat(response.getSessionId()).isEqualTo(sessionId);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getSession_shouldLoadSessionWithPluginsInOneQuery() {
+        // When: GET /api/sessions/{id}
+        String projectId = entityLoader.sessionProjectId(sessionId);
+        SessionDetailsResponse response = new SessionDetailsResponse(entityLoader.session(sessionId));
+
+        // Then
+        assertThat(response.getProjectId()).isEqualTo(projectId);
+        assertThat(response.getPlugins()).containsExactly("pdf");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getEventsBySession_shouldAuthorizeWithProjection() {
+        // When: GET /api/events/session/{sessionId}
+        String projectId = sessionRepository.findProjectIdById(sessionId).orElseThrow();
+        List<EventDetailsResponse> events = eventRepository.findAllBySessionId(sessionId)
+                .stream()
+                .map(EventDetailsResponse::new)
+                .toList();
+
+        // Then
+        assertThat(projectId).isNotNull();
+        assertThat(events).hasSize(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void projectionQueries_shouldNotLoadEntities() {
+        // When
+        String byEvent = eventRepository.findProjectIdById(eventId).orElseThrow();
+        String bySession = sessionRepository.findProjectIdById(sessionId).orElseThrow();
+
+        // Then
+        assertThat(byEvent).isEqualTo(bySession);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
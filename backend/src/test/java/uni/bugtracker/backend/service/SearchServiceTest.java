@@ -0,0 +1,55 @@
+package uni.bugtracker.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uni.bugtracker.backend.dto.search.SearchResultPage;
+import uni.bugtracker.backend.exception.BusinessValidationException;
+import uni.bugtracker.backend.service.search.SearchIndex;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchServiceTest {
+
+    @Mock
+    private SearchIndex searchIndex;
+
+    @InjectMocks
+    private SearchService searchService;
+
+    @Test
+    void search_shouldClampPageSize() {
+        // Given
+        SearchResultPage page = new SearchResultPage(List.of(), 0, SearchService.MAX_PAGE_SIZE, false);
+        when(searchIndex.search("project-123", "timeout", 0, SearchService.MAX_PAGE_SIZE)).thenReturn(page);
+
+        // When
+        SearchResultPage result = searchService.search("project-123", "timeout", 0, 10_000);
+
+        // Then
+        assertThat(result).isSameAs(page);
+    }
+
+    @Test
+    void search_whenQueryHasNoWords_shouldThrowException() {
+        // When & Then
+        assertThatThrownBy(() -> searchService.search("project-123", " ?! ", 0, 20))
+                .isInstanceOf(BusinessValidationException.class);
+        verify(searchIndex, never()).search(anyString(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void search_whenPageTooDeep_shouldThrowException() {
+        // When & Then
+        assertThatThrownBy(() -> searchService.search("project-123", "timeout", SearchService.MAX_PAGE + 1, 20))
+                .isInstanceOf(BusinessValidationException.class);
+    }
+}
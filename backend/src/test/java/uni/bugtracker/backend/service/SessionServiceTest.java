@@ -1,8 +1,8 @@
 package uni.bugtracker.backend.service;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uni.bugtracker.backend.dto.session.SessionRequest;
@@ -11,6 +11,8 @@ import uni.bugtracker.backend.model.Project;
 import uni.bugtracker.backend.model.Session;
 import uni.bugtracker.backend.repository.ProjectRepository;
 import uni.bugtracker.backend.repository.SessionRepository;
+import uni.bugtracker.backend.service.stats.StatsRollup;
+import uni.bugtracker.backend.utility.cluster.ClusterEventBus;
 
 import java.time.Instant;
 import java.util.List;
@@ -30,9 +32,22 @@ class SessionServiceTest {
     @Mock
     private ProjectRepository projectRepository;
 
-    @InjectMocks
+    @Mock
+    private RequestEntityLoader entityLoader;
+
+    @Mock
+    private StatsRollup statsRollup;
+
+    @Mock
+    private ClusterEventBus eventBus;
+
     private SessionService sessionService;
 
+    @BeforeEach
+    void setUp() {
+        sessionService = new SessionService(sessionRepository, projectRepository, entityLoader, statsRollup, eventBus, 100);
+    }
+
     @Test
     void createSession_shouldSaveAndReturnResponse() {
         // Given
@@ -55,6 +70,18 @@ class SessionServiceTest {
         assertThat(result.getSessionId()).isEqualTo(100L);
         verify(projectRepository).findById("project-123");
         verify(sessionRepository).save(any(Session.class));
+        verify(statsRollup).sessionStarted(any(Session.class));
+    }
+
+    @Test
+    void checkProjectExists_whenProjectIsUnknown_shouldThrowException() {
+        // Given
+        when(projectRepository.existsById("unknown")).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> sessionService.checkProjectExists("unknown"))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("unknown");
     }
 
     @Test
@@ -66,7 +93,7 @@ class SessionServiceTest {
         project.setId("project-123");
         session.setProject(project);
 
-        when(sessionRepository.findById(100L)).thenReturn(Optional.of(session));
+        when(entityLoader.session(100L)).thenReturn(session);
 
         // When
         var result = sessionService.getSession(100L);
@@ -79,13 +106,56 @@ class SessionServiceTest {
     @Test
     void getSession_whenNotFound_shouldThrowException() {
         // Given
-        when(sessionRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(entityLoader.session(anyLong())).thenThrow(new ResourceNotFoundException("Session not found: 999"));
 
         // When & Then
         assertThatThrownBy(() -> sessionService.getSession(999L))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
 
+    @Test
+    void getProjectIdBySessionId_shouldUseProjectionQuery() {
+        // Given
+        when(sessionRepository.findProjectIdById(100L)).thenReturn(Optional.of("project-123"));
+
+        // When
+        String projectId = sessionService.getProjectIdBySessionId(100L);
+
+        // Then
+        assertThat(projectId).isEqualTo("project-123");
+        verify(sessionRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getProjectIdBySessionId_shouldQueryEachSessionOnce() {
+        // Given
+        when(sessionRepository.findProjectIdById(100L)).thenReturn(Optional.of("project-123"));
+        sessionService.getProjectIdBySessionId(100L);
+
+        // When
+        String projectId = sessionService.getProjectIdBySessionId(100L);
+
+        // Then
+        assertThat(projectId).isEqualTo("project-123");
+        verify(sessionRepository, times(1)).findProjectIdById(100L);
+    }
+
+    @Test
+    void getProjectIdBySessionId_afterTheSessionWasDeleted_shouldQueryAgain() {
+        // Given
+        when(sessionRepository.findProjectIdById(100L))
+                .thenReturn(Optional.of("project-123"))
+                .thenReturn(Optional.empty());
+        sessionService.getProjectIdBySessionId(100L);
+
+        // When
+        sessionService.onSessionDeleted("100");
+
+        // Then
+        assertThatThrownBy(() -> sessionService.getProjectIdBySessionId(100L))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
     private SessionRequest createSessionRequest() {
         SessionRequest request = new SessionRequest();
         request.setProjectId("project-123");
@@ -0,0 +1,116 @@
+package uni.bugtracker.backend.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import uni.bugtracker.backend.model.Event;
+import uni.bugtracker.backend.repository.DatabaseDialect;
+import uni.bugtracker.backend.repository.StackTraceBlobWriter;
+import uni.bugtracker.backend.utility.compression.TextCompression;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Deduplication ratio, stored bytes and ingestion cost per event of {@link StackTraceStore}
+ * against keeping every trace inline and compressed. The errors follow a skewed distribution
+ * over a few hundred distinct traces, as a handful of bugs makes most of the reports.
+ * Every event commits on its own, so known hashes reach the cache as they do in production.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@org.junit.jupiter.api.Tag("benchmark")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({StackTraceBlobWriter.class, DatabaseDialect.class})
+class StackTraceDedupBenchmarkTest {
+
+    private static final int EVENTS = 20_000;
+    private static final int DISTINCT = 300;
+    private static final String[] FRAMES = {
+            "renderWithHooks", "updateFunctionComponent", "beginWork", "performUnitOfWork", "workLoopSync",
+            "commitHookEffectListMount", "flushPassiveEffects", "HTMLButtonElement.onClick", "Axios.request"
+    };
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StackTraceBlobWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from stack_trace_blob");
+    }
+
+    @Test
+    void deduplicationRatioAndIngestionOverhead() {
+        Random random = new Random(42);
+        List<String> distinct = new ArrayList<>();
+        for (int i = 0; i < DISTINCT; i++) {
+            distinct.add(stackTrace(random, i));
+        }
+        List<String> traces = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            traces.add(distinct.get((int) (DISTINCT * Math.pow(random.nextDouble(), 3))));
+        }
+        StackTraceStore store = new StackTraceStore(writer, entityManager, 10_000, Duration.ofHours(1),
+                Duration.ofDays(1), 1000, Clock.systemUTC());
+
+        long inlineBytes = traces.stream().mapToLong(trace -> TextCompression.compress(trace).length).sum();
+        AtomicInteger next = new AtomicInteger();
+        long[] inline = BenchmarkData.measure(EVENTS, EVENTS,
+                () -> inlineEvent(traces.get(next.getAndIncrement() % EVENTS)), () -> { });
+        next.set(0);
+        long[] deduplicated = BenchmarkData.measure(0, EVENTS, () -> {
+            Event event = new Event();
+            store.attach(event, traces.get(next.getAndIncrement()));
+            return event;
+        }, () -> { });
+        Long blobBytes = jdbcTemplate.queryForObject(
+                "select sum(octet_length(data)) from stack_trace_blob", Long.class);
+        Long blobs = jdbcTemplate.queryForObject("select count(*) from stack_trace_blob", Long.class);
+
+        System.out.printf("%-44s %.1f bytes/event%n", "inline, compressed", (double) inlineBytes / EVENTS);
+        System.out.printf("%-44s %.1f bytes/event (%d blobs), deduplication ratio %.3f%n", "shared blobs",
+                (double) blobBytes / EVENTS, blobs, store.deduplicationRatio());
+        BenchmarkData.printMicros("inline ingestion per event", inline);
+        BenchmarkData.printMicros("shared blob ingestion per event", deduplicated);
+
+        assertThat(blobs).isLessThanOrEqualTo(DISTINCT);
+        assertThat(blobBytes).isLessThan(inlineBytes / 10);
+    }
+
+    private static Event inlineEvent(String trace) {
+        Event event = new Event();
+        event.setStackTrace(trace);
+        return event;
+    }
+
+    private static String stackTrace(Random random, int bug) {
+        StringBuilder trace = new StringBuilder("Uncaught TypeError: Cannot read properties of undefined (reading 'f")
+                .append(bug).append("')");
+        int frames = 4 + random.nextInt(20);
+        for (int i = 0; i < frames; i++) {
+            trace.append("\n    at ").append(FRAMES[random.nextInt(FRAMES.length)])
+                    .append(" (https://shop.example.com/static/js/main.").append(Integer.toHexString(random.nextInt()))
+                    .append(".chunk.js:").append(1 + random.nextInt(3)).append(':').append(random.nextInt(200_000))
+                    .append(')');
+        }
+        return trace.toString();
+    }
+}
@@ -0,0 +1,130 @@
+package uni.bugtracker.backend.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import uni.bugtracker.backend.model.*;
+import uni.bugtracker.backend.repository.DatabaseDialect;
+import uni.bugtracker.backend.repository.StackTraceBlobWriter;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static uni.bugtracker.backend.TestEntities.NOW;
+import static uni.bugtracker.backend.TestEntities.activeSession;
+import static uni.bugtracker.backend.TestEntities.project;
+
+/**
+ * Equal traces share one blob whatever their line endings, and the collection removes only
+ * blobs that are both unreferenced and past the grace period.
+ */
+@DataJpaTest
+@Import({StackTraceBlobWriter.class, DatabaseDialect.class})
+class StackTraceStoreTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StackTraceBlobWriter writer;
+
+    private StackTraceStore store;
+    private Session session;
+
+    @BeforeEach
+    void setUp() {
+        store = new StackTraceStore(writer, entityManager, 100, Duration.ofHours(1), Duration.ofDays(1), 1,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        session = activeSession(entityManager, project(entityManager, "Project"));
+    }
+
+    @Test
+    void attach_shouldShareOneBlobForEqualTraces() {
+        // Given
+        Event first = event("Error: boom\r\n    at a.js:1:2  \r\n\r\n");
+        Event second = event("Error: boom\n    at a.js:1:2");
+
+        // When
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("select count(*) from stack_trace_blob", Long.class)).isEqualTo(1);
+        assertThat(entityManager.find(Event.class, first.getId()).getStackTrace())
+                .isEqualTo("Error: boom\n    at a.js:1:2");
+        assertThat(entityManager.find(Event.class, second.getId()).getStackTraceLength())
+                .isEqualTo("Error: boom\n    at a.js:1:2".length());
+        assertThat(store.deduplicationRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void attach_withBlankTrace_shouldKeepItInline() {
+        // When
+        Event event = event("  \n");
+
+        // Then
+        assertThat(event.getStackTrace()).isEqualTo("  \n");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from stack_trace_blob", Long.class)).isZero();
+    }
+
+    @Test
+    void collectGarbage_shouldDeleteOnlyOldUnreferencedBlobs() {
+        // Given
+        event("at referenced.js:1");
+        byte[] data = {0};
+        writer.insertOrTouch("old", data, 1, NOW.minus(Duration.ofDays(3)));
+        writer.insertOrTouch("older", data, 1, NOW.minus(Duration.ofDays(4)));
+        writer.insertOrTouch("recent", data, 1, NOW.minus(Duration.ofHours(2)));
+        jdbcTemplate.update("update stack_trace_blob set seen_at = ? where hash = ?",
+                Timestamp.from(NOW.minus(Duration.ofDays(5))), StackTraceStore.hash("at referenced.js:1"));
+
+        // When
+        store.collectGarbage();
+
+        // Then: chunks of one row, the loop runs until nothing is left
+        List<String> left = jdbcTemplate.queryForList("select hash from stack_trace_blob order by hash", String.class);
+        assertThat(left).containsExactly(StackTraceStore.hash("at referenced.js:1"), "recent");
+    }
+
+    @Test
+    void insertOrTouch_shouldMoveSeenAtOfExistingBlob() {
+        // Given
+        writer.insertOrTouch("blob", new byte[]{0}, 1, NOW.minus(Duration.ofDays(3)));
+
+        // When
+        boolean inserted = writer.insertOrTouch("blob", new byte[]{0}, 1, NOW);
+
+        // Then
+        assertThat(inserted).isFalse();
+        assertThat(jdbcTemplate.queryForObject("select seen_at from stack_trace_blob where hash = 'blob'",
+                Timestamp.class).toInstant()).isEqualTo(NOW);
+    }
+
+    @Test
+    void constructor_whenCacheOutlivesGrace_shouldFail() {
+        assertThatThrownBy(() -> new StackTraceStore(writer, entityManager, 100, Duration.ofDays(2),
+                Duration.ofDays(1), 1, Clock.systemUTC()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Event event(String stackTrace) {
+        Event event = new Event();
+        event.setSession(session);
+        event.setType(EventType.ERROR);
+        store.attach(event, stackTrace);
+        entityManager.persist(event);
+        return event;
+    }
+}
@@ -0,0 +1,96 @@
+package uni.bugtracker.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uni.bugtracker.backend.dto.stats.DailyStats;
+import uni.bugtracker.backend.dto.stats.ProjectStatsResponse;
+import uni.bugtracker.backend.exception.BusinessValidationException;
+import uni.bugtracker.backend.model.ProjectDailyStat;
+import uni.bugtracker.backend.repository.ProjectDailyStatRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatsServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 3, 3);
+
+    @Mock
+    private ProjectDailyStatRepository statRepository;
+
+    @InjectMocks
+    private StatsService statsService;
+
+    @Test
+    void getDailyStats_shouldReturnEveryDayOfTheRangeFromTheRollup() {
+        // Given
+        when(statRepository.findAllByProjectIdAndStatDateBetween("p1", FROM, TO)).thenReturn(List.of(
+                stat(FROM, "reports", "total", 3),
+                stat(FROM, "reports", "status:NEW", 2),
+                stat(FROM, "reports", "status:DONE", 1),
+                stat(FROM, "reports", "status:IN_PROGRESS", 0),
+                stat(FROM, "reports", "level:HIGH", 3),
+                stat(FROM, "reports", "tag:BROKEN_LINK", 1),
+                stat(TO, "sessions", "total", 7),
+                stat(TO, "error_events", "total", 4)));
+
+        // When
+        ProjectStatsResponse response = statsService.getDailyStats("p1", FROM, TO);
+
+        // Then
+        assertThat(response.getDays()).extracting(DailyStats::getDate)
+                .containsExactly(FROM, FROM.plusDays(1), TO);
+        DailyStats first = response.getDays().getFirst();
+        assertThat(first.getReports()).isEqualTo(3);
+        assertThat(first.getReportsByStatus()).containsOnlyKeys("NEW", "DONE");
+        assertThat(first.getReportsByLevel()).containsEntry("HIGH", 3L);
+        assertThat(first.getReportsByTag()).containsEntry("BROKEN_LINK", 1L);
+        assertThat(response.getDays().get(1).getReports()).isZero();
+        assertThat(response.getDays().getLast().getSessions()).isEqualTo(7);
+        assertThat(response.getDays().getLast().getErrorEvents()).isEqualTo(4);
+    }
+
+    @Test
+    void getDailyStats_withoutRange_shouldReturnLastThirtyDays() {
+        // When
+        ProjectStatsResponse response = statsService.getDailyStats("p1", null, null);
+
+        // Then
+        assertThat(response.getDays()).hasSize(StatsService.DEFAULT_DAYS);
+        assertThat(response.getTo()).isEqualTo(response.getDays().getLast().getDate());
+    }
+
+    @Test
+    void getDailyStats_withTooLongRange_shouldThrowException() {
+        // When & Then
+        assertThatThrownBy(() -> statsService.getDailyStats("p1", FROM.minusYears(2), TO))
+                .isInstanceOf(BusinessValidationException.class);
+        verifyNoInteractions(statRepository);
+    }
+
+    @Test
+    void getDailyStats_withFromAfterTo_shouldThrowException() {
+        // When & Then
+        assertThatThrownBy(() -> statsService.getDailyStats("p1", TO, FROM))
+                .isInstanceOf(BusinessValidationException.class);
+    }
+
+    private static ProjectDailyStat stat(LocalDate day, String metric, String dimension, long amount) {
+        ProjectDailyStat stat = new ProjectDailyStat();
+        stat.setProjectId("p1");
+        stat.setStatDate(day);
+        stat.setMetric(metric);
+        stat.setDimension(dimension);
+        stat.setAmount(amount);
+        return stat;
+    }
+}
@@ -0,0 +1,136 @@
+package uni.bugtracker.backend.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import uni.bugtracker.backend.dto.report.ReportFilter;
+import uni.bugtracker.backend.model.Project;
+import uni.bugtracker.backend.model.Tag;
+import uni.bugtracker.backend.model.TagSetConverter;
+import uni.bugtracker.backend.repository.DailyStatWriter;
+import uni.bugtracker.backend.repository.DatabaseDialect;
+import uni.bugtracker.backend.repository.RowCountEstimator;
+import uni.bugtracker.backend.service.search.InMemorySearchIndex;
+import uni.bugtracker.backend.service.stats.StatsRollup;
+import uni.bugtracker.backend.utility.ReportMapper;
+import uni.bugtracker.backend.utility.cluster.ClusterEventBus;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Before/after numbers for the tags bitmask. "join table" replays the former report_tags
+ * layout on a side table holding the same tags: one row per tag on insert, a second
+ * query for the tags of a page and an EXISTS subquery for tag filters.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@org.junit.jupiter.api.Tag("benchmark")
+@AutoConfigureJson
+@DataJpaTest
+@Import({ReportService.class, ReportMapper.class, RequestEntityLoader.class, RowCountEstimator.class,
+        InMemorySearchIndex.class, ReportCardCache.class, ClusterEventBus.class, StatsRollup.class,
+        DailyStatWriter.class, DatabaseDialect.class})
+class TagStorageBenchmarkTest {
+
+    private static final int REPORTS = 100_000;
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 500;
+    private static final String LIST_COLUMNS = "select r.id, r.project_id, r.title, r.reported_at, r.criticality, r.status from report r ";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReportService reportService;
+
+    private JdbcTemplate jdbc;
+    private String projectId;
+    private final AtomicLong nextId = new AtomicLong(REPORTS + 1);
+
+    @BeforeEach
+    void seed() {
+        Project project = new Project();
+        project.setName("Benchmark");
+        entityManager.persist(project);
+        entityManager.flush();
+        projectId = project.getId();
+
+        jdbc = new JdbcTemplate(dataSource);
+        BenchmarkData.seedReports(jdbc, projectId, REPORTS, Instant.now().minusSeconds(REPORTS));
+
+        jdbc.execute("create table legacy_report_tags (report_id bigint not null, tag varchar(255))");
+        jdbc.execute("create index idx_legacy_report_tags on legacy_report_tags (report_id, tag)");
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= REPORTS; id++) {
+            for (Tag tag : BenchmarkData.tagsOf(id)) {
+                rows.add(new Object[]{id, tag.name()});
+            }
+        }
+        jdbc.batchUpdate("insert into legacy_report_tags (report_id, tag) values (?, ?)", rows);
+        entityManager.clear();
+    }
+
+    @Test
+    void create_list_filter() {
+        Set<Tag> tags = Set.of(Tag.BROKEN_LINK, Tag.FORM_NOT_WORKING);
+        PageRequest firstPage = PageRequest.of(0, 30, Sort.by(Sort.Direction.DESC, "reportedAt"));
+        ReportFilter anyTag = new ReportFilter();
+        anyTag.setTags(Set.of(Tag.BROKEN_LINK));
+
+        BenchmarkData.print("create, join table", BenchmarkData.measure(WARMUP, ITERATIONS, () -> {
+            long id = insertReport(0);
+            return jdbc.batchUpdate("insert into legacy_report_tags (report_id, tag) values (?, ?)",
+                    tags.stream().map(tag -> new Object[]{id, tag.name()}).toList());
+        }, () -> { }));
+        BenchmarkData.print("create, bitmask", BenchmarkData.measure(WARMUP, ITERATIONS,
+                () -> insertReport(TagSetConverter.toMask(tags)), () -> { }));
+
+        BenchmarkData.print("list, join table", BenchmarkData.measure(WARMUP, ITERATIONS, () -> withLegacyTags(
+                jdbc.queryForList(LIST_COLUMNS + "where r.project_id = ? order by r.reported_at desc, r.id desc limit 30",
+                        projectId)), () -> { }));
+        BenchmarkData.print("list, bitmask", BenchmarkData.measure(WARMUP, ITERATIONS,
+                () -> reportService.getAllReportsOfProject(projectId, firstPage), entityManager::clear));
+
+        BenchmarkData.print("filter any tag, join table", BenchmarkData.measure(WARMUP, ITERATIONS, () -> withLegacyTags(
+                jdbc.queryForList(LIST_COLUMNS + "where r.project_id = ? and exists (select 1 from legacy_report_tags t " +
+                                "where t.report_id = r.id and t.tag in (?)) order by r.reported_at desc, r.id desc limit 30",
+                        projectId, Tag.BROKEN_LINK.name())), () -> { }));
+        BenchmarkData.print("filter any tag, bitmask", BenchmarkData.measure(WARMUP, ITERATIONS,
+                () -> reportService.getReportsOfProjectAfter(projectId, anyTag, null, 30, false), entityManager::clear));
+    }
+
+    private long insertReport(int tagsMask) {
+        long id = nextId.getAndIncrement();
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbc.update("insert into session (id, project_id, is_active, start_time) values (?, ?, false, ?)", id, projectId, now);
+        jdbc.update("insert into report (id, project_id, session_id, title, reported_at, user_provided, criticality, " +
+                "status, tags_mask) values (?, ?, ?, ?, ?, false, 'UNKNOWN', 'NEW', ?)", id, projectId, id, "New", now, tagsMask);
+        return id;
+    }
+
+    private List<?> withLegacyTags(List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        String ids = rows.stream().map(row -> String.valueOf(row.get("id"))).collect(Collectors.joining(","));
+        jdbc.queryForList("select report_id, tag from legacy_report_tags where report_id in (" + ids + ")");
+        return rows;
+    }
+}
@@ -0,0 +1,106 @@
+package uni.bugtracker.backend.service.ingestion;
+
+import org.junit.jupiter.api.Test;
+import uni.bugtracker.backend.exception.TooManyRequestsException;
+import uni.bugtracker.backend.service.BenchmarkData;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency of the quiet projects while one project floods ingestion: 200 clients of the noisy
+ * project send back to back, 20 projects send one event every 10 ms, each write holds one of
+ * 8 slots for 200 us. The fair scheduler against a first-come first-served semaphore with the
+ * same slots. Run with {@code ./gradlew benchmark}.
+ */
+@org.junit.jupiter.api.Tag("benchmark")
+class IngestionSchedulerBenchmarkTest {
+
+    private static final int SLOTS = 8;
+    private static final int NOISY_CLIENTS = 200;
+    private static final int QUIET_PROJECTS = 20;
+    private static final Duration RUN = Duration.ofSeconds(3);
+
+    @Test
+    void quietProjectLatencyUnderAFlood() throws Exception {
+        IngestionScheduler scheduler = new IngestionScheduler(SLOTS, 100, 8, Duration.ofSeconds(5), 1000);
+        Semaphore fifo = new Semaphore(SLOTS, true);
+
+        Result fair = run((projectId, write) -> scheduler.run(projectId, false, 0, write));
+        Result plain = run((projectId, write) -> {
+            fifo.acquireUninterruptibly();
+            try {
+                return write.get();
+            } finally {
+                fifo.release();
+            }
+        });
+
+        BenchmarkData.printMicros("quiet project write, fair scheduler", fair.quiet);
+        BenchmarkData.printMicros("quiet project write, fifo semaphore", plain.quiet);
+        System.out.printf("%-44s %d / %d%n", "noisy writes done / rejected, fair",
+                fair.noisyDone, fair.noisyRejected);
+        System.out.printf("%-44s %d / %d%n", "noisy writes done / rejected, fifo",
+                plain.noisyDone, plain.noisyRejected);
+
+        assertThat(BenchmarkData.percentileMicros(fair.quiet, 0.99))
+                .isLessThan(BenchmarkData.percentileMicros(plain.quiet, 0.99));
+    }
+
+    private Result run(Gate gate) throws Exception {
+        ConcurrentLinkedQueue<Long> quiet = new ConcurrentLinkedQueue<>();
+        LongAdder noisyDone = new LongAdder();
+        LongAdder noisyRejected = new LongAdder();
+        long end = System.nanoTime() + RUN.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < NOISY_CLIENTS; c++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        try {
+                            gate.run("noisy", IngestionSchedulerBenchmarkTest::write);
+                            noisyDone.increment();
+                        } catch (TooManyRequestsException e) {
+                            noisyRejected.increment();
+                            // backs off like a client honouring Retry-After, shortened
+                            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+                        }
+                    }
+                });
+            }
+            for (int p = 0; p < QUIET_PROJECTS; p++) {
+                String projectId = "quiet-" + p;
+                clients.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        long started = System.nanoTime();
+                        gate.run(projectId, IngestionSchedulerBenchmarkTest::write);
+                        quiet.add(System.nanoTime() - started);
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+                    }
+                });
+            }
+        }
+        long[] latencies = quiet.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Result(latencies, noisyDone.sum(), noisyRejected.sum());
+    }
+
+    private static Object write() {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+        return null;
+    }
+
+    private interface Gate {
+        Object run(String projectId, Supplier<Object> write);
+    }
+
+    private record Result(long[] quiet, long noisyDone, long noisyRejected) {
+    }
+}
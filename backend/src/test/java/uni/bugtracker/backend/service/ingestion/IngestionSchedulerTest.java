@@ -0,0 +1,166 @@
+package uni.bugtracker.backend.service.ingestion;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import uni.bugtracker.backend.exception.TooManyRequestsException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * With one write at a time, waiting projects take turns whatever order their writes came in,
+ * error events go first, and a full or stuck queue answers 429 and counts the drop; the meters
+ * of at most {@code max-projects} projects are kept.
+ */
+class IngestionSchedulerTest {
+
+    private final List<String> order = Collections.synchronizedList(new ArrayList<>());
+    private final List<CompletableFuture<?>> writes = new ArrayList<>();
+    private final CountDownLatch blocker = new CountDownLatch(1);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        blocker.countDown();
+        writes.forEach(CompletableFuture::join);
+        executor.shutdown();
+    }
+
+    @Test
+    void run_shouldAlternateBetweenWaitingProjects() {
+        // Given
+        IngestionScheduler scheduler = scheduler(10, Duration.ofSeconds(5));
+        block(scheduler);
+        for (int i = 1; i <= 4; i++) {
+            enqueue(scheduler, "noisy", false, "noisy-" + i);
+        }
+        enqueue(scheduler, "quiet", false, "quiet-1");
+        enqueue(scheduler, "quiet", false, "quiet-2");
+
+        // When
+        blocker.countDown();
+        writes.forEach(CompletableFuture::join);
+
+        // Then
+        assertThat(order).containsExactly("noisy-1", "quiet-1", "noisy-2", "quiet-2", "noisy-3", "noisy-4");
+        assertThat(scheduler.queueDepth("noisy")).isZero();
+    }
+
+    @Test
+    void run_shouldLetErrorEventsOvertake() {
+        // Given
+        IngestionScheduler scheduler = scheduler(10, Duration.ofSeconds(5));
+        block(scheduler);
+        enqueue(scheduler, "p1", false, "action");
+        enqueue(scheduler, "p2", false, "network");
+        enqueue(scheduler, "p2", true, "error");
+
+        // When
+        blocker.countDown();
+        writes.forEach(CompletableFuture::join);
+
+        // Then
+        assertThat(order).containsExactly("error", "action", "network");
+    }
+
+    @Test
+    void run_withFullQueue_shouldRejectAndCountTheDrop() {
+        // Given
+        IngestionScheduler scheduler = scheduler(2, Duration.ofSeconds(5));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        scheduler.bindTo(registry);
+        block(scheduler);
+        enqueue(scheduler, "p1", false, "first");
+        enqueue(scheduler, "p1", false, "second");
+
+        // When & Then
+        assertThatThrownBy(() -> scheduler.run("p1", false, 0, () -> order.add("third")))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(registry.get("ingestion.queue.dropped").tag("project", "p1").tag("reason", "full").counter()
+                .count()).isEqualTo(1);
+        assertThat(registry.get("ingestion.queue.depth").tag("project", "p1").gauge().value()).isEqualTo(2);
+        assertThat(scheduler.queueDepth("p2")).isZero();
+    }
+
+    @Test
+    void run_pastMaxProjects_shouldRemoveTheMetersOfEvictedProjects() {
+        // Given: meters of one project at most
+        IngestionScheduler scheduler = new IngestionScheduler(1, 1, 1, Duration.ofSeconds(5), 1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        scheduler.bindTo(registry);
+        block(scheduler);
+        enqueue(scheduler, "p1", false, "p1-waiting");
+        enqueue(scheduler, "p2", false, "p2-waiting");
+
+        // When
+        for (String projectId : List.of("p1", "p2", "p1", "p2")) {
+            assertThatThrownBy(() -> scheduler.run(projectId, false, 0, () -> order.add("rejected")))
+                    .isInstanceOf(TooManyRequestsException.class);
+        }
+
+        // Then
+        assertThat(registry.find("ingestion.queue.depth").gauges()).hasSize(1);
+        assertThat(registry.find("ingestion.queue.dropped").counters()).hasSize(2);
+        assertThat(registry.find("ingestion.queue.wait").timers()).hasSize(1);
+    }
+
+    @Test
+    void run_afterMaxWait_shouldGiveUpAndLeaveTheQueue() {
+        // Given
+        IngestionScheduler scheduler = scheduler(10, Duration.ofMillis(50));
+        block(scheduler);
+
+        // When & Then
+        assertThatThrownBy(() -> scheduler.run("p1", false, 0, () -> order.add("late")))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(scheduler.queueDepth("p1")).isZero();
+        blocker.countDown();
+        assertThat(scheduler.run("p1", false, 0, () -> order.add("next"))).isTrue();
+        assertThat(order).containsExactly("next");
+    }
+
+    private IngestionScheduler scheduler(int queueCapacity, Duration maxWait) {
+        return new IngestionScheduler(1, queueCapacity, 1, maxWait, 100);
+    }
+
+    // takes the only slot until the test releases it
+    private void block(IngestionScheduler scheduler) {
+        CountDownLatch started = new CountDownLatch(1);
+        writes.add(CompletableFuture.runAsync(() -> scheduler.run("blocker", false, 0, () -> {
+            started.countDown();
+            await(blocker);
+            return null;
+        }), executor));
+        await(started);
+    }
+
+    // returns once the write waits in its project's queue, so the queue order is the call order
+    private void enqueue(IngestionScheduler scheduler, String projectId, boolean error, String label) {
+        int depth = scheduler.queueDepth(projectId);
+        writes.add(CompletableFuture.runAsync(
+                () -> scheduler.run(projectId, error, 0, () -> order.add(label)), executor));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (scheduler.queueDepth(projectId) == depth && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package uni.bugtracker.backend.service.issue;
+
+import org.junit.jupiter.api.Test;
+import uni.bugtracker.backend.model.Event;
+import uni.bugtracker.backend.model.EventType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IssueFingerprintTest {
+
+    @Test
+    void of_shouldIgnoreValuesBundleHashesAndIds() {
+        // Given
+        Event first = error("Uncaught TypeError: Cannot read properties of undefined (reading 'price')",
+                "TypeError: x\n    at render (https://shop.example.com/static/js/main.3fa2b1c4.chunk.js:1:2345)"
+                        + "\n    at commit (https://shop.example.com/static/js/main.3fa2b1c4.chunk.js:1:99)",
+                "https://shop.example.com/orders/123?tab=1");
+        Event second = error("Uncaught TypeError: Cannot read properties of undefined (reading 'items')",
+                "TypeError: y\n    at render (https://shop.example.com/static/js/main.77e0aa01.chunk.js:1:2400)"
+                        + "\n    at commit (https://shop.example.com/static/js/main.77e0aa01.chunk.js:1:120)",
+                "https://shop.example.com/orders/456");
+
+        // When
+        IssueFingerprint a = IssueFingerprint.of(first);
+        IssueFingerprint b = IssueFingerprint.of(second);
+
+        // Then
+        assertThat(a.hash()).isEqualTo(b.hash()).hasSize(64);
+        assertThat(a.title()).isEqualTo("Uncaught TypeError: Cannot read properties of undefined (reading ?)");
+        assertThat(a.urlTemplate()).isEqualTo("shop.example.com/orders/{id}");
+    }
+
+    @Test
+    void of_shouldSeparateErrorsThrownFromDifferentFunctions() {
+        // Given
+        Event first = error("Error: failed", "Error: failed\n    at load (app.js:1:1)", "/cart");
+        Event second = error("Error: failed", "Error: failed\n    at save (app.js:1:1)", "/cart");
+
+        // When & Then
+        assertThat(IssueFingerprint.of(first).hash()).isNotEqualTo(IssueFingerprint.of(second).hash());
+    }
+
+    @Test
+    void topFrames_shouldReadChromeAndFirefoxFormatsUpToThree() {
+        // When & Then
+        assertThat(IssueFingerprint.topFrames(
+                "Error\n    at a (x.js:1:1)\n    at https://cdn.example.com/y.js?v=2:3:4\n    at c (z.js:1:1)\n    at d (w.js:1:1)"))
+                .containsExactly("a x.js", "? y.js", "c z.js");
+        assertThat(IssueFingerprint.topFrames("render@https://example.com/main-3fa2b1c4.js:1:2\n@https://example.com/app.js:3:4"))
+                .containsExactly("render main.js", "? app.js");
+    }
+
+    @Test
+    void normalizeName_whenMissing_shouldFallBackToError() {
+        assertThat(IssueFingerprint.normalizeName(null)).isEqualTo("Error");
+        assertThat(IssueFingerprint.normalizeName("Request failed with status code 503 for id 3fa85f64-5717-4562-b3fc-2c963f66afa6"))
+                .isEqualTo("Request failed with status code ? for id ?");
+    }
+
+    private static Event error(String name, String stackTrace, String url) {
+        Event event = new Event();
+        event.setType(EventType.ERROR);
+        event.setName(name);
+        event.setStackTrace(stackTrace);
+        event.setUrl(url);
+        return event;
+    }
+}
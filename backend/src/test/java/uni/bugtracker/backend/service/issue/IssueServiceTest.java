@@ -0,0 +1,172 @@
+package uni.bugtracker.backend.service.issue;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import uni.bugtracker.backend.exception.BusinessValidationException;
+import uni.bugtracker.backend.model.*;
+import uni.bugtracker.backend.repository.DatabaseDialect;
+import uni.bugtracker.backend.repository.IssueRepository;
+import uni.bugtracker.backend.repository.IssueWriter;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static uni.bugtracker.backend.TestEntities.NOW;
+import static uni.bugtracker.backend.TestEntities.project;
+
+/**
+ * Reports of the same error share one issue counted in the database; only the first one
+ * opens it and is analyzed, the others take its criticality over unless it is still unknown.
+ */
+@DataJpaTest
+@Import({IssueService.class, IssueWriter.class, DatabaseDialect.class})
+class IssueServiceTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private IssueService issueService;
+
+    @Autowired
+    private IssueWriter writer;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        project = project(entityManager, "Project");
+        // IssueWriter's upsert runs over JDBC and sees only flushed rows
+        entityManager.flush();
+    }
+
+    @Test
+    void group_shouldCountRepeatsOnOneIssue() {
+        // Given
+        Report first = report(NOW);
+        Report second = report(NOW.plusSeconds(60));
+        Report third = report(NOW.plusSeconds(30));
+
+        // When
+        boolean firstOpened = issueService.group(first, List.of(error("/orders/1")));
+        boolean secondOpened = issueService.group(second, List.of(error("/orders/2")));
+        boolean thirdOpened = issueService.group(third, List.of(error("/orders/3")));
+        entityManager.clear();
+
+        // Then
+        assertThat(firstOpened).isTrue();
+        assertThat(secondOpened).isFalse();
+        assertThat(thirdOpened).isFalse();
+        assertThat(second.getIssue().getId()).isEqualTo(first.getIssue().getId());
+        Issue issue = entityManager.find(Issue.class, first.getIssue().getId());
+        assertThat(issue.getOccurrences()).isEqualTo(3);
+        assertThat(issue.getFirstSeenAt()).isEqualTo(NOW);
+        assertThat(issue.getLastSeenAt()).isEqualTo(NOW.plusSeconds(60));
+        assertThat(issue.getUrlTemplate()).isEqualTo("/orders/{id}");
+    }
+
+    @Test
+    void group_shouldTakeAnalyzedCriticalityOverForRepeats() {
+        // Given
+        Report first = report(NOW);
+        issueService.group(first, List.of(error("/cart")));
+        entityManager.createQuery("update Issue i set i.criticality = :level")
+                .setParameter("level", CriticalityLevel.HIGH)
+                .executeUpdate();
+        Report repeat = report(NOW.plusSeconds(10));
+
+        // When
+        boolean opened = issueService.group(repeat, List.of(error("/cart")));
+
+        // Then
+        assertThat(opened).isFalse();
+        assertThat(repeat.getCriticality()).isEqualTo(CriticalityLevel.HIGH);
+    }
+
+    @Test
+    void group_whileTheIssueIsStillUnknown_shouldAnalyzeARepeatOncePerInterval() {
+        // Given: the analysis of the first report failed, the issue stayed UNKNOWN
+        boolean first = at(NOW).group(report(NOW), List.of(error("/cart")));
+
+        // When
+        boolean soon = at(NOW.plus(Duration.ofMinutes(10))).group(report(NOW), List.of(error("/cart")));
+        boolean later = at(NOW.plus(Duration.ofMinutes(20))).group(report(NOW), List.of(error("/cart")));
+        boolean again = at(NOW.plus(Duration.ofMinutes(25))).group(report(NOW), List.of(error("/cart")));
+        entityManager.createQuery("update Issue i set i.criticality = :level")
+                .setParameter("level", CriticalityLevel.LOW)
+                .executeUpdate();
+        boolean analyzed = at(NOW.plus(Duration.ofHours(1))).group(report(NOW), List.of(error("/cart")));
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(soon).isFalse();
+        assertThat(later).isTrue();
+        assertThat(again).isFalse();
+        assertThat(analyzed).isFalse();
+    }
+
+    @Test
+    void group_withoutErrorEvent_shouldLeaveReportUngrouped() {
+        // Given
+        Report report = report(NOW);
+        Event action = new Event();
+        action.setType(EventType.ACTION);
+
+        // When
+        boolean analyze = issueService.group(report, List.of(action));
+
+        // Then
+        assertThat(analyze).isTrue();
+        assertThat(report.getIssue()).isNull();
+    }
+
+    @Test
+    void getIssues_shouldListMostRecentFirstAndValidateLimit() {
+        // Given
+        issueService.group(report(NOW), List.of(error("/a")));
+        issueService.group(report(NOW.plusSeconds(5)), List.of(error("/b")));
+
+        // When
+        List<Issue> issues = issueService.getIssues(project.getId(), 10);
+
+        // Then
+        assertThat(issues).extracting(Issue::getUrlTemplate).containsExactly("/b", "/a");
+        assertThatThrownBy(() -> issueService.getIssues(project.getId(), 0))
+                .isInstanceOf(BusinessValidationException.class);
+    }
+
+    // re-analysis at most every 15 minutes
+    private IssueService at(Instant now) {
+        return new IssueService(writer, issueRepository, entityManager, Duration.ofMinutes(15),
+                Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private Report report(Instant reportedAt) {
+        Report report = new Report();
+        report.setProject(project);
+        report.setReportedAt(reportedAt);
+        return report;
+    }
+
+    private static Event error(String url) {
+        Event event = new Event();
+        event.setType(EventType.ERROR);
+        event.setName("TypeError: x is undefined");
+        event.setStackTrace("TypeError: x is undefined\n    at render (app.js:10:5)");
+        event.setUrl(url);
+        event.setTimestamp(NOW);
+        return event;
+    }
+}
@@ -0,0 +1,146 @@
+package uni.bugtracker.backend.service.logtemplate;
+
+import org.junit.jupiter.api.Test;
+import uni.bugtracker.backend.model.LogTemplate;
+import uni.bugtracker.backend.utility.compression.TextCompression;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput of one project's {@link LogTemplateMiner}, on one thread and with as many threads
+ * as cores, and the log storage it saves: every line compressed as is against its compressed
+ * parameters plus each template once. Lines come from 200 formats with ids, durations, urls
+ * and user names. Run with {@code ./gradlew benchmark}.
+ */
+@org.junit.jupiter.api.Tag("benchmark")
+class LogTemplateBenchmarkTest {
+
+    private static final int LINES = 1_000_000;
+    private static final int FORMATS = 200;
+    private static final String[] VERBS = {"GET", "POST", "PUT", "DELETE"};
+    private static final String[] RESOURCES = {"orders", "cart", "users", "payments", "products", "sessions"};
+    private static final String[] NAMES = {"alice", "bob", "carol", "dave", "erin", "frank", "grace", "heidi"};
+    private static final String[] WORDS = {
+            "request", "failed", "retrying", "cache", "miss", "render", "took", "component", "loaded", "chunk",
+            "websocket", "closed", "token", "refreshed", "checkout", "started", "validation", "error", "field",
+            "timeout", "worker", "registered", "route", "changed", "user", "clicked", "button", "form", "submitted"
+    };
+
+    @Test
+    void linesPerSecondAndStorageReduction() throws Exception {
+        List<String> formats = formats(new Random(7));
+        Random random = new Random(42);
+        String[] lines = new String[LINES];
+        for (int i = 0; i < LINES; i++) {
+            lines[i] = line(formats.get((int) (FORMATS * Math.pow(random.nextDouble(), 2))), random);
+        }
+
+        // the first run warms up
+        mine(new LogTemplateMiner(1000, 0.5), lines);
+        LogTemplateMiner single = new LogTemplateMiner(1000, 0.5);
+        long started = System.nanoTime();
+        LogTemplateMiner.Match[] matches = mine(single, lines);
+        double singleSeconds = (System.nanoTime() - started) / 1e9;
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        LogTemplateMiner shared = new LogTemplateMiner(1000, 0.5);
+        started = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> parts = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int from = LINES * t / threads;
+                int to = LINES * (t + 1) / threads;
+                parts.add(executor.submit(() -> {
+                    for (int i = from; i < to; i++) {
+                        shared.match(lines[i]);
+                    }
+                }));
+            }
+            for (Future<?> part : parts) {
+                part.get();
+            }
+        }
+        double sharedSeconds = (System.nanoTime() - started) / 1e9;
+
+        long utf8 = 0;
+        long asIs = 0;
+        long templated = 0;
+        Set<String> templates = new HashSet<>();
+        for (int i = 0; i < LINES; i++) {
+            LogTemplateMiner.Match match = matches[i];
+            String parameters = LogTemplate.encode(match.parameters());
+            assertThat(LogTemplate.render(match.template(), parameters)).isEqualTo(lines[i]);
+            utf8 += lines[i].getBytes(StandardCharsets.UTF_8).length;
+            asIs += TextCompression.compress(lines[i]).length;
+            // the template id, a bigint
+            templated += TextCompression.compress(parameters).length + 8;
+            if (templates.add(match.template())) {
+                templated += match.template().getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+
+        System.out.printf("%-44s %.0f lines/s%n", "mine, one thread", LINES / singleSeconds);
+        System.out.printf("%-44s %.0f lines/s%n", "mine, " + threads + " threads", LINES / sharedSeconds);
+        System.out.printf("%-44s %d for %d formats%n", "templates", single.templateCount(), FORMATS);
+        System.out.printf("%-44s %.1f bytes/line%n", "utf-8", (double) utf8 / LINES);
+        System.out.printf("%-44s %.1f bytes/line%n", "compressed as is", (double) asIs / LINES);
+        System.out.printf("%-44s %.1f bytes/line, %.0f%% less%n", "template id and compressed parameters",
+                (double) templated / LINES, 100 - 100.0 * templated / asIs);
+
+        // a verb in the prefix splits a format into one template per verb
+        assertThat(single.templateCount()).isLessThanOrEqualTo(FORMATS * VERBS.length);
+        assertThat(templated).isLessThan(asIs);
+    }
+
+    private static LogTemplateMiner.Match[] mine(LogTemplateMiner miner, String[] lines) {
+        LogTemplateMiner.Match[] matches = new LogTemplateMiner.Match[lines.length];
+        for (int i = 0; i < lines.length; i++) {
+            matches[i] = miner.match(lines[i]);
+        }
+        return matches;
+    }
+
+    // a few fixed words around placeholders: %u url, %n number, %m name
+    private static List<String> formats(Random random) {
+        List<String> formats = new ArrayList<>();
+        for (int f = 0; f < FORMATS; f++) {
+            StringBuilder format = new StringBuilder(WORDS[f % WORDS.length]);
+            int words = 3 + random.nextInt(8);
+            for (int w = 0; w < words; w++) {
+                int kind = random.nextInt(6);
+                format.append(' ').append(kind == 0 ? "%u" : kind == 1 ? "%n" : kind == 2 ? "%m"
+                        : WORDS[random.nextInt(WORDS.length)]);
+            }
+            formats.add(format.toString());
+        }
+        return formats;
+    }
+
+    private static String line(String format, Random random) {
+        StringBuilder line = new StringBuilder();
+        for (String token : format.split(" ")) {
+            if (!line.isEmpty()) {
+                line.append(' ');
+            }
+            switch (token) {
+                case "%u" -> line.append(VERBS[random.nextInt(VERBS.length)]).append(" /api/")
+                        .append(RESOURCES[random.nextInt(RESOURCES.length)]).append('/')
+                        .append(random.nextInt(1_000_000));
+                case "%n" -> line.append(random.nextInt(5000)).append("ms");
+                case "%m" -> line.append(NAMES[random.nextInt(NAMES.length)]);
+                default -> line.append(token);
+            }
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,89 @@
+package uni.bugtracker.backend.service.logtemplate;
+
+import org.junit.jupiter.api.Test;
+import uni.bugtracker.backend.model.LogTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lines that differ in their values share a template, the template renders back to each line
+ * exactly, and a project cannot grow more templates than its limit.
+ */
+class LogTemplateMinerTest {
+
+    @Test
+    void match_shouldGroupLinesThatDifferInTheirValues() {
+        // Given
+        LogTemplateMiner miner = new LogTemplateMiner(100, 0.5);
+
+        // When
+        LogTemplateMiner.Match first = miner.match("Login of alice from 10.0.0.7 succeeded");
+        LogTemplateMiner.Match second = miner.match("Login of bob from 10.0.0.9 succeeded");
+        LogTemplateMiner.Match third = miner.match("Login of carol from 192.168.1.4 succeeded");
+
+        // Then
+        assertThat(first.template()).isEqualTo("Login of alice from <*> succeeded");
+        assertThat(second.template()).isEqualTo("Login of <*> from <*> succeeded");
+        assertThat(second.parameters()).containsExactly("bob", "10.0.0.9");
+        assertThat(third.template()).isEqualTo("Login of <*> from <*> succeeded");
+        assertThat(third.parameters()).containsExactly("carol", "192.168.1.4");
+        assertThat(miner.templateCount()).isEqualTo(1);
+    }
+
+    @Test
+    void match_shouldKeepDifferentMessagesApart() {
+        // Given
+        LogTemplateMiner miner = new LogTemplateMiner(100, 0.5);
+
+        // When
+        String cart = miner.match("Cart checkout failed: payment declined").template();
+        String network = miner.match("Network request timed out after retries").template();
+        String shorter = miner.match("Cart checkout failed").template();
+
+        // Then
+        assertThat(List.of(cart, network, shorter)).containsExactly(
+                "Cart checkout failed: payment declined", "Network request timed out after retries",
+                "Cart checkout failed");
+        assertThat(miner.templateCount()).isEqualTo(3);
+    }
+
+    @Test
+    void match_shouldRenderBackToTheLine() {
+        // Given
+        LogTemplateMiner miner = new LogTemplateMiner(100, 0.5);
+        List<String> lines = List.of(
+                "GET /api/orders/17 failed after 312 ms",
+                "GET /api/orders/9045 failed after  ms",
+                " leading and trailing spaces ",
+                "values with 12:34 and 3:14 inside");
+
+        for (String line : lines) {
+            // When
+            LogTemplateMiner.Match match = miner.match(line);
+
+            // Then
+            assertThat(LogTemplate.render(match.template(), LogTemplate.encode(match.parameters()))).isEqualTo(line);
+        }
+    }
+
+    @Test
+    void match_overTheTemplateLimit_shouldNotMine() {
+        // Given
+        LogTemplateMiner miner = new LogTemplateMiner(2, 0.5);
+        miner.match("Cart checkout failed");
+        miner.match("Network request timed out after retries");
+
+        // When
+        LogTemplateMiner.Match known = miner.match("Cart checkout failed");
+        LogTemplateMiner.Match unknown = miner.match("Service worker registration rejected by browser");
+        LogTemplateMiner.Match tooLong = miner.match("x".repeat(LogTemplate.MAX_LENGTH));
+
+        // Then
+        assertThat(known).isNotNull();
+        assertThat(unknown).isNull();
+        assertThat(tooLong).isNull();
+        assertThat(miner.templateCount()).isEqualTo(2);
+    }
+}
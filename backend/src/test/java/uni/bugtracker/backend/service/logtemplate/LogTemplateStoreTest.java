@@ -0,0 +1,131 @@
+package uni.bugtracker.backend.service.logtemplate;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import uni.bugtracker.backend.exception.BusinessValidationException;
+import uni.bugtracker.backend.model.*;
+import uni.bugtracker.backend.repository.DatabaseDialect;
+import uni.bugtracker.backend.repository.LogTemplateRepository;
+import uni.bugtracker.backend.repository.LogTemplateWriter;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static uni.bugtracker.backend.TestEntities.NOW;
+import static uni.bugtracker.backend.TestEntities.activeSession;
+import static uni.bugtracker.backend.TestEntities.project;
+
+/**
+ * Logs read back as sent, a template found again after its miner was dropped maps to its
+ * existing row, and occurrences reach the rows with the flush.
+ */
+@DataJpaTest
+@Import({LogTemplateWriter.class, DatabaseDialect.class})
+class LogTemplateStoreTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LogTemplateWriter writer;
+
+    @Autowired
+    private LogTemplateRepository repository;
+
+    private LogTemplateStore store;
+    private Project project;
+    private Session session;
+
+    @BeforeEach
+    void setUp() {
+        store = store();
+        project = project(entityManager, "Project");
+        session = activeSession(entityManager, project);
+    }
+
+    @Test
+    void attach_shouldStoreParametersAndReadTheLogBack() {
+        // Given
+        Event first = event(store, "Payment 8812 declined for order 17");
+        Event second = event(store, "Payment 9045 declined for order 231");
+        Event unmined = event(store, "x".repeat(LogTemplate.MAX_LENGTH));
+
+        // When
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertThat(jdbcTemplate.queryForList("select template from log_template", String.class))
+                .containsExactly("Payment <*> declined for order <*>");
+        assertThat(entityManager.find(Event.class, first.getId()).getLog())
+                .isEqualTo("Payment 8812 declined for order 17");
+        assertThat(entityManager.find(Event.class, second.getId()).getLog())
+                .isEqualTo("Payment 9045 declined for order 231");
+        assertThat(entityManager.find(Event.class, unmined.getId()).getLog())
+                .isEqualTo("x".repeat(LogTemplate.MAX_LENGTH));
+        assertThat(store.storedRatio()).isLessThan(0.5);
+    }
+
+    @Test
+    void attach_afterTheMinerWasDropped_shouldReuseTheTemplateRow() {
+        // Given
+        event(store, "Payment 8812 declined for order 17");
+        LogTemplateStore restarted = store();
+
+        // When
+        event(restarted, "Payment 9045 declined for order 231");
+        entityManager.flush();
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("select count(*) from log_template", Long.class)).isEqualTo(1);
+    }
+
+    @Test
+    void flushCounters_shouldAddOccurrencesMostFrequentFirst() {
+        // Given
+        event(store, "Cart checkout failed");
+        event(store, "Payment 8812 declined for order 17");
+        event(store, "Payment 9045 declined for order 231");
+        entityManager.flush();
+
+        // When
+        store.flushCounters();
+        store.flushCounters();
+        entityManager.clear();
+
+        // Then
+        assertThat(store.getTemplates(project.getId(), 10))
+                .extracting(LogTemplate::getTemplate, LogTemplate::getOccurrences)
+                .containsExactly(
+                        tuple("Payment <*> declined for order <*>", 2L),
+                        tuple("Cart checkout failed", 1L));
+        assertThatThrownBy(() -> store.getTemplates(project.getId(), LogTemplateStore.MAX_LIMIT + 1))
+                .isInstanceOf(BusinessValidationException.class);
+    }
+
+    private LogTemplateStore store() {
+        return new LogTemplateStore(writer, repository, entityManager, 100, 100, 0.5, 1000, Duration.ofHours(1),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private Event event(LogTemplateStore target, String log) {
+        Event event = new Event();
+        event.setSession(session);
+        event.setType(EventType.ERROR);
+        target.attach(event, log, project.getId());
+        entityManager.persist(event);
+        return event;
+    }
+}
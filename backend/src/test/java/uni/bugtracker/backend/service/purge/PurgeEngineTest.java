@@ -0,0 +1,222 @@
+package uni.bugtracker.backend.service.purge;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import uni.bugtracker.backend.TestEntities;
+import uni.bugtracker.backend.model.*;
+import uni.bugtracker.backend.repository.DatabaseDialect;
+import uni.bugtracker.backend.repository.PurgeJobRepository;
+import uni.bugtracker.backend.repository.PurgeWriter;
+import uni.bugtracker.backend.service.ReportCardCache;
+import uni.bugtracker.backend.service.SessionService;
+import uni.bugtracker.backend.service.search.SearchIndex;
+import uni.bugtracker.backend.service.stats.StatsRollup;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import static uni.bugtracker.backend.TestEntities.NOW;
+import static uni.bugtracker.backend.TestEntities.project;
+
+/**
+ * Purge jobs against H2 in chunks of two rows: everything of a project goes, rows of other
+ * projects stay, and a job another node holds is resumed from its checkpoint once the claim ran out.
+ */
+@DataJpaTest
+@Import({PurgeWriter.class, DatabaseDialect.class})
+class PurgeEngineTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PurgeJobRepository jobRepository;
+
+    @Autowired
+    private PurgeWriter writer;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final SearchIndex searchIndex = mock(SearchIndex.class);
+    private final StatsRollup statsRollup = mock(StatsRollup.class);
+    private final ReportCardCache reportCardCache = mock(ReportCardCache.class);
+    private final SessionService sessionService = mock(SessionService.class);
+
+    private Project project;
+    private Project otherProject;
+
+    @BeforeEach
+    void setUp() {
+        project = project(entityManager, "Doomed");
+        otherProject = project(entityManager, "Kept");
+    }
+
+    @Test
+    void runPending_shouldDeleteProjectInChunks() {
+        // Given
+        Session first = session(project, NOW.minusSeconds(600), false, 3);
+        Session second = session(project, NOW.minusSeconds(60), true, 2);
+        Report report = report(first, NOW.minusSeconds(500));
+        Session foreign = session(otherProject, NOW.minusSeconds(60), false, 1);
+        report(foreign, NOW.minusSeconds(30));
+        PurgeJob job = projectJob();
+
+        // When
+        engine(NOW).runPending();
+
+        // Then
+        PurgeJob finished = jobRepository.findById(job.getId()).orElseThrow();
+        assertThat(finished.getPhase()).isEqualTo(PurgeJob.Phase.DONE);
+        assertThat(finished.getFinishedAt()).isEqualTo(NOW);
+        assertThat(finished.getClaimedUntil()).isNull();
+        assertThat(finished.getDeletedEvents()).isEqualTo(5);
+        assertThat(finished.getDeletedSessions()).isEqualTo(2);
+        assertThat(finished.getDeletedReports()).isEqualTo(1);
+        assertThat(count("select count(*) from project where id = ?", project.getId())).isZero();
+        assertThat(count("select count(*) from session where id in (?, ?)", first.getId(), second.getId())).isZero();
+        assertThat(count("select count(*) from event e join session s on s.id = e.session_id where s.project_id = ?",
+                otherProject.getId())).isEqualTo(1);
+        assertThat(count("select count(*) from report where project_id = ?", otherProject.getId())).isEqualTo(1);
+        verify(reportCardCache).invalidate(report.getId());
+        verify(sessionService).sessionDeleted(first.getId());
+        verify(sessionService).sessionDeleted(second.getId());
+        verify(searchIndex).removeProject(project.getId());
+        verify(statsRollup).removeProject(project.getId());
+    }
+
+    @Test
+    void runPending_shouldResumeFromCheckpointOnceClaimRanOut() {
+        // Given: another node got past the first session, then died holding the job;
+        // the session is kept here to show that rows up to the checkpoint are not scanned again
+        Session done = session(project, NOW.minusSeconds(600), false, 0);
+        Session rest = session(project, NOW.minusSeconds(60), false, 3);
+        PurgeJob job = new PurgeJob();
+        job.setKind(PurgeJob.Kind.RETENTION);
+        job.setPhase(PurgeJob.Phase.SESSIONS);
+        job.setSessionCutoff(NOW);
+        job.setCreatedAt(NOW);
+        job.setCheckpoint(done.getId());
+        job.setDeletedSessions(1);
+        job.setClaimedUntil(NOW.plus(Duration.ofMinutes(5)));
+        jobRepository.saveAndFlush(job);
+
+        // When: claimed elsewhere, nothing happens
+        engine(NOW).runPending();
+
+        // Then
+        assertThat(count("select count(*) from event where session_id = ?", rest.getId())).isEqualTo(3);
+
+        // When: the claim ran out
+        engine(NOW.plus(Duration.ofMinutes(10))).runPending();
+
+        // Then
+        PurgeJob finished = jobRepository.findById(job.getId()).orElseThrow();
+        assertThat(finished.getPhase()).isEqualTo(PurgeJob.Phase.DONE);
+        assertThat(finished.getDeletedSessions()).isEqualTo(2);
+        assertThat(finished.getDeletedEvents()).isEqualTo(3);
+        assertThat(count("select count(*) from session where id = ?", done.getId())).isEqualTo(1);
+        assertThat(count("select count(*) from session where id = ?", rest.getId())).isZero();
+    }
+
+    @Test
+    void runPending_shouldPurgeOnlyExpiredClosedSessionsAndScreenshots() {
+        // Given
+        Instant old = NOW.minus(Duration.ofDays(100));
+        Session expired = session(project, old, false, 2);
+        Report expiredReport = report(expired, old);
+        Session active = session(project, old, true, 1);
+        Session recent = session(project, NOW.minus(Duration.ofDays(5)), false, 1);
+        Report oldScreenshot = report(active, old);
+        Report recentScreenshot = report(recent, NOW.minus(Duration.ofDays(5)));
+
+        PurgeJob job = new PurgeJob();
+        job.setKind(PurgeJob.Kind.RETENTION);
+        job.setPhase(PurgeJob.Phase.SESSIONS);
+        job.setSessionCutoff(NOW.minus(Duration.ofDays(90)));
+        job.setScreenshotCutoff(NOW.minus(Duration.ofDays(30)));
+        job.setCreatedAt(NOW);
+        jobRepository.saveAndFlush(job);
+
+        // When
+        engine(NOW).runPending();
+
+        // Then
+        PurgeJob finished = jobRepository.findById(job.getId()).orElseThrow();
+        assertThat(finished.getDeletedSessions()).isEqualTo(1);
+        assertThat(finished.getDeletedEvents()).isEqualTo(2);
+        assertThat(finished.getDeletedReports()).isEqualTo(1);
+        assertThat(finished.getClearedScreenshots()).isEqualTo(1);
+        assertThat(count("select count(*) from session where id = ?", expired.getId())).isZero();
+        assertThat(count("select count(*) from report where id = ?", expiredReport.getId())).isZero();
+        assertThat(count("select count(*) from session where id in (?, ?)", active.getId(), recent.getId()))
+                .isEqualTo(2);
+        assertThat(count("select count(*) from report where id = ? and screen is null", oldScreenshot.getId()))
+                .isEqualTo(1);
+        assertThat(count("select count(*) from report where id = ? and screen is not null", recentScreenshot.getId()))
+                .isEqualTo(1);
+        verifyNoInteractions(statsRollup);
+    }
+
+    private PurgeEngine engine(Instant now) {
+        return new PurgeEngine(jobRepository, writer, searchIndex, statsRollup, reportCardCache, sessionService,
+                transactionManager, Runnable::run, 2, 0, Duration.ofMinutes(5), Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private PurgeJob projectJob() {
+        PurgeJob job = new PurgeJob();
+        job.setKind(PurgeJob.Kind.PROJECT);
+        job.setProjectId(project.getId());
+        job.setPhase(PurgeJob.Phase.REPORTS);
+        job.setCreatedAt(NOW);
+        return jobRepository.saveAndFlush(job);
+    }
+
+    private Session session(Project owner, Instant startTime, boolean active, int events) {
+        Session session = TestEntities.session(entityManager, owner, startTime, active);
+        session.setPlugins(List.of("pdf"));
+        for (int i = 0; i < events; i++) {
+            Event event = new Event();
+            event.setSession(session);
+            event.setType(EventType.ERROR);
+            event.setName("Event " + i);
+            event.setLog("log " + i);
+            event.setTimestamp(startTime.plusSeconds(i));
+            entityManager.persist(event);
+        }
+        entityManager.flush();
+        return session;
+    }
+
+    private Report report(Session session, Instant reportedAt) {
+        Report report = new Report();
+        report.setProject(session.getProject());
+        report.setSession(session);
+        report.setTitle("Report");
+        report.setReportedAt(reportedAt);
+        report.setScreen(new byte[]{1, 2, 3});
+        report.setRelatedEventIds(List.of(1L));
+        entityManager.persist(report);
+        entityManager.flush();
+        return report;
+    }
+
+    private long count(String sql, Object... args) {
+        Long result = jdbcTemplate.queryForObject(sql, Long.class, args);
+        return result != null ? result : 0;
+    }
+}
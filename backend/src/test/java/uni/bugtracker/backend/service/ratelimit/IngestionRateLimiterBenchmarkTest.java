@@ -0,0 +1,88 @@
+package uni.bugtracker.backend.service.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import uni.bugtracker.backend.config.RateLimitProperties;
+import uni.bugtracker.backend.exception.TooManyRequestsException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cost of one ingestion check, project and session bucket together, over 10,000 projects and
+ * 100,000 sessions: on one thread and with every core hitting the same limiter, once with
+ * limits that let everything through and once with limits that reject everything (the
+ * path a flood takes). Run with {@code ./gradlew benchmark}.
+ */
+@org.junit.jupiter.api.Tag("benchmark")
+class IngestionRateLimiterBenchmarkTest {
+
+    private static final int PROJECTS = 10_000;
+    private static final int SESSIONS = 100_000;
+    private static final int CHECKS = 10_000_000;
+
+    @Test
+    void nanosPerCheck() throws Exception {
+        String[] projectIds = new String[PROJECTS];
+        for (int i = 0; i < PROJECTS; i++) {
+            projectIds[i] = "project-" + i;
+        }
+        IngestionRateLimiter open = limiter(new RateLimitProperties.Limit(1e9, 1_000_000));
+        IngestionRateLimiter closed = limiter(new RateLimitProperties.Limit(1e-3, 1));
+
+        // the first runs warm up and fill the buckets
+        run(open, projectIds, 1);
+        run(closed, projectIds, 1);
+        int threads = Runtime.getRuntime().availableProcessors();
+        double openSingle = run(open, projectIds, 1);
+        double openShared = run(open, projectIds, threads);
+        double closedSingle = run(closed, projectIds, 1);
+        double closedShared = run(closed, projectIds, threads);
+
+        System.out.printf("%-44s %.0fns/check%n", "allowed, one thread", openSingle);
+        System.out.printf("%-44s %.0fns/check%n", "allowed, " + threads + " threads", openShared);
+        System.out.printf("%-44s %.0fns/check%n", "rejected, one thread", closedSingle);
+        System.out.printf("%-44s %.0fns/check%n", "rejected, " + threads + " threads", closedShared);
+
+        assertThat(openSingle).isLessThan(1000);
+        assertThat(closedSingle).isLessThan(1000);
+    }
+
+    private static IngestionRateLimiter limiter(RateLimitProperties.Limit limit) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setProject(limit);
+        properties.setSession(limit);
+        properties.setMaxKeys(PROJECTS + SESSIONS);
+        return new IngestionRateLimiter(properties);
+    }
+
+    // wall time per check and thread, each thread on its own share of the checks
+    private static double run(IngestionRateLimiter limiter, String[] projectIds, int threads) throws Exception {
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> parts = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int seed = t;
+                parts.add(executor.submit(() -> {
+                    for (int i = 0; i < CHECKS / threads; i++) {
+                        long n = (i * 31L + seed) * 0x9E3779B97F4A7C15L >>> 1;
+                        try {
+                            limiter.checkSession(n % SESSIONS);
+                            limiter.checkProject(projectIds[(int) (n % PROJECTS)]);
+                        } catch (TooManyRequestsException e) {
+                            // the flood path
+                        }
+                    }
+                }));
+            }
+            for (Future<?> part : parts) {
+                part.get();
+            }
+        }
+        return (double) (System.nanoTime() - started) * threads / CHECKS;
+    }
+}
@@ -0,0 +1,103 @@
+package uni.bugtracker.backend.service.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uni.bugtracker.backend.config.RateLimitProperties;
+import uni.bugtracker.backend.exception.TooManyRequestsException;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static uni.bugtracker.backend.TestEntities.NOW;
+
+/**
+ * A bucket lets its burst through at once, then one request per interval, and tells the
+ * client how long to wait; projects with their own limit and sessions are counted apart.
+ */
+class IngestionRateLimiterTest {
+
+    private RateLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setProject(new RateLimitProperties.Limit(2, 3));
+        properties.setSession(new RateLimitProperties.Limit(0.5, 1));
+        properties.setProjects(Map.of("big", new RateLimitProperties.Limit(100, 50)));
+    }
+
+    @Test
+    void checkProject_afterTheBurst_shouldRejectWithRetryAfter() {
+        // Given
+        IngestionRateLimiter limiter = limiter(NOW);
+        for (int i = 0; i < 3; i++) {
+            limiter.checkProject("p1");
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> limiter.checkProject("p1"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfterSeconds()).isEqualTo(1));
+        assertThatCode(() -> limiter.checkProject("p2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void checkProject_shouldRefillAtTheConfiguredRate() {
+        // Given
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(NOW.toEpochMilli());
+        IngestionRateLimiter limiter = new IngestionRateLimiter(properties, clock);
+        for (int i = 0; i < 3; i++) {
+            limiter.checkProject("p1");
+        }
+
+        // When: one token per 500 ms
+        when(clock.millis()).thenReturn(NOW.toEpochMilli() + 499);
+        Throwable early = catchThrowable(() -> limiter.checkProject("p1"));
+        when(clock.millis()).thenReturn(NOW.toEpochMilli() + 500);
+        Throwable onTime = catchThrowable(() -> limiter.checkProject("p1"));
+        Throwable again = catchThrowable(() -> limiter.checkProject("p1"));
+
+        // Then
+        assertThat(early).isInstanceOf(TooManyRequestsException.class);
+        assertThat(onTime).isNull();
+        assertThat(again).isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void checkProject_withItsOwnLimit_shouldUseIt() {
+        // Given
+        IngestionRateLimiter limiter = limiter(NOW);
+
+        // When & Then
+        for (int i = 0; i < 50; i++) {
+            limiter.checkProject("big");
+        }
+        assertThatThrownBy(() -> limiter.checkProject("big")).isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void checkSession_shouldRoundTheWaitUpToWholeSeconds() {
+        // Given
+        IngestionRateLimiter limiter = limiter(NOW);
+        limiter.checkSession(7L);
+
+        // When & Then: one token per two seconds
+        assertThatThrownBy(() -> limiter.checkSession(7L))
+                .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfterSeconds()).isEqualTo(2));
+        assertThatCode(() -> limiter.checkSession(8L)).doesNotThrowAnyException();
+        assertThatCode(() -> limiter.checkSession(null)).doesNotThrowAnyException();
+    }
+
+    private IngestionRateLimiter limiter(Instant now) {
+        return new IngestionRateLimiter(properties, Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,207 @@
+package uni.bugtracker.backend.service.sampling;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uni.bugtracker.backend.dto.sampling.SamplingPolicyResponse;
+import uni.bugtracker.backend.model.EventType;
+import uni.bugtracker.backend.model.SamplingPolicy;
+import uni.bugtracker.backend.repository.EventRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Errors and the events around them are always kept, also when the error went through another
+ * node, the cap counts the events stored before and kept since unless rolled back, and the rate keeps about its share of events with the same decision every time.
+ */
+@ExtendWith(MockitoExtension.class)
+class EventSamplerTest {
+
+    private static final Instant START = Instant.parse("2026-03-02T03:00:00Z");
+
+    @Mock
+    private SamplingPolicyService policyService;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    // unstubbed it stays at 0: errors are read again only where a test moves it
+    @Mock
+    private Clock clock;
+
+    private EventSampler sampler;
+
+    @BeforeEach
+    void setUp() {
+        sampler = new EventSampler(policyService, eventRepository, 100, Duration.ofMinutes(1), Duration.ofSeconds(1),
+                clock);
+    }
+
+    @Test
+    void sampleOut_withDefaultPolicy_shouldKeepEverythingWithoutQueries() {
+        // Given
+        when(policyService.getPolicy("project-1")).thenReturn(SamplingPolicyResponse.of(policy(1, 0, 0, 0)));
+
+        // When
+        boolean dropped = sampler.sampleOut("project-1", 1L, EventType.NETWORK, START);
+
+        // Then
+        assertThat(dropped).isFalse();
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void sampleOut_shouldKeepEventsInTheWindowAroundAnError() {
+        // Given: nothing is sampled in, except around errors
+        when(policyService.getPolicy("project-1")).thenReturn(SamplingPolicyResponse.of(policy(0, 0, 2000, 1000)));
+        when(eventRepository.findLatestErrorTimestamps(1L, Limit.of(EventSampler.MAX_ERRORS)))
+                .thenReturn(List.of(START));
+        when(eventRepository.countNonErrorEvents(1L)).thenReturn(0L);
+
+        // When
+        boolean afterStoredError = sampler.sampleOut("project-1", 1L, EventType.ACTION, START.plusMillis(1000));
+        boolean tooLate = sampler.sampleOut("project-1", 1L, EventType.ACTION, START.plusMillis(1001));
+        boolean error = sampler.sampleOut("project-1", 1L, EventType.ERROR, START.plusSeconds(60));
+        // held back by the widget until the error was sent
+        boolean beforeNewError = sampler.sampleOut("project-1", 1L, EventType.ACTION, START.plusSeconds(58));
+
+        // Then
+        assertThat(afterStoredError).isFalse();
+        assertThat(tooLate).isTrue();
+        assertThat(error).isFalse();
+        assertThat(beforeNewError).isFalse();
+        verify(eventRepository, times(1)).countNonErrorEvents(1L);
+    }
+
+    @Test
+    void sampleOut_overTheCap_shouldDropAllButErrors() {
+        // Given: 9 events stored before this node saw the session
+        when(policyService.getPolicy("project-1")).thenReturn(SamplingPolicyResponse.of(policy(1, 10, 0, 0)));
+        when(eventRepository.findLatestErrorTimestamps(anyLong(), any())).thenReturn(List.of());
+        when(eventRepository.countNonErrorEvents(1L)).thenReturn(9L);
+
+        // When
+        boolean tenth = sampler.sampleOut("project-1", 1L, EventType.ACTION, START);
+        boolean eleventh = sampler.sampleOut("project-1", 1L, EventType.ACTION, START.plusSeconds(1));
+        boolean error = sampler.sampleOut("project-1", 1L, EventType.ERROR, START.plusSeconds(2));
+
+        // Then
+        assertThat(tenth).isFalse();
+        assertThat(eleventh).isTrue();
+        assertThat(error).isFalse();
+    }
+
+    @Test
+    void sampleOut_whenTheErrorWasStoredThroughAnotherNode_shouldKeepTheHeldBackEventsOnceReadAgain() {
+        // Given: this node read the session's errors before the error, at 0 ms
+        when(policyService.getPolicy("project-1")).thenReturn(SamplingPolicyResponse.of(policy(0, 0, 2000, 0)));
+        when(eventRepository.findLatestErrorTimestamps(1L, Limit.of(EventSampler.MAX_ERRORS)))
+                .thenReturn(List.of())
+                .thenReturn(List.of(START.plusSeconds(60)));
+        when(eventRepository.countNonErrorEvents(1L)).thenReturn(0L);
+        when(clock.millis()).thenReturn(0L, 500L, 1000L, 1200L);
+
+        // When
+        boolean withinRefresh = sampler.sampleOut("project-1", 1L, EventType.ACTION, START.plusSeconds(58));
+        boolean readAgain = sampler.sampleOut("project-1", 1L, EventType.ACTION, START.plusSeconds(58));
+        boolean beforeWindow = sampler.sampleOut("project-1", 1L, EventType.ACTION, START.plusSeconds(57));
+
+        // Then
+        assertThat(withinRefresh).isTrue();
+        assertThat(readAgain).isFalse();
+        assertThat(beforeWindow).isTrue();
+        verify(eventRepository, times(2)).findLatestErrorTimestamps(1L, Limit.of(EventSampler.MAX_ERRORS));
+    }
+
+    @Test
+    void sampleOut_withinOneTransaction_shouldCountThePendingEvents() {
+        // Given
+        when(policyService.getPolicy("project-1")).thenReturn(SamplingPolicyResponse.of(policy(1, 10, 0, 0)));
+        when(eventRepository.findLatestErrorTimestamps(anyLong(), any())).thenReturn(List.of());
+        when(eventRepository.countNonErrorEvents(1L)).thenReturn(9L);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            boolean tenth = sampler.sampleOut("project-1", 1L, EventType.ACTION, START);
+            boolean eleventh = sampler.sampleOut("project-1", 1L, EventType.ACTION, START.plusSeconds(1));
+
+            // Then
+            assertThat(tenth).isFalse();
+            assertThat(eleventh).isTrue();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void sampleOut_whenTheInsertRollsBack_shouldNotCountTheEvent() {
+        // Given: one event left under the cap
+        when(policyService.getPolicy("project-1")).thenReturn(SamplingPolicyResponse.of(policy(1, 10, 0, 0)));
+        when(eventRepository.findLatestErrorTimestamps(anyLong(), any())).thenReturn(List.of());
+        when(eventRepository.countNonErrorEvents(1L)).thenReturn(9L);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            sampler.sampleOut("project-1", 1L, EventType.ACTION, START);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // When
+        boolean retried = sampler.sampleOut("project-1", 1L, EventType.ACTION, START);
+        boolean next = sampler.sampleOut("project-1", 1L, EventType.ACTION, START.plusSeconds(1));
+
+        // Then
+        assertThat(retried).isFalse();
+        assertThat(next).isTrue();
+    }
+
+    @Test
+    void sampledIn_shouldKeepTheRateAndDecideTheSameEveryTime() {
+        // Given
+        int events = 100_000;
+        int kept = 0;
+
+        // When
+        for (int i = 0; i < events; i++) {
+            long sessionId = 1 + i % 1000;
+            long millis = START.toEpochMilli() + i * 37L;
+            if (EventSampler.sampledIn(sessionId, EventType.NETWORK, millis, 0.1)) {
+                kept++;
+                assertThat(EventSampler.sampledIn(sessionId, EventType.NETWORK, millis, 0.1)).isTrue();
+            }
+        }
+
+        // Then: the widget's test vector, and about a tenth of the events
+        assertThat(EventSampler.fnv1a32("")).isEqualTo(0x811c9dc5L);
+        assertThat(EventSampler.fnv1a32("a")).isEqualTo(0xe40c292cL);
+        assertThat((double) kept / events).isCloseTo(0.1, within(0.01));
+    }
+
+    private static SamplingPolicy policy(double rate, int cap, long beforeMs, long afterMs) {
+        SamplingPolicy policy = new SamplingPolicy();
+        policy.setProjectId("project-1");
+        policy.setActionRate(rate);
+        policy.setPerformanceRate(rate);
+        policy.setNetworkRate(rate);
+        policy.setCustomRate(rate);
+        policy.setMaxEventsPerSession(cap);
+        policy.setKeepBeforeErrorMs(beforeMs);
+        policy.setKeepAfterErrorMs(afterMs);
+        return policy;
+    }
+}
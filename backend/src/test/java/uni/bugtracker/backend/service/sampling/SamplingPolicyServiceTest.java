@@ -0,0 +1,101 @@
+package uni.bugtracker.backend.service.sampling;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uni.bugtracker.backend.dto.sampling.SamplingPolicyRequest;
+import uni.bugtracker.backend.dto.sampling.SamplingPolicyResponse;
+import uni.bugtracker.backend.exception.ResourceNotFoundException;
+import uni.bugtracker.backend.model.EventType;
+import uni.bugtracker.backend.model.SamplingPolicy;
+import uni.bugtracker.backend.repository.ProjectRepository;
+import uni.bugtracker.backend.repository.SamplingPolicyRepository;
+import uni.bugtracker.backend.utility.cluster.ClusterEventBus;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SamplingPolicyServiceTest {
+
+    @Mock
+    private SamplingPolicyRepository repository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private ClusterEventBus eventBus;
+
+    private SamplingPolicyService service;
+    private Consumer<String> invalidationHandler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        service = new SamplingPolicyService(repository, projectRepository, eventBus, 100, Duration.ofMinutes(1));
+        ArgumentCaptor<Consumer<String>> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(eventBus).subscribe(eq(SamplingPolicyService.CHANNEL), captor.capture());
+        invalidationHandler = captor.getValue();
+    }
+
+    @Test
+    void getPolicy_withoutRow_shouldKeepEverythingAndQueryOnce() {
+        // Given
+        when(repository.findById("project-1")).thenReturn(Optional.empty());
+        when(projectRepository.existsById("project-1")).thenReturn(true);
+
+        // When
+        service.getPolicy("project-1");
+        SamplingPolicyResponse policy = service.getPolicy("project-1");
+
+        // Then
+        assertThat(policy.keepsAll()).isTrue();
+        assertThat(policy.getVersion()).isNull();
+        verify(repository, times(1)).findById("project-1");
+    }
+
+    @Test
+    void getPolicy_forUnknownProject_shouldThrowException() {
+        // Given
+        when(repository.findById("missing")).thenReturn(Optional.empty());
+        when(projectRepository.existsById("missing")).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> service.getPolicy("missing"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void updatePolicy_shouldPublishAndReloadAfterDelivery() {
+        // Given
+        SamplingPolicy stored = new SamplingPolicy();
+        stored.setProjectId("project-1");
+        when(repository.findById("project-1")).thenReturn(Optional.of(stored));
+        when(repository.saveAndFlush(any(SamplingPolicy.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        assertThat(service.getPolicy("project-1").rate(EventType.NETWORK)).isEqualTo(1.0);
+        SamplingPolicyRequest request = new SamplingPolicyRequest();
+        request.setNetworkRate(0.25);
+
+        // When
+        service.updatePolicy("project-1", request);
+        verify(eventBus).publish(SamplingPolicyService.CHANNEL, "project-1");
+        invalidationHandler.accept("project-1");
+
+        // Then
+        SamplingPolicyResponse policy = service.getPolicy("project-1");
+        assertThat(policy.rate(EventType.NETWORK)).isEqualTo(0.25);
+        assertThat(policy.rate(EventType.ERROR)).isEqualTo(1.0);
+        verify(repository, times(3)).findById("project-1");
+    }
+}
@@ -0,0 +1,143 @@
+package uni.bugtracker.backend.service.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uni.bugtracker.backend.dto.search.SearchHit;
+import uni.bugtracker.backend.dto.search.SearchResultPage;
+import uni.bugtracker.backend.model.Event;
+import uni.bugtracker.backend.model.EventType;
+import uni.bugtracker.backend.model.Project;
+import uni.bugtracker.backend.model.Report;
+import uni.bugtracker.backend.model.Session;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemorySearchIndexTest {
+
+    private InMemorySearchIndex index;
+    private Project project;
+    private Session session;
+
+    @BeforeEach
+    void setUp() {
+        index = new InMemorySearchIndex();
+
+        project = new Project();
+        project.setId("project-123");
+
+        session = new Session();
+        session.setId(1L);
+        session.setProject(project);
+    }
+
+    @Test
+    void search_shouldRequireAllTermsAndRankTitlesFirst() {
+        // Given
+        index.indexReport(report(1L, "Checkout button does nothing", "payment form freezes"));
+        index.indexReport(report(2L, "Payment page is slow", "checkout takes a minute"));
+        index.indexReport(report(3L, "Checkout layout", "images overlap"));
+
+        // When
+        SearchResultPage result = index.search("project-123", "checkout payment", 0, 10);
+
+        // Then
+        assertThat(result.getHits()).extracting(SearchHit::getId).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(result.isHasNext()).isFalse();
+    }
+
+    @Test
+    void search_shouldFindEventsByStackTraceAndHighlightMatch() {
+        // Given
+        Event event = new Event();
+        event.setId(10L);
+        event.setSession(session);
+        event.setType(EventType.ERROR);
+        event.setName("Unhandled error");
+        event.setLog("request failed");
+        event.setStackTrace("TypeError: <cart> is undefined\n    at renderCart (cart.js:42)");
+        event.setTimestamp(Instant.parse("2025-01-01T10:00:00Z"));
+        index.indexEvent(event, "project-123");
+
+        // When
+        SearchResultPage result = index.search("project-123", "renderCart", 0, 10);
+
+        // Then
+        assertThat(result.getHits()).hasSize(1);
+        SearchHit hit = result.getHits().get(0);
+        assertThat(hit.getKind()).isEqualTo(SearchHit.Kind.EVENT);
+        assertThat(hit.getSessionId()).isEqualTo(1L);
+        assertThat(hit.getHighlight())
+                .contains("<mark>renderCart</mark>")
+                .contains("&lt;cart&gt;");
+    }
+
+    @Test
+    void search_shouldNotReturnDocumentsOfOtherProjects() {
+        // Given
+        index.indexReport(report(1L, "Login fails", null));
+
+        // When
+        SearchResultPage result = index.search("other-project", "login", 0, 10);
+
+        // Then
+        assertThat(result.getHits()).isEmpty();
+    }
+
+    @Test
+    void search_shouldPageResults() {
+        // Given
+        for (long id = 1; id <= 5; id++) {
+            index.indexReport(report(id, "Broken link " + id, null));
+        }
+
+        // When
+        SearchResultPage first = index.search("project-123", "broken", 0, 2);
+        SearchResultPage last = index.search("project-123", "broken", 2, 2);
+
+        // Then
+        assertThat(first.getHits()).extracting(SearchHit::getId).containsExactly(5L, 4L);
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(last.getHits()).extracting(SearchHit::getId).containsExactly(1L);
+        assertThat(last.isHasNext()).isFalse();
+    }
+
+    @Test
+    void indexReport_shouldReplacePreviousText() {
+        // Given
+        Report report = report(1L, "Old title", null);
+        index.indexReport(report);
+        report.setTitle("New title");
+
+        // When
+        index.indexReport(report);
+
+        // Then
+        assertThat(index.search("project-123", "old", 0, 10).getHits()).isEmpty();
+        assertThat(index.search("project-123", "new", 0, 10).getHits()).hasSize(1);
+    }
+
+    @Test
+    void removeProject_shouldDropAllDocumentsOfProject() {
+        // Given
+        index.indexReport(report(1L, "Login fails", null));
+
+        // When
+        index.removeProject("project-123");
+
+        // Then
+        assertThat(index.search("project-123", "login", 0, 10).getHits()).isEmpty();
+    }
+
+    private Report report(Long id, String title, String comments) {
+        Report report = new Report();
+        report.setId(id);
+        report.setProject(project);
+        report.setSession(session);
+        report.setTitle(title);
+        report.setComments(comments);
+        report.setReportedAt(Instant.parse("2025-01-01T00:00:00Z").plusSeconds(id));
+        return report;
+    }
+}
@@ -0,0 +1,133 @@
+package uni.bugtracker.backend.service.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import uni.bugtracker.backend.model.Event;
+import uni.bugtracker.backend.model.Project;
+import uni.bugtracker.backend.model.Report;
+import uni.bugtracker.backend.model.Session;
+import uni.bugtracker.backend.repository.EventRepository;
+import uni.bugtracker.backend.repository.ReportRepository;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * An index in memory gets every stored report and event again, one kept with the rows only
+ * the events without a vector; both walk the ids chunk by chunk.
+ */
+@ExtendWith(MockitoExtension.class)
+class SearchIndexBackfillTest {
+
+    @Mock
+    private SearchIndex searchIndex;
+
+    @Mock
+    private ReportRepository reportRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SearchIndexBackfill backfill;
+    private Session session;
+
+    @BeforeEach
+    void setUp() {
+        backfill = new SearchIndexBackfill(searchIndex, reportRepository, eventRepository, transactionManager,
+                Runnable::run, 2);
+        Project project = new Project();
+        project.setId("project-1");
+        session = new Session();
+        session.setId(5L);
+        session.setProject(project);
+    }
+
+    @Test
+    void backfill_withIndexInMemory_shouldIndexEveryReportAndEvent() {
+        // Given
+        when(searchIndex.startsEmpty()).thenReturn(true);
+        Report first = report(1L);
+        Report second = report(2L);
+        Report third = report(3L);
+        when(reportRepository.findIdsAfter(0L, Limit.of(2))).thenReturn(List.of(1L, 2L));
+        when(reportRepository.findIdsAfter(2L, Limit.of(2))).thenReturn(List.of(3L));
+        when(reportRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(first, second));
+        when(reportRepository.findAllById(List.of(3L))).thenReturn(List.of(third));
+        Event event = event(10L);
+        when(eventRepository.findIdsAfter(0L, Limit.of(2))).thenReturn(List.of(10L));
+        when(eventRepository.findAllWithSessionByIdIn(List.of(10L))).thenReturn(List.of(event));
+
+        // When
+        backfill.backfill();
+
+        // Then
+        verify(searchIndex).indexReport(first);
+        verify(searchIndex).indexReport(second);
+        verify(searchIndex).indexReport(third);
+        verify(searchIndex).indexEvent(event, "project-1");
+        verify(eventRepository, never()).findIdsWithoutSearchVector(anyLong(), anyInt());
+    }
+
+    @Test
+    void backfill_withIndexKeptWithTheRows_shouldIndexOnlyEventsWithoutVector() {
+        // Given
+        when(searchIndex.startsEmpty()).thenReturn(false);
+        Event first = event(10L);
+        Event second = event(11L);
+        when(eventRepository.findIdsWithoutSearchVector(0L, 2)).thenReturn(List.of(10L, 11L));
+        when(eventRepository.findIdsWithoutSearchVector(11L, 2)).thenReturn(List.of());
+        when(eventRepository.findAllWithSessionByIdIn(List.of(10L, 11L))).thenReturn(List.of(first, second));
+
+        // When
+        backfill.backfill();
+
+        // Then
+        verify(searchIndex).indexEvent(first, "project-1");
+        verify(searchIndex).indexEvent(second, "project-1");
+        verifyNoInteractions(reportRepository);
+    }
+
+    @Test
+    void backfill_whenChunkFails_shouldGoOnWithTheNextOne() {
+        // Given
+        when(searchIndex.startsEmpty()).thenReturn(false);
+        Event event = event(12L);
+        when(eventRepository.findIdsWithoutSearchVector(0L, 2)).thenReturn(List.of(10L, 11L));
+        when(eventRepository.findIdsWithoutSearchVector(11L, 2)).thenReturn(List.of(12L));
+        when(eventRepository.findAllWithSessionByIdIn(List.of(10L, 11L)))
+                .thenThrow(new DataAccessResourceFailureException("large object unreadable"));
+        when(eventRepository.findAllWithSessionByIdIn(List.of(12L))).thenReturn(List.of(event));
+
+        // When
+        backfill.backfill();
+
+        // Then
+        verify(searchIndex).indexEvent(eq(event), eq("project-1"));
+        verify(searchIndex, never()).indexReport(any());
+    }
+
+    private Report report(Long id) {
+        Report report = new Report();
+        report.setId(id);
+        return report;
+    }
+
+    private Event event(Long id) {
+        Event event = new Event();
+        event.setId(id);
+        event.setSession(session);
+        return event;
+    }
+}
@@ -0,0 +1,136 @@
+package uni.bugtracker.backend.service.similar;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import uni.bugtracker.backend.dto.report.SimilarReportResponse;
+import uni.bugtracker.backend.exception.BusinessValidationException;
+import uni.bugtracker.backend.model.*;
+import uni.bugtracker.backend.repository.EventRepository;
+import uni.bugtracker.backend.repository.ReportRepository;
+import uni.bugtracker.backend.repository.ReportSignatureRepository;
+import uni.bugtracker.backend.utility.cluster.ClusterEventBus;
+
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static uni.bugtracker.backend.TestEntities.NOW;
+import static uni.bugtracker.backend.TestEntities.project;
+import static uni.bugtracker.backend.TestEntities.session;
+
+/**
+ * Signatures are stored once per report and the index is rebuilt from them alone; lookups
+ * return the near-duplicates of the same project and leave out deleted reports.
+ */
+@DataJpaTest
+@Import(ClusterEventBus.class)
+class SimilarReportIndexTest {
+
+    private static final String TRACE = """
+            TypeError: Cannot read properties of undefined (reading 'total')
+                at CartSummary (https://shop.example.com/static/js/main.4f3a9c.chunk.js:1:18211)
+                at renderWithHooks (https://shop.example.com/static/js/vendor.chunk.js:2:90112)
+                at beginWork (https://shop.example.com/static/js/vendor.chunk.js:2:110876)""";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ReportSignatureRepository signatureRepository;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ClusterEventBus eventBus;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SimilarReportIndex index;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        index = new SimilarReportIndex(signatureRepository, reportRepository, eventRepository, eventBus,
+                jdbcTemplate, transactionManager, Runnable::run, 0.5, 65536, 2, Clock.fixed(NOW, ZoneOffset.UTC));
+        project = project(entityManager, "Project");
+    }
+
+    @Test
+    void findSimilar_afterRebuild_shouldReturnNearDuplicatesOfTheProject() {
+        // Given
+        Report report = report(project, TRACE, "GET /api/cart/17 failed");
+        Report duplicate = report(project, TRACE.replace("4f3a9c", "b81d20"), "GET /api/cart/9045 failed");
+        Report unrelated = report(project, "NetworkError when attempting to fetch resource", "payment offline");
+        Project otherProject = project(entityManager, "Other");
+        report(otherProject, TRACE, "GET /api/cart/17 failed");
+        index.backfill();
+        entityManager.flush();
+
+        // When
+        index.rebuild();
+        List<SimilarReportResponse> similar = index.findSimilar(report.getId(), 10);
+
+        // Then
+        assertThat(signatureRepository.count()).isEqualTo(4);
+        assertThat(similar).extracting(SimilarReportResponse::getReportId).containsExactly(duplicate.getId());
+        assertThat(similar.getFirst().getSimilarity()).isEqualTo(1.0);
+        assertThat(index.findSimilar(unrelated.getId(), 10)).isEmpty();
+    }
+
+    @Test
+    void findSimilar_shouldLeaveOutDeletedReports() {
+        // Given
+        Report report = report(project, TRACE, "GET /api/cart/17 failed");
+        Report duplicate = report(project, TRACE, "GET /api/cart/18 failed");
+        index.indexReport(report.getId());
+        index.indexReport(duplicate.getId());
+        entityManager.flush();
+        index.rebuild();
+
+        // When
+        index.removeReport(duplicate.getId());
+        reportRepository.delete(duplicate);
+        entityManager.flush();
+
+        // Then
+        assertThat(index.findSimilar(report.getId(), 10)).isEmpty();
+        assertThat(signatureRepository.existsById(duplicate.getId())).isFalse();
+        assertThatThrownBy(() -> index.findSimilar(report.getId(), 0))
+                .isInstanceOf(BusinessValidationException.class);
+    }
+
+    private Report report(Project owner, String stackTrace, String log) {
+        Session session = session(entityManager, owner, NOW, false);
+        Event event = new Event();
+        event.setSession(session);
+        event.setType(EventType.ERROR);
+        event.setName("TypeError");
+        event.setStackTrace(stackTrace);
+        event.setLog(log);
+        event.setTimestamp(NOW);
+        entityManager.persist(event);
+        Report report = new Report();
+        report.setProject(owner);
+        report.setSession(session);
+        report.setTitle("Report");
+        report.setReportedAt(NOW);
+        entityManager.persist(report);
+        return report;
+    }
+}
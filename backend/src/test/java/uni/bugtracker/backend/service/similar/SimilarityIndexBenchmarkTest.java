@@ -0,0 +1,109 @@
+package uni.bugtracker.backend.service.similar;
+
+import org.junit.jupiter.api.Test;
+import uni.bugtracker.backend.service.BenchmarkData;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insertion and lookup cost of one project's {@link SimilarityIndex} at a million signatures,
+ * and how often the lookup finds a report of the query's own error. Reports come from 20,000
+ * errors with a skewed distribution, each report adds varying frames and log lines to the
+ * trace of its error. Signatures are computed up front, in parallel, and timed separately.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@org.junit.jupiter.api.Tag("benchmark")
+class SimilarityIndexBenchmarkTest {
+
+    private static final int SIGNATURES = 1_000_000;
+    private static final int ERRORS = 20_000;
+    private static final int LOOKUPS = 20_000;
+    private static final String[] FRAMES = {
+            "renderWithHooks", "updateFunctionComponent", "beginWork", "performUnitOfWork", "workLoopSync",
+            "commitHookEffectListMount", "flushPassiveEffects", "HTMLButtonElement.onClick", "Axios.request",
+            "dispatchEvent", "invokeGuardedCallback", "mountIndeterminateComponent", "reconcileChildren"
+    };
+
+    @Test
+    void insertAndLookupAtOneMillionSignatures() {
+        int[] errorOf = new int[SIGNATURES];
+        Random random = new Random(42);
+        for (int i = 0; i < SIGNATURES; i++) {
+            errorOf[i] = (int) (ERRORS * Math.pow(random.nextDouble(), 2));
+        }
+        long hashing = System.nanoTime();
+        int[][] signatures = IntStream.range(0, SIGNATURES).parallel()
+                .mapToObj(i -> MinHash.signature(report(errorOf[i], new Random(i))))
+                .toArray(int[][]::new);
+        hashing = System.nanoTime() - hashing;
+
+        SimilarityIndex index = new SimilarityIndex();
+        long[] inserts = new long[SIGNATURES];
+        for (int i = 0; i < SIGNATURES; i++) {
+            long start = System.nanoTime();
+            index.add(i, signatures[i]);
+            inserts[i] = System.nanoTime() - start;
+        }
+
+        long[] lookups = new long[LOOKUPS];
+        int found = 0;
+        for (int n = 0; n < LOOKUPS * 2; n++) {
+            int query = random.nextInt(SIGNATURES);
+            long start = System.nanoTime();
+            List<SimilarityIndex.Match> matches = index.query(signatures[query], query, 0.5, 10);
+            long elapsed = System.nanoTime() - start;
+            // the first half warms up
+            if (n >= LOOKUPS) {
+                lookups[n - LOOKUPS] = elapsed;
+                if (matches.stream().anyMatch(match -> errorOf[(int) match.reportId()] == errorOf[query])) {
+                    found++;
+                }
+            }
+        }
+        Arrays.sort(inserts);
+        Arrays.sort(lookups);
+
+        System.out.printf("%-44s %.1fus/report%n", "signature, one core", hashing / 1000.0 / SIGNATURES
+                * Runtime.getRuntime().availableProcessors());
+        BenchmarkData.printMicros("insert", inserts);
+        BenchmarkData.printMicros("lookup, top 10", lookups);
+        System.out.printf("%-44s %.3f%n", "lookups finding the same error", (double) found / LOOKUPS);
+
+        assertThat(index.size()).isEqualTo(SIGNATURES);
+        assertThat(BenchmarkData.percentileMicros(lookups, 0.99)).isLessThan(10_000);
+        assertThat((double) found / LOOKUPS).isGreaterThan(0.95);
+    }
+
+    // the error's trace with some frames of the report's own and a log line with its values
+    private static String report(int error, Random variation) {
+        Random frames = new Random(error);
+        StringBuilder text = new StringBuilder("TypeError: Cannot read properties of undefined (reading '")
+                .append(word(error)).append("')");
+        int depth = 6 + frames.nextInt(12);
+        for (int i = 0; i < depth; i++) {
+            String frame = variation.nextInt(8) == 0
+                    ? FRAMES[variation.nextInt(FRAMES.length)]
+                    : FRAMES[frames.nextInt(FRAMES.length)] + word(frames.nextInt(ERRORS));
+            text.append("\n    at ").append(frame).append(" (https://shop.example.com/static/js/main.")
+                    .append(Integer.toHexString(variation.nextInt())).append(".chunk.js:1:")
+                    .append(variation.nextInt(200_000)).append(')');
+        }
+        text.append("\nGET /api/orders/").append(variation.nextInt(1_000_000)).append(" failed after ")
+                .append(variation.nextInt(3000)).append(" ms, user ").append(variation.nextInt(100_000));
+        return text.toString();
+    }
+
+    // numbers are masked by the tokenizer, distinct names need letters
+    private static String word(int n) {
+        StringBuilder word = new StringBuilder();
+        for (char digit : Integer.toString(n).toCharArray()) {
+            word.append((char) ('a' + digit - '0'));
+        }
+        return word.toString();
+    }
+}
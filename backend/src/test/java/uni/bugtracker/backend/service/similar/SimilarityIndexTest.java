@@ -0,0 +1,82 @@
+package uni.bugtracker.backend.service.similar;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Texts that differ in ids and counts hash to the same signature, related texts score high
+ * and unrelated ones are never candidates; the index keeps working past its first capacity.
+ */
+class SimilarityIndexTest {
+
+    private static final String TRACE = """
+            TypeError: Cannot read properties of undefined (reading 'total')
+                at CartSummary (https://shop.example.com/static/js/main.4f3a9c.chunk.js:1:18211)
+                at renderWithHooks (https://shop.example.com/static/js/vendor.chunk.js:2:90112)
+                at updateFunctionComponent (https://shop.example.com/static/js/vendor.chunk.js:2:93051)
+                at beginWork (https://shop.example.com/static/js/vendor.chunk.js:2:110876)
+            GET /api/cart/1842 failed with status 500 after 312 ms
+            """;
+
+    @Test
+    void signature_shouldIgnoreNumbersAndCase() {
+        // Given
+        String other = TRACE.replace("1842", "77").replace("312", "5").replace("4f3a9c", "9e01b7")
+                .replace("TypeError", "TYPEERROR");
+
+        // When
+        double similarity = MinHash.similarity(MinHash.signature(TRACE), MinHash.signature(other));
+
+        // Then
+        assertThat(similarity).isEqualTo(1.0);
+        assertThat(MinHash.signature(" ... ")).isNull();
+        assertThat(MinHash.fromBytes(MinHash.toBytes(MinHash.signature(TRACE)))).isEqualTo(MinHash.signature(TRACE));
+    }
+
+    @Test
+    void query_shouldReturnNearDuplicatesMostSimilarFirst() {
+        // Given
+        SimilarityIndex index = new SimilarityIndex();
+        index.add(1, MinHash.signature(TRACE));
+        index.add(2, MinHash.signature(TRACE + "    at performUnitOfWork (vendor.chunk.js:2:1)\n"));
+        index.add(3, MinHash.signature(TRACE.replace("CartSummary", "CheckoutForm")
+                + "    at performUnitOfWork (vendor.chunk.js:2:1)\n    at workLoopSync (vendor.chunk.js:2:1)\n"));
+        index.add(4, MinHash.signature("NetworkError when attempting to fetch resource from the payment provider"));
+
+        // When
+        List<SimilarityIndex.Match> matches = index.query(MinHash.signature(TRACE), 1, 0.5, 10);
+
+        // Then
+        assertThat(matches).extracting(SimilarityIndex.Match::reportId).containsExactly(2L, 3L);
+        assertThat(matches.get(0).similarity()).isGreaterThan(matches.get(1).similarity());
+    }
+
+    @Test
+    void query_shouldFindReportsAfterTheIndexGrew() {
+        // Given
+        SimilarityIndex index = new SimilarityIndex();
+        for (int i = 0; i < 2000; i++) {
+            index.add(i, MinHash.signature("unrelated error in module " + letters(i) + " of " + letters(i * 7)));
+        }
+        index.add(5000, MinHash.signature(TRACE));
+
+        // When
+        List<SimilarityIndex.Match> matches = index.query(MinHash.signature(TRACE.replace("1842", "9")), -1, 0.5, 3);
+
+        // Then
+        assertThat(index.size()).isEqualTo(2001);
+        assertThat(matches).extracting(SimilarityIndex.Match::reportId).containsExactly(5000L);
+    }
+
+    // numbers are masked, distinct texts need distinct words
+    private static String letters(int n) {
+        StringBuilder word = new StringBuilder();
+        for (char digit : Integer.toString(n).toCharArray()) {
+            word.append((char) ('a' + digit - '0'));
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,150 @@
+package uni.bugtracker.backend.service.stats;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import uni.bugtracker.backend.model.*;
+import uni.bugtracker.backend.repository.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The writer's upsert on H2 and a reconciliation run over counters that drifted:
+ * afterwards they match the raw rows again.
+ */
+@DataJpaTest
+@Import({DailyStatWriter.class, DatabaseDialect.class})
+class StatsReconciliationJobTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 1);
+    private static final Instant NOON = Instant.parse("2026-03-01T12:00:00Z");
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ProjectDailyStatRepository statRepository;
+
+    @Autowired
+    private DailyStatWriter writer;
+
+    private StatsReconciliationJob job;
+    private String projectId;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2026-03-02T03:30:00Z"), ZoneOffset.UTC);
+        job = new StatsReconciliationJob(
+                reportRepository, sessionRepository, eventRepository, statRepository, writer, 7, clock);
+
+        Project project = new Project();
+        project.setName("Project");
+        entityManager.persist(project);
+        projectId = project.getId();
+
+        Session session = new Session();
+        session.setProject(project);
+        session.setIsActive(false);
+        session.setStartTime(NOON);
+        entityManager.persist(session);
+
+        for (int i = 0; i < 3; i++) {
+            Event event = new Event();
+            event.setSession(session);
+            event.setType(i < 2 ? EventType.ERROR : EventType.ACTION);
+            event.setName("Event " + i);
+            event.setTimestamp(NOON.plusSeconds(i));
+            entityManager.persist(event);
+        }
+
+        Report report = new Report();
+        report.setProject(project);
+        report.setSession(session);
+        report.setTitle("Broken checkout");
+        report.setReportedAt(NOON);
+        report.setStatus(ReportStatus.NEW);
+        report.setCriticality(CriticalityLevel.HIGH);
+        report.setTags(List.of(Tag.BROKEN_LINK));
+        entityManager.persist(report);
+        entityManager.flush();
+    }
+
+    @Test
+    void apply_shouldAddToExistingCounters() {
+        // Given
+        writer.apply(Map.of(key("reports", "total"), 2L));
+
+        // When
+        writer.apply(Map.of(key("reports", "total"), 3L, key("sessions", "total"), 0L));
+
+        // Then: the zero delta creates no row
+        assertThat(amounts()).containsOnly(Map.entry(key("reports", "total"), 5L));
+    }
+
+    @Test
+    void reconcile_shouldRepairDriftedCounters() {
+        // Given: one counter too high, one stale status left over, the rest missing
+        writer.apply(Map.of(
+                key("reports", "total"), 4L,
+                key("reports", "status:DONE"), 1L));
+
+        // When
+        job.reconcile();
+
+        // Then
+        assertThat(amounts()).containsOnly(
+                Map.entry(key("reports", "total"), 1L),
+                Map.entry(key("reports", "status:NEW"), 1L),
+                Map.entry(key("reports", "status:DONE"), 0L),
+                Map.entry(key("reports", "level:HIGH"), 1L),
+                Map.entry(key("reports", "tag:BROKEN_LINK"), 1L),
+                Map.entry(key("sessions", "total"), 1L),
+                Map.entry(key("error_events", "total"), 2L));
+    }
+
+    @Test
+    void reconcile_withCorrectCounters_shouldChangeNothing() {
+        // Given
+        job.reconcile();
+        Map<ProjectDailyStat.Key, Long> before = amounts();
+
+        // When
+        job.reconcile();
+
+        // Then
+        assertThat(amounts()).isEqualTo(before);
+    }
+
+    private Map<ProjectDailyStat.Key, Long> amounts() {
+        entityManager.clear();
+        return statRepository.findAllByProjectIdAndStatDateBetween(projectId, DAY, DAY).stream()
+                .collect(Collectors.toMap(
+                        stat -> new ProjectDailyStat.Key(
+                                stat.getProjectId(), stat.getStatDate(), stat.getMetric(), stat.getDimension()),
+                        ProjectDailyStat::getAmount));
+    }
+
+    private ProjectDailyStat.Key key(String metric, String dimension) {
+        return new ProjectDailyStat.Key(projectId, DAY, metric, dimension);
+    }
+}
@@ -0,0 +1,146 @@
+package uni.bugtracker.backend.service.stats;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uni.bugtracker.backend.model.*;
+import uni.bugtracker.backend.repository.DailyStatWriter;
+import uni.bugtracker.backend.repository.ProjectDailyStatRepository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatsRollupTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 1);
+
+    @Mock
+    private DailyStatWriter writer;
+
+    @Mock
+    private ProjectDailyStatRepository statRepository;
+
+    private StatsRollup statsRollup;
+    private Report report;
+
+    @BeforeEach
+    void setUp() {
+        statsRollup = new StatsRollup(writer, statRepository);
+
+        Project project = new Project();
+        project.setId("p1");
+        report = new Report();
+        report.setProject(project);
+        report.setReportedAt(Instant.parse("2026-03-01T23:59:00Z"));
+        report.setStatus(ReportStatus.NEW);
+        report.setCriticality(CriticalityLevel.UNKNOWN);
+        report.setTags(List.of(Tag.BROKEN_LINK, Tag.SLOW_LOADING));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(statsRollup);
+    }
+
+    @Test
+    void reportAdded_outsideTransaction_shouldWriteEveryCounterOfTheReport() {
+        // When
+        statsRollup.reportAdded(report);
+
+        // Then
+        assertThat(applied()).containsOnly(
+                Map.entry(key("reports", "total"), 1L),
+                Map.entry(key("reports", "status:NEW"), 1L),
+                Map.entry(key("reports", "level:UNKNOWN"), 1L),
+                Map.entry(key("reports", "tag:BROKEN_LINK"), 1L),
+                Map.entry(key("reports", "tag:SLOW_LOADING"), 1L));
+    }
+
+    @Test
+    void reportChanged_shouldMoveOnlyTheCountersThatDiffer() {
+        // Given
+        List<ProjectDailyStat.Key> before = StatsRollup.reportKeys(report);
+        report.setStatus(ReportStatus.IN_PROGRESS);
+
+        // When
+        statsRollup.reportChanged(before, report);
+
+        // Then: total, level and tags cancel out and are skipped by the writer
+        assertThat(applied())
+                .containsEntry(key("reports", "status:NEW"), -1L)
+                .containsEntry(key("reports", "status:IN_PROGRESS"), 1L)
+                .containsEntry(key("reports", "total"), 0L);
+    }
+
+    @Test
+    void changesOfOneTransaction_shouldBeWrittenOnceBeforeCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        Session session = new Session();
+        session.setProject(report.getProject());
+        session.setStartTime(Instant.parse("2026-03-01T10:00:00Z"));
+        Event error = new Event();
+        error.setType(EventType.ERROR);
+        error.setTimestamp(Instant.parse("2026-03-01T10:01:00Z"));
+        Event action = new Event();
+        action.setType(EventType.ACTION);
+        action.setTimestamp(Instant.parse("2026-03-01T10:02:00Z"));
+
+        // When
+        statsRollup.sessionStarted(session);
+        statsRollup.eventAdded(error, "p1");
+        statsRollup.eventAdded(error, "p1");
+        statsRollup.eventAdded(action, "p1");
+
+        // Then: nothing is written until the commit
+        verify(writer, never()).apply(anyMap());
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(synchronizations).hasSize(1);
+        synchronizations.getFirst().beforeCommit(false);
+        assertThat(applied()).containsOnly(
+                Map.entry(key("sessions", "total"), 1L),
+                Map.entry(key("error_events", "total"), 2L));
+    }
+
+    @Test
+    void rollback_shouldWriteNothing() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        statsRollup.reportAdded(report);
+
+        // When
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Then
+        verifyNoInteractions(writer);
+        assertThat(TransactionSynchronizationManager.hasResource(statsRollup)).isFalse();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<ProjectDailyStat.Key, Long> applied() {
+        ArgumentCaptor<Map<ProjectDailyStat.Key, Long>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(writer).apply(captor.capture());
+        return captor.getValue();
+    }
+
+    private static ProjectDailyStat.Key key(String metric, String dimension) {
+        return new ProjectDailyStat.Key("p1", DAY, metric, dimension);
+    }
+}
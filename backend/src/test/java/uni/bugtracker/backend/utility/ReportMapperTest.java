@@ -291,7 +291,7 @@ class ReportMapperTest {
                 existingReport, request, fieldsToUpdate, project, developer);
 
         // Then
-        assertThat(updated.getTags()).isNull();
+        assertThat(updated.getTags()).isEmpty();
     }
 
     @Test
@@ -0,0 +1,64 @@
+package uni.bugtracker.backend.utility.compression;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.Reader;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TextCompressionTest {
+
+    private static final String STACK_TRACE = """
+            Uncaught TypeError: Cannot read properties of undefined (reading 'price')
+                at CartItem (https://shop.example.com/static/js/main.3f2a1c.chunk.js:1:10423)
+                at renderWithHooks (https://shop.example.com/static/js/2.8e1d.chunk.js:2:63211)
+                at updateFunctionComponent (https://shop.example.com/static/js/2.8e1d.chunk.js:2:65872)
+                at beginWork (https://shop.example.com/static/js/2.8e1d.chunk.js:2:113450)
+            """;
+
+    @Test
+    void compress_shouldRoundTripStackTraceSmallerThanUtf8() {
+        // When
+        byte[] stored = TextCompression.compress(STACK_TRACE);
+
+        // Then: the dictionary pays off even for a short trace
+        assertThat(stored[0]).isEqualTo(TextCompression.DEFLATE_STACK_TRACE_V1);
+        assertThat(stored.length).isLessThan(STACK_TRACE.length() / 2);
+        assertThat(TextCompression.decompress(stored)).isEqualTo(STACK_TRACE);
+    }
+
+    @Test
+    void compress_shouldKeepShortTextPlain() {
+        // When
+        byte[] stored = TextCompression.compress("Ошибка");
+
+        // Then
+        assertThat(stored[0]).isEqualTo(TextCompression.PLAIN);
+        assertThat(TextCompression.decompress(stored)).isEqualTo("Ошибка");
+    }
+
+    @Test
+    void reader_shouldStreamLargeText() throws Exception {
+        // Given
+        String log = "GET /api/cart 500 (Internal Server Error) ✗\n".repeat(50_000);
+        byte[] stored = TextCompression.compress(log);
+
+        // When
+        StringWriter copy = new StringWriter();
+        try (Reader reader = TextCompression.reader(stored)) {
+            reader.transferTo(copy);
+        }
+
+        // Then
+        assertThat(copy.toString()).isEqualTo(log);
+    }
+
+    @Test
+    void decompress_withUnknownFormat_shouldThrow() {
+        // When & Then
+        assertThatThrownBy(() -> TextCompression.decompress(new byte[]{42, 1, 2}))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
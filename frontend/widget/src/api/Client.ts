@@ -1,4 +1,4 @@
-import {ApiResponse} from '../types/api';
+import {ApiResponse, SamplingPolicy} from '../types/api';
 import {EventType, InternalEvent} from '../types/events';
 import {SessionData} from '../types/session';
 
@@ -256,6 +256,19 @@ export class Client {
         }
     }
 
+    // Sampling policy of the project, or null to send everything (the server applies it anyway)
+    async fetchSamplingPolicy(): Promise<SamplingPolicy | null> {
+        try {
+            const response = await fetch(`${this.baseUrl}/api/sampling/${encodeURIComponent(this.projectId)}`);
+            if (!response.ok) {
+                return null;
+            }
+            return await response.json() as SamplingPolicy;
+        } catch (e) {
+            return null;
+        }
+    }
+
     public async restartSession(): Promise<number | null> {
         try {
             // Clear current session data from localStorage
@@ -2,6 +2,7 @@ import { BugTrackerConfig } from '../types/config';
 import { InternalEvent } from '../types/events';
 import { SessionManager } from './SessionManager';
 import { EventBuffer } from './EventBuffer';
+import { EventSampler } from './EventSampler';
 import { ErrorCatcher } from './ErrorCatcher';
 import { NetworkMonitor } from './NetworkMonitor';
 import { UserActionTracker } from './UserActionTracker';
@@ -15,6 +16,7 @@ export class BugTracker {
     private config: BugTrackerConfig;
     private sessionManager: SessionManager;
     private eventBuffer: EventBuffer;
+    private eventSampler: EventSampler = new EventSampler();
     private errorCatcher: ErrorCatcher;
     private networkMonitor: NetworkMonitor | null = null;
     private userActionTracker: UserActionTracker | null = null;
@@ -105,6 +107,12 @@ export class BugTracker {
                 throw new Error(`Session initialization failed: ${e instanceof Error ? e.message : String(e)}`);
             }
 
+            // 2. Sampling policy; until it arrives everything is sent and the server samples
+            this.client.fetchSamplingPolicy().then(policy => {
+                if (policy) this.eventSampler.setPolicy(policy);
+                if (this.config.debug) console.log('[BugTracker] sampling policy:', policy);
+            });
+
             // 3. Start all trackers
             if (this.config.debug) console.log('[BugTracker] starting trackers...');
             try {
@@ -343,7 +351,12 @@ export class BugTracker {
         // causing `log`, `stackTrace`, and element details to be empty on the server.
         // Pass the original event through unchanged so the Client can access message,
         // stackTrace and customMetadata when building the outgoing payload.
-        this.eventBuffer.add(event);
+        // Sampled once here, a retried flush or the unload beacon sends the buffer as it is.
+        // Until the server session id is known the server samples alone, the hash needs that id.
+        const events = this.sessionManager.isServerBacked()
+            ? this.eventSampler.filter([event], this.sessionManager.getSessionId())
+            : [event];
+        this.eventBuffer.addAll(events);
     }
 
     /**
@@ -14,10 +14,16 @@ export class EventBuffer {
     }
 
     public add(event: InternalEvent): void {
-        this.buffer.push(event);
+        this.addAll([event]);
+    }
+
+    // events added together are flushed together, in their order
+    public addAll(events: InternalEvent[]): void {
+        if (events.length === 0) return;
+        this.buffer.push(...events);
 
         // Only flush immediately for user actions or errors so backend isn't polled periodically
-        const urgent = event.type === 'ACTION' || event.type === 'ERROR';
+        const urgent = events.some(e => e.type === 'ACTION' || e.type === 'ERROR');
         if (urgent) {
             // Fire-and-forget but handle errors inside flush
             void this.flush().catch(() => { /* swallow - buffer restored on failure */ });
@@ -0,0 +1,103 @@
+import { EventType, InternalEvent } from '../types/events';
+import { SamplingPolicy } from '../types/api';
+
+// latest error timestamps remembered, as on the server
+const MAX_ERRORS = 32;
+// events held back while waiting for an error that would keep them
+const MAX_HELD = 200;
+
+/**
+ * Drops the non-error events the project's sampling policy would not store, as they enter the buffer,
+ * so each event is counted once however often its flush is retried.
+ * Mirrors EventSampler on the server and uses the same hash for the rate.
+ * Events dropped shortly before an error are held back and buffered right after the error,
+ * the server only keeps them once it knows the error.
+ */
+export class EventSampler {
+    private policy: SamplingPolicy | null = null;
+    private sessionId: number | null = null;
+    private errors: number[] = [];
+    private stored = 0;
+    private held: { event: InternalEvent; millis: number }[] = [];
+
+    public setPolicy(policy: SamplingPolicy): void {
+        this.policy = policy;
+    }
+
+    public filter(events: InternalEvent[], sessionId: number): InternalEvent[] {
+        const policy = this.policy;
+        if (!policy || keepsAll(policy)) return events;
+
+        if (sessionId !== this.sessionId) {
+            this.sessionId = sessionId;
+            this.errors = [];
+            this.stored = 0;
+            this.held = [];
+        }
+
+        const kept: InternalEvent[] = [];
+        const released: InternalEvent[] = [];
+        for (const event of events) {
+            const millis = new Date(event.timestamp).getTime();
+            if (event.type === EventType.ERROR) {
+                this.errors.push(millis);
+                if (this.errors.length > MAX_ERRORS) this.errors.shift();
+                kept.push(event);
+                released.push(...this.release(policy));
+            } else if (this.nearError(millis, policy)) {
+                this.stored++;
+                kept.push(event);
+            } else if (policy.maxEventsPerSession > 0 && this.stored >= policy.maxEventsPerSession) {
+                this.hold(event, millis, policy);
+            } else if (!sampledIn(sessionId, event.type, millis, policy.rates[event.type] ?? 1)) {
+                this.hold(event, millis, policy);
+            } else {
+                this.stored++;
+                kept.push(event);
+            }
+        }
+        // after the errors of the batch, so the server has them when these arrive
+        return [...kept, ...released];
+    }
+
+    private nearError(millis: number, policy: SamplingPolicy): boolean {
+        return this.errors.some(error =>
+            millis >= error - policy.keepBeforeErrorMs && millis <= error + policy.keepAfterErrorMs);
+    }
+
+    private hold(event: InternalEvent, millis: number, policy: SamplingPolicy): void {
+        if (policy.keepBeforeErrorMs <= 0) return;
+        this.held = this.held.filter(h => h.millis >= millis - policy.keepBeforeErrorMs);
+        this.held.push({ event, millis });
+        if (this.held.length > MAX_HELD) this.held.shift();
+    }
+
+    private release(policy: SamplingPolicy): InternalEvent[] {
+        const released = this.held.filter(h => this.nearError(h.millis, policy)).map(h => h.event);
+        this.held = [];
+        this.stored += released.length;
+        return released;
+    }
+}
+
+function keepsAll(policy: SamplingPolicy): boolean {
+    return policy.maxEventsPerSession === 0
+        && (Object.keys(policy.rates) as EventType[]).every(type => policy.rates[type] >= 1);
+}
+
+// fnv1a32("sessionId:TYPE:epochMillis") / 2^32 < rate, as in EventSampler.sampledIn on the server
+function sampledIn(sessionId: number, type: EventType, millis: number, rate: number): boolean {
+    if (rate >= 1) return true;
+    if (rate <= 0) return false;
+    return fnv1a32(`${sessionId}:${type}:${millis}`) < rate * 4294967296;
+}
+
+// the keys are ASCII, char codes are their UTF-8 bytes
+function fnv1a32(key: string): number {
+    let hash = 0x811c9dc5;
+    for (let i = 0; i < key.length; i++) {
+        hash ^= key.charCodeAt(i);
+        hash = Math.imul(hash, 0x01000193);
+    }
+    return hash >>> 0;
+}
@@ -1,3 +1,5 @@
+import { EventType } from './events';
+
 export interface EventBatchPayload {
     projectId: string;
     sessionId: string;
@@ -65,4 +67,14 @@ export interface ApiResponse {
         receivedCount: number;
         timestamp: string;
     };
-}
\ No newline at end of file
+}
+
+// GET /api/sampling/{projectId}, applied before events are sent
+export interface SamplingPolicy {
+    projectId: string;
+    rates: Record<EventType, number>; // ERROR is always 1
+    maxEventsPerSession: number; // 0 = no cap
+    keepBeforeErrorMs: number;
+    keepAfterErrorMs: number;
+    version: number | null;
+}